@@ -17,18 +17,16 @@ package com.roque.rueda.cashflows;
 
 import com.roque.rueda.android.messenger.ListItemClickNotification;
 import com.roque.rueda.cashflows.database.AccountTable;
-import com.roque.rueda.cashflows.database.observer.DataBaseObserver;
-import com.roque.rueda.cashflows.database.observer.DatabaseMessenger;
 import com.roque.rueda.cashflows.fragments.MovementsListFragment;
-import com.roque.rueda.cashflows.hepers.FragmentDataNotifier;
-import com.roque.rueda.cashflows.loader.BalanceLoader;
-import com.roque.rueda.cashflows.util.StringFormatter;
+import com.roque.rueda.cashflows.provider.CashFlowsContract;
+import com.roque.rueda.cashflows.util.FormattingService;
 
 import android.content.Intent;
 import android.database.Cursor;
 import android.os.Bundle;
 import android.support.v4.app.FragmentActivity;
 import android.support.v4.app.LoaderManager.LoaderCallbacks;
+import android.support.v4.content.CursorLoader;
 import android.support.v4.content.Loader;
 import android.util.Log;
 import android.view.Menu;
@@ -36,7 +34,6 @@ import android.view.MenuItem;
 import android.widget.TextView;
 import android.widget.Toast;
 
-import java.util.LinkedHashSet;
 
 /**
  * Main activity of the cash flows.
@@ -47,7 +44,7 @@ import java.util.LinkedHashSet;
  * 
  */
 public class MainActivity extends FragmentActivity
-		implements ListItemClickNotification, DatabaseMessenger,
+		implements ListItemClickNotification,
         LoaderCallbacks<Cursor> {
 
 	private static final String TAG = "MainActivity";
@@ -61,15 +58,10 @@ public class MainActivity extends FragmentActivity
 	// Is this activity showing two, pane.
 	private boolean mIsTwoPane;
 
-    // Used to store the observers.
-    private LinkedHashSet<DataBaseObserver> mObservers;
 
     // TextView to show the total balance.
     private TextView mTotalBalance;
 
-    private BalanceLoader mLoader;
-    private FragmentDataNotifier mNotifier;
-
     /**
 	 * 
 	 * This method handles the creation of the activity. Base
@@ -81,7 +73,6 @@ public class MainActivity extends FragmentActivity
 	protected void onCreate(Bundle savedInstanceState) {
 		super.onCreate(savedInstanceState);
 		setContentView(R.layout.activity_main);
-        mObservers = new LinkedHashSet<DataBaseObserver>();
         mTotalBalance = (TextView) findViewById(R.id.total_balance);
 		
 		if (DEBUG) {
@@ -115,9 +106,7 @@ public class MainActivity extends FragmentActivity
             }
         }
 
-        mLoader = (BalanceLoader) getSupportLoaderManager().
-                initLoader(LOADER_BALANCE, null, this);
-        register(mLoader);
+        getSupportLoaderManager().initLoader(LOADER_BALANCE, null, this);
 	}
 
 	@Override
@@ -169,31 +158,6 @@ public class MainActivity extends FragmentActivity
         return true;
     }
 
-    @Override
-    protected void onActivityResult(int requestCode, int resultCode, Intent data) {
-        super.onActivityResult(requestCode, resultCode, data);
-
-        switch (resultCode){
-            case REQUEST_CODE: {
-                // Get the result of the add activity.
-                if (data != null) {
-                    boolean addResult = data.getBooleanExtra(ADD_MOVEMENT_RESULT, false);
-
-                    if (addResult) {
-                        // Calls to client Fragment to update data.
-                        mNotifier.notifyDataRefresh();
-                        mLoader.notifyDatabaseChange();
-                    }
-                }
-                break;
-            }
-        }
-    }
-
-    public void setFragmentClient(FragmentDataNotifier notifier) {
-        mNotifier = notifier;
-    }
-
     /////////////////////////////////////////////////////////////////////
 	// ListItemClickNotification Interface members..
 	///////////////////////////////////////////////////////////////////
@@ -230,56 +194,6 @@ public class MainActivity extends FragmentActivity
 //		Toast.makeText(this, "Selected id:" + itemId, Toast.LENGTH_SHORT).show();
 	}
 
-    ////////////////////////////////////////////////////////////////////
-    // DatabaseMessenger Interface members..
-    ////////////////////////////////////////////////////////////////////
-
-    /**
-     * Register a new object into the list of observers to be notify by this instance.
-     *
-     * @param observer Observer that will be add to the list.
-     */
-    @Override
-    public void register(DataBaseObserver observer) {
-        mObservers.add(observer);
-    }
-
-    /**
-     * Removes a existing observer from the list of observers to be notified
-     * by this instance.
-     *
-     * @param observer Observer that will be removed of the list.
-     */
-    @Override
-    public void unregister(DataBaseObserver observer) {
-        mObservers.remove(observer);
-    }
-
-    /**
-     * Sends a notification to the list of observers with the table
-     * name that has been change.
-     *
-     * @param tableName Name of the table that has been change.
-     */
-    @Override
-    public void sendNotification(String tableName) {
-        for (DataBaseObserver observer : mObservers) {
-            observer.notifyTableChange(tableName);
-        }
-    }
-
-    /**
-     * Notify the list of observer when a change on the database
-     * has been made.
-     */
-    @Override
-    public void sendNotification() {
-        for (DataBaseObserver observer : mObservers) {
-            observer.notifyDatabaseChange();
-        }
-    }
-
-
     ////////////////////////////////////////////////////////////////////
     // LoaderCallbacks Interface members..
     ////////////////////////////////////////////////////////////////////
@@ -300,8 +214,8 @@ public class MainActivity extends FragmentActivity
                     Log.i(TAG, "== onCreateLoader() Creating a new balance loader. ==");
                 }
 
-                BalanceLoader balance = new BalanceLoader(this);
-                return balance;
+                return new CursorLoader(this, CashFlowsContract.Accounts.BALANCE_URI,
+                        null, null, null, null);
             }
             default: {
 
@@ -358,8 +272,8 @@ public class MainActivity extends FragmentActivity
         }
 
         data.moveToFirst();
-        double total = data.getDouble(0);
-        mTotalBalance.setText(StringFormatter.formatCurrency(total));
+        long total = data.getLong(0);
+        mTotalBalance.setText(FormattingService.getInstance().formatCurrency(total));
     }
 
     /**
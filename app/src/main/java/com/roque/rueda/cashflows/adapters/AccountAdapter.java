@@ -41,6 +41,13 @@ public class AccountAdapter extends CursorAdapter {
     private final LayoutInflater mInflater;
 	private static int sCursorFlags = 0;
 
+	// Column indices of the current cursor, resolved once each time the cursor changes.
+	private int mIdIndex;
+	private int mInitialBalanceIndex;
+	private int mEndBalanceIndex;
+	private int mPhotoNumberIndex;
+	private int mNameIndex;
+
 
 	/**
 	 * Creates an Account Adapter used to present the information
@@ -53,12 +60,40 @@ public class AccountAdapter extends CursorAdapter {
 		super(context, c, sCursorFlags);
 
 		mInflater = LayoutInflater.from(mContext);
-		
+		resolveColumns(c);
+	}
+
+	/**
+	 * Swap in a new Cursor and resolves the indices of its columns.
+	 * @param newCursor		The new cursor to be used.
+	 * @return Returns the previously set Cursor, or null if there was not one.
+	 */
+	@Override
+	public Cursor swapCursor(Cursor newCursor) {
+		resolveColumns(newCursor);
+		return super.swapCursor(newCursor);
+	}
+
+	/**
+	 * Gets the indices of the columns read by {@link #bindView(View, Context, Cursor)}.
+	 * @param cursor		Cursor that will be bound, may be null.
+	 */
+	private void resolveColumns(Cursor cursor) {
+		if (cursor == null) {
+			return;
+		}
+
+		mIdIndex = cursor.getColumnIndexOrThrow(AccountTable._ID);
+		mInitialBalanceIndex = cursor.getColumnIndexOrThrow(AccountTable.ACCOUNT_INITIAL_BALANCE);
+		mEndBalanceIndex = cursor.getColumnIndexOrThrow(AccountTable.ACCOUNT_END_BALANCE);
+		mPhotoNumberIndex = cursor.getColumnIndexOrThrow(AccountTable.PHOTO_NUMBER);
+		mNameIndex = cursor.getColumnIndexOrThrow(AccountTable.ACCOUNT_NAME);
 	}
 	
 	
 	/**
-	 * Bind an existing view to the data pointed to by cursor.
+	 * Bind an existing view to the data pointed to by cursor. The model of the
+	 * view holder is reused, so binding a row doesn't create new objects.
 	 * @param view 		Existing view, returned earlier by newView
 	 * @param ctx 		Interface to application's global information
 	 * @param cursor	The cursor from which to get the data.
@@ -68,14 +103,15 @@ public class AccountAdapter extends CursorAdapter {
 	@Override
 	public void bindView(View view, Context ctx, Cursor cursor) {
 		
-		Account account = new Account();
-		account.id = cursor.getLong(cursor.getColumnIndex(AccountTable._ID));
-		account.initialBalance = cursor.getDouble(cursor.getColumnIndex(AccountTable.ACCOUNT_INITIAL_BALANCE));
-		account.endBalance = cursor.getDouble(cursor.getColumnIndex(AccountTable.ACCOUNT_END_BALANCE));
-		account.photoNumber = cursor.getLong(cursor.getColumnIndex(AccountTable.PHOTO_NUMBER));
-		account.name = cursor.getString(cursor.getColumnIndex(AccountTable.ACCOUNT_NAME));
-		
 		AccountView holder = (AccountView) view.getTag();
+
+		Account account = holder.getModel();
+		account.id = cursor.getLong(mIdIndex);
+		account.initialBalance = cursor.getLong(mInitialBalanceIndex);
+		account.endBalance = cursor.getLong(mEndBalanceIndex);
+		account.photoNumber = cursor.getLong(mPhotoNumberIndex);
+		account.name = cursor.getString(mNameIndex);
+		
 		holder.setModel(account);
 	}
 
@@ -27,10 +27,6 @@ import com.roque.rueda.cashflows.database.MovementsTable;
 import com.roque.rueda.cashflows.model.Movement;
 import com.roque.rueda.cashflows.viewholder.MovementView;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
-
 /**
  * Adapter class to show movements on a list view.
  *
@@ -44,6 +40,14 @@ public class MovementsAdapter extends CursorAdapter {
     private final LayoutInflater mInflater;
     private static int sCursorFlags = 0;
 
+    // Column indices of the current cursor, resolved once each time the cursor changes.
+    private int mIdIndex;
+    private int mAmountIndex;
+    private int mDateIndex;
+    private int mDescriptionIndex;
+    private int mSingIndex;
+    private int mAccountIndex;
+
     /**
      *
      * Creates an movements adapter to display the items on a list view.
@@ -55,10 +59,62 @@ public class MovementsAdapter extends CursorAdapter {
         super(context, data, sCursorFlags);
 
         mInflater = LayoutInflater.from(context);
+        resolveColumns(data);
+    }
+
+    /**
+     * Swap in a new Cursor and resolves the indices of its columns.
+     * @param newCursor The new cursor to be used.
+     * @return Returns the previously set Cursor, or null if there was not one.
+     */
+    @Override
+    public Cursor swapCursor(Cursor newCursor) {
+        resolveColumns(newCursor);
+        return super.swapCursor(newCursor);
+    }
+
+    /**
+     * Gets the indices of the columns read by {@link #bindView(View, Context, Cursor)}.
+     * @param cursor Cursor that will be bound, may be null.
+     */
+    private void resolveColumns(Cursor cursor) {
+        if (cursor == null) {
+            return;
+        }
+
+        mIdIndex = cursor.getColumnIndexOrThrow(MovementsTable._ID);
+        mAmountIndex = cursor.getColumnIndexOrThrow(MovementsTable.MOVEMENTS_AMOUNT);
+        mDateIndex = cursor.getColumnIndexOrThrow(MovementsTable.MOVEMENTS_DATE);
+        mDescriptionIndex = cursor.getColumnIndexOrThrow(MovementsTable.MOVEMENTS_DESCRIPTION);
+        mSingIndex = cursor.getColumnIndexOrThrow(MovementsTable.MOVEMENTS_SING);
+        mAccountIndex = cursor.getColumnIndexOrThrow(MovementsTable.ID_ACCOUNT);
+    }
+
+    /**
+     * Gets the view of a row. A cursor that reads its rows in pages can't move to a
+     * row whose page is still being read, that row is shown as loading and it's bound
+     * again when the page arrives and the adapter is notified.
+     * @param position Position of the row.
+     * @param convertView Old view to reuse, may be null.
+     * @param parent Parent of the view.
+     * @return View of the row.
+     */
+    @Override
+    public View getView(int position, View convertView, ViewGroup parent) {
+        Cursor cursor = getCursor();
+        if (cursor != null && !cursor.isClosed() && position < cursor.getCount() &&
+                !cursor.moveToPosition(position)) {
+            View view = convertView != null ? convertView :
+                    newView(mContext, cursor, parent);
+            ((MovementView) view.getTag()).showLoading();
+            return view;
+        }
+        return super.getView(position, convertView, parent);
     }
 
     /**
-     * Bind an exiting view to the data pointed by the cursor.
+     * Bind an exiting view to the data pointed by the cursor. The model of the
+     * view holder is reused, so binding a row doesn't create new objects.
      * @param view Existing view, returned early by newView.
      * @param context Interface to application's global information.
      * @param cursor The cursor from which get the data.
@@ -66,24 +122,19 @@ public class MovementsAdapter extends CursorAdapter {
     @Override
     public void bindView(View view, Context context, Cursor cursor) {
 
-        Movement movement = new Movement();
-        movement.setId(cursor.getLong(cursor.getColumnIndex(MovementsTable._ID)));
-        movement.setAmount(cursor.getDouble(cursor.getColumnIndex(MovementsTable.MOVEMENTS_AMOUNT)));
-
-        // Convert the string date into a date object.
-        String rawMovementDate = cursor.getString(cursor.getColumnIndex(MovementsTable.MOVEMENTS_DATE));
-        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-        try {
-            movement.setDate(dateFormat.parse(rawMovementDate));
-        } catch (ParseException e) {
-            movement.setDate(new Date());
-        }
+        MovementView viewHolder = (MovementView) view.getTag();
 
-        movement.setDescription(cursor.getString(cursor.getColumnIndex(MovementsTable.MOVEMENTS_DESCRIPTION)));
-        movement.setSing(cursor.getString(cursor.getColumnIndex(MovementsTable.MOVEMENTS_SING)));
-        movement.setIdAccount(cursor.getLong(cursor.getColumnIndex(MovementsTable.ID_ACCOUNT)));
+        Movement movement = viewHolder.getModel();
+        movement.setId(cursor.getLong(mIdIndex));
+        movement.setAmount(cursor.getLong(mAmountIndex));
+
+        // Dates are stored as milliseconds since the epoch.
+        movement.getDate().setTime(cursor.getLong(mDateIndex));
+
+        movement.setDescription(cursor.getString(mDescriptionIndex));
+        movement.setSing(cursor.getString(mSingIndex));
+        movement.setIdAccount(cursor.getLong(mAccountIndex));
 
-        MovementView viewHolder = (MovementView) view.getTag();
         viewHolder.setModel(movement);
 
     }
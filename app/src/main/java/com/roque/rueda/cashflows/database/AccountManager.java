@@ -21,10 +21,6 @@ import static com.roque.rueda.cashflows.database.AccountTable.ACCOUNT_NAME;
 import static com.roque.rueda.cashflows.database.AccountTable.ID_PERIOD;
 import static com.roque.rueda.cashflows.database.AccountTable.TABLE_ACCOUNTS;
 import static com.roque.rueda.cashflows.database.AccountTable.PHOTO_NUMBER;
-import static com.roque.rueda.cashflows.database.MovementsTable.ID_ACCOUNT;
-import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_AMOUNT;
-import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_SING;
-import static com.roque.rueda.cashflows.database.MovementsTable.TABLE_MOVEMENTS;
 import static com.roque.rueda.cashflows.database.PeriodTable.ACTIVE;
 import static com.roque.rueda.cashflows.database.PeriodTable.END_DATE;
 import static com.roque.rueda.cashflows.database.PeriodTable.NAME;
@@ -41,10 +37,10 @@ import android.content.res.Resources;
 import android.database.Cursor;
 import android.database.SQLException;
 import android.database.sqlite.SQLiteDatabase;
-import android.database.sqlite.SQLiteQueryBuilder;
 import android.util.Log;
 
 import com.roque.rueda.cashflows.R;
+import com.roque.rueda.cashflows.database.observer.ChangeBus;
 
 /**
  * Class used to handle the accounts of the cash flows.
@@ -63,7 +59,7 @@ public class AccountManager {
      */
     public static final String JOIN = " INNER JOIN ";
 
-    private CashFlowsOpenHelper mOpenHelper;
+    private CashFlowsDatabase mDatabase;
     private Resources mResources;
     private String periodName;
     private String bank_account;
@@ -83,7 +79,7 @@ public class AccountManager {
 	 */
 	public AccountManager(Context context) {
 		mResources = context.getResources();
-        mOpenHelper = new CashFlowsOpenHelper(context);
+        mDatabase = CashFlowsDatabase.getInstance(context);
 	}
 	
 	/**
@@ -91,20 +87,9 @@ public class AccountManager {
 	 * @return Cursor instance with the accounts.
 	 */
 	public Cursor getAccountsForCurrentPeriod() {
-		
-		SQLiteQueryBuilder qb = new SQLiteQueryBuilder();
-		qb.setTables(TABLE_PERIODS + JOIN + TABLE_ACCOUNTS +
-                " ON " + AccountTable.ID_PERIOD + " = " + PeriodTable.FULL_ID);
-		
-		String orderBy = AccountTable.FULL_ACCOUNT_NAME + " DESC";
-		
-		SQLiteDatabase db = mOpenHelper.getReadableDatabase();
+		SQLiteDatabase db = mDatabase.getReadableDatabase();
         if (db != null) {
-            String[] columns = new String[] { AccountTable.FULL_ID,
-                AccountTable.FULL_INITIAL_BALANCE, AccountTable.FULL_ACCOUNT_NAME,
-                AccountTable.FULL_ACCOUNT_END_BALANCE, AccountTable.FULL_ACCOUNT_NUMBER };
-            return qb.query(db, columns, PeriodTable.FULL_ACTIVE + " = 1",
-                    null, null, null, orderBy);
+            return db.rawQuery(LedgerQueries.ACCOUNTS_FOR_CURRENT_PERIOD, null);
         } else {
             throw new IllegalStateException("Can't get the accounts from the database. " +
                     "SQLiteDatabase is null.");
@@ -116,17 +101,9 @@ public class AccountManager {
      * @return Cursor with one tow as the sum of all the final balance of each account.
      */
     public Cursor getFinalBalance() {
-
-        SQLiteQueryBuilder qb = new SQLiteQueryBuilder();
-        qb.setTables(TABLE_PERIODS + JOIN + TABLE_ACCOUNTS +
-                " ON " + AccountTable.ID_PERIOD + " = " + PeriodTable.FULL_ID);
-        qb.appendWhere(PeriodTable.ACTIVE + " = 1");
-
-        SQLiteDatabase db = mOpenHelper.getReadableDatabase();
+        SQLiteDatabase db = mDatabase.getReadableDatabase();
         if (db != null) {
-            return qb.query(db, new String[] { "SUM(" +
-                            AccountTable.FULL_ACCOUNT_END_BALANCE + ")" },
-                    null, null, null, null, null);
+            return db.rawQuery(LedgerQueries.FINAL_BALANCE, null);
         } else {
             throw new IllegalStateException("Can't get the total balance from the database. " +
                     "SQLiteDatabase is null.");
@@ -141,19 +118,9 @@ public class AccountManager {
      * @return Return a cursor with the result data of the query.
      */
     public Cursor getShortAccountInfo() {
-
-        SQLiteQueryBuilder qb = new SQLiteQueryBuilder();
-        qb.setTables(TABLE_PERIODS + JOIN + TABLE_ACCOUNTS +
-                " ON " + AccountTable.ID_PERIOD + " = " + PeriodTable.FULL_ID);
-
-        String orderBy = AccountTable.FULL_ACCOUNT_NAME + " DESC";
-
-        SQLiteDatabase db = mOpenHelper.getReadableDatabase();
+        SQLiteDatabase db = mDatabase.getReadableDatabase();
         if (db != null) {
-            String[] columns = new String[] { AccountTable.FULL_ID,
-                    AccountTable.FULL_ACCOUNT_NAME, AccountTable.FULL_ACCOUNT_NUMBER };
-            return qb.query(db, columns, PeriodTable.FULL_ACTIVE + " = 1",
-                    null, null, null, orderBy);
+            return db.rawQuery(LedgerQueries.SHORT_ACCOUNT_INFO, null);
         } else {
             throw new IllegalStateException("Can't get the accounts from the database. " +
                     "SQLiteDatabase is null.");
@@ -164,40 +131,10 @@ public class AccountManager {
      * Gets the balance of the account.
      * @param idAccount Account identifier.
      * @param db Database use to build to perform query's.
-     * @return Balance of the account or -1 if an error happens.
+     * @return Running balance stored for the account in minor units.
      */
-    public static double getAccountBalance(long idAccount, SQLiteDatabase db) {
-
-        Cursor positiveBalance = db.rawQuery("SELECT SUM(" + MOVEMENTS_AMOUNT + ") FROM "
-                        + TABLE_MOVEMENTS + " WHERE " + ID_ACCOUNT + " = ?" +
-                        " AND " + MOVEMENTS_SING + " = '+'", new String[]{ String.valueOf(idAccount) });
-        Cursor negativeBalance = db.rawQuery("SELECT SUM(ABS(" + MOVEMENTS_AMOUNT + ")) FROM "
-                + TABLE_MOVEMENTS + " WHERE " + ID_ACCOUNT + " = ?" +
-                " AND " + MOVEMENTS_SING + " = '-'", new String[]{ String.valueOf(idAccount) });
-
-        double positiveValues = 0;
-        if (positiveBalance.moveToFirst()) {
-            positiveValues = positiveBalance.getDouble(0);
-        }
-
-        double negativeValues = 0;
-        if (negativeBalance.moveToFirst()) {
-            negativeValues = negativeBalance.getDouble(0);
-        }
-        final double finalBalance = positiveValues - negativeValues;
-
-        return finalBalance;
-
-        //Cursor balanceFromDatabase = getBalanceCursor(idAccount, db);
-        // Initialize the variable with the invalid value.
-        // double accountBalance = -1;
-
-        // Check if the cursor have any values
-        // if (balanceFromDatabase.moveToFirst()) {
-        //     accountBalance = balanceFromDatabase.getDouble(0);
-        // }
-
-        // return accountBalance;
+    public static long getAccountBalance(long idAccount, SQLiteDatabase db) {
+        return BalanceLedger.getBalance(db, idAccount);
     }
 
     /**
@@ -207,15 +144,8 @@ public class AccountManager {
      * @return android.database.Cursor instance with the result.
      */
     private static Cursor getBalanceCursor(long idAccount, SQLiteDatabase db) {
-        Cursor balanceFromDatabase = db.rawQuery("SELECT (SELECT SUM(" + MOVEMENTS_AMOUNT + ") FROM "
-                + TABLE_MOVEMENTS + " WHERE " + ID_ACCOUNT + " = ?" +
-                " AND " + MOVEMENTS_SING + " = '+') - " +
-                "(SELECT SUM(" + MOVEMENTS_AMOUNT + ") FROM "
-                + TABLE_MOVEMENTS + " WHERE " + ID_ACCOUNT + " = ?" +
-                " AND " + MOVEMENTS_SING + " = '-')", new String[]{ String.valueOf(idAccount),
-                String.valueOf(idAccount) });
-
-        return balanceFromDatabase;
+        return db.rawQuery(LedgerQueries.ACCOUNT_BALANCE,
+                new String[]{ String.valueOf(idAccount) });
     }
 
 
@@ -223,10 +153,46 @@ public class AccountManager {
      * Gets the account balance.
      *
      * @param idAccount Account identifier.
-     * @return Sum of all account movements minus all negative movements.
+     * @return Cursor with the running balance of the account.
      */
     public Cursor getAccountBalance(long idAccount) {
-        return getBalanceCursor(idAccount, mOpenHelper.getReadableDatabase());
+        return getBalanceCursor(idAccount, mDatabase.getReadableDatabase());
+    }
+
+    /**
+     * Closes the active period and opens a new one with the same accounts, see
+     * {@link PeriodRollover}. It writes to the database, call it from a background thread.
+     * @param periodName Name of the new period.
+     * @return Identifier of the new period.
+     */
+    public long closeCurrentPeriod(String periodName) {
+        SQLiteDatabase db = mDatabase.getWritableDatabase();
+        if (db == null) {
+            throw new IllegalStateException("Can't close the period. SQLiteDatabase is null.");
+        }
+
+        long idPeriod = PeriodRollover.rollover(db, periodName, new Date());
+
+        // Every account of the active period changed.
+        AccountRepository repository = AccountRepository.peekInstance();
+        if (repository != null) {
+            repository.invalidate();
+        }
+        ChangeBus.getInstance().sendNotification();
+        return idPeriod;
+    }
+
+    /**
+     * Recomputes the balance of every account and repairs the ones that don't match
+     * their movements, see {@link BalanceReconciler}. Call it from a background thread.
+     * @return Report with the number of repaired accounts and the runtime.
+     */
+    public BalanceReconciler.Report reconcileBalances() {
+        SQLiteDatabase db = mDatabase.getWritableDatabase();
+        if (db == null) {
+            throw new IllegalStateException("Can't check the balances. SQLiteDatabase is null.");
+        }
+        return BalanceReconciler.reconcile(db);
     }
 
     /**
@@ -261,10 +227,10 @@ public class AccountManager {
 			 * Insert the first account.
 			 */
 			initialValues.clear();
-			initialValues.put(ACCOUNT_INITIAL_BALANCE, 0.00);
+			initialValues.put(ACCOUNT_INITIAL_BALANCE, 0L);
             bank_account = rs.getString(R.string.bank_account);
 			initialValues.put(ACCOUNT_NAME, bank_account);
-			initialValues.put(ACCOUNT_END_BALANCE, 0.00);
+			initialValues.put(ACCOUNT_END_BALANCE, 0L);
 			initialValues.put(PHOTO_NUMBER, 1);
 			initialValues.put(ID_PERIOD, periodId);
 			
@@ -274,10 +240,10 @@ public class AccountManager {
 			 * Insert the second account.
 			 */
 			initialValues.clear();
-			initialValues.put(ACCOUNT_INITIAL_BALANCE, 0.00);
+			initialValues.put(ACCOUNT_INITIAL_BALANCE, 0L);
             cashAccount = rs.getString(R.string.cash_account);
 			initialValues.put(ACCOUNT_NAME, cashAccount);
-			initialValues.put(ACCOUNT_END_BALANCE, 0.00);
+			initialValues.put(ACCOUNT_END_BALANCE, 0L);
 			initialValues.put(PHOTO_NUMBER, 2);
 			initialValues.put(ID_PERIOD, periodId);
 			
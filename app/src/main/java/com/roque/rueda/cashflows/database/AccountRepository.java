@@ -0,0 +1,293 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database;
+
+import static com.roque.rueda.cashflows.database.AccountTable.ACCOUNT_END_BALANCE;
+import static com.roque.rueda.cashflows.database.AccountTable.ACCOUNT_INITIAL_BALANCE;
+import static com.roque.rueda.cashflows.database.AccountTable.ACCOUNT_NAME;
+import static com.roque.rueda.cashflows.database.AccountTable.PHOTO_NUMBER;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.MatrixCursor;
+import android.util.Log;
+
+import com.roque.rueda.cashflows.model.Account;
+
+/**
+ * Keeps the accounts of the active period and their balances in memory.
+ *
+ * The accounts list, the spinner and the total balance are served from the same
+ * list through the {@link com.roque.rueda.cashflows.provider.CashFlowsProvider}, it's
+ * read from the database the first time and after the accounts or the periods change.
+ * The movement writes don't invalidate it, once committed they read again only the
+ * balance of the accounts they changed through {@link #refreshBalances(Collection)},
+ * so going back to the main screen after saving a movement doesn't read the accounts.
+ * The committed balance is read instead of adding the delta because a read of the
+ * accounts that runs between the commit and the refresh already has the delta.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public final class AccountRepository {
+
+    private static final String TAG = "AccountRepository";
+
+    /**
+     * Name of the column with the total balance returned by {@link #getFinalBalance()}.
+     */
+    public static final String FINAL_BALANCE = "final_balance";
+
+    /**
+     * Times the accounts are read again when a write is applied during the read.
+     */
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    private static final String[] ACCOUNT_COLUMNS = new String[] { AccountTable._ID,
+            ACCOUNT_INITIAL_BALANCE, ACCOUNT_NAME, ACCOUNT_END_BALANCE, PHOTO_NUMBER };
+
+    private static final String[] FINAL_BALANCE_COLUMNS = new String[] { FINAL_BALANCE };
+
+    private static AccountRepository sInstance;
+
+    private final AccountManager mManager;
+    private final Object mLock = new Object();
+
+    /**
+     * Accounts in the order of the query, null when they must be read again. The list
+     * and its accounts are never changed once published, a delta replaces them.
+     * Guarded by mLock.
+     */
+    private List<Account> mAccounts;
+
+    /**
+     * Incremented by every change, a read started before a change is not kept.
+     * Guarded by mLock.
+     */
+    private long mVersion;
+
+    private final AtomicLong mHits = new AtomicLong();
+    private final AtomicLong mMisses = new AtomicLong();
+
+    private AccountRepository(Context context) {
+        mManager = new AccountManager(context);
+    }
+
+    /**
+     * Gets the shared instance, it's created the first time it's requested.
+     * @param context Any context, only the application context is kept.
+     * @return Shared repository.
+     */
+    public static synchronized AccountRepository getInstance(Context context) {
+        if (sInstance == null) {
+            sInstance = new AccountRepository(context.getApplicationContext());
+        }
+        return sInstance;
+    }
+
+    /**
+     * Gets the shared instance without creating it, used by the writers that have
+     * nothing to update when nobody has read the accounts yet.
+     * @return Shared repository or null.
+     */
+    static synchronized AccountRepository peekInstance() {
+        return sInstance;
+    }
+
+    /**
+     * Gets the given columns of the accounts of the active period, in the order of
+     * {@link AccountManager#getAccountsForCurrentPeriod()}.
+     * @param projection Columns of {@link AccountTable}, null for every column.
+     * @return Cursor in memory with the accounts.
+     */
+    public Cursor getAccountsForCurrentPeriod(String[] projection) {
+        if (projection == null) {
+            projection = ACCOUNT_COLUMNS;
+        }
+        List<Account> accounts = getAccounts();
+        MatrixCursor c = new MatrixCursor(projection, accounts.size());
+        for (Account account : accounts) {
+            Object[] row = new Object[projection.length];
+            for (int i = 0; i < projection.length; i++) {
+                row[i] = getValue(account, projection[i]);
+            }
+            c.addRow(row);
+        }
+        return c;
+    }
+
+    /**
+     * Gets the sum of the balances of the accounts of the active period, the same
+     * total {@link AccountManager#getFinalBalance()} reads from the aggregates.
+     * @return Cursor in memory with one row and one column.
+     */
+    public Cursor getFinalBalance() {
+        long total = 0;
+        for (Account account : getAccounts()) {
+            total += account.endBalance;
+        }
+        MatrixCursor c = new MatrixCursor(FINAL_BALANCE_COLUMNS, 1);
+        c.addRow(new Object[] { total });
+        return c;
+    }
+
+    /**
+     * Reads again the balance of the accounts changed by committed movements, it
+     * must be called after the commit. The balances are read holding the lock so two
+     * refreshes can't keep an older balance.
+     * @param idAccounts Identifiers of the accounts whose balance changed.
+     */
+    public void refreshBalances(Collection<Long> idAccounts) {
+        synchronized (mLock) {
+            mVersion++;
+            if (mAccounts == null || idAccounts.isEmpty()) {
+                return;
+            }
+
+            List<Account> accounts = new ArrayList<Account>(mAccounts);
+            for (int i = 0; i < accounts.size(); i++) {
+                Account previous = accounts.get(i);
+                if (!idAccounts.contains(previous.id)) {
+                    continue;
+                }
+                Cursor c = mManager.getAccountBalance(previous.id);
+                try {
+                    if (!c.moveToFirst()) {
+                        // The account is gone, read every account again.
+                        mAccounts = null;
+                        return;
+                    }
+                    Account account = copy(previous);
+                    account.endBalance = c.getLong(0);
+                    accounts.set(i, account);
+                } finally {
+                    c.close();
+                }
+            }
+            mAccounts = Collections.unmodifiableList(accounts);
+        }
+    }
+
+    /**
+     * Forgets the accounts, the next request reads them again. Used when an account
+     * or a period changes.
+     */
+    public void invalidate() {
+        synchronized (mLock) {
+            mVersion++;
+            mAccounts = null;
+        }
+    }
+
+    /**
+     * Gets the accounts from memory, reading them the first time.
+     */
+    private List<Account> getAccounts() {
+        long version;
+        synchronized (mLock) {
+            if (mAccounts != null) {
+                mHits.incrementAndGet();
+                return mAccounts;
+            }
+            version = mVersion;
+        }
+        mMisses.incrementAndGet();
+
+        for (int attempt = 1; ; attempt++) {
+            List<Account> accounts = readAccounts();
+            synchronized (mLock) {
+                // A delta applied during the read may or may not be in it.
+                if (mVersion == version || attempt == MAX_LOAD_ATTEMPTS) {
+                    if (mVersion == version) {
+                        mAccounts = accounts;
+                    }
+                    Log.i(TAG, "Read " + accounts.size() + " accounts, " + mHits.get() +
+                            " hits and " + mMisses.get() + " misses so far.");
+                    return accounts;
+                }
+                version = mVersion;
+            }
+        }
+    }
+
+    private List<Account> readAccounts() {
+        Cursor c = mManager.getAccountsForCurrentPeriod();
+        try {
+            List<Account> accounts = new ArrayList<Account>(c.getCount());
+            while (c.moveToNext()) {
+                Account account = new Account();
+                account.id = c.getLong(0);
+                account.initialBalance = c.getLong(1);
+                account.name = c.getString(2);
+                account.endBalance = c.getLong(3);
+                account.photoNumber = c.getLong(4);
+                accounts.add(account);
+            }
+            return Collections.unmodifiableList(accounts);
+        } finally {
+            c.close();
+        }
+    }
+
+    private static Object getValue(Account account, String column) {
+        if (AccountTable._ID.equals(column)) {
+            return account.id;
+        } else if (ACCOUNT_INITIAL_BALANCE.equals(column)) {
+            return account.initialBalance;
+        } else if (ACCOUNT_NAME.equals(column)) {
+            return account.name;
+        } else if (ACCOUNT_END_BALANCE.equals(column)) {
+            return account.endBalance;
+        } else if (PHOTO_NUMBER.equals(column)) {
+            return account.photoNumber;
+        }
+        throw new IllegalArgumentException("Unknown column " + column);
+    }
+
+    private static Account copy(Account source) {
+        Account account = new Account();
+        account.id = source.id;
+        account.initialBalance = source.initialBalance;
+        account.name = source.name;
+        account.endBalance = source.endBalance;
+        account.photoNumber = source.photoNumber;
+        return account;
+    }
+
+    /**
+     * Gets the number of requests served from memory.
+     * @return Hits since the process started.
+     */
+    public long getHits() {
+        return mHits.get();
+    }
+
+    /**
+     * Gets the number of requests that read the accounts from the database.
+     * @return Misses since the process started.
+     */
+    public long getMisses() {
+        return mMisses.get();
+    }
+}
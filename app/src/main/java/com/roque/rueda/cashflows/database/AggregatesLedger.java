@@ -0,0 +1,116 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database;
+
+import static com.roque.rueda.cashflows.database.AggregatesTable.ALL_DAYS;
+import static com.roque.rueda.cashflows.database.AggregatesTable.CREDITS;
+import static com.roque.rueda.cashflows.database.AggregatesTable.DAY;
+import static com.roque.rueda.cashflows.database.AggregatesTable.DEBITS;
+import static com.roque.rueda.cashflows.database.AggregatesTable.OPENING;
+import static com.roque.rueda.cashflows.database.AggregatesTable.SCOPE;
+import static com.roque.rueda.cashflows.database.AggregatesTable.SCOPE_ID;
+import static com.roque.rueda.cashflows.database.AggregatesTable.SCOPE_PERIOD;
+import static com.roque.rueda.cashflows.database.AggregatesTable.TABLE_AGGREGATES;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+/**
+ * Keeps the {@link AggregatesTable} in sync with the movements.
+ *
+ * Each movement is added to three rows: the totals of its account, the totals of
+ * its account in its local day and the totals of the period of the account.
+ * {@link MovementWrites} updates them in the same transaction as the movement, and
+ * {@link #rebuild(SQLiteDatabase)} computes them again from the raw movements, the
+ * archived ones included.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public final class AggregatesLedger {
+
+    private static final String TAG = "AggregatesLedger";
+
+    private AggregatesLedger() {
+        // Only static members.
+    }
+
+    /**
+     * Gets the first millisecond of the local day of a date, the same value the
+     * rebuild computes in SQL.
+     * @param millis Date in milliseconds since the epoch.
+     * @return First millisecond of the day in the default time zone.
+     */
+    public static long dayOf(long millis) {
+        return MovementWrites.dayOf(millis);
+    }
+
+    /**
+     * Gets the stored totals of a row.
+     * @param db Database used to perform the query.
+     * @param scope One of the SCOPE_* values of {@link AggregatesTable}.
+     * @param scopeId Account or period of the row.
+     * @param day First millisecond of the day or {@link AggregatesTable#ALL_DAYS}.
+     * @return Array with the credits, the debits and the opening balance, all zero
+     *         if the row doesn't exist.
+     */
+    public static long[] getTotals(SQLiteDatabase db, int scope, long scopeId, long day) {
+        Cursor c = db.rawQuery("SELECT " + CREDITS + ", " + DEBITS + ", " + OPENING + " FROM " +
+                TABLE_AGGREGATES + " WHERE " + SCOPE + " = ? AND " + SCOPE_ID + " = ? AND " +
+                DAY + " = ?", new String[] { String.valueOf(scope), String.valueOf(scopeId),
+                String.valueOf(day) });
+        try {
+            return c.moveToFirst() ? new long[] { c.getLong(0), c.getLong(1), c.getLong(2) } :
+                    new long[3];
+        } finally {
+            c.close();
+        }
+    }
+
+    /**
+     * Adds the initial balance of a new account to the opening balance of its period,
+     * the row is left alone if it wasn't created yet because it takes every account
+     * when it's created.
+     * @param db Database with an open transaction.
+     * @param idPeriod Period of the new account.
+     * @param initialBalance Initial balance of the account in minor units.
+     */
+    public static void addOpening(SQLiteDatabase db, long idPeriod, long initialBalance) {
+        db.execSQL("UPDATE " + TABLE_AGGREGATES + " SET " + OPENING + " = " + OPENING +
+                " + ? WHERE " + SCOPE + " = " + SCOPE_PERIOD + " AND " + SCOPE_ID + " = ? AND " +
+                DAY + " = " + ALL_DAYS, new Object[] { initialBalance, idPeriod });
+    }
+
+    /**
+     * Computes every row again from the movements and the accounts.
+     * @param db Writable database.
+     */
+    public static void rebuild(SQLiteDatabase db) {
+        db.beginTransaction();
+        try {
+            for (String sql : LedgerSchema.REBUILD_TOTALS) {
+                db.execSQL(sql);
+            }
+            db.setTransactionSuccessful();
+            Log.i(TAG, "Aggregates rebuilt.");
+        } finally {
+            db.endTransaction();
+        }
+    }
+}
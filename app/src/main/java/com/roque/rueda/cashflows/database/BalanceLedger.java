@@ -0,0 +1,156 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database;
+
+import static com.roque.rueda.cashflows.database.AccountTable.ACCOUNT_END_BALANCE;
+import static com.roque.rueda.cashflows.database.AccountTable.ACCOUNT_INITIAL_BALANCE;
+import static com.roque.rueda.cashflows.database.AccountTable.TABLE_ACCOUNTS;
+import static com.roque.rueda.cashflows.database.MovementsTable.ID_ACCOUNT;
+import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_AMOUNT;
+import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_SING;
+import static com.roque.rueda.cashflows.database.MovementsTable.TABLE_MOVEMENTS;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import com.roque.rueda.cashflows.ledger.BalanceRules;
+
+/**
+ * Keeps the running balance of each account.
+ *
+ * The balance lives in {@link AccountTable#ACCOUNT_END_BALANCE} and it's updated
+ * with the delta of every movement that is inserted, edited or deleted, so a write
+ * costs the same no matter how many movements the account already has. The callers
+ * must invoke these methods inside the same transaction used to change the movement.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public final class BalanceLedger {
+
+    /**
+     * Sing used to store a negative movement.
+     */
+    public static final String NEGATIVE_SING = BalanceRules.NEGATIVE_SING;
+
+    /**
+     * Expression with the signed amount of a movement.
+     */
+    static final String SIGNED_AMOUNT = "CASE WHEN " + MOVEMENTS_SING + " = '" +
+            NEGATIVE_SING + "' THEN -ABS(" + MOVEMENTS_AMOUNT + ") ELSE ABS(" +
+            MOVEMENTS_AMOUNT + ") END";
+
+    /**
+     * Expression that recomputes the balance of the current account row from scratch,
+     * the accounts of a closed period have their movements in the archive, where the
+     * amount already carries the sing.
+     */
+    private static final String RECOMPUTED_BALANCE = TABLE_ACCOUNTS + "." +
+            ACCOUNT_INITIAL_BALANCE + " + IFNULL((SELECT SUM(" + SIGNED_AMOUNT + ") FROM " +
+            TABLE_MOVEMENTS + " WHERE " + TABLE_MOVEMENTS + "." + ID_ACCOUNT + " = " +
+            AccountTable.FULL_ID + "), 0) + IFNULL((SELECT SUM(" +
+            ArchiveTable.ARCHIVE_AMOUNT + ") FROM " +
+            ArchiveTable.TABLE_ARCHIVE + " WHERE " + ArchiveTable.TABLE_ARCHIVE + "." +
+            ArchiveTable.ID_ACCOUNT + " = " + AccountTable.FULL_ID + "), 0)";
+
+    private BalanceLedger() {
+        // Only static members.
+    }
+
+    /**
+     * Gets the amount of a movement with the sing applied, see {@link BalanceRules}.
+     * @param sing Sing of the movement ("+" or "-").
+     * @param amount Amount of the movement in minor units.
+     * @return Negative amount for an expense, positive amount for an income.
+     */
+    public static long signedAmount(String sing, long amount) {
+        return BalanceRules.signedAmount(sing, amount);
+    }
+
+    /**
+     * Adds a delta to the running balance of the account.
+     * @param db Database with an open transaction.
+     * @param idAccount Account identifier.
+     * @param delta Signed amount in minor units that will be added to the balance.
+     * @return true if the account was updated.
+     */
+    public static boolean applyDelta(SQLiteDatabase db, long idAccount, long delta) {
+        SQLiteStatement statement = db.compileStatement(MovementWrites.APPLY_DELTA);
+        try {
+            statement.bindLong(1, delta);
+            statement.bindLong(2, idAccount);
+            return statement.executeUpdateDelete() > 0;
+        } finally {
+            statement.close();
+        }
+    }
+
+    /**
+     * Gets the running balance of the account.
+     * @param db Database used to perform the query.
+     * @param idAccount Account identifier.
+     * @return Balance stored for the account in minor units, 0 if the account doesn't exist.
+     */
+    public static long getBalance(SQLiteDatabase db, long idAccount) {
+        Cursor c = db.rawQuery("SELECT " + ACCOUNT_END_BALANCE + " FROM " + TABLE_ACCOUNTS +
+                " WHERE " + AccountTable._ID + " = ?", new String[]{ String.valueOf(idAccount) });
+        try {
+            return c.moveToFirst() ? c.getLong(0) : 0;
+        } finally {
+            c.close();
+        }
+    }
+
+    /**
+     * Recomputes the balance of the account from all of its movements.
+     * @param db Database used to perform the query.
+     * @param idAccount Account identifier.
+     * @return Balance in minor units computed from scratch.
+     */
+    public static long computeBalance(SQLiteDatabase db, long idAccount) {
+        Cursor c = db.rawQuery("SELECT " + RECOMPUTED_BALANCE + " FROM " + TABLE_ACCOUNTS +
+                " WHERE " + AccountTable.FULL_ID + " = ?", new String[]{ String.valueOf(idAccount) });
+        try {
+            return c.moveToFirst() ? c.getLong(0) : 0;
+        } finally {
+            c.close();
+        }
+    }
+
+    /**
+     * Checks that the running balance of the account matches its movements.
+     * @param db Database used to perform the query.
+     * @param idAccount Account identifier.
+     * @return true if the stored balance is correct.
+     */
+    public static boolean verify(SQLiteDatabase db, long idAccount) {
+        return getBalance(db, idAccount) == computeBalance(db, idAccount);
+    }
+
+    /**
+     * Recomputes the balance of every account from scratch and stores the
+     * ones that don't match, see {@link BalanceReconciler#reconcile(SQLiteDatabase)}.
+     * @param db Writable database.
+     * @return Number of accounts that were repaired.
+     */
+    public static int verifyAndRepair(SQLiteDatabase db) {
+        return BalanceReconciler.reconcile(db).getRepaired();
+    }
+
+}
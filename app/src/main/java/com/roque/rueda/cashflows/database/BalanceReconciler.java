@@ -0,0 +1,252 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database;
+
+import static com.roque.rueda.cashflows.database.AccountTable.ACCOUNT_END_BALANCE;
+import static com.roque.rueda.cashflows.database.AccountTable.ACCOUNT_INITIAL_BALANCE;
+import static com.roque.rueda.cashflows.database.AccountTable.TABLE_ACCOUNTS;
+import static com.roque.rueda.cashflows.database.MovementsTable.ID_ACCOUNT;
+import static com.roque.rueda.cashflows.database.MovementsTable.TABLE_MOVEMENTS;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.util.Log;
+
+/**
+ * Checks the running balances kept by the {@link BalanceLedger} against the movements.
+ *
+ * The balance of every account is recomputed with one grouped query over the current
+ * and the archived movements, the accounts whose stored balance is different are
+ * repaired in one transaction. The accounts whose movements were edited or deleted are
+ * marked with {@link #markDirty(long)} and {@link #reconcileDirty(SQLiteDatabase)} only
+ * checks those, {@link #reconcile(SQLiteDatabase)} checks every account.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public final class BalanceReconciler {
+
+    private static final String TAG = "BalanceReconciler";
+
+    /**
+     * Sentence used to store the recomputed balance, arguments: balance, account.
+     */
+    private static final String REPAIR = "UPDATE " + TABLE_ACCOUNTS + " SET " +
+            ACCOUNT_END_BALANCE + " = ? WHERE " + AccountTable._ID + " = ?";
+
+    /**
+     * Accounts whose movements changed since they were checked.
+     */
+    private static final Set<Long> sDirtyAccounts = new HashSet<Long>();
+
+    private BalanceReconciler() {
+        // Only static members.
+    }
+
+    /**
+     * Result of a reconciliation.
+     */
+    public static final class Report {
+
+        private final int mChecked;
+        private final int mRepaired;
+        private final long mElapsedMillis;
+
+        Report(int checked, int repaired, long elapsedMillis) {
+            mChecked = checked;
+            mRepaired = repaired;
+            mElapsedMillis = elapsedMillis;
+        }
+
+        /**
+         * Gets the number of accounts whose balance was recomputed.
+         */
+        public int getChecked() {
+            return mChecked;
+        }
+
+        /**
+         * Gets the number of accounts whose stored balance was wrong.
+         */
+        public int getRepaired() {
+            return mRepaired;
+        }
+
+        /**
+         * Gets the time used to check and repair the balances.
+         */
+        public long getElapsedMillis() {
+            return mElapsedMillis;
+        }
+
+        @Override
+        public String toString() {
+            return mChecked + " accounts checked, " + mRepaired + " repaired in " +
+                    mElapsedMillis + " ms";
+        }
+    }
+
+    /**
+     * Builds the query with the stored and the recomputed balance of the accounts.
+     * @param accounts Number of accounts in the filter, 0 to read every account.
+     * @return SQL sentence, with the identifiers of the accounts three times as arguments
+     * when there is a filter.
+     */
+    static String buildBalancesQuery(int accounts) {
+        String in = "";
+        if (accounts > 0) {
+            StringBuilder placeholders = new StringBuilder(" IN (");
+            for (int i = 0; i < accounts; i++) {
+                placeholders.append(i == 0 ? "?" : ", ?");
+            }
+            in = placeholders.append(')').toString();
+        }
+        String movementsFilter = accounts > 0 ? " WHERE " + ID_ACCOUNT + in : "";
+        String accountsFilter = accounts > 0 ? " WHERE a." + AccountTable._ID + in : "";
+
+        return "SELECT a." + AccountTable._ID + ", a." + ACCOUNT_END_BALANCE + ", a." +
+                ACCOUNT_INITIAL_BALANCE + " + IFNULL(t.total, 0) FROM " + TABLE_ACCOUNTS +
+                " a LEFT JOIN (SELECT " + ID_ACCOUNT + ", SUM(total) AS total FROM (SELECT " +
+                ID_ACCOUNT + ", SUM(" + BalanceLedger.SIGNED_AMOUNT + ") AS total FROM " +
+                TABLE_MOVEMENTS + movementsFilter + " GROUP BY " + ID_ACCOUNT +
+                " UNION ALL SELECT " + ArchiveTable.ID_ACCOUNT + ", SUM(" +
+                ArchiveTable.ARCHIVE_AMOUNT + ") FROM " + ArchiveTable.TABLE_ARCHIVE +
+                movementsFilter + " GROUP BY " + ArchiveTable.ID_ACCOUNT + ") GROUP BY " +
+                ID_ACCOUNT + ") t ON t." + ID_ACCOUNT + " = a." + AccountTable._ID +
+                accountsFilter;
+    }
+
+    /**
+     * Marks an account whose movements were edited or deleted, so the next call to
+     * {@link #reconcileDirty(SQLiteDatabase)} checks it.
+     * @param idAccount Account identifier.
+     */
+    public static void markDirty(long idAccount) {
+        synchronized (sDirtyAccounts) {
+            sDirtyAccounts.add(idAccount);
+        }
+    }
+
+    /**
+     * Checks if there are accounts waiting to be checked.
+     * @return true if an account was marked since the last reconciliation.
+     */
+    public static boolean hasDirtyAccounts() {
+        synchronized (sDirtyAccounts) {
+            return !sDirtyAccounts.isEmpty();
+        }
+    }
+
+    /**
+     * Checks and repairs the balance of every account. Must be called outside a
+     * transaction from a background thread.
+     * @param db Writable database.
+     * @return Report with the number of accounts and the runtime.
+     */
+    public static Report reconcile(SQLiteDatabase db) {
+        synchronized (sDirtyAccounts) {
+            sDirtyAccounts.clear();
+        }
+        return reconcile(db, new long[0]);
+    }
+
+    /**
+     * Checks and repairs the balance of the accounts marked with {@link #markDirty(long)}.
+     * Must be called outside a transaction from a background thread.
+     * @param db Writable database.
+     * @return Report with the number of accounts and the runtime.
+     */
+    public static Report reconcileDirty(SQLiteDatabase db) {
+        long[] accounts;
+        synchronized (sDirtyAccounts) {
+            if (sDirtyAccounts.isEmpty()) {
+                return new Report(0, 0, 0);
+            }
+            accounts = new long[sDirtyAccounts.size()];
+            int i = 0;
+            for (Long idAccount : sDirtyAccounts) {
+                accounts[i++] = idAccount;
+            }
+            sDirtyAccounts.clear();
+        }
+        return reconcile(db, accounts);
+    }
+
+    private static Report reconcile(SQLiteDatabase db, long[] accounts) {
+        long start = System.nanoTime();
+        int checked = 0;
+        Map<Long, Long> balances = new HashMap<Long, Long>();
+        Map<Long, Long> deltas = new HashMap<Long, Long>();
+
+        db.beginTransaction();
+        try {
+            String[] args = new String[accounts.length * 3];
+            for (int i = 0; i < args.length; i++) {
+                args[i] = String.valueOf(accounts[i % accounts.length]);
+            }
+            Cursor c = db.rawQuery(buildBalancesQuery(accounts.length), args);
+            try {
+                while (c.moveToNext()) {
+                    checked++;
+                    long computed = c.getLong(2);
+                    if (c.isNull(1) || c.getLong(1) != computed) {
+                        balances.put(c.getLong(0), computed);
+                        deltas.put(c.getLong(0), computed - c.getLong(1));
+                    }
+                }
+            } finally {
+                c.close();
+            }
+
+            if (!balances.isEmpty()) {
+                SQLiteStatement repair = db.compileStatement(REPAIR);
+                try {
+                    for (Map.Entry<Long, Long> balance : balances.entrySet()) {
+                        repair.bindLong(1, balance.getValue());
+                        repair.bindLong(2, balance.getKey());
+                        repair.executeUpdateDelete();
+                    }
+                } finally {
+                    repair.close();
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+
+        if (!deltas.isEmpty()) {
+            MovementsDao.notifyCommitted(deltas);
+        }
+
+        Report report = new Report(checked, balances.size(),
+                (System.nanoTime() - start) / 1000000);
+        if (report.getRepaired() > 0) {
+            Log.w(TAG, "Balances repaired, " + report + ".");
+        } else {
+            Log.i(TAG, "Balances checked, " + report + ".");
+        }
+        return report;
+    }
+}
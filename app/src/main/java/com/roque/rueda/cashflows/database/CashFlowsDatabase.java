@@ -0,0 +1,170 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import com.roque.rueda.cashflows.ledger.Ledger;
+
+/**
+ * Process wide owner of the {@link CashFlowsOpenHelper}.
+ *
+ * Managers, loaders and the Add* states get their connection from here instead of
+ * creating a new helper on each call, so the database is opened once per process.
+ * Write-ahead logging is enabled to let the loaders read while a movement is saved.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public final class CashFlowsDatabase {
+
+    private static final String TAG = "CashFlowsDatabase";
+
+    private static CashFlowsDatabase sInstance;
+
+    /**
+     * Number of helpers created, it should stay in one per process.
+     */
+    private static final AtomicInteger sHelpersCreated = new AtomicInteger();
+
+    /**
+     * Number of times a connection to the database was opened.
+     */
+    private static final AtomicInteger sOpenCount = new AtomicInteger();
+
+    /**
+     * Number of times the connection to the database was closed.
+     */
+    private static final AtomicInteger sCloseCount = new AtomicInteger();
+
+    /**
+     * Number of times a connection was requested through this provider.
+     */
+    private static final AtomicInteger sRequestCount = new AtomicInteger();
+
+    private final CashFlowsOpenHelper mOpenHelper;
+    private MovementsDao mMovementsDao;
+    private Ledger mLedger;
+
+    private CashFlowsDatabase(Context context) {
+        mOpenHelper = new CashFlowsOpenHelper(context);
+        mOpenHelper.setWriteAheadLoggingEnabled(true);
+        sHelpersCreated.incrementAndGet();
+    }
+
+    /**
+     * Gets the shared instance, it's created the first time it's requested.
+     * @param context Any context, only the application context is kept.
+     * @return Shared database provider.
+     */
+    public static synchronized CashFlowsDatabase getInstance(Context context) {
+        if (sInstance == null) {
+            sInstance = new CashFlowsDatabase(context.getApplicationContext());
+        }
+        return sInstance;
+    }
+
+    /**
+     * Gets the shared connection used to write.
+     * @return Writable database.
+     */
+    public SQLiteDatabase getWritableDatabase() {
+        sRequestCount.incrementAndGet();
+        return mOpenHelper.getWritableDatabase();
+    }
+
+    /**
+     * Gets the shared connection used to read, with write-ahead logging it's the
+     * same connection returned by {@link #getWritableDatabase()}.
+     * @return Readable database.
+     */
+    public SQLiteDatabase getReadableDatabase() {
+        sRequestCount.incrementAndGet();
+        return mOpenHelper.getReadableDatabase();
+    }
+
+    /**
+     * Gets the movements DAO of the shared connection, its statements are compiled
+     * the first time it's requested and kept until {@link #close()}.
+     * @return DAO used to write the movements.
+     */
+    public synchronized MovementsDao getMovementsDao() {
+        if (mMovementsDao == null) {
+            mMovementsDao = new MovementsDao(getWritableDatabase());
+        }
+        return mMovementsDao;
+    }
+
+    /**
+     * Gets the ledger over this database, see {@link SQLiteLedgerStorage}.
+     * @return Ledger used to add, edit and delete movements.
+     */
+    public synchronized Ledger getLedger() {
+        if (mLedger == null) {
+            mLedger = new Ledger(new SQLiteLedgerStorage(this));
+        }
+        return mLedger;
+    }
+
+    /**
+     * Closes the shared connection, the next request opens it again.
+     */
+    public synchronized void close() {
+        if (mMovementsDao != null) {
+            mMovementsDao.close();
+            mMovementsDao = null;
+        }
+        mOpenHelper.close();
+    }
+
+    /**
+     * Called by the helper each time it opens a connection.
+     */
+    static void onDatabaseOpened() {
+        int opened = sOpenCount.incrementAndGet();
+        Log.i(TAG, "Database opened " + opened + " times, " + sRequestCount.get() +
+                " requests served.");
+    }
+
+    /**
+     * Called by the helper each time it closes its connection.
+     */
+    static void onDatabaseClosed() {
+        sCloseCount.incrementAndGet();
+    }
+
+    public static int getHelpersCreated() {
+        return sHelpersCreated.get();
+    }
+
+    public static int getOpenCount() {
+        return sOpenCount.get();
+    }
+
+    public static int getCloseCount() {
+        return sCloseCount.get();
+    }
+
+    public static int getRequestCount() {
+        return sRequestCount.get();
+    }
+}
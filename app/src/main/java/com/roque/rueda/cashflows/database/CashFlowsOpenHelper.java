@@ -19,27 +19,16 @@ import android.content.Context;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
 import android.util.Log;
-import static android.provider.BaseColumns._ID;
+
+import com.roque.rueda.cashflows.database.migration.Migration;
+import com.roque.rueda.cashflows.database.migration.Migrator;
+import com.roque.rueda.cashflows.database.migration.SQLiteMigrationExecutor;
 
 import static com.roque.rueda.cashflows.database.MovementsTable.TABLE_MOVEMENTS;
-import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_AMOUNT;
-import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_DATE;
-import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_DESCRIPTION;
-import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_SING;
-import static com.roque.rueda.cashflows.database.MovementsTable.ID_ACCOUNT;
 
 import static com.roque.rueda.cashflows.database.PeriodTable.TABLE_PERIODS;
-import static com.roque.rueda.cashflows.database.PeriodTable.START_DATE;
-import static com.roque.rueda.cashflows.database.PeriodTable.NAME;
-import static com.roque.rueda.cashflows.database.PeriodTable.END_DATE;
-import static com.roque.rueda.cashflows.database.PeriodTable.ACTIVE;
 
 import static com.roque.rueda.cashflows.database.AccountTable.TABLE_ACCOUNTS;
-import static com.roque.rueda.cashflows.database.AccountTable.ACCOUNT_INITIAL_BALANCE;
-import static com.roque.rueda.cashflows.database.AccountTable.ACCOUNT_NAME;
-import static com.roque.rueda.cashflows.database.AccountTable.ACCOUNT_END_BALANCE;
-import static com.roque.rueda.cashflows.database.AccountTable.PHOTO_NUMBER;
-import static com.roque.rueda.cashflows.database.AccountTable.ID_PERIOD;
 
 /**
  * 
@@ -67,53 +56,27 @@ public class CashFlowsOpenHelper extends SQLiteOpenHelper {
     public static final int ERROR_GETTING_SP_VALUES = 12;
     public static final int BETA_VERSION = 13;
     public static final int BETA_BUG_FIX = 14;
-    public static final int BETA_RELEASE = 15; // Delete all test values.
+    public static final int BETA_RELEASE = LedgerSchema.RELEASE_VERSION; // Delete all test values.
+    public static final int INTEGER_AMOUNTS = 16; // Amounts stored as cents.
+    public static final int EPOCH_DATES = 17; // Movement dates stored as epoch millis.
+    public static final int MANAGED_INDEXES = 18; // Indexes for the joins and day queries.
+    public static final int AGGREGATES = 19; // Materialized credits and debits.
+    public static final int ARCHIVE = 20; // Movements of the closed periods.
+    public static final int COMPACT_ARCHIVE = 21; // Compact archive and view of all the movements.
+    public static final int SEARCH = 22; // Full-text index of the descriptions.
+    public static final int CATEGORIES = 23; // Categories and tags of the movements.
 
 	/**
-	 * Current database version.
-	 */
-	public static final int DATABASE_VERSION = BETA_RELEASE;
-	
-	/**
-	 * Create sentence for the movements table.
-	 */
-	private static final String CREATION_TABLE_MOVEMENTS = 
-			"CREATE TABLE " +	 TABLE_MOVEMENTS + "(" + 
-					_ID + " INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL," +
-					MOVEMENTS_AMOUNT + " REAL NOT NULL," + 
-					MOVEMENTS_DESCRIPTION + " TEXT," +
-					MOVEMENTS_DATE + " DATETIME NOT NULL," + 
-					MOVEMENTS_SING + " TEXT NOT NULL," +
-					ID_ACCOUNT + " INTEGER NOT NULL REFERENCES " + TABLE_ACCOUNTS + "(" +_ID + "));";
-	
-	/**
-	 * Create sentence for the accounts table.
+	 * Current database version, the version of the {@link LedgerSchema}.
 	 */
-	private static final String CREATION_TABLE_ACCOUNTS = 
-			"CREATE TABLE " + TABLE_ACCOUNTS	+ " (" + 
-					_ID + " INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL," +
-					ACCOUNT_INITIAL_BALANCE + " REAL NOT NULL, " + 
-					ACCOUNT_NAME + " TEXT NO NULL," + 
-					ACCOUNT_END_BALANCE + " REAL," + 
-					PHOTO_NUMBER + " INTEGER," +
-					ID_PERIOD + " INTEGER NOT NULL REFERENCES " + TABLE_PERIODS + "(" +_ID + "));";
-	
-	/**
-	 * Create sentence for the periods table.
-	 */
-	private static final String CREATION_TABLE_PERIODS = 
-			"CREATE TABLE " +	TABLE_PERIODS + " (" + 
-					_ID + " INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL," +
-					START_DATE + " DATETIME NOT NULL," + 
-					END_DATE + " DATETIME NOT NULL," +
-					NAME + " TEXT NOT NULL," + 
-					ACTIVE + " INTEGER NOT NULL);" ;
+	public static final int DATABASE_VERSION = LedgerSchema.VERSION;
 
     private Context mContext;
 
 	/**
 	 * Creates a SQLite open helper instance with the context
-	 * of the application.
+	 * of the application. Use {@link CashFlowsDatabase} to share one
+	 * instance across the application.
 	 * @param context Context of the current application.
 	 */
 	public CashFlowsOpenHelper(Context context) {
@@ -133,12 +96,21 @@ public class CashFlowsOpenHelper extends SQLiteOpenHelper {
 		// Set the database object to future references.
 
         // Executes a script used to generate the initial tables table.
-		db.execSQL(CREATION_TABLE_PERIODS);
-		db.execSQL(CREATION_TABLE_ACCOUNTS);
-		db.execSQL(CREATION_TABLE_MOVEMENTS);
+		for (String sql : LedgerSchema.CREATION_TABLES) {
+			db.execSQL(sql);
+		}
+		for (String sql : LedgerSchema.CREATION_TRIGGERS) {
+			db.execSQL(sql);
+		}
+		for (String sql : LedgerSchema.CREATION_INDEXES) {
+			db.execSQL(sql);
+		}
 		
 		AccountManager manager = new AccountManager();
 		manager.initialLoad(db, mContext.getResources());
+
+		// Totals of the initial accounts and period.
+		AggregatesLedger.rebuild(db);
 	}
 	
 	/**
@@ -163,37 +135,32 @@ public class CashFlowsOpenHelper extends SQLiteOpenHelper {
 		Log.w(TAG, "Upgrading to from " + oldVersion + " database version to " + newVersion + " version.");
 		
 		/*
-		 * NOTE: This switch statement is designed to handle cascading database
-		 * updates, the update will start at the initial version and continue
-		 * to the latest version. Use break if you want to drop and delete all
-		 * the information.
-		 * 
+		 * NOTE: Each schema change adds a Migration step from the previous
+		 * DATABASE_VERSION to the new one, the migrator applies the steps in
+		 * order inside one transaction so a failure leaves the old schema.
+		 *
 		 */
 
-		switch (oldVersion) {
-			case INITIAL_DATABASE_VERSION:
-			case FOREING_KEY_ERROR_VERSION:
-			case PHOTO_NUMBER_ACCOUNTS:
-			case PHOTO_NUMBER_ERROR:
-            case ADDING_SP_ACCOUNT_NAMES:
-            case NO_LOAD_ACCOUNTS:
-            case NO_INIT_LOAD:
-            case TRANSACTION_ERROR:
-            case ERROR_LOADING:
-            case ERROR_GETTING_SP_VALUES:
-            case BETA_VERSION:
-            case BETA_BUG_FIX:
-            case BETA_RELEASE:
-            {
-                // Delete account table.
-                createDatabase(db);
-            } break;
-            default:
-            {
-                createDatabase(db);
-            }
+		if (oldVersion < BETA_RELEASE) {
+			// Versions before the release only had test values, drop them.
+			createDatabase(db);
+			return;
 		}
-		
+		if (!LedgerSchema.MIGRATOR.canUpgrade(oldVersion, newVersion)) {
+			// Never drop the user data, a missing step is a bug of the release.
+			throw new IllegalStateException("There are no migrations from version " +
+					oldVersion + " to " + newVersion + ".");
+		}
+
+		// Keep the user data from the release on.
+		long elapsed = LedgerSchema.MIGRATOR.upgrade(new SQLiteMigrationExecutor(db), oldVersion, newVersion,
+				new Migrator.Listener() {
+					@Override
+					public void onMigrationFinished(Migration migration, long elapsedMillis) {
+						Log.i(TAG, migration + " finished in " + elapsedMillis + " ms.");
+					}
+				});
+		Log.i(TAG, "Database upgraded in " + elapsed + " ms.");
 	}
 
     /**
@@ -202,12 +169,38 @@ public class CashFlowsOpenHelper extends SQLiteOpenHelper {
      *           create the tables.
      */
     private void createDatabase(SQLiteDatabase db) {
+        db.execSQL("DROP VIEW IF EXISTS " + ArchiveTable.VIEW_ALL_MOVEMENTS);
         db.execSQL("DROP TABLE IF EXISTS " + TABLE_PERIODS);
         db.execSQL("DROP TABLE IF EXISTS " + TABLE_ACCOUNTS);
         db.execSQL("DROP TABLE IF EXISTS " + TABLE_MOVEMENTS);
+        db.execSQL("DROP TABLE IF EXISTS " + AggregatesTable.TABLE_AGGREGATES);
+        db.execSQL("DROP TABLE IF EXISTS " + ArchiveTable.TABLE_ARCHIVE);
+        db.execSQL("DROP TABLE IF EXISTS " + ArchiveTable.TABLE_DESCRIPTIONS);
+        db.execSQL("DROP TABLE IF EXISTS " + SearchTable.TABLE_SEARCH);
+        db.execSQL("DROP TABLE IF EXISTS " + CategoryTable.TABLE_CATEGORIES);
+        db.execSQL("DROP TABLE IF EXISTS " + TagTable.TABLE_TAGS);
         onCreate(db);
     }
 
+    /**
+     * Called when the database has been opened.
+     * @param db {@link android.database.sqlite.SQLiteDatabase} that was opened.
+     */
+    @Override
+    public void onOpen(SQLiteDatabase db) {
+        super.onOpen(db);
+        CashFlowsDatabase.onDatabaseOpened();
+    }
+
+    /**
+     * Closes the open database.
+     */
+    @Override
+    public synchronized void close() {
+        super.close();
+        CashFlowsDatabase.onDatabaseClosed();
+    }
+
     /**
      * Used to configure our sqlite database.
      * @param db {@link android.database.sqlite.SQLiteDatabase} instance that will be configured.
@@ -15,25 +15,13 @@
  */
 package com.roque.rueda.cashflows.database;
 
-import static android.provider.BaseColumns._ID;
-import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_AMOUNT;
-import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_DATE;
-import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_DESCRIPTION;
-import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_SING;
-import static com.roque.rueda.cashflows.database.MovementsTable.ID_ACCOUNT;
-import static com.roque.rueda.cashflows.database.MovementsTable.TABLE_MOVEMENTS;
-
-import java.text.SimpleDateFormat;
+import java.util.Calendar;
 import java.util.Date;
-import java.util.Locale;
 
-import android.annotation.SuppressLint;
-import android.content.ContentValues;
 import android.content.Context;
 import android.database.Cursor;
 import android.database.SQLException;
 import android.database.sqlite.SQLiteDatabase;
-import android.database.sqlite.SQLiteQueryBuilder;
 import android.util.Log;
 
 /**
@@ -51,15 +39,9 @@ public class CashMovements {
 	
 	private static final String TAG = "CashMovements";
 	
-	private final CashFlowsOpenHelper mDatabaseOpenHelper;
+	private final CashFlowsDatabase mDatabase;
 	private Context mContext;
 	
-	/**
-	 * List of columns that are used to retrieve information from the database.
-	 */
-	private String[] mCashColumns = new String[]{ _ID, 
-			MOVEMENTS_AMOUNT, MOVEMENTS_DATE, MOVEMENTS_DESCRIPTION, MOVEMENTS_SING };
-	
 	/**
 	 * Creates an instance of this class with the context
 	 * of this application. Fills the values for the database
@@ -67,27 +49,81 @@ public class CashMovements {
 	 */
 	public CashMovements(Context context) {
 		mContext = context;
-		mDatabaseOpenHelper = new CashFlowsOpenHelper(mContext);
+		mDatabase = CashFlowsDatabase.getInstance(mContext);
 	}
 	
 	/**
 	 * Select a set of cash movements based on a date.
+	 * @param date Any instant of the day that will be fetched.
 	 * @return Gets the list of cash movements for a day.
 	 */
 	public Cursor getTodayCashMovements(Date date) {
-		SQLiteDatabase db = mDatabaseOpenHelper.getReadableDatabase();
-		SimpleDateFormat sdf = new SimpleDateFormat("dd-MM-yyyy", Locale.US);
-		String todayDate = sdf.format(date);
+		SQLiteDatabase db = mDatabase.getReadableDatabase();
+		long[] bounds = getDayBounds(date);
         if (db != null) {
-            return db.query(false, TABLE_MOVEMENTS, mCashColumns,
-                    MOVEMENTS_DATE + " BETWEEN ? AND ?",
-                    new String[]{ todayDate + " 00:00:00", todayDate + " 23:59:59" },
-                    null, null, MOVEMENTS_DATE + " DESC", null);
+            return db.rawQuery(LedgerQueries.DAY_MOVEMENTS,
+                    new String[]{ String.valueOf(bounds[0]), String.valueOf(bounds[1]) });
         } else {
             throw new IllegalStateException("SQLiteDatabase can't be null in order to create a " +
                     "query.");
         }
     }
+
+	/**
+	 * Select the cash movements of an account for a day, the query seeks the
+	 * (account, date) index instead of reading every movement.
+	 * @param date Any instant of the day that will be fetched.
+	 * @param idAccount Identifier of the account.
+	 * @return Gets the list of cash movements of the account for a day.
+	 */
+	public Cursor getTodayCashMovements(Date date, long idAccount) {
+		SQLiteDatabase db = mDatabase.getReadableDatabase();
+		long[] bounds = getDayBounds(date);
+		if (db != null) {
+			return db.rawQuery(LedgerQueries.ACCOUNT_DAY_MOVEMENTS,
+					new String[]{ String.valueOf(idAccount), String.valueOf(bounds[0]),
+							String.valueOf(bounds[1]) });
+		} else {
+			throw new IllegalStateException("SQLiteDatabase can't be null in order to create a " +
+					"query.");
+		}
+	}
+
+	/**
+	 * Select the current and the archived movements between two dates, used by the
+	 * reports of the closed periods.
+	 * @param from Inclusive start of the range.
+	 * @param to Exclusive end of the range.
+	 * @return Cursor with the movements of the range, newest first.
+	 */
+	public Cursor getHistoricalMovements(Date from, Date to) {
+		SQLiteDatabase db = mDatabase.getReadableDatabase();
+		if (db != null) {
+			return db.rawQuery(LedgerQueries.HISTORICAL_MOVEMENTS,
+					new String[]{ String.valueOf(from.getTime()), String.valueOf(to.getTime()) });
+		} else {
+			throw new IllegalStateException("SQLiteDatabase can't be null in order to create a " +
+					"query.");
+		}
+	}
+
+	/**
+	 * Gets the first millisecond of the day and the first millisecond of the next
+	 * day in the default time zone.
+	 * @param date Any instant of the day.
+	 * @return Array with the inclusive start and the exclusive end of the day.
+	 */
+	private static long[] getDayBounds(Date date) {
+		Calendar calendar = Calendar.getInstance();
+		calendar.setTime(date);
+		calendar.set(Calendar.HOUR_OF_DAY, 0);
+		calendar.set(Calendar.MINUTE, 0);
+		calendar.set(Calendar.SECOND, 0);
+		calendar.set(Calendar.MILLISECOND, 0);
+		long start = calendar.getTimeInMillis();
+		calendar.add(Calendar.DAY_OF_MONTH, 1);
+		return new long[]{ start, calendar.getTimeInMillis() };
+	}
 	
 	/**
 	 * Get all the movements for a specific account.
@@ -96,56 +132,30 @@ public class CashMovements {
 	 * @return Cursor instance with the cash movements.
 	 */
 	public Cursor getCashMovements(int idPeriod, int idAccount) {
-		
-		SQLiteQueryBuilder qb = new SQLiteQueryBuilder();
-		qb.setTables(PeriodTable.TABLE_PERIODS + " INNER JOIN " + AccountTable.TABLE_ACCOUNTS + 
-				" ON " + AccountTable.ID_PERIOD + " = " + PeriodTable.FULL_ID + " INNER JOIN " + 
-				MovementsTable.TABLE_MOVEMENTS + " ON " + MovementsTable.ID_ACCOUNT + "=" +
-				AccountTable.FULL_ID);
-		
-		String orderBy = MovementsTable.MOVEMENTS_DATE + " DESC";
-		
-		SQLiteDatabase db = mDatabaseOpenHelper.getReadableDatabase();
-		return qb.query(db, null, PeriodTable.ACTIVE + " = 1", null, null, null, orderBy);
-		
+		SQLiteDatabase db = mDatabase.getReadableDatabase();
+		return db.rawQuery(LedgerQueries.PERIOD_MOVEMENTS, null);
 	}
-	
+
 	/**
 	 * Save a new cash movement into the database with
 	 * the given arguments.
 	 * 
-	 * @param amount Amount of the operation.
+	 * @param amount Amount of the operation in minor units (cents).
 	 * @param movementDescription Description of the movement.
 	 * @param movementSing Sing that indicates if this is a positive or negative movement.
 	 * @param movementDate Date of this movement.
 	 * @return True if the movement can be store on the database, otherwise returns false.
 	 */
-	@SuppressLint("SimpleDateFormat")
-	public boolean saveCashMovement(double amount, String movementDescription,
+	public boolean saveCashMovement(long amount, String movementDescription,
 			String movementSing, Date movementDate, long idAccount) {
 		
 		try{
-			// Wrap the values to be used as parameters on the insert method.
-			ContentValues values = new ContentValues();
-			values.put(MOVEMENTS_AMOUNT, amount);
-			values.put(MOVEMENTS_DESCRIPTION, movementDescription);
-			values.put(MOVEMENTS_SING, movementSing);
-			values.put(ID_ACCOUNT, idAccount);
-			// Simple date format help us to convert the data to a correct string.
-			SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-			values.put(MOVEMENTS_DATE, dateFormat.format(movementDate));
-			
-			// Get a writable database to modify the database information.
-			SQLiteDatabase db = mDatabaseOpenHelper.getWritableDatabase();
-			
-			long id = db.insertOrThrow(TABLE_MOVEMENTS, null, values);
-			
-			if(id != -1) {
-				// if the new id it's different from -1 no error have occur.
-				return true;
-			} else {
-				return false;
-			}
+			// The DAO keeps the running balance of the account in the same transaction.
+			long id = mDatabase.getMovementsDao().insert(amount, movementDescription,
+					movementDate.getTime(), movementSing, idAccount);
+
+			// if the new id it's different from -1 no error have occur.
+			return id != -1;
 		} catch (SQLException sqlEx) {
 			Log.w(TAG, "An error happen during cash movement save method, " + sqlEx.getMessage());
 
@@ -157,36 +167,21 @@ public class CashMovements {
 	 * Edit a cash movement, this method edit all the values on the cash movement except for
 	 * the primary key which is used to search and edit the proper movement.
 	 * @param id Identifier for the cash movement.
-	 * @param amount New amount that will update the current amount of this cash movement.
+	 * @param amount New amount in minor units that will update the current amount of this cash movement.
 	 * @param movementDescription New description for the cash movement.
 	 * @param movementSing New sing of the cash movement.
 	 * @param movementDate New date for the current cash movement.
 	 * @return true if the cash movement can be updated otherwise returns false.
 	 */
-	@SuppressLint("SimpleDateFormat")
-	public boolean editCashMovement(long id, double amount, String movementDescription,
+	public boolean editCashMovement(long id, long amount, String movementDescription,
 			String movementSing, Date movementDate) {
 		
 		try {
-			// Wrap the values passing as argument.
-			ContentValues values = new ContentValues();
-			values.put(MOVEMENTS_AMOUNT, amount);
-			values.put(MOVEMENTS_DESCRIPTION, movementDescription);
-			values.put(MOVEMENTS_SING, movementSing);
-			// Simple date format help us to convert the data to a correct string.
-			SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-			values.put(MOVEMENTS_DATE, dateFormat.format(movementDate));
-			Long helperId = Long.valueOf(id);
-			
-			// Get a writable database to modify the database information.
-			SQLiteDatabase db = mDatabaseOpenHelper.getWritableDatabase();
-			int rowsAffected = db.update(TABLE_MOVEMENTS, values, _ID + " = ?", new String[]{helperId.toString()});
-			
-			if(rowsAffected > 0) {
-				return true;
-			} else {
-				return false;
-			}
+			// Replace the old amount with the new one in the running balance.
+			boolean updated = mDatabase.getMovementsDao().update(id, amount, movementDescription,
+					movementDate.getTime(), movementSing);
+			reconcileChangedAccounts();
+			return updated;
 		} catch (SQLException sqlEx) {
 			// This is the error log, we will take this as false.
 			Log.w(TAG, "An error happen during cash movement edit method, " + sqlEx.getMessage());
@@ -203,15 +198,10 @@ public class CashMovements {
 	public boolean deleteCashMovement(long id) {
 		
 		try {
-			Long helperId = Long.valueOf(id);
-			// Get a writable database to modify the database information.
-			SQLiteDatabase db = mDatabaseOpenHelper.getWritableDatabase();
-			int affectedRows = db.delete(TABLE_MOVEMENTS, _ID + " = ?" , new String[]{ helperId.toString() });
-			if (affectedRows > 0) {
-				return true;
-			} else {
-				return false;
-			}
+			// Take the amount out of the running balance.
+			boolean deleted = mDatabase.getMovementsDao().delete(id);
+			reconcileChangedAccounts();
+			return deleted;
 		} catch (SQLException sqlEx) {
 			// Log the error.
 			Log.w(TAG, "An error happen during cash movement deleteCashMovement, " + sqlEx.getMessage());
@@ -219,4 +209,14 @@ public class CashMovements {
 		}
 	}
 
+	/**
+	 * Checks the balance of the accounts whose movements were edited or deleted.
+	 */
+	private void reconcileChangedAccounts() {
+		SQLiteDatabase db = mDatabase.getWritableDatabase();
+		if (!db.inTransaction()) {
+			BalanceReconciler.reconcileDirty(db);
+		}
+	}
+
 }
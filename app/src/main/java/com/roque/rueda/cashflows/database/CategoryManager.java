@@ -0,0 +1,201 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database;
+
+import static com.roque.rueda.cashflows.database.CategoryTable.CATEGORY_NAME;
+import static com.roque.rueda.cashflows.database.CategoryTable.TABLE_CATEGORIES;
+import static com.roque.rueda.cashflows.database.TagTable.TABLE_TAGS;
+import static com.roque.rueda.cashflows.database.TagTable.TAG_NAME;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import com.roque.rueda.cashflows.ledger.TagMask;
+
+/**
+ * Class used to handle the categories and the tags of the movements.
+ *
+ * A movement has at most one category, stored in {@link MovementsTable#ID_CATEGORY},
+ * and any number of tags stored as one bit each in {@link MovementsTable#MOVEMENTS_TAGS},
+ * see {@link TagMask}. The filters and the totals of a period seek the accounts of the
+ * period in the indexes of the current and the archived movements. The category filter
+ * and the totals use the (account, category, tags, sing, amount) index, so the totals
+ * don't read the rows of the movements, and the tags are tested with one AND of masks.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class CategoryManager {
+
+    /**
+     * Column with the sum of the positive movements of a category.
+     */
+    public static final String CREDITS = LedgerQueries.CATEGORY_CREDITS;
+
+    /**
+     * Column with the sum of the negative movements of a category, as a positive number.
+     */
+    public static final String DEBITS = LedgerQueries.CATEGORY_DEBITS;
+
+    private final CashFlowsDatabase mDatabase;
+
+    /**
+     * Creates a category manager over the database of the application.
+     * @param context Context of the application.
+     */
+    public CategoryManager(Context context) {
+        mDatabase = CashFlowsDatabase.getInstance(context);
+    }
+
+    /**
+     * Creates a new category.
+     * @param name Name of the category.
+     * @return Identifier of the category or -1 if there's a category with that name.
+     */
+    public long addCategory(String name) {
+        ContentValues values = new ContentValues();
+        values.put(CATEGORY_NAME, name);
+        return getWritableDatabase().insert(TABLE_CATEGORIES, null, values);
+    }
+
+    /**
+     * Gets every category sorted by name.
+     * @return Cursor with the identifier and the name of each category.
+     */
+    public Cursor getCategories() {
+        return getReadableDatabase().rawQuery("SELECT " + CategoryTable._ID + ", " +
+                CATEGORY_NAME + " FROM " + TABLE_CATEGORIES + " ORDER BY " + CATEGORY_NAME, null);
+    }
+
+    /**
+     * Creates a new tag with the lowest bit that is free.
+     * @param name Name of the tag.
+     * @return Number of the tag, see {@link TagMask}, or -1 if there's a tag with that name.
+     * @throws IllegalStateException if every tag is in use.
+     */
+    public int addTag(String name) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            long used = TagMask.NONE;
+            Cursor c = db.rawQuery("SELECT " + TagTable._ID + " FROM " + TABLE_TAGS, null);
+            try {
+                while (c.moveToNext()) {
+                    used = TagMask.add(used, c.getInt(0));
+                }
+            } finally {
+                c.close();
+            }
+
+            int tag = TagMask.firstFree(used);
+            if (tag == -1) {
+                throw new IllegalStateException("Can't add the tag " + name + ", the " +
+                        TagMask.MAX_TAGS + " tags are in use.");
+            }
+
+            ContentValues values = new ContentValues();
+            values.put(TagTable._ID, tag);
+            values.put(TAG_NAME, name);
+            if (db.insert(TABLE_TAGS, null, values) == -1) {
+                return -1;
+            }
+            db.setTransactionSuccessful();
+            return tag;
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Gets every tag sorted by name.
+     * @return Cursor with the number and the name of each tag.
+     */
+    public Cursor getTags() {
+        return getReadableDatabase().rawQuery("SELECT " + TagTable._ID + ", " + TAG_NAME +
+                " FROM " + TABLE_TAGS + " ORDER BY " + TAG_NAME, null);
+    }
+
+    /**
+     * Changes the category and the tags of a movement, see
+     * {@link MovementsDao#classify(long, long, long)}.
+     * @param idMovement Identifier of the movement.
+     * @param idCategory New category or {@link com.roque.rueda.cashflows.model.Movement#NO_CATEGORY}.
+     * @param tags New tags.
+     * @return true if the movement was updated.
+     */
+    public boolean classify(long idMovement, long idCategory, long tags) {
+        return mDatabase.getMovementsDao().classify(idMovement, idCategory, tags);
+    }
+
+    /**
+     * Gets the movements of a period that have every given tag, newest first.
+     * @param idPeriod Identifier of the period, it may be closed.
+     * @param tags Tags that the movements must have, e.g. {@code TagMask.of(x, y)}.
+     * @return Cursor with the columns of the movements, the category and the tags.
+     */
+    public Cursor getTaggedMovements(long idPeriod, long tags) {
+        String period = String.valueOf(idPeriod);
+        String mask = String.valueOf(tags);
+        return getReadableDatabase().rawQuery(LedgerQueries.TAGGED_MOVEMENTS,
+                new String[]{ period, mask, mask, period, mask, mask });
+    }
+
+    /**
+     * Gets the movements of a period in a category, newest first.
+     * @param idPeriod Identifier of the period, it may be closed.
+     * @param idCategory Identifier of the category.
+     * @return Cursor with the columns of the movements, the category and the tags.
+     */
+    public Cursor getCategoryMovements(long idPeriod, long idCategory) {
+        String period = String.valueOf(idPeriod);
+        String category = String.valueOf(idCategory);
+        return getReadableDatabase().rawQuery(LedgerQueries.CATEGORY_MOVEMENTS,
+                new String[]{ period, category, period, category });
+    }
+
+    /**
+     * Gets the credits and the debits of each category in a period, the movements
+     * without category are added up in a row with a null category.
+     * @param idPeriod Identifier of the period, it may be closed.
+     * @return Cursor with the category as {@link CategoryTable#_ID}, its name,
+     *         {@link #CREDITS} and {@link #DEBITS}, the biggest spending first.
+     */
+    public Cursor getCategoryTotals(long idPeriod) {
+        String period = String.valueOf(idPeriod);
+        return getReadableDatabase().rawQuery(LedgerQueries.CATEGORY_TOTALS,
+                new String[]{ period, period });
+    }
+
+    private SQLiteDatabase getReadableDatabase() {
+        SQLiteDatabase db = mDatabase.getReadableDatabase();
+        if (db == null) {
+            throw new IllegalStateException("Can't read the categories. SQLiteDatabase is null.");
+        }
+        return db;
+    }
+
+    private SQLiteDatabase getWritableDatabase() {
+        SQLiteDatabase db = mDatabase.getWritableDatabase();
+        if (db == null) {
+            throw new IllegalStateException("Can't write the categories. SQLiteDatabase is null.");
+        }
+        return db;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Inserts many movements in the transaction of the caller and applies their
+ * amounts to the balances and the totals once per account (and per day for the
+ * aggregates) instead of once per movement.
+ *
+ * Usage: call {@link #add(long, String, long, String, long)} for each movement and
+ * {@link #apply()} before committing, then
+ * {@link MovementsDao#notifyCommitted(Map)} with the deltas returned once the
+ * transaction is committed.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class MovementBatch {
+
+    private final MovementsDao mDao;
+
+    /**
+     * Signed amounts of the batch by account.
+     */
+    private final Map<Long, long[]> mDeltas = new HashMap<Long, long[]>();
+
+    /**
+     * Credits and debits of the batch by account and day.
+     */
+    private final Map<Long, Map<Long, long[]>> mTotals = new HashMap<Long, Map<Long, long[]>>();
+
+    /**
+     * Creates an empty batch.
+     * @param dao DAO of the connection that owns the transaction.
+     */
+    public MovementBatch(MovementsDao dao) {
+        mDao = dao;
+    }
+
+    /**
+     * Inserts a movement, its amount is kept until {@link #apply()}.
+     * @param amount Amount in minor units.
+     * @param description Description of the movement, may be null.
+     * @param date Date in milliseconds since the epoch.
+     * @param sing Sing of the movement ("+" or "-").
+     * @param idAccount Account of the movement.
+     * @return Identifier of the new movement.
+     */
+    public long add(long amount, String description, long date, String sing, long idAccount) {
+        long id = mDao.insertWithoutBalance(amount, description, date, sing, idAccount);
+
+        long[] delta = mDeltas.get(idAccount);
+        if (delta == null) {
+            delta = new long[1];
+            mDeltas.put(idAccount, delta);
+        }
+        delta[0] += BalanceLedger.signedAmount(sing, amount);
+
+        Map<Long, long[]> days = mTotals.get(idAccount);
+        if (days == null) {
+            days = new HashMap<Long, long[]>();
+            mTotals.put(idAccount, days);
+        }
+        long day = AggregatesLedger.dayOf(date);
+        long[] total = days.get(day);
+        if (total == null) {
+            total = new long[2];
+            days.put(day, total);
+        }
+        total[BalanceLedger.NEGATIVE_SING.equals(sing) ? 1 : 0] += Math.abs(amount);
+        return id;
+    }
+
+    /**
+     * Applies the amounts added since the last call to the balances and the totals,
+     * it must be called inside the transaction used to insert the movements.
+     * @return Signed amount added to the balance of each account changed by the batch.
+     * @throws IllegalArgumentException if an account of the batch doesn't exist, the
+     *         caller must roll back the transaction.
+     */
+    public Map<Long, Long> apply() {
+        for (Map.Entry<Long, long[]> delta : mDeltas.entrySet()) {
+            if (!mDao.applyDelta(delta.getKey(), delta.getValue()[0])) {
+                throw new IllegalArgumentException("Unknown account " + delta.getKey());
+            }
+        }
+        for (Map.Entry<Long, Map<Long, long[]>> account : mTotals.entrySet()) {
+            for (Map.Entry<Long, long[]> day : account.getValue().entrySet()) {
+                mDao.applyTotals(account.getKey(), day.getKey(), day.getValue()[0],
+                        day.getValue()[1]);
+            }
+        }
+        Map<Long, Long> changed = new HashMap<Long, Long>();
+        for (Map.Entry<Long, long[]> delta : mDeltas.entrySet()) {
+            changed.put(delta.getKey(), delta.getValue()[0]);
+        }
+        clear();
+        return changed;
+    }
+
+    /**
+     * Forgets the amounts that were not applied, used when the transaction is rolled back.
+     */
+    public void clear() {
+        mDeltas.clear();
+        mTotals.clear();
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database;
+
+import static com.roque.rueda.cashflows.database.MovementsTable.ID_ACCOUNT;
+import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_AMOUNT;
+import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_DATE;
+import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_DESCRIPTION;
+import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_SING;
+import static com.roque.rueda.cashflows.database.SearchTable.SEARCH_RELEVANCE;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.MatrixCursor;
+import android.database.sqlite.SQLiteDatabase;
+
+/**
+ * Searches the descriptions of the current and the archived movements.
+ *
+ * The descriptions are kept in the FTS4 table {@link SearchTable#TABLE_SEARCH}, the
+ * triggers of the movements keep it in sync with every write path and the rows
+ * survive the period rollover, so a search covers the whole history. The results are
+ * ranked by {@link SearchTable#SEARCH_RELEVANCE}, the share of the words of each
+ * description that match the search, and the newest movement comes first between
+ * results with the same relevance.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class MovementSearch {
+
+    /**
+     * Account filter that matches the movements of every account.
+     */
+    public static final long ALL_ACCOUNTS = LedgerQueries.ALL_ACCOUNTS;
+
+    /**
+     * Number of rows of a page of results.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    /**
+     * Columns of the results, the same as the pages of movements.
+     */
+    private static final String[] COLUMNS = new String[]{ MovementsTable._ID,
+            MOVEMENTS_AMOUNT, MOVEMENTS_DESCRIPTION, MOVEMENTS_DATE, MOVEMENTS_SING,
+            ID_ACCOUNT, SEARCH_RELEVANCE };
+
+    private final CashFlowsDatabase mDatabase;
+
+    /**
+     * Creates a search over the database of the application.
+     * @param context Context of the application.
+     */
+    public MovementSearch(Context context) {
+        mDatabase = CashFlowsDatabase.getInstance(context);
+    }
+
+    /**
+     * Gets one page of the movements whose description contains every word of the
+     * text, the last word also matches as a prefix so the search can run while the
+     * user types. The page starts right after the last row of the previous one, given
+     * by its {@link SearchTable#SEARCH_RELEVANCE} and its identifier, use
+     * {@link Integer#MAX_VALUE} and {@link Long#MAX_VALUE} to get the first page.
+     *
+     * @param text Words typed by the user.
+     * @param accountId Identifier of the account or {@link #ALL_ACCOUNTS}.
+     * @param from First millisecond of the dates, inclusive.
+     * @param to Last millisecond of the dates, exclusive.
+     * @param beforeRelevance Relevance of the last row of the previous page.
+     * @param beforeId Identifier of the last row of the previous page.
+     * @param limit Maximum number of rows of the page.
+     * @return Cursor with at most {@code limit} movements, the most relevant first and
+     *         their relevance in the last column. It's empty if the text has no
+     *         words.
+     */
+    public Cursor search(String text, long accountId, long from, long to,
+                         int beforeRelevance, long beforeId, int limit) {
+        String match = toMatchQuery(text);
+        if (match == null) {
+            return new MatrixCursor(COLUMNS, 0);
+        }
+
+        SQLiteDatabase db = mDatabase.getReadableDatabase();
+        if (db != null) {
+            return db.rawQuery(LedgerQueries.search(limit), new String[]{ match,
+                    String.valueOf(beforeRelevance), String.valueOf(beforeRelevance),
+                    String.valueOf(beforeId), String.valueOf(accountId),
+                    String.valueOf(accountId), String.valueOf(from), String.valueOf(to) });
+        } else {
+            throw new IllegalStateException("Can't search the movements. " +
+                    "SQLiteDatabase is null.");
+        }
+    }
+
+    /**
+     * Converts the words typed by the user to an FTS query. Every word is quoted, so
+     * the operators of the FTS syntax are searched as plain words, and the last one
+     * is a prefix.
+     * @param text Words typed by the user.
+     * @return Match query, null if the text has no letters or digits.
+     */
+    static String toMatchQuery(String text) {
+        if (text == null) {
+            return null;
+        }
+
+        StringBuilder query = new StringBuilder();
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            if (i > start) {
+                if (query.length() > 0) {
+                    query.append(' ');
+                }
+                query.append('"').append(text, start, i).append('"');
+            }
+        }
+
+        if (query.length() == 0) {
+            return null;
+        }
+        // The last word is still being typed.
+        query.insert(query.length() - 1, '*');
+        return query.toString();
+    }
+}
@@ -0,0 +1,371 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database;
+
+import static android.provider.BaseColumns._ID;
+import static com.roque.rueda.cashflows.database.MovementsTable.ID_ACCOUNT;
+import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_AMOUNT;
+import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_SING;
+import static com.roque.rueda.cashflows.database.MovementsTable.TABLE_MOVEMENTS;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.roque.rueda.cashflows.model.Movement;
+
+/**
+ * Single thread that writes the movements saved by the user.
+ *
+ * The UI enqueues the commands and gets a {@link Future} and an optional callback on
+ * the main thread with the result. The writer takes the commands that arrive within
+ * {@link #GROUP_WINDOW} milliseconds of each other and writes them in one transaction,
+ * if one of them fails the group is written again one command per transaction so the
+ * others are kept.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public final class MovementWriter {
+
+    private static final String TAG = "MovementWriter";
+
+    /**
+     * Time in milliseconds the writer waits for more commands before writing a group.
+     */
+    public static final long GROUP_WINDOW = 10;
+
+    /**
+     * Maximum number of commands written in one transaction.
+     */
+    public static final int MAX_GROUP_SIZE = 64;
+
+    /**
+     * Result of a command that couldn't be written.
+     */
+    public static final long FAILED = -1;
+
+    private static final String LEDGER_VALUES = "SELECT " + MOVEMENTS_AMOUNT + ", " +
+            MOVEMENTS_SING + ", " + ID_ACCOUNT + " FROM " + TABLE_MOVEMENTS + " WHERE " +
+            _ID + " = ?";
+
+    /**
+     * Receives the result of a command.
+     */
+    public interface Callback {
+
+        /**
+         * Called on the main thread once the command has been written or has failed.
+         * @param id Identifier of the movement or {@link #FAILED}.
+         */
+        void onWriteFinished(long id);
+    }
+
+    private static MovementWriter sInstance;
+
+    private final CashFlowsDatabase mDatabase;
+    private final Handler mHandler;
+    private final BlockingQueue<Command> mQueue = new LinkedBlockingQueue<Command>();
+
+    // Counters of the commands against the transactions used to write them.
+    private final AtomicLong mCommandsWritten = new AtomicLong();
+    private final AtomicLong mTransactions = new AtomicLong();
+
+    private MovementWriter(Context context) {
+        mDatabase = CashFlowsDatabase.getInstance(context);
+        mHandler = new Handler(Looper.getMainLooper());
+
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                writeCommands();
+            }
+        }, TAG);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Gets the shared writer, its thread is started the first time it's requested.
+     * @param context Any context, only the application context is kept.
+     * @return Shared writer.
+     */
+    public static synchronized MovementWriter getInstance(Context context) {
+        if (sInstance == null) {
+            sInstance = new MovementWriter(context.getApplicationContext());
+        }
+        return sInstance;
+    }
+
+    /**
+     * Enqueues a new movement, the identifier is set in the movement once it's written.
+     * @param movement Movement that will be saved.
+     * @param callback Optional callback called on the main thread.
+     * @return Future with the identifier of the new movement or {@link #FAILED}.
+     */
+    public Future<Long> insert(final Movement movement, Callback callback) {
+        return enqueue(new Command(callback) {
+            @Override
+            long write(SQLiteDatabase db, MovementsDao dao, Map<Long, Long> deltas) {
+                long id = dao.insert(movement.getAmount(), movement.getDescription(),
+                        movement.getDate().getTime(), movement.getSing(),
+                        movement.getIdAccount(), movement.getIdCategory(), movement.getTags());
+                if (id != FAILED) {
+                    movement.setId(id);
+                    addDelta(deltas, movement.getIdAccount(),
+                            BalanceLedger.signedAmount(movement.getSing(), movement.getAmount()));
+                }
+                return id;
+            }
+        });
+    }
+
+    /**
+     * Enqueues the change of a movement.
+     * @param id Identifier of the movement.
+     * @param amount New amount in minor units.
+     * @param description New description, may be null.
+     * @param date New date in milliseconds since the epoch.
+     * @param sing New sing of the movement.
+     * @param callback Optional callback called on the main thread.
+     * @return Future with the identifier of the movement or {@link #FAILED}.
+     */
+    public Future<Long> update(final long id, final long amount, final String description,
+                               final long date, final String sing, Callback callback) {
+        return enqueue(new Command(callback) {
+            @Override
+            long write(SQLiteDatabase db, MovementsDao dao, Map<Long, Long> deltas) {
+                Cursor previous = db.rawQuery(LEDGER_VALUES, new String[] { String.valueOf(id) });
+                try {
+                    if (!previous.moveToFirst() ||
+                            !dao.update(id, amount, description, date, sing)) {
+                        return FAILED;
+                    }
+                    addDelta(deltas, previous.getLong(2), BalanceLedger.signedAmount(sing, amount) -
+                            BalanceLedger.signedAmount(previous.getString(1), previous.getLong(0)));
+                    return id;
+                } finally {
+                    previous.close();
+                }
+            }
+        });
+    }
+
+    /**
+     * Enqueues the deletion of a movement.
+     * @param id Identifier of the movement.
+     * @param callback Optional callback called on the main thread.
+     * @return Future with the identifier of the movement or {@link #FAILED}.
+     */
+    public Future<Long> delete(final long id, Callback callback) {
+        return enqueue(new Command(callback) {
+            @Override
+            long write(SQLiteDatabase db, MovementsDao dao, Map<Long, Long> deltas) {
+                Cursor previous = db.rawQuery(LEDGER_VALUES, new String[] { String.valueOf(id) });
+                try {
+                    if (!previous.moveToFirst() || !dao.delete(id)) {
+                        return FAILED;
+                    }
+                    addDelta(deltas, previous.getLong(2),
+                            -BalanceLedger.signedAmount(previous.getString(1), previous.getLong(0)));
+                    return id;
+                } finally {
+                    previous.close();
+                }
+            }
+        });
+    }
+
+    private Future<Long> enqueue(Command command) {
+        mQueue.add(command);
+        return command.mFuture;
+    }
+
+    /**
+     * Loop of the writer thread.
+     */
+    private void writeCommands() {
+        List<Command> group = new ArrayList<Command>();
+        while (true) {
+            try {
+                group.add(mQueue.take());
+                // Wait a little for the commands saved together with the first one.
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(GROUP_WINDOW);
+                while (group.size() < MAX_GROUP_SIZE) {
+                    Command next = mQueue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                }
+            } catch (InterruptedException e) {
+                Log.w(TAG, "Writer interrupted, " + (group.size() + mQueue.size()) +
+                        " commands not written.");
+                return;
+            }
+
+            if (!writeGroup(group) && group.size() > 1) {
+                // Keep the commands that can be written.
+                for (Command command : group) {
+                    writeGroup(Collections.singletonList(command));
+                }
+            }
+            group.clear();
+
+            // Check the accounts of the edited and deleted movements once the queue is idle.
+            if (mQueue.isEmpty() && BalanceReconciler.hasDirtyAccounts()) {
+                try {
+                    BalanceReconciler.reconcileDirty(mDatabase.getWritableDatabase());
+                } catch (RuntimeException ex) {
+                    Log.e(TAG, "Problem checking the balances: " + ex.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the commands in one transaction, the commands are completed if the
+     * transaction is committed or if there is only one command.
+     * @return true if every command was written.
+     */
+    private boolean writeGroup(List<Command> group) {
+        SQLiteDatabase db = mDatabase.getWritableDatabase();
+        MovementsDao dao = mDatabase.getMovementsDao();
+        Map<Long, Long> deltas = new HashMap<Long, Long>();
+        boolean successful = true;
+
+        mTransactions.incrementAndGet();
+        db.beginTransaction();
+        try {
+            for (Command command : group) {
+                command.mResult = command.write(db, dao, deltas);
+                if (command.mResult == FAILED) {
+                    successful = false;
+                    break;
+                }
+            }
+            if (successful) {
+                db.setTransactionSuccessful();
+            }
+        } catch (RuntimeException ex) {
+            // Keep the thread alive, the commands of the group are retried or failed.
+            Log.e(TAG, "Problem writing " + group.size() + " movements: " + ex.getMessage());
+            successful = false;
+        } finally {
+            db.endTransaction();
+        }
+
+        if (successful) {
+            MovementsDao.notifyCommitted(deltas);
+            mCommandsWritten.addAndGet(group.size());
+        } else if (group.size() == 1) {
+            group.get(0).mResult = FAILED;
+        } else {
+            return false;
+        }
+
+        for (Command command : group) {
+            complete(command);
+        }
+        if (group.size() > 1) {
+            Log.d(TAG, group.size() + " movements written in one transaction, " +
+                    mCommandsWritten.get() + " in " + mTransactions.get() + " transactions so far.");
+        }
+        return successful;
+    }
+
+    private void complete(final Command command) {
+        command.mFuture.run();
+        if (command.mCallback != null) {
+            mHandler.post(new Runnable() {
+                @Override
+                public void run() {
+                    command.mCallback.onWriteFinished(command.mResult);
+                }
+            });
+        }
+    }
+
+    private static void addDelta(Map<Long, Long> deltas, long idAccount, long delta) {
+        Long previous = deltas.get(idAccount);
+        deltas.put(idAccount, previous == null ? delta : previous + delta);
+    }
+
+    /**
+     * Gets the number of commands written.
+     * @return Commands committed since the process started.
+     */
+    public long getCommandsWritten() {
+        return mCommandsWritten.get();
+    }
+
+    /**
+     * Gets the number of transactions used to write the commands.
+     * @return Transactions since the process started, failed ones included.
+     */
+    public long getTransactions() {
+        return mTransactions.get();
+    }
+
+    /**
+     * Write of one movement, the result is published through the future once the
+     * transaction has finished.
+     */
+    private abstract static class Command {
+
+        private final Callback mCallback;
+        private final FutureTask<Long> mFuture;
+        private volatile long mResult = FAILED;
+
+        Command(Callback callback) {
+            mCallback = callback;
+            mFuture = new FutureTask<Long>(new Callable<Long>() {
+                @Override
+                public Long call() {
+                    return mResult;
+                }
+            });
+        }
+
+        /**
+         * Writes the command inside the transaction of the group.
+         * @param db Database with the open transaction.
+         * @param dao DAO of the connection.
+         * @param deltas Signed amount added to the balance of each account, the command
+         *               adds its own delta once written.
+         * @return Identifier of the movement or {@link #FAILED}.
+         */
+        abstract long write(SQLiteDatabase db, MovementsDao dao, Map<Long, Long> deltas);
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database;
+
+import static com.roque.rueda.cashflows.database.MovementsTable.TABLE_MOVEMENTS;
+
+import java.util.Collections;
+import java.util.Map;
+
+import android.database.sqlite.SQLiteDatabase;
+
+import com.roque.rueda.cashflows.database.observer.ChangeBus;
+import com.roque.rueda.cashflows.ledger.TagMask;
+import com.roque.rueda.cashflows.model.Movement;
+
+/**
+ * Writes the movements of the application through a {@link MovementWrites}, whose
+ * statements are compiled once for the lifetime of the connection and bound as
+ * primitives instead of going through {@link android.content.ContentValues}.
+ *
+ * Every write keeps the running balance of the account and the totals of the
+ * aggregates table in the same transaction, see {@link BalanceLedger} and
+ * {@link AggregatesLedger}, and posts the change once it's committed. Use
+ * {@link CashFlowsDatabase#getMovementsDao()} to get the instance of the shared
+ * connection.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class MovementsDao {
+
+    private final SQLiteDatabase mDb;
+    private final MovementWrites mWrites;
+
+    /**
+     * Compiles the statements over the given connection.
+     * @param db Writable database, the statements live as long as this connection.
+     */
+    MovementsDao(SQLiteDatabase db) {
+        mDb = db;
+        mWrites = new MovementWrites(new SQLiteLedgerConnection(db),
+                new MovementWrites.Listener() {
+                    @Override
+                    public void onMovementsChanged(long idAccount, long delta,
+                                                   boolean rewritten) {
+                        if (rewritten) {
+                            BalanceReconciler.markDirty(idAccount);
+                        }
+                        notifyChange(idAccount, delta);
+                    }
+                });
+    }
+
+    /**
+     * Saves a new movement and adds it to the balance of its account.
+     * @param amount Amount in minor units.
+     * @param description Description of the movement, may be null.
+     * @param date Date in milliseconds since the epoch.
+     * @param sing Sing of the movement ("+" or "-").
+     * @param idAccount Account of the movement.
+     * @return Identifier of the new movement or -1 if the account doesn't exist.
+     */
+    public long insert(long amount, String description, long date, String sing,
+                       long idAccount) {
+        return insert(amount, description, date, sing, idAccount, Movement.NO_CATEGORY,
+                TagMask.NONE);
+    }
+
+    /**
+     * Saves a new movement with its category and tags and adds it to the balance of
+     * its account.
+     * @param amount Amount in minor units.
+     * @param description Description of the movement, may be null.
+     * @param date Date in milliseconds since the epoch.
+     * @param sing Sing of the movement ("+" or "-").
+     * @param idAccount Account of the movement.
+     * @param idCategory Category of the movement or {@link Movement#NO_CATEGORY}.
+     * @param tags Tags of the movement, see {@link TagMask}.
+     * @return Identifier of the new movement or -1 if the account doesn't exist.
+     */
+    public synchronized long insert(long amount, String description, long date, String sing,
+                                    long idAccount, long idCategory, long tags) {
+        return mWrites.insert(amount, description, date, sing, idAccount, idCategory, tags);
+    }
+
+    /**
+     * Saves a new movement without touching the balance nor the totals of its account,
+     * the caller must apply the amount with {@link #applyDelta(long, long)} and
+     * {@link #applyTotals(long, long, long, long)} in the same transaction. Used by the
+     * bulk import to update each balance once per batch.
+     * @param amount Amount in minor units.
+     * @param description Description of the movement, may be null.
+     * @param date Date in milliseconds since the epoch.
+     * @param sing Sing of the movement ("+" or "-").
+     * @param idAccount Account of the movement.
+     * @return Identifier of the new movement.
+     */
+    public long insertWithoutBalance(long amount, String description, long date,
+                                     String sing, long idAccount) {
+        return insertWithoutBalance(amount, description, date, sing, idAccount,
+                Movement.NO_CATEGORY, TagMask.NONE);
+    }
+
+    /**
+     * Saves a new movement with its category and tags without touching the balance
+     * nor the totals of its account, see {@link #insertWithoutBalance(long, String,
+     * long, String, long)}.
+     * @param amount Amount in minor units.
+     * @param description Description of the movement, may be null.
+     * @param date Date in milliseconds since the epoch.
+     * @param sing Sing of the movement ("+" or "-").
+     * @param idAccount Account of the movement.
+     * @param idCategory Category of the movement or {@link Movement#NO_CATEGORY}.
+     * @param tags Tags of the movement, see {@link TagMask}.
+     * @return Identifier of the new movement.
+     */
+    public synchronized long insertWithoutBalance(long amount, String description, long date,
+                                                  String sing, long idAccount, long idCategory,
+                                                  long tags) {
+        return mWrites.insertWithoutBalance(amount, description, date, sing, idAccount,
+                idCategory, tags);
+    }
+
+    /**
+     * Changes a movement and replaces its old amount in the balance of its account.
+     * @param id Identifier of the movement.
+     * @param amount New amount in minor units.
+     * @param description New description, may be null.
+     * @param date New date in milliseconds since the epoch.
+     * @param sing New sing of the movement.
+     * @return true if the movement was updated.
+     */
+    public synchronized boolean update(long id, long amount, String description, long date,
+                                       String sing) {
+        return mWrites.update(id, amount, description, date, sing);
+    }
+
+    /**
+     * Changes the category and the tags of a movement, the balance and the totals
+     * don't change.
+     * @param id Identifier of the movement.
+     * @param idCategory New category or {@link Movement#NO_CATEGORY}.
+     * @param tags New tags, see {@link TagMask}.
+     * @return true if the movement was updated.
+     */
+    public synchronized boolean classify(long id, long idCategory, long tags) {
+        return mWrites.classify(id, idCategory, tags);
+    }
+
+    /**
+     * Deletes a movement and takes its amount out of the balance of its account.
+     * @param id Identifier of the movement.
+     * @return true if the movement was deleted.
+     */
+    public synchronized boolean delete(long id) {
+        return mWrites.delete(id);
+    }
+
+    /**
+     * Posts the change of the movements and the balance of an account, see
+     * {@link #notifyCommitted(Map)}. When the caller has its own transaction the change
+     * is not committed yet, so the caller must post it after committing.
+     * @param idAccount Account whose movements changed.
+     * @param delta Signed amount added to the balance of the account.
+     */
+    private void notifyChange(long idAccount, long delta) {
+        if (!mDb.inTransaction()) {
+            notifyCommitted(Collections.singletonMap(idAccount, delta));
+        }
+    }
+
+    /**
+     * Reads again the balances kept by the {@link AccountRepository} and posts the
+     * change of the movements and the balance of each account to the {@link ChangeBus}.
+     * Must be called after the commit.
+     * @param deltas Signed amount added to the balance of each account.
+     */
+    public static void notifyCommitted(Map<Long, Long> deltas) {
+        notifyCommitted(deltas, true);
+    }
+
+    /**
+     * Same as {@link #notifyCommitted(Map)}, the change of the balances is not posted
+     * when the caller notifies the observers of the accounts itself.
+     * @param deltas Signed amount added to the balance of each account.
+     * @param postAccounts false to post only the change of the movements.
+     */
+    public static void notifyCommitted(Map<Long, Long> deltas, boolean postAccounts) {
+        AccountRepository repository = AccountRepository.peekInstance();
+        if (repository != null) {
+            repository.refreshBalances(deltas.keySet());
+        }
+        ChangeBus bus = ChangeBus.getInstance();
+        for (Long idAccount : deltas.keySet()) {
+            bus.notifyChange(TABLE_MOVEMENTS, idAccount);
+            if (postAccounts) {
+                bus.notifyChange(AccountTable.TABLE_ACCOUNTS, idAccount);
+            }
+        }
+    }
+
+    /**
+     * Adds a delta to the running balance of an account.
+     * @param idAccount Account identifier.
+     * @param delta Signed amount in minor units.
+     * @return true if the account was updated.
+     */
+    public synchronized boolean applyDelta(long idAccount, long delta) {
+        return mWrites.applyDelta(idAccount, delta);
+    }
+
+    /**
+     * Adds credits and debits to the daily, the account and the period totals of an
+     * account, see {@link AggregatesLedger}.
+     * @param idAccount Account identifier.
+     * @param day First millisecond of the local day, see {@link AggregatesLedger#dayOf(long)}.
+     * @param credits Minor units added to the credits, negative to take them out.
+     * @param debits Minor units added to the debits, negative to take them out.
+     */
+    public synchronized void applyTotals(long idAccount, long day, long credits, long debits) {
+        mWrites.applyTotals(idAccount, day, credits, debits);
+    }
+
+    /**
+     * Releases the compiled statements.
+     */
+    synchronized void close() {
+        mWrites.close();
+    }
+}
@@ -15,7 +15,6 @@
  */
 package com.roque.rueda.cashflows.database;
 
-import static com.roque.rueda.cashflows.database.AccountTable.TABLE_ACCOUNTS;
 import static com.roque.rueda.cashflows.database.MovementsTable.ID_ACCOUNT;
 import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_AMOUNT;
 import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_DATE;
@@ -28,7 +27,6 @@ import android.content.Context;
 import android.content.res.Resources;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
-import android.database.sqlite.SQLiteQueryBuilder;
 
 import com.roque.rueda.cashflows.model.Movement;
 
@@ -47,7 +45,7 @@ public class MovementsManager {
 
     private static final String TAG = "MovementsManager";
 
-    private CashFlowsOpenHelper mOpenHelper;
+    private CashFlowsDatabase mDatabase;
     private Resources mResources;
 
     public static final String JOIN = " INNER JOIN ";
@@ -59,7 +57,7 @@ public class MovementsManager {
      */
     public MovementsManager(Context context) {
         mResources = context.getResources();
-        mOpenHelper = new CashFlowsOpenHelper(context);
+        mDatabase = CashFlowsDatabase.getInstance(context);
     }
 
     /**
@@ -69,24 +67,34 @@ public class MovementsManager {
      */
     public Cursor getCashMovements(long accountId) {
 
-        SQLiteQueryBuilder qb = new SQLiteQueryBuilder();
-        qb.setTables(TABLE_ACCOUNTS + JOIN + TABLE_MOVEMENTS + " ON " +
-                MovementsTable.ID_ACCOUNT + " = " + AccountTable.FULL_ID);
-
-        String orderBy = MovementsTable.FULL_MOVEMENTS_DATE + " DESC";
-
         // Get the database.
-        SQLiteDatabase db = mOpenHelper.getReadableDatabase();
+        SQLiteDatabase db = mDatabase.getReadableDatabase();
+        if (db != null) {
+            return db.rawQuery(LedgerQueries.CASH_MOVEMENTS,
+                    new String[]{ String.valueOf(accountId) });
+        } else {
+            throw new IllegalStateException("Can't get the movements for the given account.");
+        }
+    }
+
+    /**
+     * Gets one page of the movements of the account, newest first. The page starts
+     * right after the row identified by {@code (beforeDate, beforeId)}, so the query
+     * seeks on the account and date index and costs the same for the first page and
+     * for the last one. Use {@link Long#MAX_VALUE} for both keys to get the first page.
+     *
+     * @param accountId Identifier of the account.
+     * @param beforeDate Date of the last row of the previous page.
+     * @param beforeId Identifier of the last row of the previous page.
+     * @param limit Maximum number of rows of the page.
+     * @return Cursor with at most {@code limit} movements.
+     */
+    public Cursor getCashMovementsPage(long accountId, long beforeDate, long beforeId, int limit) {
+        SQLiteDatabase db = mDatabase.getReadableDatabase();
         if (db != null) {
-            return qb.query(db, new String[]{ MovementsTable.FULL_ID,
-                            MovementsTable.FULL_MOVEMENTS_AMOUNT,
-                            MovementsTable.FULL_MOVEMENTS_DESCRIPTION,
-                            MovementsTable.FULL_MOVEMENTS_DATE,
-                            MovementsTable.FULL_MOVEMENTS_SING,
-                            MovementsTable.FULL_ID_ACCOUNT },
-                     AccountTable.FULL_ID + " = ?" ,
-                    new String[]{ Double.valueOf(accountId).toString()}, null, null,
-                    orderBy);
+            return db.rawQuery(LedgerQueries.cashMovementsPage(limit), new String[]{
+                    String.valueOf(accountId), String.valueOf(beforeDate),
+                    String.valueOf(beforeDate), String.valueOf(beforeId) });
         } else {
             throw new IllegalStateException("Can't get the movements for the given account.");
         }
@@ -111,7 +119,7 @@ public class MovementsManager {
 //        values.put(MOVEMENTS_SING, movement.sing);
 //        values.put(ID_ACCOUNT, movement.idAccount);
 //
-//        SQLiteDatabase db = mOpenHelper.getWritableDatabase();
+//        SQLiteDatabase db = mDatabase.getWritableDatabase();
 //
 //        // Set the result of the operation.
 //        movement.id = db.insert(TABLE_MOVEMENTS, null, values);
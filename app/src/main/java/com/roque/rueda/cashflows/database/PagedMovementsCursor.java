@@ -0,0 +1,613 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database;
+
+import android.database.AbstractCursor;
+import android.database.Cursor;
+import android.os.AsyncTask;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cursor over the movements of one account that is read in pages of a fixed size.
+ *
+ * Each page is fetched with a keyset query that starts after the last row of the
+ * previous page (see {@link MovementsManager#getCashMovementsPage(long, long, long, int)}),
+ * so reading the next page costs the same no matter how many movements the account has.
+ * The count of this cursor grows as pages are appended with {@link #requestNextPage(Listener)},
+ * and only a bounded number of pages keep their rows in memory: the pages that are far
+ * from the visible rows are evicted and {@link #requestPages(int, int, Listener)} reads
+ * them again, with one page of margin on each side, before the list scrolls back to them.
+ *
+ * The cursor must be used from the main thread and it never queries on it, every page
+ * is read in the background. A row of a page that is still being read can't be moved
+ * to, the adapter shows it as loading until the page arrives. When a page read again
+ * no longer has the same rows it stays evicted and the content observers of the cursor
+ * are notified, so the loader reads a new cursor.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class PagedMovementsCursor extends AbstractCursor {
+
+    private static final String TAG = "PagedMovementsCursor";
+
+    /**
+     * Number of rows read with each query.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    /**
+     * Number of pages read before the cursor is delivered, the visible page plus
+     * one page of prefetch.
+     */
+    public static final int DEFAULT_INITIAL_PAGES = 2;
+
+    /**
+     * Maximum number of pages that keep their rows in memory. It's larger than the
+     * visible rows plus the margin of {@link #requestPages(int, int, Listener)}, so
+     * scrolling back a couple of pages still finds them resident.
+     */
+    public static final int DEFAULT_MAX_RESIDENT_PAGES = 6;
+
+    /**
+     * Columns of this cursor, same order as the page query.
+     */
+    private static final String[] COLUMNS = new String[]{ MovementsTable._ID,
+            MovementsTable.MOVEMENTS_AMOUNT, MovementsTable.MOVEMENTS_DESCRIPTION,
+            MovementsTable.MOVEMENTS_DATE, MovementsTable.MOVEMENTS_SING,
+            MovementsTable.ID_ACCOUNT };
+
+    private static final int COLUMN_ID = 0;
+    private static final int COLUMN_AMOUNT = 1;
+    private static final int COLUMN_DESCRIPTION = 2;
+    private static final int COLUMN_DATE = 3;
+    private static final int COLUMN_SING = 4;
+    private static final int COLUMN_ACCOUNT = 5;
+
+    /**
+     * Listener notified on the main thread when new rows can be read.
+     */
+    public interface Listener {
+
+        /**
+         * Called after a page has been appended or an evicted page has been read again.
+         * @param cursor Cursor with the new rows.
+         */
+        void onPageLoaded(PagedMovementsCursor cursor);
+    }
+
+    private final MovementsManager mManager;
+    private final long mAccountId;
+    private final int mPageSize;
+    private final int mMaxResidentPages;
+
+    /**
+     * Pages read so far, the rows of the evicted pages are released but their keys
+     * are kept to read them again.
+     */
+    private final List<Page> mPages = new ArrayList<Page>();
+
+    private int mCount;
+    private int mResidentPages;
+    private boolean mHasMore = true;
+
+    /**
+     * Pages around the visible rows, they are never evicted.
+     */
+    private int mWindowFirst;
+    private int mWindowLast;
+
+    private Page mCurrentPage;
+    private int mCurrentRow;
+
+    private AsyncTask<Void, Void, Page> mNextPageTask;
+    private AsyncTask<Void, Void, List<Page>> mPagesTask;
+
+    private PagedMovementsCursor(MovementsManager manager, long accountId, int pageSize,
+                                 int maxResidentPages) {
+        mManager = manager;
+        mAccountId = accountId;
+        mPageSize = pageSize;
+        mMaxResidentPages = maxResidentPages;
+    }
+
+    /**
+     * Reads the first pages of the movements of the account with the default sizes.
+     * This method performs queries, call it from a background thread.
+     * @param manager Manager used to query the movements.
+     * @param accountId Identifier of the account.
+     * @return Cursor with the first pages.
+     */
+    public static PagedMovementsCursor load(MovementsManager manager, long accountId) {
+        return load(manager, accountId, DEFAULT_PAGE_SIZE, DEFAULT_INITIAL_PAGES,
+                DEFAULT_MAX_RESIDENT_PAGES);
+    }
+
+    /**
+     * Reads the first pages of the movements of the account.
+     * This method performs queries, call it from a background thread.
+     * @param manager Manager used to query the movements.
+     * @param accountId Identifier of the account.
+     * @param pageSize Number of rows read with each query.
+     * @param initialPages Number of pages read before returning.
+     * @param maxResidentPages Maximum number of pages kept in memory, at least the
+     *                         number of initial pages.
+     * @return Cursor with the first pages.
+     */
+    public static PagedMovementsCursor load(MovementsManager manager, long accountId,
+                                            int pageSize, int initialPages,
+                                            int maxResidentPages) {
+        if (pageSize <= 0 || initialPages <= 0 || maxResidentPages < initialPages) {
+            throw new IllegalArgumentException("Invalid page sizes: " + pageSize + ", " +
+                    initialPages + ", " + maxResidentPages);
+        }
+
+        PagedMovementsCursor cursor = new PagedMovementsCursor(manager, accountId, pageSize,
+                maxResidentPages);
+        cursor.mWindowLast = initialPages - 1;
+        for (int i = 0; i < initialPages && cursor.mHasMore; i++) {
+            Page page = cursor.createNextPage();
+            cursor.read(page);
+            cursor.appendPage(page);
+        }
+        return cursor;
+    }
+
+    /**
+     * Checks if the account could have more movements than the ones already read.
+     * @return false once a page shorter than the page size has been read.
+     */
+    public boolean hasMore() {
+        return mHasMore;
+    }
+
+    /**
+     * Gets the number of rows read with each query.
+     * @return Page size.
+     */
+    public int getPageSize() {
+        return mPageSize;
+    }
+
+    /**
+     * Gets the number of rows currently held in memory.
+     * @return Rows of the resident pages.
+     */
+    public int getResidentRows() {
+        int rows = 0;
+        for (Page page : mPages) {
+            if (page.isResident()) {
+                rows += page.size;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Reads the next page in the background and appends it to this cursor. Must be
+     * called from the main thread, the listener is called from the main thread too.
+     * @param listener Listener notified when the page has been appended.
+     * @return true if a new read was started, false if there are no more rows, the
+     *         cursor is closed or a read is already running.
+     */
+    public boolean requestNextPage(final Listener listener) {
+        if (!mHasMore || mNextPageTask != null || isClosed()) {
+            return false;
+        }
+
+        // The keys are taken here, close() clears the pages while the task runs.
+        final Page next = createNextPage();
+        mNextPageTask = new AsyncTask<Void, Void, Page>() {
+            @Override
+            protected Page doInBackground(Void... params) {
+                read(next);
+                return next;
+            }
+
+            @Override
+            protected void onPostExecute(Page page) {
+                mNextPageTask = null;
+                if (!isClosed()) {
+                    appendPage(page);
+                    listener.onPageLoaded(PagedMovementsCursor.this);
+                }
+            }
+        };
+        mNextPageTask.execute();
+        return true;
+    }
+
+    /**
+     * Reads in the background the evicted pages of the visible rows and of the page
+     * before and after them, and evicts the pages that are farther. Must be called from
+     * the main thread every time the visible rows change, the listener is called from
+     * the main thread too.
+     * @param firstPosition Position of the first visible row.
+     * @param lastPosition Position of the last visible row.
+     * @param listener Listener notified when the pages are resident again.
+     * @return true if a new read was started, false if the pages are resident, the
+     *         cursor is closed or a read is already running.
+     */
+    public boolean requestPages(int firstPosition, int lastPosition, final Listener listener) {
+        if (isClosed() || mPages.isEmpty()) {
+            return false;
+        }
+
+        mWindowFirst = Math.max(0, firstPosition / mPageSize - 1);
+        mWindowLast = Math.min(mPages.size() - 1, lastPosition / mPageSize + 1);
+        if (mPagesTask != null) {
+            return false;
+        }
+
+        // Each evicted page is read into a copy, the pages of the cursor are only
+        // changed on the main thread.
+        final List<Page> evicted = new ArrayList<Page>();
+        for (int i = mWindowFirst; i <= mWindowLast; i++) {
+            Page page = mPages.get(i);
+            if (!page.isResident()) {
+                evicted.add(page);
+            }
+        }
+        if (evicted.isEmpty()) {
+            return false;
+        }
+
+        mPagesTask = new AsyncTask<Void, Void, List<Page>>() {
+            @Override
+            protected List<Page> doInBackground(Void... params) {
+                List<Page> read = new ArrayList<Page>(evicted.size());
+                for (Page page : evicted) {
+                    Page copy = new Page(page.startDate, page.startId);
+                    read(copy);
+                    read.add(copy);
+                }
+                return read;
+            }
+
+            @Override
+            protected void onPostExecute(List<Page> read) {
+                mPagesTask = null;
+                if (!isClosed() && restorePages(evicted, read)) {
+                    listener.onPageLoaded(PagedMovementsCursor.this);
+                }
+            }
+        };
+        mPagesTask.execute();
+        return true;
+    }
+
+    /**
+     * Puts back the rows of the evicted pages that were read again. A page that no
+     * longer has the same rows stays evicted, its position in the list would be wrong,
+     * and the observers are notified to read a new cursor.
+     * @param evicted Pages of this cursor that were read.
+     * @param read Rows read for each page, same order.
+     * @return true if any page has its rows again.
+     */
+    private boolean restorePages(List<Page> evicted, List<Page> read) {
+        boolean restored = false;
+        boolean changed = false;
+        for (int i = 0; i < evicted.size(); i++) {
+            Page page = evicted.get(i);
+            Page copy = read.get(i);
+            if (page.isResident()) {
+                continue;
+            }
+            if (copy.size != page.size || copy.lastDate != page.lastDate ||
+                    copy.lastId != page.lastId) {
+                Log.w(TAG, "Page " + mPages.indexOf(page) + " changed from " + page.size +
+                        " to " + copy.size + " rows, reloading.");
+                changed = true;
+                continue;
+            }
+            page.take(copy);
+            mResidentPages++;
+            restored = true;
+        }
+
+        evictFarPages();
+        if (changed) {
+            onChange(true);
+        }
+        return restored;
+    }
+
+    /**
+     * Creates the page that follows the last page of this cursor, without rows. Must be
+     * called from the thread that owns the cursor.
+     * @return Page that starts after the keys of the last page.
+     */
+    private Page createNextPage() {
+        if (mPages.isEmpty()) {
+            return new Page(Long.MAX_VALUE, Long.MAX_VALUE);
+        }
+        Page last = mPages.get(mPages.size() - 1);
+        return new Page(last.lastDate, last.lastId);
+    }
+
+    /**
+     * Adds a page at the end of this cursor.
+     * @param page Page that was read after the last page.
+     */
+    private void appendPage(Page page) {
+        mHasMore = page.size == mPageSize;
+        if (page.size == 0) {
+            return;
+        }
+
+        mPages.add(page);
+        mCount += page.size;
+        mResidentPages++;
+        evictFarPages();
+    }
+
+    /**
+     * Queries the rows of the page starting at its keys.
+     * @param page Page that will be filled.
+     */
+    private void read(Page page) {
+        Cursor c = mManager.getCashMovementsPage(mAccountId, page.startDate, page.startId,
+                mPageSize);
+        try {
+            page.fill(c, mPageSize);
+        } finally {
+            c.close();
+        }
+    }
+
+    /**
+     * Releases the rows of the pages that are farther from the visible rows until the
+     * number of resident pages is within the limit. The pages of the window of the
+     * last {@link #requestPages(int, int, Listener)} are kept.
+     */
+    private void evictFarPages() {
+        while (mResidentPages > mMaxResidentPages) {
+            int farthest = -1;
+            int farthestDistance = 0;
+            for (int i = 0; i < mPages.size(); i++) {
+                int distance = Math.max(mWindowFirst - i, i - mWindowLast);
+                if (distance > farthestDistance && mPages.get(i).isResident()) {
+                    farthest = i;
+                    farthestDistance = distance;
+                }
+            }
+
+            if (farthest == -1) {
+                return;
+            }
+            Page page = mPages.get(farthest);
+            if (page == mCurrentPage) {
+                // The next move to the same row must find that it's no longer resident.
+                mCurrentPage = null;
+                mPos = -1;
+            }
+            page.evict();
+            mResidentPages--;
+        }
+    }
+
+    @Override
+    public boolean onMove(int oldPosition, int newPosition) {
+        // Every page but the last one is full, so the page of a row is a division.
+        int index = newPosition / mPageSize;
+        Page page = mPages.get(index);
+        if (!page.isResident()) {
+            // The page is read in the background by requestPages, never here.
+            return false;
+        }
+
+        mCurrentPage = page;
+        mCurrentRow = newPosition - index * mPageSize;
+        return true;
+    }
+
+    @Override
+    public int getCount() {
+        return mCount;
+    }
+
+    @Override
+    public String[] getColumnNames() {
+        return COLUMNS;
+    }
+
+    @Override
+    public String getString(int column) {
+        switch (column) {
+            case COLUMN_DESCRIPTION: {
+                return mCurrentPage.descriptions[mCurrentRow];
+            }
+            case COLUMN_SING: {
+                return mCurrentPage.sings[mCurrentRow];
+            }
+            default: {
+                return String.valueOf(getLong(column));
+            }
+        }
+    }
+
+    @Override
+    public long getLong(int column) {
+        switch (column) {
+            case COLUMN_ID: {
+                return mCurrentPage.ids[mCurrentRow];
+            }
+            case COLUMN_AMOUNT: {
+                return mCurrentPage.amounts[mCurrentRow];
+            }
+            case COLUMN_DATE: {
+                return mCurrentPage.dates[mCurrentRow];
+            }
+            case COLUMN_ACCOUNT: {
+                return mCurrentPage.accounts[mCurrentRow];
+            }
+            default: {
+                // Same as SQLite, text that is not a number reads as 0.
+                try {
+                    String value = getString(column);
+                    return value == null ? 0 : Long.parseLong(value);
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+    }
+
+    @Override
+    public short getShort(int column) {
+        return (short) getLong(column);
+    }
+
+    @Override
+    public int getInt(int column) {
+        return (int) getLong(column);
+    }
+
+    @Override
+    public float getFloat(int column) {
+        return getLong(column);
+    }
+
+    @Override
+    public double getDouble(int column) {
+        return getLong(column);
+    }
+
+    @Override
+    public boolean isNull(int column) {
+        return (column == COLUMN_DESCRIPTION || column == COLUMN_SING) &&
+                getString(column) == null;
+    }
+
+    @Override
+    public int getType(int column) {
+        if (column == COLUMN_DESCRIPTION || column == COLUMN_SING) {
+            return isNull(column) ? Cursor.FIELD_TYPE_NULL : Cursor.FIELD_TYPE_STRING;
+        }
+        return Cursor.FIELD_TYPE_INTEGER;
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        if (mNextPageTask != null) {
+            mNextPageTask.cancel(false);
+            mNextPageTask = null;
+        }
+        if (mPagesTask != null) {
+            mPagesTask.cancel(false);
+            mPagesTask = null;
+        }
+        mPages.clear();
+        mCurrentPage = null;
+        mResidentPages = 0;
+    }
+
+    /**
+     * Rows of one page stored by column, plus the keys used to read it again.
+     */
+    private static final class Page {
+
+        /**
+         * Keys of the last row of the previous page.
+         */
+        final long startDate;
+        final long startId;
+
+        /**
+         * Keys of the last row of this page.
+         */
+        long lastDate;
+        long lastId;
+
+        int size;
+
+        long[] ids;
+        long[] amounts;
+        long[] dates;
+        long[] accounts;
+        String[] descriptions;
+        String[] sings;
+
+        Page(long startDate, long startId) {
+            this.startDate = startDate;
+            this.startId = startId;
+        }
+
+        boolean isResident() {
+            return ids != null;
+        }
+
+        /**
+         * Copies the rows of the cursor into this page.
+         * @param c Cursor with the columns of the page query.
+         * @param capacity Maximum number of rows.
+         */
+        void fill(Cursor c, int capacity) {
+            int count = Math.min(c.getCount(), capacity);
+            ids = new long[count];
+            amounts = new long[count];
+            dates = new long[count];
+            accounts = new long[count];
+            descriptions = new String[count];
+            sings = new String[count];
+
+            int row = 0;
+            while (row < count && c.moveToNext()) {
+                ids[row] = c.getLong(COLUMN_ID);
+                amounts[row] = c.getLong(COLUMN_AMOUNT);
+                descriptions[row] = c.getString(COLUMN_DESCRIPTION);
+                dates[row] = c.getLong(COLUMN_DATE);
+                sings[row] = c.getString(COLUMN_SING);
+                accounts[row] = c.getLong(COLUMN_ACCOUNT);
+                row++;
+            }
+            size = row;
+
+            if (size > 0) {
+                lastDate = dates[size - 1];
+                lastId = ids[size - 1];
+            }
+        }
+
+        /**
+         * Takes the rows of a page read again with the same keys.
+         * @param other Page with the rows.
+         */
+        void take(Page other) {
+            ids = other.ids;
+            amounts = other.amounts;
+            dates = other.dates;
+            accounts = other.accounts;
+            descriptions = other.descriptions;
+            sings = other.sings;
+        }
+
+        void evict() {
+            ids = null;
+            amounts = null;
+            dates = null;
+            accounts = null;
+            descriptions = null;
+            sings = null;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database;
+
+import static com.roque.rueda.cashflows.database.AccountTable.ACCOUNT_END_BALANCE;
+import static com.roque.rueda.cashflows.database.AccountTable.ACCOUNT_INITIAL_BALANCE;
+import static com.roque.rueda.cashflows.database.AccountTable.ACCOUNT_NAME;
+import static com.roque.rueda.cashflows.database.AccountTable.ID_PERIOD;
+import static com.roque.rueda.cashflows.database.AccountTable.PHOTO_NUMBER;
+import static com.roque.rueda.cashflows.database.AccountTable.TABLE_ACCOUNTS;
+import static com.roque.rueda.cashflows.database.ArchiveTable.DESCRIPTION_TEXT;
+import static com.roque.rueda.cashflows.database.ArchiveTable.TABLE_ARCHIVE;
+import static com.roque.rueda.cashflows.database.ArchiveTable.TABLE_DESCRIPTIONS;
+import static com.roque.rueda.cashflows.database.MovementsTable.ID_ACCOUNT;
+import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_AMOUNT;
+import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_DATE;
+import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_DESCRIPTION;
+import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_SING;
+import static com.roque.rueda.cashflows.database.MovementsTable.TABLE_MOVEMENTS;
+import static com.roque.rueda.cashflows.database.PeriodTable.ACTIVE;
+import static com.roque.rueda.cashflows.database.PeriodTable.END_DATE;
+import static com.roque.rueda.cashflows.database.PeriodTable.NAME;
+import static com.roque.rueda.cashflows.database.PeriodTable.START_DATE;
+import static com.roque.rueda.cashflows.database.PeriodTable.TABLE_PERIODS;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+import android.content.ContentValues;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.util.Log;
+
+/**
+ * Closes the active period and opens a new one.
+ *
+ * The accounts of the closed period are copied to the new period with their closing
+ * balance as the initial balance, the balances are taken from the totals of the
+ * {@link AggregatesTable} in one statement. The movements of the closed period are
+ * moved to the {@link ArchiveTable} in its compact form, so the queries of the active
+ * period only read the current movements. Everything happens in one transaction.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public final class PeriodRollover {
+
+    private static final String TAG = "PeriodRollover";
+
+    /**
+     * Closing balance of the account a, read from its totals.
+     */
+    private static final String CLOSING_BALANCE = "IFNULL(g." + AggregatesTable.OPENING +
+            " + g." + AggregatesTable.CREDITS + " - g." + AggregatesTable.DEBITS + ", a." +
+            ACCOUNT_INITIAL_BALANCE + ")";
+
+    /**
+     * Copies the accounts of a period to a new one, arguments: new period, closed period.
+     */
+    private static final String CARRY_ACCOUNTS = "INSERT INTO " + TABLE_ACCOUNTS + " (" +
+            ACCOUNT_INITIAL_BALANCE + ", " + ACCOUNT_NAME + ", " + ACCOUNT_END_BALANCE + ", " +
+            PHOTO_NUMBER + ", " + ID_PERIOD + ") SELECT " + CLOSING_BALANCE + ", a." +
+            ACCOUNT_NAME + ", " + CLOSING_BALANCE + ", a." + PHOTO_NUMBER + ", ? FROM " +
+            TABLE_ACCOUNTS + " a LEFT JOIN " + AggregatesTable.TABLE_AGGREGATES + " g ON g." +
+            AggregatesTable.SCOPE + " = " + AggregatesTable.SCOPE_ACCOUNT + " AND g." +
+            AggregatesTable.SCOPE_ID + " = a." + AccountTable._ID + " AND g." +
+            AggregatesTable.DAY + " = " + AggregatesTable.ALL_DAYS + " WHERE a." + ID_PERIOD +
+            " = ? ORDER BY a." + AccountTable._ID;
+
+    /**
+     * Creates the totals row of a period, arguments: period, period.
+     */
+    private static final String OPEN_PERIOD_TOTALS = "INSERT OR REPLACE INTO " +
+            AggregatesTable.TABLE_AGGREGATES + " (" + AggregatesTable.SCOPE + ", " +
+            AggregatesTable.SCOPE_ID + ", " + AggregatesTable.DAY + ", " +
+            AggregatesTable.CREDITS + ", " + AggregatesTable.DEBITS + ", " +
+            AggregatesTable.OPENING + ") SELECT " + AggregatesTable.SCOPE_PERIOD + ", ?, " +
+            AggregatesTable.ALL_DAYS + ", 0, 0, IFNULL(SUM(" + ACCOUNT_INITIAL_BALANCE +
+            "), 0) FROM " + TABLE_ACCOUNTS + " WHERE " + ID_PERIOD + " = ?";
+
+    /**
+     * Movements of the accounts of a period, argument: period.
+     */
+    private static final String MOVEMENTS_OF_PERIOD = " WHERE " + ID_ACCOUNT + " IN (SELECT " +
+            AccountTable._ID + " FROM " + TABLE_ACCOUNTS + " WHERE " + ID_PERIOD + " = ?)";
+
+    /**
+     * Adds the descriptions that are not in the dictionary yet, argument: period.
+     */
+    private static final String ARCHIVE_DESCRIPTIONS = "INSERT OR IGNORE INTO " +
+            TABLE_DESCRIPTIONS + " (" + DESCRIPTION_TEXT + ") SELECT " + MOVEMENTS_DESCRIPTION +
+            " FROM " + TABLE_MOVEMENTS + MOVEMENTS_OF_PERIOD + " AND " + MOVEMENTS_DESCRIPTION +
+            " IS NOT NULL";
+
+    /**
+     * Copies the movements to the archive with the signed amount and the code of
+     * the description, argument: period.
+     */
+    private static final String ARCHIVE_MOVEMENTS = "INSERT INTO " + TABLE_ARCHIVE + " (" +
+            ArchiveTable._ID + ", " + ArchiveTable.ARCHIVE_AMOUNT + ", " +
+            ArchiveTable.ARCHIVE_DATE + ", " + ArchiveTable.ID_DESCRIPTION + ", " +
+            ArchiveTable.ID_ACCOUNT + ", " + ArchiveTable.ID_CATEGORY + ", " +
+            ArchiveTable.ARCHIVE_TAGS + ") SELECT m." + MovementsTable._ID + ", CASE WHEN m." +
+            MOVEMENTS_SING + " = '" + BalanceLedger.NEGATIVE_SING + "' THEN -ABS(m." +
+            MOVEMENTS_AMOUNT + ") ELSE ABS(m." + MOVEMENTS_AMOUNT + ") END, m." +
+            MOVEMENTS_DATE + ", d." + ArchiveTable._ID + ", m." + ID_ACCOUNT + ", m." +
+            MovementsTable.ID_CATEGORY + ", m." + MovementsTable.MOVEMENTS_TAGS + " FROM " +
+            TABLE_MOVEMENTS + " m LEFT JOIN " + TABLE_DESCRIPTIONS + " d ON d." +
+            DESCRIPTION_TEXT + " = m." + MOVEMENTS_DESCRIPTION + " WHERE m." + ID_ACCOUNT +
+            " IN (SELECT " + AccountTable._ID + " FROM " + TABLE_ACCOUNTS + " WHERE " +
+            ID_PERIOD + " = ?)";
+
+    private static final String DELETE_MOVEMENTS = "DELETE FROM " + TABLE_MOVEMENTS +
+            MOVEMENTS_OF_PERIOD;
+
+    private PeriodRollover() {
+        // Only static members.
+    }
+
+    /**
+     * Closes the active period, creates the new one with the accounts and their
+     * closing balances and archives the movements of the closed period.
+     * @param db Writable database.
+     * @param periodName Name of the new period.
+     * @param now Date used to close the old period and to start the new one.
+     * @return Identifier of the new period.
+     * @throws IllegalStateException if there's no active period.
+     */
+    public static long rollover(SQLiteDatabase db, String periodName, Date now) {
+        long start = System.nanoTime();
+        db.beginTransaction();
+        try {
+            long closedPeriod = getActivePeriod(db);
+            String today = new SimpleDateFormat("dd-MM-yyyy", Locale.US).format(now);
+
+            ContentValues values = new ContentValues();
+            values.put(ACTIVE, 0);
+            values.put(END_DATE, today);
+            db.update(TABLE_PERIODS, values, PeriodTable._ID + " = ?",
+                    new String[] { String.valueOf(closedPeriod) });
+
+            values.clear();
+            values.put(START_DATE, today);
+            values.put(END_DATE, today);
+            values.put(NAME, periodName);
+            values.put(ACTIVE, 1);
+            long newPeriod = db.insertOrThrow(TABLE_PERIODS, null, values);
+
+            int accounts = execute(db, CARRY_ACCOUNTS, newPeriod, closedPeriod);
+            execute(db, OPEN_PERIOD_TOTALS, newPeriod, newPeriod);
+
+            execute(db, ARCHIVE_DESCRIPTIONS, closedPeriod);
+            execute(db, ARCHIVE_MOVEMENTS, closedPeriod);
+            int archived = execute(db, DELETE_MOVEMENTS, closedPeriod);
+
+            db.setTransactionSuccessful();
+            Log.i(TAG, "Period " + closedPeriod + " closed, " + accounts + " accounts carried to " +
+                    "the period " + newPeriod + " and " + archived + " movements archived in " +
+                    (System.nanoTime() - start) / 1000000 + " ms.");
+            return newPeriod;
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    private static long getActivePeriod(SQLiteDatabase db) {
+        SQLiteStatement statement = db.compileStatement("SELECT MAX(" + PeriodTable._ID +
+                ") FROM " + TABLE_PERIODS + " WHERE " + ACTIVE + " = 1");
+        try {
+            String id = statement.simpleQueryForString();
+            if (id == null) {
+                throw new IllegalStateException("There's no active period to close.");
+            }
+            return Long.parseLong(id);
+        } finally {
+            statement.close();
+        }
+    }
+
+    private static int execute(SQLiteDatabase db, String sql, long... args) {
+        SQLiteStatement statement = db.compileStatement(sql);
+        try {
+            for (int i = 0; i < args.length; i++) {
+                statement.bindLong(i + 1, args[i]);
+            }
+            return statement.executeUpdateDelete();
+        } finally {
+            statement.close();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+/**
+ * Runs the {@link LedgerConnection} over the SQLiteDatabase of the application.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class SQLiteLedgerConnection implements LedgerConnection {
+
+    private final SQLiteDatabase mDb;
+
+    /**
+     * Creates a ledger connection over the given database.
+     * @param db Open database.
+     */
+    public SQLiteLedgerConnection(SQLiteDatabase db) {
+        mDb = db;
+    }
+
+    @Override
+    public LedgerStatement compileStatement(String sql) {
+        return new Statement(mDb.compileStatement(sql));
+    }
+
+    @Override
+    public LedgerCursor rawQuery(String sql, String[] args) {
+        return new Rows(mDb.rawQuery(sql, args));
+    }
+
+    @Override
+    public void beginTransaction() {
+        mDb.beginTransaction();
+    }
+
+    @Override
+    public void setTransactionSuccessful() {
+        mDb.setTransactionSuccessful();
+    }
+
+    @Override
+    public void endTransaction() {
+        mDb.endTransaction();
+    }
+
+    @Override
+    public boolean inTransaction() {
+        return mDb.inTransaction();
+    }
+
+    /**
+     * Compiled statement over a SQLiteStatement.
+     */
+    private static final class Statement implements LedgerStatement {
+
+        private final SQLiteStatement mStatement;
+
+        Statement(SQLiteStatement statement) {
+            mStatement = statement;
+        }
+
+        @Override
+        public void bindLong(int index, long value) {
+            mStatement.bindLong(index, value);
+        }
+
+        @Override
+        public void bindString(int index, String value) {
+            mStatement.bindString(index, value);
+        }
+
+        @Override
+        public void bindNull(int index) {
+            mStatement.bindNull(index);
+        }
+
+        @Override
+        public void clearBindings() {
+            mStatement.clearBindings();
+        }
+
+        @Override
+        public long executeInsert() {
+            return mStatement.executeInsert();
+        }
+
+        @Override
+        public int executeUpdateDelete() {
+            return mStatement.executeUpdateDelete();
+        }
+
+        @Override
+        public long simpleQueryForLong() {
+            return mStatement.simpleQueryForLong();
+        }
+
+        @Override
+        public void close() {
+            mStatement.close();
+        }
+    }
+
+    /**
+     * Rows of a query over a Cursor.
+     */
+    private static final class Rows implements LedgerCursor {
+
+        private final Cursor mCursor;
+
+        Rows(Cursor cursor) {
+            mCursor = cursor;
+        }
+
+        @Override
+        public boolean moveToFirst() {
+            return mCursor.moveToFirst();
+        }
+
+        @Override
+        public long getLong(int column) {
+            return mCursor.getLong(column);
+        }
+
+        @Override
+        public String getString(int column) {
+            return mCursor.getString(column);
+        }
+
+        @Override
+        public void close() {
+            mCursor.close();
+        }
+    }
+}
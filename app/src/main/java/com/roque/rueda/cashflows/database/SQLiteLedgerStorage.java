@@ -0,0 +1,200 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database;
+
+import static com.roque.rueda.cashflows.database.AccountTable.ACCOUNT_END_BALANCE;
+import static com.roque.rueda.cashflows.database.AccountTable.ACCOUNT_INITIAL_BALANCE;
+import static com.roque.rueda.cashflows.database.AccountTable.ACCOUNT_NAME;
+import static com.roque.rueda.cashflows.database.AccountTable.PHOTO_NUMBER;
+import static com.roque.rueda.cashflows.database.AccountTable.TABLE_ACCOUNTS;
+import static com.roque.rueda.cashflows.database.MovementsTable.ID_ACCOUNT;
+import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_AMOUNT;
+import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_DATE;
+import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_DESCRIPTION;
+import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_SING;
+import static com.roque.rueda.cashflows.database.MovementsTable.TABLE_MOVEMENTS;
+import static com.roque.rueda.cashflows.database.PeriodTable.ACTIVE;
+import static com.roque.rueda.cashflows.database.PeriodTable.END_DATE;
+import static com.roque.rueda.cashflows.database.PeriodTable.NAME;
+import static com.roque.rueda.cashflows.database.PeriodTable.START_DATE;
+import static com.roque.rueda.cashflows.database.PeriodTable.TABLE_PERIODS;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import com.roque.rueda.cashflows.ledger.LedgerStorage;
+import com.roque.rueda.cashflows.model.Account;
+import com.roque.rueda.cashflows.model.Movement;
+import com.roque.rueda.cashflows.model.Period;
+
+/**
+ * {@link LedgerStorage} over the SQLite database of the application, the writes go
+ * through the {@link MovementsDao} so the balances and the totals are kept in the same
+ * transaction.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class SQLiteLedgerStorage implements LedgerStorage {
+
+    private static final String TAG = "SQLiteLedgerStorage";
+
+    private static final String MOVEMENT = "SELECT " + MovementsTable._ID + ", " +
+            MOVEMENTS_AMOUNT + ", " + MOVEMENTS_DESCRIPTION + ", " + MOVEMENTS_DATE + ", " +
+            MOVEMENTS_SING + ", " + ID_ACCOUNT + ", " + MovementsTable.ID_CATEGORY + ", " +
+            MovementsTable.MOVEMENTS_TAGS + " FROM " + TABLE_MOVEMENTS + " WHERE " +
+            MovementsTable._ID + " = ?";
+
+    private static final String ACCOUNT_COLUMNS = "SELECT " + AccountTable._ID + ", " +
+            ACCOUNT_INITIAL_BALANCE + ", " + ACCOUNT_END_BALANCE + ", " + PHOTO_NUMBER + ", " +
+            ACCOUNT_NAME + " FROM " + TABLE_ACCOUNTS;
+
+    private static final String ACTIVE_PERIOD = "SELECT " + PeriodTable._ID + ", " + NAME +
+            ", " + START_DATE + ", " + END_DATE + " FROM " + TABLE_PERIODS + " WHERE " +
+            ACTIVE + " = 1 ORDER BY " + PeriodTable._ID + " DESC LIMIT 1";
+
+    private final CashFlowsDatabase mDatabase;
+
+    /**
+     * Creates a storage over the shared connection.
+     * @param database Shared database of the process.
+     */
+    public SQLiteLedgerStorage(CashFlowsDatabase database) {
+        mDatabase = database;
+    }
+
+    @Override
+    public long insertMovement(Movement movement) {
+        return mDatabase.getMovementsDao().insert(movement.getAmount(),
+                movement.getDescription(), movement.getDate().getTime(), movement.getSing(),
+                movement.getIdAccount(), movement.getIdCategory(), movement.getTags());
+    }
+
+    @Override
+    public boolean updateMovement(Movement movement) {
+        MovementsDao dao = mDatabase.getMovementsDao();
+        return dao.update(movement.getId(), movement.getAmount(), movement.getDescription(),
+                movement.getDate().getTime(), movement.getSing()) &&
+                dao.classify(movement.getId(), movement.getIdCategory(), movement.getTags());
+    }
+
+    @Override
+    public boolean deleteMovement(long id) {
+        return mDatabase.getMovementsDao().delete(id);
+    }
+
+    @Override
+    public Movement getMovement(long id) {
+        Cursor c = getDatabase().rawQuery(MOVEMENT, new String[] { String.valueOf(id) });
+        try {
+            if (!c.moveToFirst()) {
+                return null;
+            }
+            Movement movement = new Movement();
+            movement.setId(c.getLong(0));
+            movement.setAmount(c.getLong(1));
+            movement.setDescription(c.getString(2));
+            movement.setDate(new Date(c.getLong(3)));
+            movement.setSing(c.getString(4));
+            movement.setIdAccount(c.getLong(5));
+            movement.setIdCategory(c.isNull(6) ? Movement.NO_CATEGORY : c.getLong(6));
+            movement.setTags(c.getLong(7));
+            return movement;
+        } finally {
+            c.close();
+        }
+    }
+
+    @Override
+    public Account getAccount(long idAccount) {
+        List<Account> accounts = queryAccounts(AccountTable._ID + " = ?", idAccount);
+        return accounts.isEmpty() ? null : accounts.get(0);
+    }
+
+    @Override
+    public List<Account> getAccounts(long idPeriod) {
+        return queryAccounts(AccountTable.ID_PERIOD + " = ?", idPeriod);
+    }
+
+    @Override
+    public Period getActivePeriod() {
+        Cursor c = getDatabase().rawQuery(ACTIVE_PERIOD, null);
+        try {
+            if (!c.moveToFirst()) {
+                return null;
+            }
+            Period period = new Period();
+            period.setId(c.getLong(0));
+            period.setName(c.getString(1));
+            period.setStartDate(parseDate(c.getString(2)));
+            period.setEndDate(parseDate(c.getString(3)));
+            period.setActive(true);
+            return period;
+        } finally {
+            c.close();
+        }
+    }
+
+    private List<Account> queryAccounts(String selection, long id) {
+        List<Account> accounts = new ArrayList<Account>();
+        Cursor c = getDatabase().rawQuery(ACCOUNT_COLUMNS + " WHERE " + selection +
+                " ORDER BY " + AccountTable._ID, new String[] { String.valueOf(id) });
+        try {
+            while (c.moveToNext()) {
+                Account account = new Account();
+                account.id = c.getLong(0);
+                account.initialBalance = c.getLong(1);
+                account.endBalance = c.getLong(2);
+                account.photoNumber = c.getLong(3);
+                account.name = c.getString(4);
+                accounts.add(account);
+            }
+        } finally {
+            c.close();
+        }
+        return accounts;
+    }
+
+    private SQLiteDatabase getDatabase() {
+        SQLiteDatabase db = mDatabase.getReadableDatabase();
+        if (db == null) {
+            throw new IllegalStateException("Can't read the ledger. SQLiteDatabase is null.");
+        }
+        return db;
+    }
+
+    /**
+     * Parse the dates of the periods, they are stored as "dd-MM-yyyy".
+     */
+    private static Date parseDate(String date) {
+        try {
+            return date == null ? null : new SimpleDateFormat("dd-MM-yyyy", Locale.US).parse(date);
+        } catch (ParseException e) {
+            Log.w(TAG, "Wrong date of a period: " + date);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database.migration;
+
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+
+/**
+ * {@link MigrationExecutor} backed by an Android {@link SQLiteDatabase}.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class SQLiteMigrationExecutor implements MigrationExecutor {
+
+    private final SQLiteDatabase mDatabase;
+
+    /**
+     * Creates an executor over the given database.
+     * @param db Writable database, usually the one received by onUpgrade.
+     */
+    public SQLiteMigrationExecutor(SQLiteDatabase db) {
+        mDatabase = db;
+    }
+
+    @Override
+    public void execSQL(String sql) {
+        mDatabase.execSQL(sql);
+    }
+
+    @Override
+    public long queryForLong(String sql) {
+        return DatabaseUtils.longForQuery(mDatabase, sql, null);
+    }
+
+    @Override
+    public void beginTransaction() {
+        mDatabase.beginTransaction();
+    }
+
+    @Override
+    public void setTransactionSuccessful() {
+        mDatabase.setTransactionSuccessful();
+    }
+
+    @Override
+    public void endTransaction() {
+        mDatabase.endTransaction();
+    }
+}
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database.observer;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process wide bus used to tell the loaders that the rows they show have changed.
+ *
+ * Each observer registers the table and the account its query reads. The writers post
+ * the table and the account they changed from any thread, and the bus waits a short
+ * window collecting every change before it notifies the observers on the main thread.
+ * Each observer is notified at most once per window and only when one of the changes
+ * matches its registration, so a burst of writes like an import causes one reload per
+ * affected loader instead of one per write.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public final class ChangeBus implements DatabaseMessenger {
+
+    private static final String TAG = "ChangeBus";
+
+    /**
+     * Account identifier that matches every account.
+     */
+    public static final long ALL_ACCOUNTS = -1;
+
+    /**
+     * Time in milliseconds that the changes are collected before notifying.
+     */
+    public static final long COALESCE_WINDOW = 100;
+
+    private static ChangeBus sInstance;
+
+    private final Handler mHandler;
+    private final Object mLock = new Object();
+
+    /**
+     * Registrations of each observer, guarded by mLock.
+     */
+    private final Map<DataBaseObserver, List<Change>> mObservers =
+            new IdentityHashMap<DataBaseObserver, List<Change>>();
+
+    /**
+     * Changes posted since the last delivery, guarded by mLock.
+     */
+    private final Set<Change> mPending = new HashSet<Change>();
+    private boolean mFlushScheduled;
+
+    // Counters of the notifications posted against the ones actually delivered.
+    private final AtomicLong mNotificationsPosted = new AtomicLong();
+    private final AtomicLong mDeliveries = new AtomicLong();
+    private final AtomicLong mObserversNotified = new AtomicLong();
+
+    private final Runnable mFlush = new Runnable() {
+        @Override
+        public void run() {
+            flush();
+        }
+    };
+
+    private ChangeBus(Looper looper) {
+        mHandler = new Handler(looper);
+    }
+
+    /**
+     * Gets the bus shared by the whole application, the observers are notified on
+     * the main thread.
+     * @return Change bus.
+     */
+    public static synchronized ChangeBus getInstance() {
+        if (sInstance == null) {
+            sInstance = new ChangeBus(Looper.getMainLooper());
+        }
+        return sInstance;
+    }
+
+    /**
+     * Registers an observer for the changes of the rows of an account in a table.
+     * An observer can be registered for several tables.
+     * @param observer Observer that will be notified.
+     * @param tableName Table read by the observer, null for every table.
+     * @param accountId Account read by the observer or {@link #ALL_ACCOUNTS}.
+     */
+    public void register(DataBaseObserver observer, String tableName, long accountId) {
+        synchronized (mLock) {
+            List<Change> registrations = mObservers.get(observer);
+            if (registrations == null) {
+                registrations = new ArrayList<Change>();
+                mObservers.put(observer, registrations);
+            }
+
+            Change registration = new Change(tableName, accountId);
+            if (!registrations.contains(registration)) {
+                registrations.add(registration);
+            }
+        }
+    }
+
+    /**
+     * Registers an observer for every change.
+     * @param observer Observer that will be add to the list.
+     */
+    @Override
+    public void register(DataBaseObserver observer) {
+        register(observer, null, ALL_ACCOUNTS);
+    }
+
+    /**
+     * Removes every registration of the observer.
+     * @param observer Observer that will be removed of the list.
+     */
+    @Override
+    public void unregister(DataBaseObserver observer) {
+        synchronized (mLock) {
+            mObservers.remove(observer);
+        }
+    }
+
+    /**
+     * Posts a change of the rows of an account in a table, can be called from any
+     * thread. Call it after the transaction with the change has been committed.
+     * @param tableName Table that was changed.
+     * @param accountId Account whose rows changed or {@link #ALL_ACCOUNTS}.
+     */
+    public void notifyChange(String tableName, long accountId) {
+        mNotificationsPosted.incrementAndGet();
+        synchronized (mLock) {
+            mPending.add(new Change(tableName, accountId));
+            if (mFlushScheduled) {
+                return;
+            }
+            mFlushScheduled = true;
+        }
+        mHandler.postDelayed(mFlush, COALESCE_WINDOW);
+    }
+
+    /**
+     * Posts a change of every account in a table.
+     * @param tableName Name of the table that has been change.
+     */
+    @Override
+    public void sendNotification(String tableName) {
+        notifyChange(tableName, ALL_ACCOUNTS);
+    }
+
+    /**
+     * Posts a change of every table.
+     */
+    @Override
+    public void sendNotification() {
+        notifyChange(null, ALL_ACCOUNTS);
+    }
+
+    /**
+     * Notifies the observers that match any of the pending changes, runs on the
+     * thread of the handler.
+     */
+    void flush() {
+        Set<Change> changes;
+        Map<DataBaseObserver, Change> matches = new IdentityHashMap<DataBaseObserver, Change>();
+        synchronized (mLock) {
+            changes = new HashSet<Change>(mPending);
+            mPending.clear();
+            mFlushScheduled = false;
+
+            for (Map.Entry<DataBaseObserver, List<Change>> observer : mObservers.entrySet()) {
+                Change match = findMatch(observer.getValue(), changes);
+                if (match != null) {
+                    matches.put(observer.getKey(), match);
+                }
+            }
+        }
+
+        if (changes.isEmpty()) {
+            return;
+        }
+        mDeliveries.incrementAndGet();
+        mObserversNotified.addAndGet(matches.size());
+
+        // Notify outside of the lock, the observers may register or post changes.
+        for (Map.Entry<DataBaseObserver, Change> match : matches.entrySet()) {
+            if (match.getValue().tableName == null) {
+                match.getKey().notifyDatabaseChange();
+            } else {
+                match.getKey().notifyTableChange(match.getValue().tableName);
+            }
+        }
+
+        Log.d(TAG, changes.size() + " changes delivered to " + matches.size() +
+                " observers, " + mNotificationsPosted.get() + " notifications posted and " +
+                mObserversNotified.get() + " reloads triggered so far.");
+    }
+
+    /**
+     * Gets the first change that matches a registration.
+     * @param registrations Registrations of one observer.
+     * @param changes Changes posted.
+     * @return The matching change, or null if none matches.
+     */
+    private static Change findMatch(List<Change> registrations, Set<Change> changes) {
+        for (Change change : changes) {
+            for (Change registration : registrations) {
+                if (registration.matches(change)) {
+                    return change;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the number of changes posted since the process started.
+     * @return Calls to {@link #notifyChange(String, long)}.
+     */
+    public long getNotificationsPosted() {
+        return mNotificationsPosted.get();
+    }
+
+    /**
+     * Gets the number of times the pending changes were delivered.
+     * @return Number of coalescing windows.
+     */
+    public long getDeliveries() {
+        return mDeliveries.get();
+    }
+
+    /**
+     * Gets the number of notifications received by the observers, each one
+     * triggers a reload of a loader.
+     * @return Number of observers notified.
+     */
+    public long getObserversNotified() {
+        return mObserversNotified.get();
+    }
+
+    /**
+     * Table and account of a change or of a registration.
+     */
+    private static final class Change {
+
+        final String tableName;
+        final long accountId;
+
+        Change(String tableName, long accountId) {
+            this.tableName = tableName;
+            this.accountId = accountId;
+        }
+
+        /**
+         * Checks if a change touches the rows of this registration.
+         * @param change Change posted.
+         * @return true if the tables and the accounts overlap.
+         */
+        boolean matches(Change change) {
+            boolean sameTable = tableName == null || change.tableName == null ||
+                    tableName.equals(change.tableName);
+            boolean sameAccount = accountId == ALL_ACCOUNTS ||
+                    change.accountId == ALL_ACCOUNTS || accountId == change.accountId;
+            return sameTable && sameAccount;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Change)) {
+                return false;
+            }
+            Change other = (Change) o;
+            return accountId == other.accountId && (tableName == null ?
+                    other.tableName == null : tableName.equals(other.tableName));
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (tableName == null ? 0 : tableName.hashCode()) +
+                    (int) (accountId ^ (accountId >>> 32));
+        }
+    }
+}
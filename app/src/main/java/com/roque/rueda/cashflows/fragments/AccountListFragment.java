@@ -15,22 +15,17 @@
  */
 package com.roque.rueda.cashflows.fragments;
 
-import java.util.LinkedHashSet;
-
 import com.roque.rueda.android.messenger.ListItemClickNotification;
-import com.roque.rueda.cashflows.MainActivity;
 import com.roque.rueda.cashflows.R;
 import com.roque.rueda.cashflows.adapters.AccountAdapter;
-import com.roque.rueda.cashflows.database.observer.DataBaseObserver;
-import com.roque.rueda.cashflows.database.observer.DatabaseMessenger;
-import com.roque.rueda.cashflows.hepers.FragmentDataNotifier;
-import com.roque.rueda.cashflows.loader.AccountLoader;
+import com.roque.rueda.cashflows.provider.CashFlowsContract;
 
 import android.app.Activity;
 import android.database.Cursor;
 import android.os.Bundle;
 import android.support.v4.app.ListFragment;
 import android.support.v4.app.LoaderManager.LoaderCallbacks;
+import android.support.v4.content.CursorLoader;
 import android.support.v4.content.Loader;
 import android.util.Log;
 import android.view.View;
@@ -46,7 +41,7 @@ import android.widget.ListView;
  * 
  */
 public class AccountListFragment extends ListFragment implements 
-		LoaderCallbacks<Cursor>, DatabaseMessenger, FragmentDataNotifier {
+		LoaderCallbacks<Cursor> {
 
 	// Tag for this class.
 	private static final String TAG = "AccountListFragment";
@@ -55,13 +50,6 @@ public class AccountListFragment extends ListFragment implements
 	// The loader id, this is unique for the ListFragment and LoaderManager.
 	private static final int LOADER_ID = 1;
 	
-	// Used to store the observers.
-	private LinkedHashSet<DataBaseObserver> mObservers;
-	
-	/**
-	 * Loader that loads the information of the accounts.
-	 */
-	private AccountLoader mLoader;
 	
 	/**
 	 * Adapter used to display the information.
@@ -101,13 +89,10 @@ public class AccountListFragment extends ListFragment implements
 			
 		}
 		
-		// Store all the database observers.
-		mObservers = new LinkedHashSet<DataBaseObserver>();
 		
 		// Check if there's an existing loader searching by the Id.
 		// If we have a loader it will be reuse.
-		mLoader = (AccountLoader) getLoaderManager().initLoader(LOADER_ID, null, this);
-		register(mLoader);
+		getLoaderManager().initLoader(LOADER_ID, null, this);
 		
 		setListeners();
 	}
@@ -138,8 +123,6 @@ public class AccountListFragment extends ListFragment implements
 		}
 		
 		careTaker = (ListItemClickNotification) activity;
-
-        ((MainActivity)activity).setFragmentClient(this);
 	}
 	
 	
@@ -170,8 +153,8 @@ public class AccountListFragment extends ListFragment implements
 			Log.i(TAG, "== onCreateLoader() Creating a new Account Loader. ==");
 		}
 		
-		AccountLoader loader = new AccountLoader(getActivity());
-		return loader;
+		return new CursorLoader(getActivity(), CashFlowsContract.Accounts.CURRENT_PERIOD_URI,
+				null, null, null, null);
 	}
 
 	/**
@@ -187,7 +170,8 @@ public class AccountListFragment extends ListFragment implements
 			Log.i(TAG, "== onLoadFinished()  ==");
 		}
 		
-		mAdapter.changeCursor(data);
+		// The loader closes the cursors it replaces.
+		mAdapter.swapCursor(data);
 		
 		if (isResumed()) {
 			setListShown(true);
@@ -208,65 +192,7 @@ public class AccountListFragment extends ListFragment implements
 			Log.i(TAG, "== onLoaderReset() ==");
 		}
 		
-		mAdapter.changeCursor(null);
-	}
-	
-	/////////////////////////////////////////////////////////////////////
-	// DataBase Messenger Interface members.
-    ///////////////////////////////////////////////////////////////////
-
-	/**
-	 * Register a new observer to receive the calls when a database change.
-	 * @param observer Instance observer that will be notify by this Messenger.
-	 */
-	@Override
-	public void register(DataBaseObserver observer) {
-		mObservers.add(observer);
-	}
-
-	/**
-	 * Unregister a database observer in order to stop receive calls from
-	 * changes on the database.
-	 * @param observer Instance observer that will be unregister from this messenger.
-	 */
-	@Override
-	public void unregister(DataBaseObserver observer) {
-		mObservers.remove(observer);
+		mAdapter.swapCursor(null);
 	}
-
-	/**
-	 * Notify to the database observer that a table has change.
-	 * @param tableName Name of the table that was changed.
-	 */
-	@Override
-	public void sendNotification(String tableName) {
-		for (DataBaseObserver observer : mObservers) {
-			observer.notifyTableChange(tableName);
-		}
-	}
-
-	/**
-	 * Notify all the register observers that a database change has been made.
-	 */
-	@Override
-	public void sendNotification() {
-		for (DataBaseObserver observer : mObservers) {
-			observer.notifyDatabaseChange();
-		}
-	}
-
-    /////////////////////////////////////////////////////////////////////
-    // DataBase Messenger Interface members.
-    ///////////////////////////////////////////////////////////////////
-
-    /**
-     * Notify the implementation when the data needs to be refresh.
-     */
-    @Override
-    public void notifyDataRefresh() {
-
-        sendNotification();
-
-    }
 	
 }
@@ -26,6 +26,7 @@ import android.database.Cursor;
 import android.os.Bundle;
 import android.support.v4.app.Fragment;
 import android.support.v4.app.LoaderManager.LoaderCallbacks;
+import android.support.v4.content.CursorLoader;
 import android.support.v4.content.Loader;
 import android.text.InputFilter;
 import android.text.InputType;
@@ -48,19 +49,20 @@ import com.roque.rueda.cashflows.MainActivity;
 import com.roque.rueda.cashflows.MovementsActivity;
 import com.roque.rueda.cashflows.R;
 import com.roque.rueda.cashflows.adapters.AccountSpinnerAdapter;
-import com.roque.rueda.cashflows.database.observer.DataBaseObserver;
-import com.roque.rueda.cashflows.database.observer.DatabaseMessenger;
+import com.roque.rueda.cashflows.database.AccountTable;
+import com.roque.rueda.cashflows.database.MovementWriter;
 import com.roque.rueda.cashflows.hepers.DecimalDigitsInputFiler;
-import com.roque.rueda.cashflows.loader.SpinnerAccountLoader;
+import com.roque.rueda.cashflows.model.Money;
 import com.roque.rueda.cashflows.model.Movement;
+import com.roque.rueda.cashflows.provider.CashFlowsContract;
 import com.roque.rueda.cashflows.util.AddCashState;
 import com.roque.rueda.cashflows.util.AddNegativeCash;
 import com.roque.rueda.cashflows.util.AddPositiveCash;
-import com.roque.rueda.cashflows.util.StringFormatter;
+import com.roque.rueda.cashflows.util.Fonts;
+import com.roque.rueda.cashflows.util.FormattingService;
 
 import java.util.Calendar;
 import java.util.Date;
-import java.util.LinkedHashSet;
 
 /**
  * Fragment used to display the form to add a new cash movement.
@@ -71,7 +73,7 @@ import java.util.LinkedHashSet;
  *
  */
 public class AddMovementFragment extends Fragment implements
-		DatabaseMessenger, LoaderCallbacks<Cursor>, DatePickerDialog.OnDateSetListener {
+		LoaderCallbacks<Cursor>, DatePickerDialog.OnDateSetListener {
 
 	// Tag for this class.
 	private static final String TAG = "AddMovementFragment";
@@ -86,8 +88,10 @@ public class AddMovementFragment extends Fragment implements
     // Loader id.
     private static final int LOADER_SPINNER = 3;
 
-	// Used to store the observers.
-	private LinkedHashSet<DataBaseObserver> mObservers;
+    // Columns shown by the spinner.
+    private static final String[] SPINNER_PROJECTION = new String[] { AccountTable._ID,
+            AccountTable.ACCOUNT_NAME, AccountTable.PHOTO_NUMBER };
+
 
     // Views
     private Spinner mAccountsSpinner;
@@ -100,12 +104,11 @@ public class AddMovementFragment extends Fragment implements
     private TextView mFragmentTitle;
 
     // Edit data.
-    private double mCurrentAmount;
+    private long mCurrentAmount;
     private int mSelectedAccount;
     private long mCurrentDate;
     private String mCurrentNotes;
     private boolean hideDialog;
-    private boolean mIsNegative;
 
     // State pattern.
     private AddCashState mCashState;
@@ -152,7 +155,7 @@ public class AddMovementFragment extends Fragment implements
 
         // Recover the values to restore the edit values.
         if(savedInstanceState != null) {
-            mCurrentAmount = savedInstanceState.getDouble(AMOUNT_KEY);
+            mCurrentAmount = savedInstanceState.getLong(AMOUNT_KEY);
             mSelectedAccount = savedInstanceState.getInt(ACCOUNT_KEY);
             mCurrentDate = savedInstanceState.getLong(DATE_KEY);
             mCurrentNotes = savedInstanceState.getString(NOTES_KEY);
@@ -219,7 +222,7 @@ public class AddMovementFragment extends Fragment implements
                 final TextView selectedDate = (TextView) dateTimeLayout.findViewById(R.id.selected_date);
                 final Date selectedDateByUser = new Date(getInputDate());
 
-                selectedDate.setText(StringFormatter.formatDate(selectedDateByUser));
+                selectedDate.setText(FormattingService.getInstance().formatDate(selectedDateByUser));
                 final DatePicker datePicker = (DatePicker) dateTimeLayout.findViewById(R.id.date_picker);
                 final TimePicker timePicker = (TimePicker) dateTimeLayout.findViewById(R.id.time_picker);
                 Calendar calendar = Calendar.getInstance();
@@ -246,7 +249,7 @@ public class AddMovementFragment extends Fragment implements
                         calendar.set(Calendar.SECOND, 0);
                         Date modifyDate = calendar.getTime();
                         // Update the text view.
-                        selectedDate.setText(StringFormatter.formatDate(modifyDate));
+                        selectedDate.setText(FormattingService.getInstance().formatDate(modifyDate));
                     }
                 });
 
@@ -263,7 +266,7 @@ public class AddMovementFragment extends Fragment implements
                         calendar.set(Calendar.SECOND, 0);
                         Date modifyDate = calendar.getTime();
                         // Update the text view.
-                        selectedDate.setText(StringFormatter.formatDate(modifyDate));
+                        selectedDate.setText(FormattingService.getInstance().formatDate(modifyDate));
                     }
                 });
 
@@ -310,7 +313,7 @@ public class AddMovementFragment extends Fragment implements
      * @param date Date that will be display to the user.
      */
     private void setCurrentDateText(Date date) {
-        String formattedDate = StringFormatter.formatDate(date);
+        String formattedDate = FormattingService.getInstance().formatDate(date);
         mDateText.setText(formattedDate);
     }
 
@@ -319,7 +322,6 @@ public class AddMovementFragment extends Fragment implements
      * @param isSubtract Flag indicating whether this fragment is to add or subtract money.
      */
     private void createAddCashInstance(boolean isSubtract) {
-        mIsNegative = isSubtract;
         if (isSubtract) {
             mFragmentTitle.setText(R.string.negative_movement);
             mCashState = new AddNegativeCash(getActivity());
@@ -329,6 +331,33 @@ public class AddMovementFragment extends Fragment implements
         }
     }
 
+    /**
+     * Called on the main thread once the movement has been written.
+     * @param actionBarView Custom view of the action bar with the done button.
+     * @param id Identifier of the new movement or {@link MovementWriter#FAILED}.
+     */
+    private void onMovementSaved(View actionBarView, long id) {
+        Activity activity = getActivity();
+        if (activity == null) {
+            // The fragment was closed while the movement was written.
+            return;
+        }
+
+        if (id == MovementWriter.FAILED) {
+            Toast.makeText(activity, R.string.movement_save_error, Toast.LENGTH_SHORT).show();
+            actionBarView.findViewById(R.id.actionbar_done).setEnabled(true);
+            return;
+        }
+
+        Toast.makeText(activity, R.string.movement_save_message, Toast.LENGTH_SHORT).show();
+
+        Intent intent = new Intent();
+        // Indicate to parent activity that the information was store.
+        intent.putExtra(MainActivity.ADD_MOVEMENT_RESULT, true);
+        activity.setResult(MainActivity.REQUEST_CODE, intent);
+        activity.finish();
+    }
+
     /**
      * Show a custom action bar in the activity.
      * @param inflater Inflater used to create the widgets.
@@ -346,24 +375,18 @@ public class AddMovementFragment extends Fragment implements
                 cashMovement.setAmount(getInputAmount());
                 cashMovement.setDate(new Date(getInputDate()));
                 cashMovement.setDescription(getInputNotes());
-
-                if (mIsNegative) {
-                    cashMovement.setSing("-");
-                } else {
-                    cashMovement.setSing("+");
-                }
-
+                // The sing is set by the cash state.
                 cashMovement.setIdAccount(mAccountsSpinner.getSelectedItemId());
 
-                mCashState.saveCashMovement(cashMovement);
-                Toast.makeText(getActivity(), R.string.movement_save_message, Toast.LENGTH_SHORT).
-                        show();
-
-                Intent intent = new Intent();
-                // Indicate to parent activity that the information was store.
-                intent.putExtra(MainActivity.ADD_MOVEMENT_RESULT, true);
-                getActivity().setResult(MainActivity.REQUEST_CODE, intent);
-                getActivity().finish();
+                // The movement is written on the writer thread, the activity is finished
+                // once it's stored.
+                v.setEnabled(false);
+                mCashState.saveCashMovement(cashMovement, new MovementWriter.Callback() {
+                    @Override
+                    public void onWriteFinished(long id) {
+                        onMovementSaved(customActionBarView, id);
+                    }
+                });
             }
         });
 
@@ -392,7 +415,7 @@ public class AddMovementFragment extends Fragment implements
      * @param rootView View that contains the button.
      * @param mCurrentAmount
      */
-    private void customizeAmountButton(View rootView, double mCurrentAmount) {
+    private void customizeAmountButton(View rootView, long mCurrentAmount) {
         // Set default amount.
         mButtonAmount = (Button) rootView.findViewById(R.id.amount_text);
         setDefaultAmount(mCurrentAmount);
@@ -407,7 +430,7 @@ public class AddMovementFragment extends Fragment implements
             @Override
             public void onClick(View v) {
                 String amountText = mButtonAmount.getText().toString();
-                displayInputMoneyDialog(StringFormatter.getDecimalValue(amountText));
+                displayInputMoneyDialog(FormattingService.getInstance().getMinorUnits(amountText));
             }
 
 
@@ -416,11 +439,11 @@ public class AddMovementFragment extends Fragment implements
 
     /**
      * Sets the default amount "0" in the amount button.
-     * @param mCurrentAmount amount that will be display in the button.
+     * @param mCurrentAmount amount in minor units that will be display in the button.
      */
-    private void setDefaultAmount(double mCurrentAmount) {
+    private void setDefaultAmount(long mCurrentAmount) {
         mButtonAmount.setTextSize(TypedValue.COMPLEX_UNIT_SP, 25);
-        final String currency = StringFormatter.formatCurrency(mCurrentAmount);
+        final String currency = FormattingService.getInstance().formatCurrency(mCurrentAmount);
         mButtonAmount.setText(currency);
     }
 
@@ -438,15 +461,15 @@ public class AddMovementFragment extends Fragment implements
             public void onClick(DialogInterface dialog, int which) {
 
                 // Set text of the dialog edit text to the amount button.
-                double amountText = 0;
+                long amountText = 0;
                 String dialogText = mAmountTextDago.getText().toString();
-                if(dialogText != null && !dialogText.isEmpty()) {
-                    amountText = Double.valueOf(dialogText);
+                if(dialogText != null && !dialogText.isEmpty() && !dialogText.equals(".")) {
+                    amountText = Money.parse(dialogText).getMinorUnits();
                 }
 
                 // Close this dialog.
                 dialog.dismiss();
-                mButtonAmount.setText(StringFormatter.formatCurrency(amountText));
+                mButtonAmount.setText(FormattingService.getInstance().formatCurrency(amountText));
             }
         });
 
@@ -467,7 +490,7 @@ public class AddMovementFragment extends Fragment implements
                 InputType.TYPE_CLASS_NUMBER);
         mAmountTextDago.setTextColor(getResources().getColor(R.color.text_white));
 
-        mAmountTextDago.setTypeface(StringFormatter.createLightFont());
+        mAmountTextDago.setTypeface(Fonts.createLightFont());
 
         // Assign this view to the dialog.
         builder.setView(mAmountTextDago);
@@ -487,14 +510,14 @@ public class AddMovementFragment extends Fragment implements
 
     /**
      * Display the input amount dialog to the user.
-     * @param amount Amount that will be display to the user.
+     * @param amount Amount in minor units that will be display to the user.
      */
-    private void displayInputMoneyDialog(double amount) {
+    private void displayInputMoneyDialog(long amount) {
         // Display dialog.
         mInputMoneyDialog.show();
 
         // Set focus on the input text dialog.
-        mAmountTextDago.setText(Double.valueOf(amount).toString());
+        mAmountTextDago.setText(Money.ofMinorUnits(amount).toString());
     }
 
     @Override
@@ -503,7 +526,7 @@ public class AddMovementFragment extends Fragment implements
 
         Log.v(TAG, "In fragment save instance state");
         // Store amount.
-        outState.putDouble(AMOUNT_KEY, getInputAmount());
+        outState.putLong(AMOUNT_KEY, getInputAmount());
         // Store selected account.
         outState.putInt(ACCOUNT_KEY, mAccountsSpinner.getSelectedItemPosition());
         // Store date.
@@ -527,64 +550,19 @@ public class AddMovementFragment extends Fragment implements
      * in case of error.
      */
     private long getInputDate() {
-        return StringFormatter.parseFormatDate(
+        return FormattingService.getInstance().parseDate(
                 mDateText.getText().toString()).getTime();
     }
 
     /**
-     * Gets a decimal value from user input.
-     * @return double value with the parse value.
+     * Gets the amount typed by the user.
+     * @return Amount in minor units (cents) with the parsed value.
      */
-    private double getInputAmount() {
-        return StringFormatter.getDecimalValue(
+    private long getInputAmount() {
+        return FormattingService.getInstance().getMinorUnits(
                 mButtonAmount.getText().toString());
     }
 
-    /////////////////////////////////////////////////////////////////////
-	// DataBase Messenger Interface members.
-    ///////////////////////////////////////////////////////////////////
-
-	/**
-	 * Register a new observer to receive the calls when a database change.
-	 * @param observer Instance observer that will be notify by this Messenger.
-	 */
-	@Override
-	public void register(DataBaseObserver observer) {
-		mObservers.add(observer);
-	}
-
-	/**
-	 * Unregister a database observer in order to stop receive calls from
-	 * changes on the database.
-	 * @param observer Instance observer that will be unregister from this messenger.
-	 */
-	@Override
-	public void unregister(DataBaseObserver observer) {
-		mObservers.remove(observer);
-	}
-
-	/**
-	 * Notify to the database observer that a table has change.
-	 * @param tableName Name of the table that was changed.
-	 */
-	@Override
-	public void sendNotification(String tableName) {
-		for (DataBaseObserver observer : mObservers) {
-			observer.notifyTableChange(tableName);
-		}
-	}
-
-	/**
-	 * Notify all the register observers that a database change has been made.
-	 */
-	@Override
-	public void sendNotification() {
-		for (DataBaseObserver observer : mObservers) {
-			observer.notifyDatabaseChange();
-		}
-	}
-
-
     /////////////////////////////////////////////////////////////////////
     // LoaderCallbacks Interface members..
     ///////////////////////////////////////////////////////////////////
@@ -606,8 +584,9 @@ public class AddMovementFragment extends Fragment implements
                             "Spinner loader. ==");
                 }
 
-                SpinnerAccountLoader loader = new SpinnerAccountLoader(getActivity());
-                return loader;
+                return new CursorLoader(getActivity(),
+                        CashFlowsContract.Accounts.CURRENT_PERIOD_URI, SPINNER_PROJECTION,
+                        null, null, null);
             }
 
             default: {
@@ -20,23 +20,24 @@ import android.os.Bundle;
 import android.support.annotation.Nullable;
 import android.support.v4.app.ListFragment;
 import android.support.v4.app.LoaderManager;
+import android.support.v4.content.CursorLoader;
 import android.support.v4.content.Loader;
 import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.AbsListView;
 import android.widget.ListView;
 import android.widget.TextView;
 
 import com.roque.rueda.cashflows.R;
 import com.roque.rueda.cashflows.adapters.MovementsAdapter;
-import com.roque.rueda.cashflows.database.observer.DataBaseObserver;
-import com.roque.rueda.cashflows.database.observer.DatabaseMessenger;
-import com.roque.rueda.cashflows.loader.AccountBalanceLoader;
+import com.roque.rueda.cashflows.database.AccountTable;
+import com.roque.rueda.cashflows.database.PagedMovementsCursor;
 import com.roque.rueda.cashflows.loader.MovementsLoader;
-import com.roque.rueda.cashflows.util.StringFormatter;
+import com.roque.rueda.cashflows.provider.CashFlowsContract;
+import com.roque.rueda.cashflows.util.FormattingService;
 
-import java.util.LinkedHashSet;
 
 /**
  * Activity used to present the list of cash movements.
@@ -46,7 +47,7 @@ import java.util.LinkedHashSet;
  * @version 1.0
  * 
  */
-public class MovementsListFragment extends ListFragment implements DatabaseMessenger,
+public class MovementsListFragment extends ListFragment implements
         LoaderManager.LoaderCallbacks<Cursor> {
 	
 	private static final String TAG = "MovementsListFragment";
@@ -54,17 +55,23 @@ public class MovementsListFragment extends ListFragment implements DatabaseMesse
 
     private static final int ACCOUNT_BALANCE = 3;
     private static final int ACCOUNT_MOVEMENTS = 4;
-    private LinkedHashSet<DataBaseObserver> mObservers;
+
+    private static final String[] BALANCE_PROJECTION = new String[] {
+            AccountTable.ACCOUNT_END_BALANCE };
     private TextView mTotalBalance;
     private TextView mEmptyText;
     private ListView mListView;
     private TextView mAccountHeader;
 
-    private AccountBalanceLoader mAccountLoader;
     private MovementsLoader mMovementsLoader;
     private MovementsLoader mMovements;
     private MovementsAdapter mMovementsAdapter;
 
+    /**
+     * Movements shown by the list, grows one page at a time while scrolling.
+     */
+    private PagedMovementsCursor mMovementsCursor;
+
     private String mAccountName;
 	
 	/**
@@ -124,7 +131,6 @@ public class MovementsListFragment extends ListFragment implements DatabaseMesse
             mShowBalance = getArguments().getBoolean(ARG_TWO_PANE);
         }
 
-        mObservers = new LinkedHashSet<DataBaseObserver>();
 
 	}
 	
@@ -160,9 +166,7 @@ public class MovementsListFragment extends ListFragment implements DatabaseMesse
         mTotalBalance.setText(getResources().getString(R.string.loading));
 
         // Account balance.
-        mAccountLoader = (AccountBalanceLoader) getLoaderManager().
-                initLoader(ACCOUNT_BALANCE, null, this);
-        register(mAccountLoader);
+        getLoaderManager().initLoader(ACCOUNT_BALANCE, null, this);
 
         return rootView;
     }
@@ -177,8 +181,47 @@ public class MovementsListFragment extends ListFragment implements DatabaseMesse
         mListView.setDividerHeight(10);
         mListView.setFastScrollEnabled(true);
         mListView.setFastScrollAlwaysVisible(true);
+        mListView.setOnScrollListener(new AbsListView.OnScrollListener() {
+            @Override
+            public void onScrollStateChanged(AbsListView view, int scrollState) {
+                // Nothing...
+            }
+
+            @Override
+            public void onScroll(AbsListView view, int firstVisibleItem, int visibleItemCount,
+                                 int totalItemCount) {
+                if (mMovementsCursor == null || visibleItemCount == 0) {
+                    return;
+                }
+
+                // Read again the evicted pages around the visible rows before the list
+                // scrolls back to them.
+                mMovementsCursor.requestPages(firstVisibleItem,
+                        firstVisibleItem + visibleItemCount - 1, mPageListener);
+
+                // Read the next page while there is still a page of rows below the
+                // visible ones.
+                if (totalItemCount - firstVisibleItem - visibleItemCount <
+                        mMovementsCursor.getPageSize()) {
+                    mMovementsCursor.requestNextPage(mPageListener);
+                }
+            }
+        });
     }
 
+    /**
+     * Refresh the list when a page of movements has been read or read again.
+     */
+    private final PagedMovementsCursor.Listener mPageListener =
+            new PagedMovementsCursor.Listener() {
+        @Override
+        public void onPageLoaded(PagedMovementsCursor cursor) {
+            if (cursor == mMovementsCursor) {
+                mMovementsAdapter.notifyDataSetChanged();
+            }
+        }
+    };
+
     @Override
     public void onActivityCreated(@Nullable Bundle savedInstanceState) {
         super.onActivityCreated(savedInstanceState);
@@ -194,56 +237,6 @@ public class MovementsListFragment extends ListFragment implements DatabaseMesse
         mListView.setAdapter(mMovementsAdapter);
 
         mMovementsLoader = (MovementsLoader) getLoaderManager().initLoader(ACCOUNT_MOVEMENTS, null, this);
-        register(mMovementsLoader);
-    }
-
-    ////////////////////////////////////////////////////////////////////
-    // DatabaseMessenger Interface members..
-    ////////////////////////////////////////////////////////////////////
-
-    /**
-     * Register a new object into the list of observers to be notify by this instance.
-     *
-     * @param observer Observer that will be add to the list.
-     */
-    @Override
-    public void register(DataBaseObserver observer) {
-        mObservers.add(observer);
-    }
-
-    /**
-     * Removes a existing observer from the list of observers to be notified
-     * by this instance.
-     *
-     * @param observer Observer that will be removed of the list.
-     */
-    @Override
-    public void unregister(DataBaseObserver observer) {
-        mObservers.remove(observer);
-    }
-
-    /**
-     * Sends a notification to the list of observers with the table
-     * name that has been change.
-     *
-     * @param tableName Name of the table that has been change.
-     */
-    @Override
-    public void sendNotification(String tableName) {
-        for (DataBaseObserver observer : mObservers) {
-            observer.notifyTableChange(tableName);
-        }
-    }
-
-    /**
-     * Notify the list of observer when a change on the database
-     * has been made.
-     */
-    @Override
-    public void sendNotification() {
-        for (DataBaseObserver observer : mObservers) {
-            observer.notifyDatabaseChange();
-        }
     }
 
     ////////////////////////////////////////////////////////////////////
@@ -266,9 +259,9 @@ public class MovementsListFragment extends ListFragment implements DatabaseMesse
                     Log.i(TAG, "== onCreateLoader() Creating a new balance loader. ==");
                 }
 
-                AccountBalanceLoader balance = new AccountBalanceLoader(getActivity());
-                balance.setIdAccount(mIdAccount);
-                return balance;
+                return new CursorLoader(getActivity(),
+                        CashFlowsContract.Accounts.buildAccountUri(mIdAccount),
+                        BALANCE_PROJECTION, null, null, null);
             }
 
             case ACCOUNT_MOVEMENTS: {
@@ -339,11 +332,11 @@ public class MovementsListFragment extends ListFragment implements DatabaseMesse
                     Log.i(TAG, "== onLoadFinished() Load Balance complete. ==");
                 }
 
-                double finalBalance = 0;
+                long finalBalance = 0;
                 if (data.moveToFirst()) {
-                    finalBalance = data.getDouble(0);
+                    finalBalance = data.getLong(0);
                 }
-                mTotalBalance.setText(StringFormatter.formatCurrency(finalBalance));
+                mTotalBalance.setText(FormattingService.getInstance().formatCurrency(finalBalance));
                 break;
             }
 
@@ -352,6 +345,7 @@ public class MovementsListFragment extends ListFragment implements DatabaseMesse
                     Log.i(TAG, "== onLoadFinished() Load Movements complete. ==");
                 }
 
+                mMovementsCursor = (PagedMovementsCursor) data;
                 mMovementsAdapter.swapCursor(data);
 
                 // Set the adapter
@@ -384,6 +378,13 @@ public class MovementsListFragment extends ListFragment implements DatabaseMesse
             Log.i(TAG, "== onLoaderReset() Reset Balance loader. ==");
         }
 
+        if (loader.getId() == ACCOUNT_MOVEMENTS) {
+            // The loader is going to close the cursor.
+            mMovementsCursor = null;
+            mMovementsAdapter.swapCursor(null);
+            return;
+        }
+
         mTotalBalance.setText(getResources().getString(R.string.loading));
     }
 
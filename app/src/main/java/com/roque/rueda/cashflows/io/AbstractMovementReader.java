@@ -0,0 +1,108 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.io;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Date;
+
+import com.roque.rueda.cashflows.database.BalanceLedger;
+import com.roque.rueda.cashflows.model.Movement;
+import com.roque.rueda.cashflows.util.AmountParser;
+
+/**
+ * Base of the statement readers, keeps the source, the account that receives the
+ * movements, the parser of the amounts of the file and the count of records that
+ * couldn't be parsed.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+abstract class AbstractMovementReader implements MovementReader {
+
+    /**
+     * Sing used to store a positive movement.
+     */
+    static final String POSITIVE_SING = "+";
+
+    protected final BufferedReader mReader;
+    protected final long mIdAccount;
+    protected final AmountParser mAmountParser;
+    private int mSkippedRecords;
+
+    /**
+     * Creates a reader over the given source.
+     * @param source Statement file.
+     * @param idAccount Account that will receive the movements.
+     * @param amountParser Parser with the separators of the amounts of the file.
+     */
+    protected AbstractMovementReader(Reader source, long idAccount,
+                                     AmountParser amountParser) {
+        mReader = source instanceof BufferedReader ? (BufferedReader) source :
+                new BufferedReader(source);
+        mIdAccount = idAccount;
+        mAmountParser = amountParser;
+    }
+
+    @Override
+    public int getSkippedRecords() {
+        return mSkippedRecords;
+    }
+
+    /**
+     * Counts a record that couldn't be parsed.
+     */
+    protected void skipRecord() {
+        mSkippedRecords++;
+    }
+
+    /**
+     * Parses an amount written like "-1,234.56", "$ 12.50" or "(12.50)" into signed
+     * minor units, with the separators of the parser of this reader.
+     * @param value Amount as written in the file.
+     * @return Signed amount in minor units.
+     * @throws NumberFormatException if the value is not an amount, the record is
+     *                               skipped.
+     */
+    protected long parseAmount(String value) {
+        return mAmountParser.parse(value);
+    }
+
+    /**
+     * Creates the movement of a record.
+     * @param date Date of the movement.
+     * @param description Description, may be null.
+     * @param signedAmount Amount in minor units, negative for an expense.
+     * @return Movement for the account of this reader.
+     */
+    protected Movement createMovement(Date date, String description, long signedAmount) {
+        Movement movement = new Movement();
+        movement.setIdAccount(mIdAccount);
+        movement.setDate(date);
+        movement.setDescription(description);
+        movement.setAmount(Math.abs(signedAmount));
+        movement.setSing(signedAmount < 0 ? BalanceLedger.NEGATIVE_SING : POSITIVE_SING);
+        return movement;
+    }
+
+    @Override
+    public void close() throws IOException {
+        mReader.close();
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.io;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+import com.roque.rueda.cashflows.model.Movement;
+import com.roque.rueda.cashflows.util.AmountParser;
+
+/**
+ * Reads movements from a CSV file with the columns date, description and amount,
+ * and an optional fourth column with the sing. The amount is signed unless the
+ * sing column is present. Dates are written as "yyyy-MM-dd HH:mm:ss" or
+ * "yyyy-MM-dd", and a first row that doesn't start with a date is taken as header.
+ * Amounts are written like "1234.56" unless a parser with other separators is given,
+ * a field with a decimal comma has to be quoted.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class CsvMovementReader extends AbstractMovementReader {
+
+    private static final int DATE = 0;
+    private static final int DESCRIPTION = 1;
+    private static final int AMOUNT = 2;
+    private static final int SING = 3;
+
+    private final SimpleDateFormat mDateTimeFormat =
+            new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.US);
+    private final SimpleDateFormat mDateFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.US);
+
+    /**
+     * Fields of the current record, reused for every record.
+     */
+    private final List<String> mFields = new ArrayList<String>();
+    private final StringBuilder mField = new StringBuilder();
+    private boolean mFirstRecord = true;
+
+    /**
+     * Creates a reader over a CSV file with amounts like "1,234.56", as the exporter
+     * writes them.
+     * @param source CSV file.
+     * @param idAccount Account that will receive the movements.
+     */
+    public CsvMovementReader(Reader source, long idAccount) {
+        this(source, idAccount, AmountParser.POINT);
+    }
+
+    /**
+     * Creates a reader over a CSV file.
+     * @param source CSV file.
+     * @param idAccount Account that will receive the movements.
+     * @param amountParser Parser with the separators of the amounts of the file.
+     */
+    public CsvMovementReader(Reader source, long idAccount, AmountParser amountParser) {
+        super(source, idAccount, amountParser);
+        mDateTimeFormat.setLenient(false);
+        mDateFormat.setLenient(false);
+    }
+
+    @Override
+    public Movement read() throws IOException {
+        while (readRecord()) {
+            boolean header = mFirstRecord;
+            mFirstRecord = false;
+
+            if (mFields.size() == 1 && mFields.get(0).length() == 0) {
+                // Empty line.
+                continue;
+            }
+
+            Movement movement = parseRecord();
+            if (movement != null) {
+                return movement;
+            }
+            if (!header) {
+                skipRecord();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Maps the fields of the current record into a movement.
+     * @return Movement or null if the record can't be parsed.
+     */
+    private Movement parseRecord() {
+        if (mFields.size() <= AMOUNT) {
+            return null;
+        }
+        try {
+            Date date = parseDate(mFields.get(DATE).trim());
+            long amount = parseAmount(mFields.get(AMOUNT));
+            if (mFields.size() > SING) {
+                amount = "-".equals(mFields.get(SING).trim()) ? -Math.abs(amount) :
+                        Math.abs(amount);
+            }
+            String description = mFields.get(DESCRIPTION);
+            return createMovement(date, description.length() > 0 ? description : null, amount);
+        } catch (ParseException e) {
+            return null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private Date parseDate(String value) throws ParseException {
+        return value.length() > 10 ? mDateTimeFormat.parse(value) : mDateFormat.parse(value);
+    }
+
+    /**
+     * Reads the fields of the next record, a quoted field may contain commas,
+     * doubled quotes and line breaks.
+     * @return false if the end of the file was reached.
+     * @throws IOException if the file can't be read.
+     */
+    private boolean readRecord() throws IOException {
+        mFields.clear();
+        mField.setLength(0);
+
+        boolean quoted = false;
+        int c = mReader.read();
+        if (c == -1) {
+            return false;
+        }
+
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    mReader.mark(1);
+                    int next = mReader.read();
+                    if (next == '"') {
+                        mField.append('"');
+                    } else {
+                        quoted = false;
+                        mReader.reset();
+                    }
+                } else {
+                    mField.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                mFields.add(mField.toString());
+                mField.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                mField.append((char) c);
+            }
+            c = mReader.read();
+        }
+        mFields.add(mField.toString());
+        return true;
+    }
+}
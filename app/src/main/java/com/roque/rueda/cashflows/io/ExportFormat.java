@@ -13,21 +13,26 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package com.roque.rueda.cashflows.hepers;
+package com.roque.rueda.cashflows.io;
 
 /**
- * Input filter used to check the input value on a text edit view.
+ * Formats the exporter can write.
  *
  * @author Roque Rueda
- * @since 04/10/2014
+ * @since 18/10/2026
  * @version 1.0
  *
  */
-public interface FragmentDataNotifier {
+public enum ExportFormat {
 
     /**
-     * Notify the implementation when the data needs to be refresh.
+     * Rows with the columns date, description, amount, sing and account, the file
+     * can be read back with {@link CsvMovementReader}.
      */
-    void notifyDataRefresh();
+    CSV,
 
+    /**
+     * Array of objects with the raw stored values: minor units and epoch millis.
+     */
+    JSON
 }
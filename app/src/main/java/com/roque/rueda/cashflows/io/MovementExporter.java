@@ -0,0 +1,368 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+import android.database.Cursor;
+import android.os.CancellationSignal;
+import android.util.Log;
+
+import com.roque.rueda.cashflows.database.BalanceLedger;
+import com.roque.rueda.cashflows.database.CashFlowsDatabase;
+import com.roque.rueda.cashflows.database.LedgerQueries;
+import com.roque.rueda.cashflows.model.Money;
+
+/**
+ * Writes the movements of an account, a period or the whole database to a channel.
+ *
+ * The current and the archived movements are read in a single forward pass over one
+ * cursor for each table, both sorted by account and date by their (account, date)
+ * index, and merged in that order. Each row is encoded into a fixed size buffer that
+ * is written to the channel every time it fills up, so the memory used doesn't depend
+ * on the number of movements.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class MovementExporter {
+
+    private static final String TAG = "MovementExporter";
+
+    /**
+     * Size of the buffer written to the channel on each flush.
+     */
+    public static final int CHUNK_SIZE = 64 * 1024;
+
+    /**
+     * Movements included in an export.
+     */
+    public enum Scope {
+
+        /**
+         * Movements of one account, the identifier is the account.
+         */
+        ACCOUNT,
+
+        /**
+         * Movements of the accounts of one period, the identifier is the period.
+         */
+        PERIOD,
+
+        /**
+         * Every movement, the identifier is ignored.
+         */
+        ALL
+    }
+
+    /**
+     * Receives the progress of an export.
+     */
+    public interface Listener {
+
+        /**
+         * Called after each chunk written to the channel.
+         * @param rows Number of movements written so far.
+         * @param bytes Number of bytes written so far.
+         * @param rowsPerSecond Average speed of the export.
+         */
+        void onProgress(long rows, long bytes, double rowsPerSecond);
+    }
+
+    /**
+     * Columns of the export queries of {@link LedgerQueries}.
+     */
+    private static final int ID = 0;
+    private static final int ACCOUNT = 1;
+    private static final int DATE = 2;
+    private static final int AMOUNT = 3;
+    private static final int SING = 4;
+    private static final int DESCRIPTION = 5;
+
+    private final CashFlowsDatabase mDatabase;
+
+    /**
+     * Creates an exporter over the shared database.
+     * @param database Shared database.
+     */
+    public MovementExporter(CashFlowsDatabase database) {
+        mDatabase = database;
+    }
+
+    /**
+     * Writes the movements of the scope to the channel, the channel is not closed.
+     * @param scope Movements included in the export.
+     * @param id Identifier of the account or the period of the scope.
+     * @param format Format of the output.
+     * @param channel Destination of the export.
+     * @param cancellationSignal Optional signal used to cancel the export.
+     * @param listener Optional listener that receives the progress.
+     * @return Number of movements written.
+     * @throws IOException if the channel can't be written.
+     * @throws android.os.OperationCanceledException if the export was cancelled.
+     */
+    public long export(Scope scope, long id, ExportFormat format, WritableByteChannel channel,
+                       CancellationSignal cancellationSignal, Listener listener)
+            throws IOException {
+        ChunkWriter writer = new ChunkWriter(channel, listener);
+        Cursor archived = query(scope, id, true);
+        Cursor current = null;
+        try {
+            current = query(scope, id, false);
+            StringBuilder row = writer.mRow;
+            SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.US);
+            Date date = new Date();
+
+            if (format == ExportFormat.CSV) {
+                writer.write("date,description,amount,sing,account\n");
+            } else {
+                writer.write("[");
+            }
+
+            boolean hasArchived = archived.moveToNext();
+            boolean hasCurrent = current.moveToNext();
+            while (hasArchived || hasCurrent) {
+                if (cancellationSignal != null) {
+                    cancellationSignal.throwIfCanceled();
+                }
+                Cursor cursor = !hasCurrent || (hasArchived && precedes(archived, current)) ?
+                        archived : current;
+
+                row.setLength(0);
+                if (format == ExportFormat.CSV) {
+                    date.setTime(cursor.getLong(DATE));
+                    row.append(dateFormat.format(date)).append(',');
+                    appendCsvValue(row, cursor.getString(DESCRIPTION));
+                    row.append(',');
+                    appendDecimal(row, Math.abs(cursor.getLong(AMOUNT)));
+                    row.append(',').append(cursor.getString(SING))
+                            .append(',').append(cursor.getLong(ACCOUNT)).append('\n');
+                } else {
+                    row.append(writer.mRows == 0 ? "\n{" : ",\n{")
+                            .append("\"id\":").append(cursor.getLong(ID))
+                            .append(",\"account\":").append(cursor.getLong(ACCOUNT))
+                            .append(",\"date\":").append(cursor.getLong(DATE))
+                            .append(",\"amount\":").append(BalanceLedger.signedAmount(
+                                    cursor.getString(SING), cursor.getLong(AMOUNT)))
+                            .append(",\"description\":");
+                    appendJsonValue(row, cursor.getString(DESCRIPTION));
+                    row.append('}');
+                }
+                writer.writeRow();
+
+                if (cursor == archived) {
+                    hasArchived = archived.moveToNext();
+                } else {
+                    hasCurrent = current.moveToNext();
+                }
+            }
+
+            if (format == ExportFormat.JSON) {
+                writer.write("\n]\n");
+            }
+            writer.flush();
+        } finally {
+            archived.close();
+            if (current != null) {
+                current.close();
+            }
+        }
+
+        Log.i(TAG, "Exported " + writer.mRows + " movements, " + writer.mBytes + " bytes, " +
+                Math.round(writer.rowsPerSecond()) + " rows/s.");
+        return writer.mRows;
+    }
+
+    /**
+     * Opens a forward cursor over the current or the archived movements of the scope,
+     * ordered by account and date so the (account, date) index of the table is walked
+     * in order and nothing is sorted.
+     */
+    private Cursor query(Scope scope, long id, boolean archived) {
+        String sql;
+        String[] args = new String[] { String.valueOf(id) };
+        if (scope == Scope.ACCOUNT) {
+            sql = archived ? LedgerQueries.EXPORT_ACCOUNT_ARCHIVED_MOVEMENTS :
+                    LedgerQueries.EXPORT_ACCOUNT_MOVEMENTS;
+        } else if (scope == Scope.PERIOD) {
+            sql = archived ? LedgerQueries.EXPORT_PERIOD_ARCHIVED_MOVEMENTS :
+                    LedgerQueries.EXPORT_PERIOD_MOVEMENTS;
+        } else {
+            sql = archived ? LedgerQueries.EXPORT_ARCHIVED_MOVEMENTS :
+                    LedgerQueries.EXPORT_MOVEMENTS;
+            args = null;
+        }
+        return mDatabase.getReadableDatabase().rawQuery(sql, args);
+    }
+
+    /**
+     * Checks if the row of the archived movements goes before the row of the current
+     * movements, on the same account and date the archived movement is older.
+     */
+    private static boolean precedes(Cursor archived, Cursor current) {
+        long account = archived.getLong(ACCOUNT);
+        long otherAccount = current.getLong(ACCOUNT);
+        return account < otherAccount ||
+                (account == otherAccount && archived.getLong(DATE) <= current.getLong(DATE));
+    }
+
+    /**
+     * Appends an amount in minor units as a plain decimal like "1234.05".
+     */
+    static void appendDecimal(StringBuilder out, long minorUnits) {
+        if (minorUnits < 0) {
+            out.append('-');
+            minorUnits = -minorUnits;
+        }
+        long cents = minorUnits % Money.MINOR_UNITS_PER_UNIT;
+        out.append(minorUnits / Money.MINOR_UNITS_PER_UNIT).append('.');
+        if (cents < 10) {
+            out.append('0');
+        }
+        out.append(cents);
+    }
+
+    /**
+     * Appends a CSV field, quoted when it contains a separator, a quote or a line break.
+     */
+    static void appendCsvValue(StringBuilder out, String value) {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.append(value);
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.append('"');
+            }
+            out.append(c);
+        }
+        out.append('"');
+    }
+
+    /**
+     * Appends a JSON string or null.
+     */
+    static void appendJsonValue(StringBuilder out, String value) {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format(Locale.US, "\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        out.append('"');
+    }
+
+    /**
+     * Encodes the rows into a fixed buffer and writes it to the channel when it's full.
+     */
+    private static final class ChunkWriter {
+
+        private final WritableByteChannel mChannel;
+        private final Listener mListener;
+        private final CharsetEncoder mEncoder = Charset.forName("UTF-8").newEncoder();
+        private final ByteBuffer mBuffer = ByteBuffer.allocate(CHUNK_SIZE);
+        private final StringBuilder mRow = new StringBuilder(256);
+        private final long mStart = System.nanoTime();
+        private long mRows;
+        private long mBytes;
+
+        ChunkWriter(WritableByteChannel channel, Listener listener) {
+            mChannel = channel;
+            mListener = listener;
+        }
+
+        void writeRow() throws IOException {
+            write(mRow);
+            mRows++;
+        }
+
+        void write(CharSequence text) throws IOException {
+            CharBuffer chars = CharBuffer.wrap(text);
+            while (true) {
+                CoderResult result = mEncoder.encode(chars, mBuffer, false);
+                if (result.isOverflow()) {
+                    flush();
+                } else if (result.isError()) {
+                    result.throwException();
+                } else {
+                    break;
+                }
+            }
+        }
+
+        void flush() throws IOException {
+            mBuffer.flip();
+            while (mBuffer.hasRemaining()) {
+                mBytes += mChannel.write(mBuffer);
+            }
+            mBuffer.clear();
+            if (mListener != null) {
+                mListener.onProgress(mRows, mBytes, rowsPerSecond());
+            }
+        }
+
+        double rowsPerSecond() {
+            long elapsed = System.nanoTime() - mStart;
+            return elapsed > 0 ? mRows * 1000000000.0 / elapsed : 0;
+        }
+    }
+}
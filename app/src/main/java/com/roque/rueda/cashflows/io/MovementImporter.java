@@ -0,0 +1,150 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.io;
+
+import java.io.IOException;
+import java.util.Map;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import com.roque.rueda.cashflows.database.CashFlowsDatabase;
+import com.roque.rueda.cashflows.database.MovementBatch;
+import com.roque.rueda.cashflows.database.MovementsDao;
+import com.roque.rueda.cashflows.model.Movement;
+
+/**
+ * Imports the movements of a statement file in large transactions.
+ *
+ * The movements are streamed from a {@link MovementReader} and inserted without
+ * touching the balance, the amounts are added per account (and per day for the
+ * aggregates) and applied once at the end of each batch, so every committed batch
+ * leaves the running balances and the totals right.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class MovementImporter {
+
+    private static final String TAG = "MovementImporter";
+
+    /**
+     * Default number of movements inserted in each transaction.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 5000;
+
+    /**
+     * Receives the progress of an import.
+     */
+    public interface Listener {
+
+        /**
+         * Called after each committed batch.
+         * @param rows Number of movements imported so far.
+         * @param skipped Number of records skipped because they couldn't be parsed.
+         * @param rowsPerSecond Average speed of the import.
+         */
+        void onProgress(long rows, int skipped, double rowsPerSecond);
+    }
+
+    private final CashFlowsDatabase mDatabase;
+    private final int mBatchSize;
+
+    /**
+     * Creates an importer with the default batch size.
+     * @param database Shared database.
+     */
+    public MovementImporter(CashFlowsDatabase database) {
+        this(database, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Creates an importer.
+     * @param database Shared database.
+     * @param batchSize Number of movements inserted in each transaction.
+     */
+    public MovementImporter(CashFlowsDatabase database, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("The batch size must be positive.");
+        }
+        mDatabase = database;
+        mBatchSize = batchSize;
+    }
+
+    /**
+     * Imports every movement of the reader, the reader is closed at the end.
+     * @param reader Source of the movements.
+     * @param listener Optional listener that receives the progress.
+     * @return Number of movements imported.
+     * @throws IOException if the file can't be read, the batches committed before
+     *         the error are kept.
+     * @throws IllegalArgumentException if a movement belongs to an unknown account, its
+     *         batch is rolled back and the batches committed before are kept.
+     */
+    public long importMovements(MovementReader reader, Listener listener) throws IOException {
+        SQLiteDatabase db = mDatabase.getWritableDatabase();
+        MovementBatch movements = new MovementBatch(mDatabase.getMovementsDao());
+        long start = System.nanoTime();
+        long rows = 0;
+
+        try {
+            boolean finished = false;
+            while (!finished) {
+                int batch = 0;
+                Map<Long, Long> changed;
+                db.beginTransaction();
+                try {
+                    Movement movement;
+                    while (batch < mBatchSize && (movement = reader.read()) != null) {
+                        movements.add(movement.getAmount(), movement.getDescription(),
+                                movement.getDate().getTime(), movement.getSing(),
+                                movement.getIdAccount());
+                        batch++;
+                    }
+                    finished = batch < mBatchSize;
+
+                    changed = movements.apply();
+                    db.setTransactionSuccessful();
+                } finally {
+                    movements.clear();
+                    db.endTransaction();
+                }
+
+                // One change per account and batch, the bus coalesces the batches
+                // committed within its window.
+                MovementsDao.notifyCommitted(changed);
+
+                rows += batch;
+                if (listener != null) {
+                    listener.onProgress(rows, reader.getSkippedRecords(),
+                            rowsPerSecond(rows, System.nanoTime() - start));
+                }
+            }
+        } finally {
+            reader.close();
+        }
+
+        Log.i(TAG, "Imported " + rows + " movements, skipped " + reader.getSkippedRecords() +
+                ", " + Math.round(rowsPerSecond(rows, System.nanoTime() - start)) + " rows/s.");
+        return rows;
+    }
+
+    private static double rowsPerSecond(long rows, long elapsedNanos) {
+        return elapsedNanos > 0 ? rows * 1000000000.0 / elapsedNanos : 0;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import com.roque.rueda.cashflows.model.Movement;
+
+/**
+ * Reads the movements of a statement file one at a time, so a file of any size
+ * is read in constant memory.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public interface MovementReader extends Closeable {
+
+    /**
+     * Reads the next movement of the file.
+     * @return Next movement or null when the end of the file was reached.
+     * @throws IOException if the file can't be read.
+     */
+    Movement read() throws IOException;
+
+    /**
+     * Gets the number of records that were skipped because they couldn't be parsed.
+     * @return Number of skipped records.
+     */
+    int getSkippedRecords();
+}
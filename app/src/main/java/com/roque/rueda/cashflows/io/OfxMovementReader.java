@@ -0,0 +1,218 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.io;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.TimeZone;
+
+import com.roque.rueda.cashflows.model.Movement;
+import com.roque.rueda.cashflows.util.AmountParser;
+
+/**
+ * Reads movements from an Open Financial Exchange (OFX) statement, both the SGML
+ * (1.x) and the XML (2.x) flavours. The file is scanned tag by tag and only the
+ * values of the current STMTTRN aggregate are kept.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class OfxMovementReader extends AbstractMovementReader {
+
+    private static final String TRANSACTION = "STMTTRN";
+    private static final String DATE_POSTED = "DTPOSTED";
+    private static final String AMOUNT = "TRNAMT";
+    private static final String NAME = "NAME";
+    private static final String MEMO = "MEMO";
+
+    /**
+     * OFX amounts aren't grouped and may use a point or a comma as decimal separator.
+     */
+    private static final AmountParser POINT_AMOUNTS =
+            new AmountParser('.', AmountParser.NO_GROUPING);
+    private static final AmountParser COMMA_AMOUNTS =
+            new AmountParser(',', AmountParser.NO_GROUPING);
+
+    private final StringBuilder mTag = new StringBuilder();
+    private final StringBuilder mValue = new StringBuilder();
+    private final Calendar mCalendar = Calendar.getInstance(TimeZone.getTimeZone("GMT"));
+
+    private boolean mInTransaction;
+    private String mDate;
+    private String mAmount;
+    private String mName;
+    private String mMemo;
+
+    /**
+     * Creates a reader over an OFX file.
+     * @param source OFX file.
+     * @param idAccount Account that will receive the movements.
+     */
+    public OfxMovementReader(Reader source, long idAccount) {
+        super(source, idAccount, POINT_AMOUNTS);
+    }
+
+    @Override
+    protected long parseAmount(String value) {
+        return value.indexOf(',') != -1 ? COMMA_AMOUNTS.parse(value) : super.parseAmount(value);
+    }
+
+    @Override
+    public Movement read() throws IOException {
+        String tag;
+        while ((tag = readTag()) != null) {
+            if (tag.equals(TRANSACTION)) {
+                mInTransaction = true;
+                mDate = null;
+                mAmount = null;
+                mName = null;
+                mMemo = null;
+            } else if (tag.equals("/" + TRANSACTION)) {
+                mInTransaction = false;
+                Movement movement = parseRecord();
+                if (movement != null) {
+                    return movement;
+                }
+                skipRecord();
+            } else if (mInTransaction && tag.charAt(0) != '/') {
+                String value = readValue();
+                if (tag.equals(DATE_POSTED)) {
+                    mDate = value;
+                } else if (tag.equals(AMOUNT)) {
+                    mAmount = value;
+                } else if (tag.equals(NAME)) {
+                    mName = value;
+                } else if (tag.equals(MEMO)) {
+                    mMemo = value;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Maps the values of the current transaction into a movement.
+     * @return Movement or null if the transaction can't be parsed.
+     */
+    private Movement parseRecord() {
+        if (mDate == null || mAmount == null) {
+            return null;
+        }
+        try {
+            Date date = parseDate(mDate);
+            if (date == null) {
+                return null;
+            }
+            String description = mName != null && mName.length() > 0 ? mName : mMemo;
+            return createMovement(date, description, parseAmount(mAmount));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses an OFX date like "20141231", "20141231235959.000" or
+     * "20141231235959.000[-5:EST]", without a time zone the date is in GMT.
+     * @param value Date as written in the file.
+     * @return Parsed date or null if it's not valid.
+     */
+    private Date parseDate(String value) {
+        int digits = 0;
+        while (digits < value.length() && Character.isDigit(value.charAt(digits))) {
+            digits++;
+        }
+        if (digits < 8) {
+            return null;
+        }
+
+        mCalendar.clear();
+        mCalendar.set(Integer.parseInt(value.substring(0, 4)),
+                Integer.parseInt(value.substring(4, 6)) - 1,
+                Integer.parseInt(value.substring(6, 8)));
+        if (digits >= 12) {
+            mCalendar.set(Calendar.HOUR_OF_DAY, Integer.parseInt(value.substring(8, 10)));
+            mCalendar.set(Calendar.MINUTE, Integer.parseInt(value.substring(10, 12)));
+        }
+        if (digits >= 14) {
+            mCalendar.set(Calendar.SECOND, Integer.parseInt(value.substring(12, 14)));
+        }
+
+        int zone = value.indexOf('[');
+        if (zone != -1) {
+            int end = zone + 1;
+            while (end < value.length() && value.charAt(end) != ':' && value.charAt(end) != ']') {
+                end++;
+            }
+            try {
+                double offsetHours = Double.parseDouble(value.substring(zone + 1, end));
+                mCalendar.add(Calendar.MINUTE, (int) Math.round(-offsetHours * 60));
+            } catch (NumberFormatException e) {
+                // Keep the date in GMT.
+            }
+        }
+        return mCalendar.getTime();
+    }
+
+    /**
+     * Skips to the next tag and reads its name.
+     * @return Name of the tag in upper case, with a leading "/" for closing tags,
+     *         or null at the end of the file.
+     * @throws IOException if the file can't be read.
+     */
+    private String readTag() throws IOException {
+        int c;
+        while ((c = mReader.read()) != -1 && c != '<') {
+            // Skip the text outside of the values.
+        }
+        if (c == -1) {
+            return null;
+        }
+
+        mTag.setLength(0);
+        while ((c = mReader.read()) != -1 && c != '>') {
+            mTag.append(Character.toUpperCase((char) c));
+        }
+        return mTag.length() > 0 ? mTag.toString() : readTag();
+    }
+
+    /**
+     * Reads the value of the current tag, up to the next tag.
+     * @return Trimmed value without the XML entities.
+     * @throws IOException if the file can't be read.
+     */
+    private String readValue() throws IOException {
+        mValue.setLength(0);
+        int c;
+        while (true) {
+            mReader.mark(1);
+            c = mReader.read();
+            if (c == -1) {
+                break;
+            }
+            if (c == '<') {
+                mReader.reset();
+                break;
+            }
+            mValue.append((char) c);
+        }
+        return mValue.toString().trim().replace("&lt;", "<").replace("&gt;", ">")
+                .replace("&amp;", "&");
+    }
+}
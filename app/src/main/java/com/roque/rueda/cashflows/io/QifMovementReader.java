@@ -0,0 +1,136 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.io;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+import com.roque.rueda.cashflows.model.Movement;
+import com.roque.rueda.cashflows.util.AmountParser;
+
+/**
+ * Reads movements from a Quicken Interchange Format (QIF) file. Each record is a
+ * group of lines ended by "^", the reader uses the date (D), the amount (T or U),
+ * the payee (P) and the memo (M) lines and ignores the rest.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class QifMovementReader extends AbstractMovementReader {
+
+    /**
+     * US dates like "12/31/2014" or "12/31'14", a two digits year is taken as
+     * a year near the current one.
+     */
+    private final SimpleDateFormat mDateFormat = new SimpleDateFormat("M/d/yy", Locale.US);
+
+    /**
+     * Creates a reader over a QIF file with US amounts like "-1,234.56".
+     * @param source QIF file.
+     * @param idAccount Account that will receive the movements.
+     */
+    public QifMovementReader(Reader source, long idAccount) {
+        this(source, idAccount, AmountParser.POINT);
+    }
+
+    /**
+     * Creates a reader over a QIF file.
+     * @param source QIF file.
+     * @param idAccount Account that will receive the movements.
+     * @param amountParser Parser with the separators of the amounts of the file.
+     */
+    public QifMovementReader(Reader source, long idAccount, AmountParser amountParser) {
+        super(source, idAccount, amountParser);
+        mDateFormat.setLenient(false);
+    }
+
+    @Override
+    public Movement read() throws IOException {
+        String date = null;
+        String amount = null;
+        String payee = null;
+        String memo = null;
+        boolean hasFields = false;
+
+        String line;
+        while ((line = mReader.readLine()) != null) {
+            if (line.length() == 0 || line.charAt(0) == '!') {
+                continue;
+            }
+
+            String value = line.substring(1).trim();
+            switch (line.charAt(0)) {
+                case 'D':
+                    date = value;
+                    break;
+                case 'T':
+                case 'U':
+                    amount = value;
+                    break;
+                case 'P':
+                    payee = value;
+                    break;
+                case 'M':
+                    memo = value;
+                    break;
+                case '^':
+                {
+                    if (hasFields) {
+                        Movement movement = parseRecord(date, amount,
+                                payee != null && payee.length() > 0 ? payee : memo);
+                        if (movement != null) {
+                            return movement;
+                        }
+                        skipRecord();
+                    }
+                    date = null;
+                    amount = null;
+                    payee = null;
+                    memo = null;
+                    hasFields = false;
+                } continue;
+                default:
+                    break;
+            }
+            hasFields = true;
+        }
+        return null;
+    }
+
+    /**
+     * Maps the fields of a record into a movement.
+     * @return Movement or null if the record can't be parsed.
+     */
+    private Movement parseRecord(String date, String amount, String description) {
+        if (date == null || amount == null) {
+            return null;
+        }
+        try {
+            Date parsed = mDateFormat.parse(date.replace('\'', '/').replace(" ", ""));
+            return createMovement(parsed, description, parseAmount(amount));
+        } catch (ParseException e) {
+            return null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
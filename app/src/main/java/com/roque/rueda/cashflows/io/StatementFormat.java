@@ -0,0 +1,76 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.io;
+
+import java.io.Reader;
+import java.util.Locale;
+
+/**
+ * Statement files the importer can read.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public enum StatementFormat {
+
+    CSV {
+        @Override
+        public MovementReader createReader(Reader source, long idAccount) {
+            return new CsvMovementReader(source, idAccount);
+        }
+    },
+
+    QIF {
+        @Override
+        public MovementReader createReader(Reader source, long idAccount) {
+            return new QifMovementReader(source, idAccount);
+        }
+    },
+
+    OFX {
+        @Override
+        public MovementReader createReader(Reader source, long idAccount) {
+            return new OfxMovementReader(source, idAccount);
+        }
+    };
+
+    /**
+     * Creates a reader for this format.
+     * @param source Statement file.
+     * @param idAccount Account that will receive the movements.
+     * @return Reader of the movements of the file.
+     */
+    public abstract MovementReader createReader(Reader source, long idAccount);
+
+    /**
+     * Gets the format of a file from its extension, QFX files are read as OFX.
+     * @param fileName Name of the file.
+     * @return Format of the file or null if the extension is unknown.
+     */
+    public static StatementFormat fromFileName(String fileName) {
+        String name = fileName.toLowerCase(Locale.US);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        } else if (name.endsWith(".qif")) {
+            return QIF;
+        } else if (name.endsWith(".ofx") || name.endsWith(".qfx")) {
+            return OFX;
+        }
+        return null;
+    }
+}
@@ -17,10 +17,14 @@ package com.roque.rueda.cashflows.loader;
 
 import android.content.Context;
 import android.database.Cursor;
+import android.os.SystemClock;
 import android.support.v4.content.AsyncTaskLoader;
 import android.util.Log;
 
 import com.roque.rueda.cashflows.database.MovementsManager;
+import com.roque.rueda.cashflows.database.PagedMovementsCursor;
+import com.roque.rueda.cashflows.database.MovementsTable;
+import com.roque.rueda.cashflows.database.observer.ChangeBus;
 import com.roque.rueda.cashflows.database.observer.DataBaseObserver;
 
 /**
@@ -43,6 +47,11 @@ public class MovementsLoader extends AsyncTaskLoader<Cursor> implements
      */
     private boolean mIsObserving = false;
 
+    /**
+     * Manager used to query the shared database.
+     */
+    private final MovementsManager mManager;
+
     /**
      * Cursor that will fetch the data for all the movements of the account.
      */
@@ -53,6 +62,12 @@ public class MovementsLoader extends AsyncTaskLoader<Cursor> implements
      */
     private long mAccountId;
 
+    /**
+     * Reloads when a delivered cursor finds that its rows changed, created on the
+     * main thread so the changes are delivered there.
+     */
+    private final ForceLoadContentObserver mCursorObserver;
+
     /**
      * Creates an instance of this class using the given context.
      *
@@ -60,6 +75,8 @@ public class MovementsLoader extends AsyncTaskLoader<Cursor> implements
      */
     public MovementsLoader(Context context) {
         super(context);
+        mManager = new MovementsManager(context);
+        mCursorObserver = new ForceLoadContentObserver();
 
         // Since a Loader can be use on several Activity's we
         // are not going to hold a reference to the context
@@ -76,10 +93,11 @@ public class MovementsLoader extends AsyncTaskLoader<Cursor> implements
     }
 
     /**
-     * Loads the account movements on a background thread, generates
-     * a {@code Cursor} that fetch data from database.
+     * Loads the first pages of the account movements on a background thread, the
+     * following pages are read as the list scrolls using
+     * {@link PagedMovementsCursor#requestNextPage(PagedMovementsCursor.Listener)}.
      *
-     * @return {@link android.database.Cursor} with the result of the accounts.
+     * @return {@link PagedMovementsCursor} with the newest movements of the account.
      */
     @Override
     public Cursor loadInBackground() {
@@ -87,8 +105,14 @@ public class MovementsLoader extends AsyncTaskLoader<Cursor> implements
              Log.i(TAG, "== loadInBackground() start loading movements. ==");
          }
 
-        MovementsManager manager = new MovementsManager(getContext());
-        Cursor data = manager.getCashMovements(mAccountId);
+        long start = SystemClock.elapsedRealtime();
+        PagedMovementsCursor data = PagedMovementsCursor.load(mManager, mAccountId);
+        data.registerContentObserver(mCursorObserver);
+
+        if (DEBUG) {
+            Log.i(TAG, "== loadInBackground() " + data.getCount() + " movements loaded in " +
+                    (SystemClock.elapsedRealtime() - start) + " ms. ==");
+        }
         return data;
     }
 
@@ -164,6 +188,8 @@ public class MovementsLoader extends AsyncTaskLoader<Cursor> implements
 
         if (!mIsObserving) {
             mIsObserving = true;
+            // Reload only when the rows read by this loader change.
+            ChangeBus.getInstance().register(this, MovementsTable.TABLE_MOVEMENTS, mAccountId);
         }
 
         // Notify when a change happens on the data source.
@@ -222,6 +248,7 @@ public class MovementsLoader extends AsyncTaskLoader<Cursor> implements
         if (mIsObserving) {
             // Stop listening for data source changes.
             mIsObserving = false;
+            ChangeBus.getInstance().unregister(this);
         }
     }
 
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.provider;
+
+import android.content.ContentResolver;
+import android.content.ContentUris;
+import android.net.Uri;
+
+import com.roque.rueda.cashflows.database.AccountRepository;
+import com.roque.rueda.cashflows.database.AccountTable;
+import com.roque.rueda.cashflows.database.MovementsTable;
+import com.roque.rueda.cashflows.database.PeriodTable;
+
+/**
+ * URIs and MIME types published by the {@link CashFlowsProvider}, the columns are
+ * the ones of {@link AccountTable}, {@link PeriodTable} and {@link MovementsTable}.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public final class CashFlowsContract {
+
+    /**
+     * Authority of the provider.
+     */
+    public static final String AUTHORITY = "com.roque.rueda.cashflows.provider";
+
+    /**
+     * Base URI of every table of the provider.
+     */
+    public static final Uri AUTHORITY_URI = Uri.parse("content://" + AUTHORITY);
+
+    static final String PATH_ACCOUNTS = "accounts";
+    static final String PATH_PERIODS = "periods";
+    static final String PATH_MOVEMENTS = "movements";
+    static final String PATH_CURRENT = "current";
+    static final String PATH_BALANCE = "balance";
+
+    private static final String TYPE_PREFIX = "/vnd.com.roque.rueda.cashflows.";
+
+    private CashFlowsContract() {
+        // Only static members.
+    }
+
+    /**
+     * Accounts of the user, {@code accounts/#/movements} lists the movements of one account.
+     *
+     * {@link #CURRENT_PERIOD_URI} and {@link #BALANCE_URI} are read from the
+     * {@link AccountRepository}, they can't be filtered nor sorted and they are notified
+     * with {@link #CONTENT_URI} after any change of an account, a balance or a period.
+     */
+    public static final class Accounts {
+
+        public static final Uri CONTENT_URI = Uri.withAppendedPath(AUTHORITY_URI, PATH_ACCOUNTS);
+
+        /**
+         * Accounts of the active period ordered by name.
+         */
+        public static final Uri CURRENT_PERIOD_URI = Uri.withAppendedPath(CONTENT_URI,
+                PATH_CURRENT);
+
+        /**
+         * One row with the {@link #FINAL_BALANCE} of the accounts of the active period.
+         */
+        public static final Uri BALANCE_URI = Uri.withAppendedPath(CONTENT_URI, PATH_BALANCE);
+
+        /**
+         * Column of {@link #BALANCE_URI}, sum of the balances in minor units.
+         */
+        public static final String FINAL_BALANCE = AccountRepository.FINAL_BALANCE;
+
+        public static final String CONTENT_TYPE = ContentResolver.CURSOR_DIR_BASE_TYPE +
+                TYPE_PREFIX + "account";
+
+        public static final String CONTENT_ITEM_TYPE = ContentResolver.CURSOR_ITEM_BASE_TYPE +
+                TYPE_PREFIX + "account";
+
+        public static final String BALANCE_TYPE = ContentResolver.CURSOR_ITEM_BASE_TYPE +
+                TYPE_PREFIX + "balance";
+
+        private Accounts() {
+            // Only static members.
+        }
+
+        /**
+         * Gets the URI of one account.
+         * @param idAccount Account identifier.
+         * @return URI accounts/#.
+         */
+        public static Uri buildAccountUri(long idAccount) {
+            return ContentUris.withAppendedId(CONTENT_URI, idAccount);
+        }
+
+        /**
+         * Gets the URI of the movements of one account, it's notified only when a
+         * movement of that account changes.
+         * @param idAccount Account identifier.
+         * @return URI accounts/#/movements.
+         */
+        public static Uri buildMovementsUri(long idAccount) {
+            return Uri.withAppendedPath(buildAccountUri(idAccount), PATH_MOVEMENTS);
+        }
+    }
+
+    /**
+     * Periods of the accounts.
+     */
+    public static final class Periods {
+
+        public static final Uri CONTENT_URI = Uri.withAppendedPath(AUTHORITY_URI, PATH_PERIODS);
+
+        public static final String CONTENT_TYPE = ContentResolver.CURSOR_DIR_BASE_TYPE +
+                TYPE_PREFIX + "period";
+
+        public static final String CONTENT_ITEM_TYPE = ContentResolver.CURSOR_ITEM_BASE_TYPE +
+                TYPE_PREFIX + "period";
+
+        private Periods() {
+            // Only static members.
+        }
+
+        /**
+         * Gets the URI of one period.
+         * @param idPeriod Period identifier.
+         * @return URI periods/#.
+         */
+        public static Uri buildPeriodUri(long idPeriod) {
+            return ContentUris.withAppendedId(CONTENT_URI, idPeriod);
+        }
+    }
+
+    /**
+     * Movements of every account.
+     */
+    public static final class Movements {
+
+        public static final Uri CONTENT_URI = Uri.withAppendedPath(AUTHORITY_URI, PATH_MOVEMENTS);
+
+        public static final String CONTENT_TYPE = ContentResolver.CURSOR_DIR_BASE_TYPE +
+                TYPE_PREFIX + "movement";
+
+        public static final String CONTENT_ITEM_TYPE = ContentResolver.CURSOR_ITEM_BASE_TYPE +
+                TYPE_PREFIX + "movement";
+
+        /**
+         * Default order of the movements, the newest first.
+         */
+        public static final String DEFAULT_SORT_ORDER = MovementsTable.MOVEMENTS_DATE + " DESC, " +
+                MovementsTable._ID + " DESC";
+
+        private Movements() {
+            // Only static members.
+        }
+
+        /**
+         * Gets the URI of one movement.
+         * @param idMovement Movement identifier.
+         * @return URI movements/#.
+         */
+        public static Uri buildMovementUri(long idMovement) {
+            return ContentUris.withAppendedId(CONTENT_URI, idMovement);
+        }
+    }
+}
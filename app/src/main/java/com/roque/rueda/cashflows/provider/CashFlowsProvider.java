@@ -0,0 +1,701 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.provider;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import android.content.ContentProvider;
+import android.content.ContentProviderOperation;
+import android.content.ContentProviderResult;
+import android.content.ContentResolver;
+import android.content.ContentUris;
+import android.content.ContentValues;
+import android.content.Context;
+import android.content.OperationApplicationException;
+import android.content.UriMatcher;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteQueryBuilder;
+import android.net.Uri;
+import android.util.Log;
+
+import com.roque.rueda.cashflows.database.AccountManager;
+import com.roque.rueda.cashflows.database.AccountRepository;
+import com.roque.rueda.cashflows.database.AccountTable;
+import com.roque.rueda.cashflows.database.AggregatesLedger;
+import com.roque.rueda.cashflows.database.BalanceLedger;
+import com.roque.rueda.cashflows.database.CashFlowsDatabase;
+import com.roque.rueda.cashflows.database.MovementBatch;
+import com.roque.rueda.cashflows.database.MovementsDao;
+import com.roque.rueda.cashflows.database.MovementsTable;
+import com.roque.rueda.cashflows.database.PeriodTable;
+import com.roque.rueda.cashflows.database.observer.ChangeBus;
+import com.roque.rueda.cashflows.database.observer.DataBaseObserver;
+import com.roque.rueda.cashflows.provider.CashFlowsContract.Accounts;
+import com.roque.rueda.cashflows.provider.CashFlowsContract.Movements;
+import com.roque.rueda.cashflows.provider.CashFlowsContract.Periods;
+
+/**
+ * Publishes the accounts, the periods and the movements, see {@link CashFlowsContract}.
+ *
+ * The movements are written through the {@link MovementsDao} so the balances and the
+ * totals stay right, {@link #bulkInsert(Uri, ContentValues[])} and
+ * {@link #applyBatch(ArrayList)} run in one transaction. The notifications of a write
+ * are collected while its transaction is open and sent once after the commit, only to
+ * the URIs of the rows that changed: a movement notifies its own URI and the movements
+ * of its account, so a loader of another account is not reloaded. The writes made
+ * without the provider reach the {@link ChangeBus}, the provider forwards the ones of
+ * the accounts and the periods to the observers of {@link Accounts#CONTENT_URI}. Its
+ * own writes only post the movements to the bus, so they are notified once.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class CashFlowsProvider extends ContentProvider {
+
+    private static final String TAG = "CashFlowsProvider";
+
+    private static final int ACCOUNTS = 100;
+    private static final int ACCOUNT_ID = 101;
+    private static final int ACCOUNT_MOVEMENTS = 102;
+    private static final int ACCOUNTS_CURRENT = 103;
+    private static final int ACCOUNTS_BALANCE = 104;
+    private static final int PERIODS = 200;
+    private static final int PERIOD_ID = 201;
+    private static final int MOVEMENTS = 300;
+    private static final int MOVEMENT_ID = 301;
+
+    private static final UriMatcher sUriMatcher = buildUriMatcher();
+
+    private static final String[] MOVEMENT_VALUES = new String[] {
+            MovementsTable.MOVEMENTS_AMOUNT, MovementsTable.MOVEMENTS_DESCRIPTION,
+            MovementsTable.MOVEMENTS_DATE, MovementsTable.MOVEMENTS_SING,
+            MovementsTable.ID_ACCOUNT };
+
+    /**
+     * Changes of the writes open in the current thread.
+     */
+    private final ThreadLocal<PendingChanges> mPendingChanges = new ThreadLocal<PendingChanges>();
+
+    private CashFlowsDatabase mDatabase;
+
+    /**
+     * Notifies the observers of the accounts after the writes made with the
+     * {@link MovementsDao} or the {@link AccountManager}, they are coalesced by the bus.
+     */
+    private final DataBaseObserver mChangeForwarder = new DataBaseObserver() {
+        @Override
+        public void notifyTableChange(String tableName) {
+            notifyAccounts();
+        }
+
+        @Override
+        public void notifyDatabaseChange() {
+            notifyAccounts();
+        }
+
+        private void notifyAccounts() {
+            getContext().getContentResolver().notifyChange(Accounts.CONTENT_URI, null, false);
+        }
+    };
+
+    private static UriMatcher buildUriMatcher() {
+        UriMatcher matcher = new UriMatcher(UriMatcher.NO_MATCH);
+        String authority = CashFlowsContract.AUTHORITY;
+        matcher.addURI(authority, CashFlowsContract.PATH_ACCOUNTS, ACCOUNTS);
+        matcher.addURI(authority, CashFlowsContract.PATH_ACCOUNTS + "/#", ACCOUNT_ID);
+        matcher.addURI(authority, CashFlowsContract.PATH_ACCOUNTS + "/#/" +
+                CashFlowsContract.PATH_MOVEMENTS, ACCOUNT_MOVEMENTS);
+        matcher.addURI(authority, CashFlowsContract.PATH_ACCOUNTS + "/" +
+                CashFlowsContract.PATH_CURRENT, ACCOUNTS_CURRENT);
+        matcher.addURI(authority, CashFlowsContract.PATH_ACCOUNTS + "/" +
+                CashFlowsContract.PATH_BALANCE, ACCOUNTS_BALANCE);
+        matcher.addURI(authority, CashFlowsContract.PATH_PERIODS, PERIODS);
+        matcher.addURI(authority, CashFlowsContract.PATH_PERIODS + "/#", PERIOD_ID);
+        matcher.addURI(authority, CashFlowsContract.PATH_MOVEMENTS, MOVEMENTS);
+        matcher.addURI(authority, CashFlowsContract.PATH_MOVEMENTS + "/#", MOVEMENT_ID);
+        return matcher;
+    }
+
+    @Override
+    public boolean onCreate() {
+        // The connection is opened by the first request.
+        mDatabase = CashFlowsDatabase.getInstance(getContext());
+
+        // The writes made without the provider are only posted to the bus.
+        ChangeBus bus = ChangeBus.getInstance();
+        bus.register(mChangeForwarder, AccountTable.TABLE_ACCOUNTS, ChangeBus.ALL_ACCOUNTS);
+        bus.register(mChangeForwarder, PeriodTable.TABLE_PERIODS, ChangeBus.ALL_ACCOUNTS);
+        return true;
+    }
+
+    @Override
+    public String getType(Uri uri) {
+        switch (sUriMatcher.match(uri)) {
+            case ACCOUNTS:
+            case ACCOUNTS_CURRENT:
+                return Accounts.CONTENT_TYPE;
+            case ACCOUNT_ID:
+                return Accounts.CONTENT_ITEM_TYPE;
+            case ACCOUNTS_BALANCE:
+                return Accounts.BALANCE_TYPE;
+            case PERIODS:
+                return Periods.CONTENT_TYPE;
+            case PERIOD_ID:
+                return Periods.CONTENT_ITEM_TYPE;
+            case ACCOUNT_MOVEMENTS:
+            case MOVEMENTS:
+                return Movements.CONTENT_TYPE;
+            case MOVEMENT_ID:
+                return Movements.CONTENT_ITEM_TYPE;
+            default:
+                throw new IllegalArgumentException("Unknown URI " + uri);
+        }
+    }
+
+    @Override
+    public Cursor query(Uri uri, String[] projection, String selection, String[] selectionArgs,
+                        String sortOrder) {
+        int match = sUriMatcher.match(uri);
+        if (match == ACCOUNTS_CURRENT || match == ACCOUNTS_BALANCE) {
+            return queryRepository(match, projection, selection, sortOrder);
+        }
+
+        SQLiteQueryBuilder qb = new SQLiteQueryBuilder();
+        switch (match) {
+            case ACCOUNTS: {
+                qb.setTables(AccountTable.TABLE_ACCOUNTS);
+            } break;
+            case ACCOUNT_ID: {
+                qb.setTables(AccountTable.TABLE_ACCOUNTS);
+                qb.appendWhere(AccountTable._ID + " = " + ContentUris.parseId(uri));
+            } break;
+            case ACCOUNT_MOVEMENTS: {
+                qb.setTables(MovementsTable.TABLE_MOVEMENTS);
+                qb.appendWhere(MovementsTable.ID_ACCOUNT + " = " + getAccountOf(uri));
+                if (sortOrder == null) {
+                    sortOrder = Movements.DEFAULT_SORT_ORDER;
+                }
+            } break;
+            case PERIODS: {
+                qb.setTables(PeriodTable.TABLE_PERIODS);
+            } break;
+            case PERIOD_ID: {
+                qb.setTables(PeriodTable.TABLE_PERIODS);
+                qb.appendWhere(PeriodTable._ID + " = " + ContentUris.parseId(uri));
+            } break;
+            case MOVEMENTS: {
+                qb.setTables(MovementsTable.TABLE_MOVEMENTS);
+                if (sortOrder == null) {
+                    sortOrder = Movements.DEFAULT_SORT_ORDER;
+                }
+            } break;
+            case MOVEMENT_ID: {
+                qb.setTables(MovementsTable.TABLE_MOVEMENTS);
+                qb.appendWhere(MovementsTable._ID + " = " + ContentUris.parseId(uri));
+            } break;
+            default:
+                throw new IllegalArgumentException("Unknown URI " + uri);
+        }
+
+        Cursor c = qb.query(mDatabase.getReadableDatabase(), projection, selection,
+                selectionArgs, null, null, sortOrder);
+        // Observers of the URI (and of its parents) are notified by the writes that touch it.
+        c.setNotificationUri(getContext().getContentResolver(), uri);
+        return c;
+    }
+
+    /**
+     * Reads the accounts of the active period or their balance from memory.
+     */
+    private Cursor queryRepository(int match, String[] projection, String selection,
+                                   String sortOrder) {
+        if (selection != null || sortOrder != null) {
+            throw new IllegalArgumentException("The accounts of the active period can't be " +
+                    "filtered nor sorted.");
+        }
+
+        AccountRepository repository = AccountRepository.getInstance(getContext());
+        Cursor c = match == ACCOUNTS_CURRENT ?
+                repository.getAccountsForCurrentPeriod(projection) : repository.getFinalBalance();
+        // Any change of an account or a period reaches accounts.
+        c.setNotificationUri(getContext().getContentResolver(), Accounts.CONTENT_URI);
+        return c;
+    }
+
+    @Override
+    public Uri insert(Uri uri, ContentValues values) {
+        SQLiteDatabase db = mDatabase.getWritableDatabase();
+        PendingChanges changes = beginWrite(db);
+        boolean successful = false;
+        try {
+            Uri inserted;
+            switch (sUriMatcher.match(uri)) {
+                case ACCOUNTS: {
+                    inserted = insertAccount(db, values, changes);
+                } break;
+                case PERIODS: {
+                    long id = db.insert(PeriodTable.TABLE_PERIODS, null, values);
+                    inserted = id == -1 ? null : Periods.buildPeriodUri(id);
+                    changes.periodChanged(inserted);
+                } break;
+                case ACCOUNT_MOVEMENTS: {
+                    values = new ContentValues(values);
+                    values.put(MovementsTable.ID_ACCOUNT, getAccountOf(uri));
+                    inserted = insertMovement(values, changes);
+                } break;
+                case MOVEMENTS: {
+                    inserted = insertMovement(values, changes);
+                } break;
+                default:
+                    throw new IllegalArgumentException("Unknown URI " + uri);
+            }
+
+            if (inserted != null) {
+                db.setTransactionSuccessful();
+                successful = true;
+            }
+            return inserted;
+        } finally {
+            endWrite(db, changes, successful);
+        }
+    }
+
+    /**
+     * Inserts every movement in one transaction and applies the amounts to the balance
+     * and the totals of each account once, any other URI is inserted row by row in
+     * the same transaction. A movement of an unknown account rolls back every row.
+     */
+    @Override
+    public int bulkInsert(Uri uri, ContentValues[] values) {
+        int match = sUriMatcher.match(uri);
+        SQLiteDatabase db = mDatabase.getWritableDatabase();
+        PendingChanges changes = beginWrite(db);
+        boolean successful = false;
+        try {
+            if (match == MOVEMENTS || match == ACCOUNT_MOVEMENTS) {
+                MovementBatch batch = new MovementBatch(mDatabase.getMovementsDao());
+                try {
+                    for (ContentValues row : values) {
+                        long idAccount = match == ACCOUNT_MOVEMENTS ? getAccountOf(uri) :
+                                getRequiredLong(row, MovementsTable.ID_ACCOUNT);
+                        batch.add(getRequiredLong(row, MovementsTable.MOVEMENTS_AMOUNT),
+                                row.getAsString(MovementsTable.MOVEMENTS_DESCRIPTION),
+                                getRequiredLong(row, MovementsTable.MOVEMENTS_DATE),
+                                getRequiredString(row, MovementsTable.MOVEMENTS_SING), idAccount);
+                    }
+                    changes.movementsInserted(batch.apply());
+                } finally {
+                    batch.clear();
+                }
+            } else {
+                for (ContentValues row : values) {
+                    if (insert(uri, row) == null) {
+                        return 0;
+                    }
+                }
+            }
+            db.setTransactionSuccessful();
+            successful = true;
+            Log.i(TAG, "Inserted " + values.length + " rows into " + uri);
+            return values.length;
+        } finally {
+            endWrite(db, changes, successful);
+        }
+    }
+
+    @Override
+    public int update(Uri uri, ContentValues values, String selection, String[] selectionArgs) {
+        SQLiteDatabase db = mDatabase.getWritableDatabase();
+        PendingChanges changes = beginWrite(db);
+        boolean successful = false;
+        try {
+            int count = 0;
+            switch (sUriMatcher.match(uri)) {
+                case ACCOUNTS: {
+                    checkAccountValues(values);
+                    count = db.update(AccountTable.TABLE_ACCOUNTS, values, selection,
+                            selectionArgs);
+                    if (count > 0) {
+                        changes.accountsChanged(Accounts.CONTENT_URI);
+                    }
+                } break;
+                case ACCOUNT_ID: {
+                    checkAccountValues(values);
+                    long id = ContentUris.parseId(uri);
+                    count = db.update(AccountTable.TABLE_ACCOUNTS, values,
+                            withId(AccountTable._ID, id, selection), selectionArgs);
+                    if (count > 0) {
+                        changes.accountsChanged(uri);
+                    }
+                } break;
+                case PERIODS: {
+                    count = db.update(PeriodTable.TABLE_PERIODS, values, selection,
+                            selectionArgs);
+                    if (count > 0) {
+                        changes.periodChanged(Periods.CONTENT_URI);
+                    }
+                } break;
+                case PERIOD_ID: {
+                    count = db.update(PeriodTable.TABLE_PERIODS, values,
+                            withId(PeriodTable._ID, ContentUris.parseId(uri), selection),
+                            selectionArgs);
+                    if (count > 0) {
+                        changes.periodChanged(uri);
+                    }
+                } break;
+                case ACCOUNT_MOVEMENTS:
+                case MOVEMENTS:
+                case MOVEMENT_ID: {
+                    for (long id : queryMovementIds(db, uri, selection, selectionArgs)) {
+                        if (updateMovement(db, id, values, changes)) {
+                            count++;
+                        }
+                    }
+                } break;
+                default:
+                    throw new IllegalArgumentException("Unknown URI " + uri);
+            }
+            db.setTransactionSuccessful();
+            successful = true;
+            return count;
+        } finally {
+            endWrite(db, changes, successful);
+        }
+    }
+
+    /**
+     * Deletes movements, the accounts and the periods can't be deleted because the
+     * movements and the totals depend on them.
+     */
+    @Override
+    public int delete(Uri uri, String selection, String[] selectionArgs) {
+        switch (sUriMatcher.match(uri)) {
+            case ACCOUNT_MOVEMENTS:
+            case MOVEMENTS:
+            case MOVEMENT_ID:
+                break;
+            case ACCOUNTS:
+            case ACCOUNT_ID:
+            case PERIODS:
+            case PERIOD_ID:
+                throw new UnsupportedOperationException("Can't delete " + uri);
+            default:
+                throw new IllegalArgumentException("Unknown URI " + uri);
+        }
+
+        SQLiteDatabase db = mDatabase.getWritableDatabase();
+        PendingChanges changes = beginWrite(db);
+        boolean successful = false;
+        try {
+            MovementsDao dao = mDatabase.getMovementsDao();
+            int count = 0;
+            for (long id : queryMovementIds(db, uri, selection, selectionArgs)) {
+                Cursor previous = queryMovement(db, id);
+                try {
+                    if (previous.moveToFirst() && dao.delete(id)) {
+                        changes.movementChanged(previous.getLong(4), id,
+                                -BalanceLedger.signedAmount(previous.getString(3),
+                                        previous.getLong(0)));
+                        count++;
+                    }
+                } finally {
+                    previous.close();
+                }
+            }
+            db.setTransactionSuccessful();
+            successful = true;
+            return count;
+        } finally {
+            endWrite(db, changes, successful);
+        }
+    }
+
+    /**
+     * Applies every operation in one transaction, the observers are notified once
+     * after the commit instead of once per operation.
+     */
+    @Override
+    public ContentProviderResult[] applyBatch(ArrayList<ContentProviderOperation> operations)
+            throws OperationApplicationException {
+        SQLiteDatabase db = mDatabase.getWritableDatabase();
+        PendingChanges changes = beginWrite(db);
+        boolean successful = false;
+        try {
+            ContentProviderResult[] results = super.applyBatch(operations);
+            db.setTransactionSuccessful();
+            successful = true;
+            return results;
+        } finally {
+            endWrite(db, changes, successful);
+        }
+    }
+
+    /**
+     * Inserts an account, its running balance starts at the initial balance.
+     */
+    private Uri insertAccount(SQLiteDatabase db, ContentValues values, PendingChanges changes) {
+        values = new ContentValues(values);
+        Long initialBalance = values.getAsLong(AccountTable.ACCOUNT_INITIAL_BALANCE);
+        if (initialBalance == null) {
+            initialBalance = 0L;
+            values.put(AccountTable.ACCOUNT_INITIAL_BALANCE, initialBalance);
+        }
+        values.put(AccountTable.ACCOUNT_END_BALANCE, initialBalance);
+
+        long id = db.insert(AccountTable.TABLE_ACCOUNTS, null, values);
+        if (id == -1) {
+            return null;
+        }
+
+        Long idPeriod = values.getAsLong(AccountTable.ID_PERIOD);
+        if (idPeriod != null) {
+            AggregatesLedger.addOpening(db, idPeriod, initialBalance);
+        }
+        Uri inserted = Accounts.buildAccountUri(id);
+        changes.accountsChanged(inserted);
+        return inserted;
+    }
+
+    private Uri insertMovement(ContentValues values, PendingChanges changes) {
+        long idAccount = getRequiredLong(values, MovementsTable.ID_ACCOUNT);
+        long amount = getRequiredLong(values, MovementsTable.MOVEMENTS_AMOUNT);
+        String sing = getRequiredString(values, MovementsTable.MOVEMENTS_SING);
+        long id = mDatabase.getMovementsDao().insert(amount,
+                values.getAsString(MovementsTable.MOVEMENTS_DESCRIPTION),
+                getRequiredLong(values, MovementsTable.MOVEMENTS_DATE), sing, idAccount);
+        if (id == -1) {
+            Log.e(TAG, "Can't insert a movement into the account " + idAccount);
+            return null;
+        }
+        changes.movementChanged(idAccount, id, BalanceLedger.signedAmount(sing, amount));
+        return Movements.buildMovementUri(id);
+    }
+
+    /**
+     * Changes the given values of a movement and keeps the others.
+     */
+    private boolean updateMovement(SQLiteDatabase db, long id, ContentValues values,
+                                   PendingChanges changes) {
+        Cursor c = queryMovement(db, id);
+        try {
+            if (!c.moveToFirst()) {
+                return false;
+            }
+            long idAccount = c.getLong(4);
+            Long newAccount = values.getAsLong(MovementsTable.ID_ACCOUNT);
+            if (newAccount != null && newAccount != idAccount) {
+                throw new IllegalArgumentException("A movement can't be moved to another account.");
+            }
+
+            Long amount = values.getAsLong(MovementsTable.MOVEMENTS_AMOUNT);
+            Long date = values.getAsLong(MovementsTable.MOVEMENTS_DATE);
+            String sing = values.getAsString(MovementsTable.MOVEMENTS_SING);
+            String description = values.containsKey(MovementsTable.MOVEMENTS_DESCRIPTION) ?
+                    values.getAsString(MovementsTable.MOVEMENTS_DESCRIPTION) : c.getString(1);
+
+            if (amount == null) {
+                amount = c.getLong(0);
+            }
+            if (sing == null) {
+                sing = c.getString(3);
+            }
+            boolean updated = mDatabase.getMovementsDao().update(id, amount, description,
+                    date != null ? date : c.getLong(2), sing);
+            if (updated) {
+                changes.movementChanged(idAccount, id, BalanceLedger.signedAmount(sing, amount) -
+                        BalanceLedger.signedAmount(c.getString(3), c.getLong(0)));
+            }
+            return updated;
+        } finally {
+            c.close();
+        }
+    }
+
+    /**
+     * Gets the identifiers of the movements selected by a movements URI.
+     */
+    private static Set<Long> queryMovementIds(SQLiteDatabase db, Uri uri, String selection,
+                                              String[] selectionArgs) {
+        int match = sUriMatcher.match(uri);
+        if (match == MOVEMENT_ID) {
+            selection = withId(MovementsTable._ID, ContentUris.parseId(uri), selection);
+        } else if (match == ACCOUNT_MOVEMENTS) {
+            selection = withId(MovementsTable.ID_ACCOUNT, getAccountOf(uri), selection);
+        }
+
+        Cursor c = db.query(MovementsTable.TABLE_MOVEMENTS, new String[] { MovementsTable._ID },
+                selection, selectionArgs, null, null, null);
+        try {
+            Set<Long> ids = new LinkedHashSet<Long>();
+            while (c.moveToNext()) {
+                ids.add(c.getLong(0));
+            }
+            return ids;
+        } finally {
+            c.close();
+        }
+    }
+
+    /**
+     * Gets the values of a movement in the order of MOVEMENT_VALUES.
+     */
+    private static Cursor queryMovement(SQLiteDatabase db, long idMovement) {
+        return db.query(MovementsTable.TABLE_MOVEMENTS, MOVEMENT_VALUES,
+                MovementsTable._ID + " = " + idMovement, null, null, null, null);
+    }
+
+    /**
+     * The balances and the period of an account are kept by the ledger.
+     */
+    private static void checkAccountValues(ContentValues values) {
+        if (values.containsKey(AccountTable.ACCOUNT_INITIAL_BALANCE) ||
+                values.containsKey(AccountTable.ACCOUNT_END_BALANCE) ||
+                values.containsKey(AccountTable.ID_PERIOD)) {
+            throw new IllegalArgumentException("The balances and the period of an account " +
+                    "can't be updated.");
+        }
+    }
+
+    private static long getAccountOf(Uri uri) {
+        return Long.parseLong(uri.getPathSegments().get(1));
+    }
+
+    private static String withId(String column, long id, String selection) {
+        String where = column + " = " + id;
+        return selection == null || selection.length() == 0 ? where :
+                where + " AND (" + selection + ")";
+    }
+
+    private static long getRequiredLong(ContentValues values, String key) {
+        Long value = values.getAsLong(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing value " + key);
+        }
+        return value;
+    }
+
+    private static String getRequiredString(ContentValues values, String key) {
+        String value = values.getAsString(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing value " + key);
+        }
+        return value;
+    }
+
+    /**
+     * Opens a transaction, nested in the one of the batch when there is one.
+     */
+    private PendingChanges beginWrite(SQLiteDatabase db) {
+        PendingChanges changes = mPendingChanges.get();
+        if (changes == null) {
+            changes = new PendingChanges();
+            mPendingChanges.set(changes);
+        }
+        changes.mDepth++;
+        db.beginTransaction();
+        return changes;
+    }
+
+    /**
+     * Closes a transaction, the outermost one sends the notifications if every
+     * nested write was successful.
+     */
+    private void endWrite(SQLiteDatabase db, PendingChanges changes, boolean successful) {
+        db.endTransaction();
+        if (!successful) {
+            changes.mFailed = true;
+        }
+        if (--changes.mDepth > 0) {
+            return;
+        }
+
+        mPendingChanges.remove();
+        if (!changes.mFailed) {
+            changes.send(getContext());
+        }
+    }
+
+    /**
+     * URIs and tables changed by the writes of one thread.
+     */
+    private static final class PendingChanges {
+
+        private int mDepth;
+        private boolean mFailed;
+        private final Set<Uri> mUris = new LinkedHashSet<Uri>();
+        private final Map<Long, Long> mDeltas = new HashMap<Long, Long>();
+        private boolean mAccounts;
+        private boolean mPeriods;
+
+        void movementChanged(long idAccount, long idMovement, long delta) {
+            mUris.add(Movements.buildMovementUri(idMovement));
+            mUris.add(Accounts.buildMovementsUri(idAccount));
+            addDelta(idAccount, delta);
+        }
+
+        void movementsInserted(Map<Long, Long> deltas) {
+            mUris.add(Movements.CONTENT_URI);
+            for (Map.Entry<Long, Long> delta : deltas.entrySet()) {
+                mUris.add(Accounts.buildMovementsUri(delta.getKey()));
+                addDelta(delta.getKey(), delta.getValue());
+            }
+        }
+
+        private void addDelta(long idAccount, long delta) {
+            Long previous = mDeltas.get(idAccount);
+            mDeltas.put(idAccount, previous == null ? delta : previous + delta);
+        }
+
+        void accountsChanged(Uri uri) {
+            mUris.add(uri);
+            mAccounts = true;
+        }
+
+        void periodChanged(Uri uri) {
+            if (uri != null) {
+                mUris.add(uri);
+                mPeriods = true;
+            }
+        }
+
+        void send(Context context) {
+            // Update the repository before the loaders of the accounts read it again.
+            // The bus only reaches the loaders of the movements, the observers of the
+            // accounts are notified by the URIs instead of by the forwarder.
+            MovementsDao.notifyCommitted(mDeltas, false);
+            if (mAccounts || mPeriods) {
+                AccountRepository.getInstance(context).invalidate();
+            }
+            if (mPeriods) {
+                // The accounts of the active period may have changed.
+                mUris.add(Accounts.CONTENT_URI);
+            }
+
+            // accounts/#/movements also reaches the observers of accounts/# and accounts.
+            ContentResolver resolver = context.getContentResolver();
+            for (Uri uri : mUris) {
+                resolver.notifyChange(uri, null, false);
+            }
+        }
+    }
+}
@@ -15,6 +15,9 @@
  */
 package com.roque.rueda.cashflows.util;
 
+import java.util.concurrent.Future;
+
+import com.roque.rueda.cashflows.database.MovementWriter;
 import com.roque.rueda.cashflows.model.Movement;
 
 /**
@@ -28,11 +31,13 @@ import com.roque.rueda.cashflows.model.Movement;
 public interface AddCashState {
 
     /**
-     * Save a new cash movement.
+     * Save a new cash movement, the movement is written on the writer thread.
      * @param m {@link com.roque.rueda.cashflows.model.Movement} contains a set of variables
      *        used as parameter to set the values on the database.
-     * @return true if the operation add a new cash movement.
+     * @param callback Optional callback called on the main thread with the result.
+     * @return Future with the identifier of the new movement or
+     *         {@link MovementWriter#FAILED}.
      */
-    boolean saveCashMovement(Movement m);
+    Future<Long> saveCashMovement(Movement m, MovementWriter.Callback callback);
 
 }
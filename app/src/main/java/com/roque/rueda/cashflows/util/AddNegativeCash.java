@@ -15,29 +15,16 @@
  */
 package com.roque.rueda.cashflows.util;
 
-import android.content.ContentValues;
+import java.util.concurrent.Future;
+
 import android.content.Context;
-import android.database.Cursor;
-import android.database.sqlite.SQLiteDatabase;
-import android.database.sqlite.SQLiteException;
 import android.util.Log;
 
-import com.roque.rueda.cashflows.database.AccountManager;
-import com.roque.rueda.cashflows.database.AccountTable;
-import com.roque.rueda.cashflows.database.CashFlowsOpenHelper;
-import com.roque.rueda.cashflows.database.MovementsTable;
+import com.roque.rueda.cashflows.database.MovementWriter;
+import com.roque.rueda.cashflows.ledger.AddNegativeStrategy;
+import com.roque.rueda.cashflows.ledger.MovementStrategy;
 import com.roque.rueda.cashflows.model.Movement;
 
-import java.text.SimpleDateFormat;
-import java.util.Locale;
-
-import static com.roque.rueda.cashflows.database.MovementsTable.ID_ACCOUNT;
-import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_AMOUNT;
-import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_DESCRIPTION;
-import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_DATE;
-import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_SING;
-import static com.roque.rueda.cashflows.database.MovementsTable.TABLE_MOVEMENTS;
-
 /**
  * Instance used to store a negative value in the database.
  *
@@ -50,76 +37,29 @@ public class AddNegativeCash implements AddCashState{
 
 
     private Context mContext;
-    private CashFlowsOpenHelper mOpenHelper;
-    private static final int SUM_COLUMN_INDEX = 0;
+    private MovementWriter mWriter;
+    private final MovementStrategy mStrategy = new AddNegativeStrategy();
     private static final String TAG = "AddNegativeCash";
 
-    public AddNegativeCash(Context ctx) { mContext = ctx; }
+    public AddNegativeCash(Context ctx) {
+        mContext = ctx;
+        mWriter = MovementWriter.getInstance(ctx);
+    }
 
     /**
      * Save a new cash movement.
      *
      * @param m {@link com.roque.rueda.cashflows.model.Movement} contains a set of variables
      *          used as parameter to set the values on the database.
-     * @return true if the operation add a new cash movement.
+     * @param callback Optional callback called on the main thread with the result.
+     * @return Future with the identifier of the new movement.
      */
     @Override
-    public boolean saveCashMovement(Movement m) {
-
-        mOpenHelper = new CashFlowsOpenHelper(mContext);
-
-        ContentValues values = new ContentValues();
-        double amount = m.getAmount();
-
-        values.put(MOVEMENTS_AMOUNT, m.getAmount());
-        values.put(MOVEMENTS_DESCRIPTION, m.getDescription());
-
-        // Date format to save a date as a string.
-        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss",
-                Locale.getDefault());
-
-        values.put(MOVEMENTS_DATE, dateFormat.format(m.getDate()));
-        values.put(MOVEMENTS_SING, m.getSing());
-        values.put(ID_ACCOUNT, m.getIdAccount());
-
-        // Columns for the sum of the account.
-        String[] columns = new String[]{ "SUM(" + MOVEMENTS_AMOUNT + ")" };
-
-        // Get a database.
-        SQLiteDatabase db = mOpenHelper.getWritableDatabase();
-        db.beginTransaction();
-        try {
-
-            double lastBalance = AccountManager.getAccountBalance(m.getIdAccount(), db);
-
-            // Save the movement.
-            m.setId(db.insert(TABLE_MOVEMENTS, null, values));
-
-            // Update final balance
-            double endBalance = lastBalance - m.getAmount();
-            values.clear();
-            values.put(AccountTable.ACCOUNT_END_BALANCE, endBalance);
-
-            Log.i(TAG, "Saving a negative cash movement of " + m.getAmount() +
-                    " in the account " + m.getIdAccount() +
-                    " the last balance is: " + lastBalance +
-                    " the new balance is: " + endBalance );
-
-            Log.i(TAG, "Saving final balance " + endBalance +
-                    " in the account " + m.getIdAccount());
-
-            int affectedRows = db.update(AccountTable.TABLE_ACCOUNTS, values,
-                    AccountTable._ID + " = " + m.getIdAccount(), null);
-            db.setTransactionSuccessful();
-
-            // Return the operation result.
-            return (m.getId() > 0 && affectedRows > 0);
-
-        } catch (SQLiteException sqlEx) {
-            Log.e(TAG, "Problem saving a negative movement: " + sqlEx.getMessage());
-            return false;
-        } finally {
-            db.endTransaction();
-        }
+    public Future<Long> saveCashMovement(Movement m, MovementWriter.Callback callback) {
+        // The writer adds it to the running balance of the account in the same
+        // transaction, the result is -1 if the account doesn't exist.
+        Log.i(TAG, "Saving a negative cash movement of " + m.getAmount() +
+                " in the account " + m.getIdAccount());
+        return mWriter.insert(mStrategy.prepare(m), callback);
     }
 }
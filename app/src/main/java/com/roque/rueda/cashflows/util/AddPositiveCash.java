@@ -15,35 +15,16 @@
  */
 package com.roque.rueda.cashflows.util;
 
-import android.content.ContentValues;
+import java.util.concurrent.Future;
+
 import android.content.Context;
-import android.database.Cursor;
-import android.database.sqlite.SQLiteDatabase;
-import android.database.sqlite.SQLiteException;
-import android.database.sqlite.SQLiteStatement;
 import android.util.Log;
 
-import com.roque.rueda.cashflows.database.AccountManager;
-import com.roque.rueda.cashflows.database.AccountTable;
-import com.roque.rueda.cashflows.database.CashFlowsOpenHelper;
-import com.roque.rueda.cashflows.database.MovementsTable;
+import com.roque.rueda.cashflows.database.MovementWriter;
+import com.roque.rueda.cashflows.ledger.AddPositiveStrategy;
+import com.roque.rueda.cashflows.ledger.MovementStrategy;
 import com.roque.rueda.cashflows.model.Movement;
 
-import java.text.SimpleDateFormat;
-import java.util.Locale;
-
-import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_AMOUNT;
-import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_DESCRIPTION;
-import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_DATE;
-import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_SING;
-import static com.roque.rueda.cashflows.database.MovementsTable.TABLE_MOVEMENTS;
-import static com.roque.rueda.cashflows.database.MovementsTable.ID_ACCOUNT;
-import static com.roque.rueda.cashflows.database.AccountTable.ACCOUNT_NAME;
-import static com.roque.rueda.cashflows.database.AccountTable.ID_PERIOD;
-import static com.roque.rueda.cashflows.database.AccountTable.ACCOUNT_INITIAL_BALANCE;
-import static com.roque.rueda.cashflows.database.AccountTable.ACCOUNT_END_BALANCE;
-import static com.roque.rueda.cashflows.database.AccountTable.TABLE_ACCOUNTS;
-
 /**
  * Instance used to store a positive cash movement in the database.
  *
@@ -55,8 +36,8 @@ import static com.roque.rueda.cashflows.database.AccountTable.TABLE_ACCOUNTS;
 public class AddPositiveCash implements AddCashState {
 
     private Context mContext;
-    private CashFlowsOpenHelper mOpenHelper;
-    private static final int SUM_COLUMN_INDEX = 0;
+    private MovementWriter mWriter;
+    private final MovementStrategy mStrategy = new AddPositiveStrategy();
     private static final String TAG = "AddCashState";
 
     /**
@@ -66,73 +47,22 @@ public class AddPositiveCash implements AddCashState {
      */
     public AddPositiveCash(Context ctx) {
         mContext = ctx;
+        mWriter = MovementWriter.getInstance(ctx);
     }
 
     /**
      * Save a new cash movement.
      *
      * @param m {@link com.roque.rueda.cashflows.model.Movement}
-     *
-     * @return true if the operation add a new cash movement.
+     * @param callback Optional callback called on the main thread with the result.
+     * @return Future with the identifier of the new movement.
      */
     @Override
-    public boolean saveCashMovement(Movement m) {
-
-        mOpenHelper = new CashFlowsOpenHelper(mContext);
-
-        ContentValues values = new ContentValues();
-        values.put(MOVEMENTS_AMOUNT, m.getAmount());
-        values.put(MOVEMENTS_DESCRIPTION, m.getDescription());
-
-        // Date format to save a date as string.
-        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss",
-                Locale.getDefault());
-
-        values.put(MOVEMENTS_DATE, dateFormat.format(m.getDate()));
-        values.put(MOVEMENTS_SING, m.getSing());
-        values.put(ID_ACCOUNT, m.getIdAccount());
-
-        // Columns for the sum of amounts.
-        String[] columns = new String[]{ "SUM(" + MOVEMENTS_AMOUNT + ")" };
-
-        // Get a database.
-        SQLiteDatabase db = mOpenHelper.getWritableDatabase();
-        db.beginTransaction();
-        try {
-
-            double lastBalance = AccountManager.getAccountBalance(m.getIdAccount(), db);
-
-            // Save the movement.
-            m.setId(db.insert(TABLE_MOVEMENTS, null, values));
-
-            // Update the account final balance.
-            double endBalance = lastBalance + m.getAmount();
-            values.clear();
-            values.put(ACCOUNT_END_BALANCE, endBalance);
-
-            Log.i(TAG, "Saving a positive cash movement of " + m.getAmount() +
-                    " in the account " + m.getIdAccount() +
-                    " the last balance is: " + lastBalance +
-                    " the new balance is: " + endBalance );
-
-            Log.i(TAG, "Saving final balance " + endBalance +
-                    " in the account " + m.getIdAccount());
-
-            int affectedRows = db.update(TABLE_ACCOUNTS, values,
-                    AccountTable._ID + " = " + m.getIdAccount(), null);
-
-            Log.i(TAG, "Affected rows by update the final balance is " + affectedRows);
-
-            db.setTransactionSuccessful();
-
-            // Return the operation result.
-            return (m.getId() > 0 && affectedRows > 0);
-        } catch (SQLiteException sqlEx) {
-            Log.e(TAG, "Problem saving a positive movement: " + sqlEx.getMessage());
-            return false;
-        } finally {
-            db.endTransaction();
-        }
-        // Gets the sum of the amounts.
+    public Future<Long> saveCashMovement(Movement m, MovementWriter.Callback callback) {
+        // The writer adds it to the running balance of the account in the same
+        // transaction, the result is -1 if the account doesn't exist.
+        Log.i(TAG, "Saving a positive cash movement of " + m.getAmount() +
+                " in the account " + m.getIdAccount());
+        return mWriter.insert(mStrategy.prepare(m), callback);
     }
 }
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.util;
+
+import android.graphics.Typeface;
+
+/**
+ * Typefaces used by the views, created once and shared.
+ *
+ * @author Roque Rueda
+ * @since 07/09/2014
+ * @version 1.0
+ *
+ */
+public class Fonts {
+
+    private static Typeface font;
+
+    /**
+     * Create a Roboto Light Typeface instance on lazy load to be used on views.
+     * @return Typeface Roboto Light.
+     */
+    public static Typeface createLightFont(){
+        // Lazy load.
+        if (font == null) {
+            font = Typeface.create("sans-serif-light", Typeface.NORMAL);
+
+        }
+
+        return font;
+    }
+
+}
@@ -22,7 +22,7 @@ import android.widget.TextView;
 
 import com.roque.rueda.cashflows.R;
 import com.roque.rueda.cashflows.model.Account;
-import com.roque.rueda.cashflows.util.StringFormatter;
+import com.roque.rueda.cashflows.util.FormattingService;
 
 /**
  * View holder class used to optimize scroll of the account list view.
@@ -41,6 +41,12 @@ public class AccountView {
 	private TextView mAccountName;
 	private TextView mAccountBalance;
 	//private ImageButton mActions;
+
+	// Text reused on each bind to avoid creating new strings.
+	private final FormattingService mFormatter = FormattingService.getInstance();
+	private final StringBuffer mFormatBuffer = new StringBuffer();
+	private char[] mBalanceText = new char[0];
+	private String mBoundName;
 	
 	/**
 	 * Creates the account view using the parent view to populate
@@ -55,6 +61,16 @@ public class AccountView {
 		mAccountName = (TextView) view.findViewById(R.id.account_name);
 		mAccountBalance = (TextView) view.findViewById(R.id.account_balance);
 		mResources = resources;
+		mModel = new Account();
+	}
+
+	/**
+	 * Gets the model of this view, the adapter fills it with the values of each
+	 * row instead of creating a new one.
+	 * @return Model owned by this view.
+	 */
+	public Account getModel() {
+		return mModel;
 	}
 	
 	/**
@@ -71,15 +87,23 @@ public class AccountView {
 	 */
 	private void bindModel() {
 		getImage(mModel.photoNumber, mResources, mIcon);
-		mAccountName.setText(mModel.name.toUpperCase());
 
+		// Only create the upper case name when the row shows a different account.
+		if (mBoundName == null || !mBoundName.equals(mModel.name)) {
+			mBoundName = mModel.name;
+			mAccountName.setText(mModel.name.toUpperCase());
+		}
+
+        // The view skips the resource when it's the same of the last bind.
         if (mModel.endBalance > 0) {
-            mParentView.setBackground(mResources.getDrawable(R.drawable.list_bg_blue));
+            mParentView.setBackgroundResource(R.drawable.list_bg_blue);
         } else {
-            mParentView.setBackground(mResources.getDrawable(R.drawable.list_bg_red));
+            mParentView.setBackgroundResource(R.drawable.list_bg_red);
         }
 
-		mAccountBalance.setText(StringFormatter.formatCurrency(mModel.endBalance));
+		mFormatBuffer.setLength(0);
+		mFormatter.appendCurrency(mModel.endBalance, mFormatBuffer);
+		mBalanceText = MovementView.setText(mAccountBalance, mFormatBuffer, mBalanceText);
 	}
 	
 	/**
@@ -88,42 +112,43 @@ public class AccountView {
 	 */
 	public static void getImage(long photoNumber, Resources resources, ImageView img) {
 		
-		// Get the icon for the account base on the account number.
+		// Get the icon for the account base on the account number, the view
+		// skips the resource when it's the same it already shows.
 		
 		int imageNumber = Long.valueOf(photoNumber).intValue();
 		switch (imageNumber) {
 		case 1:
-			img.setImageDrawable(resources.getDrawable(R.drawable.ic_bank_cards_white));
+			img.setImageResource(R.drawable.ic_bank_cards_white);
 			break;
 		case 2:
-			img.setImageDrawable(resources.getDrawable(R.drawable.ic_banknotes_white));
+			img.setImageResource(R.drawable.ic_banknotes_white);
 			break;
 		case 3:
-			img.setImageDrawable(resources.getDrawable(R.drawable.ic_cash_receiving_white));
+			img.setImageResource(R.drawable.ic_cash_receiving_white);
 			break;
 		case 4:
-			img.setImageDrawable(resources.getDrawable(R.drawable.ic_check_book_white));
+			img.setImageResource(R.drawable.ic_check_book_white);
 			break;
 		case 5:
-			img.setImageDrawable(resources.getDrawable(R.drawable.ic_coins_white));
+			img.setImageResource(R.drawable.ic_coins_white);
 			break;
 		case 6:
-			img.setImageDrawable(resources.getDrawable(R.drawable.ic_money_bag_white));
+			img.setImageResource(R.drawable.ic_money_bag_white);
 			break;
 		case 7:
-			img.setImageDrawable(resources.getDrawable(R.drawable.ic_moneybox_white));
+			img.setImageResource(R.drawable.ic_moneybox_white);
 			break;
 		case 8:
-			img.setImageDrawable(resources.getDrawable(R.drawable.ic_purse_white));
+			img.setImageResource(R.drawable.ic_purse_white);
 			break;
 		case 9:
-			img.setImageDrawable(resources.getDrawable(R.drawable.ic_shopping_basket_white));
+			img.setImageResource(R.drawable.ic_shopping_basket_white);
 			break;
 		case 10:
-			img.setImageDrawable(resources.getDrawable(R.drawable.ic_wallet_white));
+			img.setImageResource(R.drawable.ic_wallet_white);
 			break;
 		default:
-			img.setImageDrawable(resources.getDrawable(R.drawable.ic_bank_cards_white));
+			img.setImageResource(R.drawable.ic_bank_cards_white);
 			break;
 		}
 	}
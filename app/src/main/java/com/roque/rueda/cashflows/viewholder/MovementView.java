@@ -21,7 +21,9 @@ import android.widget.TextView;
 
 import com.roque.rueda.cashflows.R;
 import com.roque.rueda.cashflows.model.Movement;
-import com.roque.rueda.cashflows.util.StringFormatter;
+import com.roque.rueda.cashflows.util.FormattingService;
+
+import java.util.Date;
 
 /**
  * View holder class used to display a movement data into a list view.
@@ -40,6 +42,12 @@ public class MovementView {
     private TextView mDate;
     private View mParentView;
 
+    // Buffers reused on each bind to avoid creating new strings.
+    private final FormattingService mFormatter = FormattingService.getInstance();
+    private final StringBuffer mFormatBuffer = new StringBuffer();
+    private char[] mAmountText = new char[0];
+    private char[] mDateText = new char[0];
+
     /**
      * Creates the view with the resources.
      * @param view RootView that contains the widgets to display the user information.
@@ -51,6 +59,18 @@ public class MovementView {
         mDescription = (TextView) view.findViewById(R.id.movement_description);
         mDate = (TextView) view.findViewById(R.id.movement_date);
         mResources = resources;
+
+        mModel = new Movement();
+        mModel.setDate(new Date());
+    }
+
+    /**
+     * Gets the model of this view, the adapter fills it with the values of each
+     * row instead of creating a new one.
+     * @return Model owned by this view.
+     */
+    public Movement getModel() {
+        return mModel;
     }
 
     /**
@@ -63,23 +83,57 @@ public class MovementView {
         bindModel();
     }
 
+    /**
+     * Shows the row as loading, without a movement, until the adapter binds it again.
+     */
+    public void showLoading() {
+        mAmount.setText(null);
+        mDate.setText(null);
+        mDescription.setText(R.string.loading);
+        mParentView.setBackgroundResource(R.color.full_black);
+    }
+
     /**
      * Ties the information with their respective widgets.
      */
     private void bindModel() {
 
         // Format our amount.
-        StringBuilder amount = new StringBuilder(mModel.getSing());
-        amount.append(StringFormatter.formatCurrency(mModel.getAmount()));
+        mFormatBuffer.setLength(0);
+        mFormatBuffer.append(mModel.getSing());
+        mFormatter.appendCurrency(mModel.getAmount(), mFormatBuffer);
+        mAmountText = setText(mAmount, mFormatBuffer, mAmountText);
+
+        // The view skips the resource when it's the same of the last bind.
         if (mModel.getSing().equalsIgnoreCase("+")) {
-            mParentView.setBackground(mResources.getDrawable(R.drawable.list_bg_blue));
+            mParentView.setBackgroundResource(R.drawable.list_bg_blue);
         } else {
-            mParentView.setBackground(mResources.getDrawable(R.drawable.list_bg_red));
+            mParentView.setBackgroundResource(R.drawable.list_bg_red);
         }
-        mAmount.setText(amount.toString());
+
         mDescription.setText(mModel.getDescription());
-        mDate.setText(StringFormatter.formatDate(mModel.getDate()));
+
+        mFormatBuffer.setLength(0);
+        mFormatter.appendDate(mModel.getDate().getTime(), mFormatBuffer);
+        mDateText = setText(mDate, mFormatBuffer, mDateText);
     }
 
+    /**
+     * Shows the content of the buffer in the view using a char array owned by
+     * the view, so the text is not copied into a new String.
+     * @param view View that will show the text.
+     * @param text Text to show.
+     * @param chars Array used the last time this view was bound.
+     * @return Array now shown by the view, must be passed on the next call.
+     */
+    static char[] setText(TextView view, StringBuffer text, char[] chars) {
+        int length = text.length();
+        if (chars.length < length) {
+            chars = new char[length];
+        }
+        text.getChars(0, length, chars, 0);
+        view.setText(chars, 0, length);
+        return chars;
+    }
 
 }
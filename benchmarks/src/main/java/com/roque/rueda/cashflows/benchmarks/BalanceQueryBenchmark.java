@@ -0,0 +1,220 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.benchmarks;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Reads the balances and the movements of the active period and searches the
+ * descriptions with the queries of the managers.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BalanceQueryBenchmark {
+
+    /**
+     * Running balance, AccountManager.getAccountBalance.
+     */
+    private static final String ACCOUNT_BALANCE = "SELECT end_balance FROM accounts " +
+            "WHERE _id = ?";
+
+    /**
+     * Balance added up from the movements, the path used before the running balance.
+     */
+    private static final String RECOMPUTED_BALANCE = "SELECT initial_balance + " +
+            "IFNULL((SELECT SUM(CASE WHEN sing = '-' THEN -ABS(amount) ELSE ABS(amount) END) " +
+            "FROM money_movements WHERE id_account = accounts._id), 0) FROM accounts " +
+            "WHERE _id = ?";
+
+    /**
+     * AccountManager.getAccountsForCurrentPeriod.
+     */
+    private static final String ACCOUNTS_FOR_CURRENT_PERIOD = "SELECT accounts._id, " +
+            "accounts.initial_balance, accounts.name, accounts.end_balance, " +
+            "accounts.photo_number FROM periods INNER JOIN accounts ON id_period = periods._id " +
+            "WHERE periods.active = 1 ORDER BY accounts.name DESC";
+
+    /**
+     * CashMovements.getCashMovements, the periods, accounts and movements join.
+     */
+    private static final String PERIOD_MOVEMENTS = "SELECT * FROM periods INNER JOIN " +
+            "accounts ON id_period = periods._id INNER JOIN money_movements ON " +
+            "id_account = accounts._id WHERE active = 1 ORDER BY date DESC";
+
+    /**
+     * First page of the movements of an account shown by the list.
+     */
+    private static final String ACCOUNT_MOVEMENTS_PAGE = "SELECT _id, amount, date, " +
+            "description, sing FROM money_movements WHERE id_account = ? " +
+            "ORDER BY date DESC, _id DESC LIMIT 50";
+
+    /**
+     * First page of MovementSearch.search over every account and date.
+     */
+    private static final String SEARCH_PAGE = "SELECT s.docid AS _id, " +
+            "IFNULL(m.amount, ABS(a.amount)) AS amount, s.description AS description, " +
+            "IFNULL(m.date, a.date) AS date, IFNULL(m.sing, CASE WHEN a.amount < 0 " +
+            "THEN '-' ELSE '+' END) AS sing, IFNULL(m.id_account, a.id_account) AS id_account, " +
+            "s.relevance AS relevance FROM (SELECT docid, description, " +
+            "(LENGTH(OFFSETS(movements_search)) - LENGTH(REPLACE(OFFSETS(movements_search), " +
+            "' ', '')) + 1) / 4 * 100 / " +
+            "(LENGTH(TRIM(description)) - LENGTH(REPLACE(TRIM(description), ' ', '')) + 1) " +
+            "AS relevance FROM movements_search WHERE description MATCH ?) s " +
+            "LEFT JOIN money_movements m ON m._id = s.docid " +
+            "LEFT JOIN money_movements_archive a ON a._id = s.docid " +
+            "WHERE (s.relevance < CAST(? AS INTEGER) OR (s.relevance = CAST(? AS INTEGER) AND " +
+            "s.docid < CAST(? AS INTEGER))) AND (CAST(? AS INTEGER) = -1 OR " +
+            "IFNULL(m.id_account, a.id_account) = CAST(? AS INTEGER)) AND " +
+            "IFNULL(m.date, a.date) >= CAST(? AS INTEGER) AND " +
+            "IFNULL(m.date, a.date) < CAST(? AS INTEGER) ORDER BY s.relevance DESC, " +
+            "s.docid DESC LIMIT 50";
+
+    /**
+     * Searches typed by the user, common and rare words and prefixes.
+     */
+    private static final String[] SEARCHES = new String[] {
+            "\"coffee*\"", "\"gro*\"", "\"rent*\"", "\"hardware\" \"st*\"", "\"tips*\""
+    };
+
+    @Param({ "1000", "10000", "100000", "1000000", "10000000" })
+    public int movements;
+
+    private Connection mConnection;
+    private PreparedStatement mAccountBalance;
+    private PreparedStatement mRecomputedBalance;
+    private PreparedStatement mAccountsForCurrentPeriod;
+    private PreparedStatement mPeriodMovements;
+    private PreparedStatement mAccountMovementsPage;
+    private PreparedStatement mSearchPage;
+    private final Random mRandom = new Random(BenchmarkDatabase.SEED);
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        mConnection = BenchmarkDatabase.open(BenchmarkDatabase.getLedger(movements));
+        mAccountBalance = mConnection.prepareStatement(ACCOUNT_BALANCE);
+        mRecomputedBalance = mConnection.prepareStatement(RECOMPUTED_BALANCE);
+        mAccountsForCurrentPeriod = mConnection.prepareStatement(ACCOUNTS_FOR_CURRENT_PERIOD);
+        mPeriodMovements = mConnection.prepareStatement(PERIOD_MOVEMENTS);
+        mAccountMovementsPage = mConnection.prepareStatement(ACCOUNT_MOVEMENTS_PAGE);
+        mSearchPage = mConnection.prepareStatement(SEARCH_PAGE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        mConnection.close();
+    }
+
+    @Benchmark
+    public long accountBalance() throws SQLException {
+        mAccountBalance.setLong(1, nextAccount());
+        return readLong(mAccountBalance);
+    }
+
+    @Benchmark
+    public long recomputedBalance() throws SQLException {
+        mRecomputedBalance.setLong(1, nextAccount());
+        return readLong(mRecomputedBalance);
+    }
+
+    @Benchmark
+    public void accountsForCurrentPeriod(Blackhole blackhole) throws SQLException {
+        consume(mAccountsForCurrentPeriod, blackhole);
+    }
+
+    @Benchmark
+    public void periodMovements(Blackhole blackhole) throws SQLException {
+        consume(mPeriodMovements, blackhole);
+    }
+
+    @Benchmark
+    public void accountMovementsPage(Blackhole blackhole) throws SQLException {
+        mAccountMovementsPage.setLong(1, nextAccount());
+        consume(mAccountMovementsPage, blackhole);
+    }
+
+    @Benchmark
+    public void searchPage(Blackhole blackhole) throws SQLException {
+        mSearchPage.setString(1, SEARCHES[mRandom.nextInt(SEARCHES.length)]);
+        mSearchPage.setString(2, String.valueOf(Integer.MAX_VALUE));
+        mSearchPage.setString(3, String.valueOf(Integer.MAX_VALUE));
+        mSearchPage.setString(4, String.valueOf(Long.MAX_VALUE));
+        mSearchPage.setString(5, "-1");
+        mSearchPage.setString(6, "-1");
+        mSearchPage.setString(7, "0");
+        mSearchPage.setString(8, String.valueOf(Long.MAX_VALUE));
+        consume(mSearchPage, blackhole);
+    }
+
+    private static long readLong(PreparedStatement statement) throws SQLException {
+        ResultSet c = statement.executeQuery();
+        try {
+            return c.next() ? c.getLong(1) : 0;
+        } finally {
+            c.close();
+        }
+    }
+
+    /**
+     * Reads every column of every row, like a cursor bound to a list.
+     */
+    private static void consume(PreparedStatement statement, Blackhole blackhole)
+            throws SQLException {
+        ResultSet c = statement.executeQuery();
+        try {
+            int columns = c.getMetaData().getColumnCount();
+            while (c.next()) {
+                for (int i = 1; i <= columns; i++) {
+                    blackhole.consume(c.getObject(i));
+                }
+            }
+        } finally {
+            c.close();
+        }
+    }
+
+    private long nextAccount() {
+        return 1 + mRandom.nextInt(BenchmarkDatabase.ACCOUNTS);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.benchmarks;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Creates the SQLite ledgers used by the benchmarks.
+ *
+ * The ledgers are made by the {@link LedgerGenerator} with one active period, so the
+ * accounts go from 1 to {@link #ACCOUNTS} and the movements from 1 to their number.
+ * A ledger of a given size is generated once in the temporary directory and reused by
+ * every benchmark, the benchmarks that write get their own copy.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+final class BenchmarkDatabase {
+
+    /**
+     * Number of accounts of the generated ledgers.
+     */
+    static final int ACCOUNTS = 8;
+
+    /**
+     * Seed used to generate the ledgers, the same size always gives the same ledger.
+     */
+    static final long SEED = 20141018L;
+
+    private BenchmarkDatabase() {
+        // Only static members.
+    }
+
+    /**
+     * Opens a connection with the settings used by the application.
+     * @param file Database file.
+     * @return Connection in auto commit mode.
+     * @throws SQLException if the database can't be opened.
+     */
+    static Connection open(File file) throws SQLException {
+        Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file.getPath());
+        Statement statement = connection.createStatement();
+        try {
+            statement.execute("PRAGMA journal_mode = WAL");
+        } finally {
+            statement.close();
+        }
+        return connection;
+    }
+
+    /**
+     * Gets the shared ledger with the given number of movements, it's generated the
+     * first time. The benchmarks must not write to it.
+     * @param movements Number of movements.
+     * @return Database file.
+     */
+    static synchronized File getLedger(int movements) throws SQLException, IOException {
+        File file = new File(System.getProperty("java.io.tmpdir"),
+                "cashflows-ledger-" + movements + ".db");
+        if (!file.exists()) {
+            File partial = new File(file.getPath() + ".partial");
+            partial.delete();
+            new LedgerGenerator(SEED).setPeriods(1).setAccounts(ACCOUNTS)
+                    .setMovements(movements).generate(partial);
+            if (!partial.renameTo(file)) {
+                throw new IOException("Can't create " + file);
+            }
+        }
+        return file;
+    }
+
+    /**
+     * Copies the shared ledger for a benchmark that writes.
+     * @param movements Number of movements.
+     * @return Temporary database file, deleted when the JVM exits.
+     */
+    static File copyLedger(int movements) throws SQLException, IOException {
+        File copy = File.createTempFile("cashflows-ledger-" + movements + "-", ".db");
+        copy.deleteOnExit();
+        FileChannel in = new FileInputStream(getLedger(movements)).getChannel();
+        try {
+            FileChannel out = new FileOutputStream(copy).getChannel();
+            try {
+                long position = 0;
+                long size = in.size();
+                while (position < size) {
+                    position += in.transferTo(position, size - position, out);
+                }
+            } finally {
+                out.close();
+            }
+        } finally {
+            in.close();
+        }
+        return copy;
+    }
+
+    /**
+     * Deletes a database file and its write-ahead log.
+     * @param file Database file.
+     */
+    static void delete(File file) {
+        new File(file.getPath() + "-wal").delete();
+        new File(file.getPath() + "-shm").delete();
+        file.delete();
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.benchmarks;
+
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.roque.rueda.cashflows.util.FormattingService;
+
+/**
+ * Formats the rows of the movements list.
+ *
+ * The distinct parameter is the number of different amounts and dates shown, with 16
+ * the strings of the format methods come from the cache of the {@link FormattingService}
+ * and with 4096 most of them are formatted again. The rows are bound with the append
+ * methods, which skip that cache and copy the texts the thread remembers or format
+ * into the buffer, so 16 rows bind without allocating. The legacy benchmark
+ * parses and formats a date string per row with new formats, like the adapter did when
+ * the dates were stored as text.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FormattingBenchmark {
+
+    private static final String LEGACY_DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
+
+    @Param({ "16", "4096" })
+    public int distinct;
+
+    private long[] mAmounts;
+    private long[] mDates;
+    private String[] mDateTexts;
+    private int mNext;
+    private final StringBuffer mBuffer = new StringBuffer();
+    private final FormattingService mFormatter = FormattingService.getInstance();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(BenchmarkDatabase.SEED);
+        SimpleDateFormat legacy = new SimpleDateFormat(LEGACY_DATE_FORMAT, Locale.US);
+        mAmounts = new long[distinct];
+        mDates = new long[distinct];
+        mDateTexts = new String[distinct];
+        for (int i = 0; i < distinct; i++) {
+            mAmounts[i] = random.nextInt(2000000) - 1000000;
+            mDates[i] = 1790000000000L - random.nextInt(365) * 86400000L;
+            mDateTexts[i] = legacy.format(new Date(mDates[i]));
+        }
+        mFormatter.invalidate();
+    }
+
+    @Benchmark
+    public String formatCurrency() {
+        return mFormatter.formatCurrency(mAmounts[next()]);
+    }
+
+    @Benchmark
+    public String formatDate() {
+        return mFormatter.formatDate(mDates[next()]);
+    }
+
+    /**
+     * Text of one row, like MovementView.bindData.
+     */
+    @Benchmark
+    public int bindMovementRow() {
+        int row = next();
+        mBuffer.setLength(0);
+        mFormatter.appendCurrency(mAmounts[row], mBuffer);
+        mBuffer.append(' ');
+        mFormatter.appendDate(mDates[row], mBuffer);
+        return mBuffer.length();
+    }
+
+    @Benchmark
+    public String legacyDateParsing() throws ParseException {
+        Date date = new SimpleDateFormat(LEGACY_DATE_FORMAT, Locale.US).parse(mDateTexts[next()]);
+        return DateFormat.getDateTimeInstance().format(date);
+    }
+
+    private int next() {
+        int row = mNext;
+        mNext = row + 1 == distinct ? 0 : row + 1;
+        return row;
+    }
+}
@@ -0,0 +1,539 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.benchmarks;
+
+import static com.roque.rueda.cashflows.database.AccountTable.TABLE_ACCOUNTS;
+import static com.roque.rueda.cashflows.database.ArchiveTable.TABLE_ARCHIVE;
+import static com.roque.rueda.cashflows.database.ArchiveTable.TABLE_DESCRIPTIONS;
+import static com.roque.rueda.cashflows.database.MovementsTable.TABLE_MOVEMENTS;
+import static com.roque.rueda.cashflows.database.PeriodTable.TABLE_PERIODS;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+import com.roque.rueda.cashflows.database.AccountTable;
+import com.roque.rueda.cashflows.database.ArchiveTable;
+import com.roque.rueda.cashflows.database.CategoryTable;
+import com.roque.rueda.cashflows.database.LedgerSchema;
+import com.roque.rueda.cashflows.database.MovementsTable;
+import com.roque.rueda.cashflows.database.PeriodTable;
+import com.roque.rueda.cashflows.database.TagTable;
+
+/**
+ * Generates large ledgers with the schema of the application, used by the benchmarks
+ * and the soak tests.
+ *
+ * The same seed and settings always give the same database. The periods have the same
+ * accounts, each one opening with the closing balance of the previous period, and only
+ * the last period is active. The movements of the closed periods are written to the
+ * archive in its compact form. The values follow simple distributions:
+ * <ul>
+ *     <li>Most movements are expenses with a log-normal amount, the incomes are few
+ *     and large, and part of the amounts are whole units.</li>
+ *     <li>The days are spread evenly over each period, in order, and the time of day
+ *     concentrates around the afternoon.</li>
+ *     <li>The accounts and the descriptions are picked with a Zipf distribution, so a
+ *     few accounts and descriptions have most of the movements.</li>
+ *     <li>The category follows the description and each tag is set independently on
+ *     a small share of the movements.</li>
+ * </ul>
+ * The rows are written with batched prepared statements without journal, the indexes,
+ * the full-text index of the descriptions and the totals are created once every row
+ * is written.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class LedgerGenerator {
+
+    private static final long DAY = 24L * 60 * 60 * 1000;
+
+    private static final int BATCH_SIZE = 10000;
+
+    private static final int ROWS_PER_TRANSACTION = 500000;
+
+    private static final double INCOME_RATE = 0.15;
+
+    private static final double EXPENSE_MEDIAN = 1500;
+
+    private static final double EXPENSE_SIGMA = 1.1;
+
+    private static final double INCOME_MEDIAN = 250000;
+
+    private static final double INCOME_SIGMA = 0.6;
+
+    private static final double WHOLE_UNITS_RATE = 0.4;
+
+    private static final double NO_DESCRIPTION_RATE = 0.05;
+
+    private static final long MAX_AMOUNT = 100000000L;
+
+    private static final String[] EXPENSES = new String[] {
+            "Groceries", "Coffee", "Restaurant", "Bus", "Taxi", "Gas", "Rent", "Electricity",
+            "Water", "Phone", "Internet", "Pharmacy", "Cinema", "Books", "Clothes", "Gym",
+            "Snacks", "Parking", "Insurance", "Gift", "Haircut", "Doctor", "Hardware store",
+            "Pet food", "Subscription", "Bakery", "Laundry", "Tickets", "Repairs", "Tips"
+    };
+
+    private static final String[] INCOMES = new String[] {
+            "Salary", "Transfer", "Refund", "Bonus", "Sale"
+    };
+
+    /**
+     * Categories, the identifier of a category is its position plus one.
+     */
+    private static final String[] CATEGORIES = new String[] {
+            "Food", "Transport", "Home", "Health", "Leisure", "Shopping", "Income"
+    };
+
+    /**
+     * Category of each description, in the order of the expenses followed by the incomes.
+     */
+    private static final int[] DESCRIPTION_CATEGORIES = new int[] {
+            1, 1, 1, 2, 2, 2, 3, 3, 3, 3, 3, 4, 5, 5, 6, 4, 1, 2, 3, 6, 4, 4, 3, 3, 5, 1, 3,
+            5, 3, 1, 7, 7, 7, 7, 7
+    };
+
+    /**
+     * Tags, the bit of a tag is its position.
+     */
+    private static final String[] TAGS = new String[] {
+            "Work", "Trip", "Shared", "Reimbursable"
+    };
+
+    private static final double TAG_RATE = 0.1;
+
+    private static final String[] ACCOUNT_NAMES = new String[] {
+            "Bank", "Cash", "Credit card", "Savings"
+    };
+
+    private final long mSeed;
+    private int mPeriods = 12;
+    private int mAccounts = 4;
+    private long mMovements = 1000000;
+    private int mPeriodDays = 30;
+    private double mAccountSkew = 1.0;
+    private double mDescriptionSkew = 1.1;
+    private long mEnd = 1790000000000L;
+
+    /**
+     * Creates a generator with the default settings: 12 periods of 30 days, 4 accounts
+     * and one million movements.
+     * @param seed Seed of the random values.
+     */
+    public LedgerGenerator(long seed) {
+        mSeed = seed;
+    }
+
+    /**
+     * Sets the number of periods, the last one is active.
+     */
+    public LedgerGenerator setPeriods(int periods) {
+        mPeriods = periods;
+        return this;
+    }
+
+    /**
+     * Sets the number of accounts of each period.
+     */
+    public LedgerGenerator setAccounts(int accounts) {
+        mAccounts = accounts;
+        return this;
+    }
+
+    /**
+     * Sets the total number of movements, split evenly between the periods.
+     */
+    public LedgerGenerator setMovements(long movements) {
+        mMovements = movements;
+        return this;
+    }
+
+    /**
+     * Sets the number of days of each period.
+     */
+    public LedgerGenerator setPeriodDays(int periodDays) {
+        mPeriodDays = periodDays;
+        return this;
+    }
+
+    /**
+     * Sets the exponent of the Zipf distribution of the movements between the
+     * accounts, 0 gives the same share to every account.
+     */
+    public LedgerGenerator setAccountSkew(double accountSkew) {
+        mAccountSkew = accountSkew;
+        return this;
+    }
+
+    /**
+     * Sets the date of the last movement in milliseconds since the epoch, the periods
+     * go back from it.
+     */
+    public LedgerGenerator setEnd(long end) {
+        mEnd = end;
+        return this;
+    }
+
+    /**
+     * Generates a new database file.
+     * @param file File that will be created, it must not exist.
+     * @throws SQLException if the rows can't be written.
+     */
+    public void generate(File file) throws SQLException {
+        if (file.exists()) {
+            throw new IllegalArgumentException(file + " already exists.");
+        }
+        Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file.getPath());
+        try {
+            generate(connection);
+        } finally {
+            connection.close();
+        }
+    }
+
+    /**
+     * Writes the ledger to an empty database.
+     * @param connection Connection to the empty database.
+     * @throws SQLException if the rows can't be written.
+     */
+    public void generate(Connection connection) throws SQLException {
+        Random random = new Random(mSeed);
+        Zipf accountPicker = new Zipf(mAccounts, mAccountSkew);
+        Zipf expensePicker = new Zipf(EXPENSES.length, mDescriptionSkew);
+        Zipf incomePicker = new Zipf(INCOMES.length, mDescriptionSkew);
+
+        execute(connection, "PRAGMA journal_mode = OFF", "PRAGMA synchronous = OFF");
+        connection.setAutoCommit(false);
+        execute(connection, LedgerSchema.CREATION_TABLES);
+        writeDescriptions(connection);
+        writeClassification(connection);
+
+        PreparedStatement period = connection.prepareStatement(insert(TABLE_PERIODS,
+                PeriodTable._ID, PeriodTable.START_DATE, PeriodTable.END_DATE, PeriodTable.NAME,
+                PeriodTable.ACTIVE));
+        PreparedStatement account = connection.prepareStatement(insert(TABLE_ACCOUNTS,
+                AccountTable._ID, AccountTable.ACCOUNT_INITIAL_BALANCE, AccountTable.ACCOUNT_NAME,
+                AccountTable.ACCOUNT_END_BALANCE, AccountTable.PHOTO_NUMBER,
+                AccountTable.ID_PERIOD));
+        PreparedStatement movement = connection.prepareStatement(insert(TABLE_MOVEMENTS,
+                MovementsTable._ID, MovementsTable.MOVEMENTS_AMOUNT,
+                MovementsTable.MOVEMENTS_DESCRIPTION, MovementsTable.MOVEMENTS_DATE,
+                MovementsTable.MOVEMENTS_SING, MovementsTable.ID_ACCOUNT,
+                MovementsTable.ID_CATEGORY, MovementsTable.MOVEMENTS_TAGS));
+        PreparedStatement archived = connection.prepareStatement(insert(TABLE_ARCHIVE,
+                ArchiveTable._ID, ArchiveTable.ARCHIVE_AMOUNT, ArchiveTable.ARCHIVE_DATE,
+                ArchiveTable.ID_DESCRIPTION, ArchiveTable.ID_ACCOUNT, ArchiveTable.ID_CATEGORY,
+                ArchiveTable.ARCHIVE_TAGS));
+        try {
+            SimpleDateFormat format = new SimpleDateFormat("dd-MM-yyyy", Locale.US);
+            Calendar calendar = Calendar.getInstance(TimeZone.getDefault());
+            long[] balances = new long[mAccounts];
+            for (int i = 0; i < mAccounts; i++) {
+                balances[i] = 1000 * (long) random.nextInt(100000);
+            }
+
+            long id = 1;
+            long pending = 0;
+            long periodStart = mEnd - (long) mPeriods * mPeriodDays * DAY;
+            for (int p = 0; p < mPeriods; p++) {
+                boolean active = p == mPeriods - 1;
+                long start = periodStart + (long) p * mPeriodDays * DAY;
+                period.setLong(1, p + 1);
+                period.setString(2, format.format(new Date(start)));
+                period.setString(3, format.format(new Date(start + (active ? 0 :
+                        mPeriodDays * DAY))));
+                period.setString(4, "Period " + (p + 1));
+                period.setInt(5, active ? 1 : 0);
+                period.executeUpdate();
+
+                long firstAccount = (long) p * mAccounts + 1;
+                long[] initial = balances.clone();
+
+                long count = mMovements / mPeriods + (p < mMovements % mPeriods ? 1 : 0);
+                for (long i = 0; i < count; i++) {
+                    int accountIndex = accountPicker.next(random);
+                    boolean income = random.nextDouble() < INCOME_RATE;
+                    long amount = nextAmount(random, income);
+                    int description = random.nextDouble() < NO_DESCRIPTION_RATE ? -1 :
+                            income ? EXPENSES.length + incomePicker.next(random) :
+                                    expensePicker.next(random);
+                    long date = nextDate(random, calendar, start, i, count);
+                    long tags = nextTags(random);
+                    balances[accountIndex] += income ? amount : -amount;
+
+                    if (active) {
+                        movement.setLong(1, id);
+                        movement.setLong(2, amount);
+                        if (description < 0) {
+                            movement.setNull(3, Types.VARCHAR);
+                        } else {
+                            movement.setString(3, descriptionText(description));
+                        }
+                        movement.setLong(4, date);
+                        movement.setString(5, income ? "+" : "-");
+                        movement.setLong(6, firstAccount + accountIndex);
+                        if (description < 0) {
+                            movement.setNull(7, Types.INTEGER);
+                        } else {
+                            movement.setLong(7, DESCRIPTION_CATEGORIES[description]);
+                        }
+                        movement.setLong(8, tags);
+                        movement.addBatch();
+                    } else {
+                        archived.setLong(1, id);
+                        archived.setLong(2, income ? amount : -amount);
+                        archived.setLong(3, date);
+                        if (description < 0) {
+                            archived.setNull(4, Types.INTEGER);
+                        } else {
+                            archived.setLong(4, description + 1);
+                        }
+                        archived.setLong(5, firstAccount + accountIndex);
+                        if (description < 0) {
+                            archived.setNull(6, Types.INTEGER);
+                        } else {
+                            archived.setLong(6, DESCRIPTION_CATEGORIES[description]);
+                        }
+                        archived.setLong(7, tags);
+                        archived.addBatch();
+                    }
+                    id++;
+
+                    if (++pending % BATCH_SIZE == 0) {
+                        (active ? movement : archived).executeBatch();
+                        if (pending % ROWS_PER_TRANSACTION == 0) {
+                            connection.commit();
+                        }
+                    }
+                }
+                movement.executeBatch();
+                archived.executeBatch();
+
+                for (int a = 0; a < mAccounts; a++) {
+                    account.setLong(1, firstAccount + a);
+                    account.setLong(2, initial[a]);
+                    account.setString(3, a < ACCOUNT_NAMES.length ? ACCOUNT_NAMES[a] :
+                            "Account " + (a + 1));
+                    account.setLong(4, balances[a]);
+                    account.setInt(5, a % ACCOUNT_NAMES.length + 1);
+                    account.setLong(6, p + 1);
+                    account.executeUpdate();
+                }
+                connection.commit();
+            }
+        } finally {
+            period.close();
+            account.close();
+            movement.close();
+            archived.close();
+        }
+
+        execute(connection, LedgerSchema.CREATION_INDEXES);
+        execute(connection, LedgerSchema.FILL_SEARCH);
+        execute(connection, LedgerSchema.CREATION_TRIGGERS);
+        execute(connection, LedgerSchema.REBUILD_TOTALS);
+        connection.commit();
+        connection.setAutoCommit(true);
+        execute(connection, "PRAGMA user_version = " + LedgerSchema.VERSION,
+                "PRAGMA journal_mode = WAL");
+    }
+
+    /**
+     * Fills the dictionary of the archive, the identifier of a description is its
+     * position in the expenses followed by the incomes plus one.
+     */
+    private static void writeDescriptions(Connection connection) throws SQLException {
+        PreparedStatement insert = connection.prepareStatement(
+                insert(TABLE_DESCRIPTIONS, ArchiveTable._ID, ArchiveTable.DESCRIPTION_TEXT));
+        try {
+            for (int i = 0; i < EXPENSES.length + INCOMES.length; i++) {
+                insert.setLong(1, i + 1);
+                insert.setString(2, descriptionText(i));
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        } finally {
+            insert.close();
+        }
+    }
+
+    /**
+     * Fills the categories and the tags, the movements without description have no
+     * category.
+     */
+    private static void writeClassification(Connection connection) throws SQLException {
+        PreparedStatement category = connection.prepareStatement(
+                insert(CategoryTable.TABLE_CATEGORIES, CategoryTable._ID,
+                        CategoryTable.CATEGORY_NAME));
+        PreparedStatement tag = connection.prepareStatement(insert(TagTable.TABLE_TAGS,
+                TagTable._ID, TagTable.TAG_NAME));
+        try {
+            for (int i = 0; i < CATEGORIES.length; i++) {
+                category.setLong(1, i + 1);
+                category.setString(2, CATEGORIES[i]);
+                category.addBatch();
+            }
+            category.executeBatch();
+            for (int i = 0; i < TAGS.length; i++) {
+                tag.setLong(1, i);
+                tag.setString(2, TAGS[i]);
+                tag.addBatch();
+            }
+            tag.executeBatch();
+        } finally {
+            category.close();
+            tag.close();
+        }
+    }
+
+    private static long nextTags(Random random) {
+        long tags = 0;
+        for (int i = 0; i < TAGS.length; i++) {
+            if (random.nextDouble() < TAG_RATE) {
+                tags |= 1L << i;
+            }
+        }
+        return tags;
+    }
+
+    private static String descriptionText(int description) {
+        return description < EXPENSES.length ? EXPENSES[description] :
+                INCOMES[description - EXPENSES.length];
+    }
+
+    private static long nextAmount(Random random, boolean income) {
+        double median = income ? INCOME_MEDIAN : EXPENSE_MEDIAN;
+        double sigma = income ? INCOME_SIGMA : EXPENSE_SIGMA;
+        long amount = Math.round(median * Math.exp(sigma * random.nextGaussian()));
+        if (random.nextDouble() < WHOLE_UNITS_RATE) {
+            amount = Math.max(1, Math.round(amount / 100.0)) * 100;
+        }
+        return Math.max(1, Math.min(MAX_AMOUNT, amount));
+    }
+
+    /**
+     * Gets the date of the movement i of count, the days go in order and the time of
+     * day is centered on the afternoon.
+     */
+    private long nextDate(Random random, Calendar calendar, long start, long i, long count) {
+        calendar.setTimeInMillis(start + i * mPeriodDays / count * DAY);
+        int minute = (int) Math.round(14 * 60 + 4 * 60 * random.nextGaussian());
+        minute = Math.max(0, Math.min(24 * 60 - 1, minute));
+        calendar.set(Calendar.HOUR_OF_DAY, minute / 60);
+        calendar.set(Calendar.MINUTE, minute % 60);
+        calendar.set(Calendar.SECOND, random.nextInt(60));
+        calendar.set(Calendar.MILLISECOND, 0);
+        return calendar.getTimeInMillis();
+    }
+
+    /**
+     * Builds an INSERT of one row with the given columns.
+     */
+    private static String insert(String table, String... columns) {
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(table).append(" (");
+        StringBuilder values = new StringBuilder();
+        for (int i = 0; i < columns.length; i++) {
+            sql.append(i == 0 ? "" : ", ").append(columns[i]);
+            values.append(i == 0 ? "?" : ", ?");
+        }
+        return sql.append(") VALUES (").append(values).append(')').toString();
+    }
+
+    private static void execute(Connection connection, String... sql) throws SQLException {
+        Statement statement = connection.createStatement();
+        try {
+            for (String sentence : sql) {
+                statement.execute(sentence);
+            }
+        } finally {
+            statement.close();
+        }
+    }
+
+    /**
+     * Picks an index with probability proportional to 1 / (index + 1)^skew.
+     */
+    private static final class Zipf {
+
+        private final double[] mCumulative;
+
+        Zipf(int size, double skew) {
+            mCumulative = new double[size];
+            double total = 0;
+            for (int i = 0; i < size; i++) {
+                total += 1 / Math.pow(i + 1, skew);
+                mCumulative[i] = total;
+            }
+            for (int i = 0; i < size; i++) {
+                mCumulative[i] /= total;
+            }
+        }
+
+        int next(Random random) {
+            double value = random.nextDouble();
+            int low = 0;
+            int high = mCumulative.length - 1;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (mCumulative[middle] < value) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Generates a ledger from the command line.
+     * Arguments: file movements [seed [periods [accounts]]].
+     */
+    public static void main(String[] args) throws SQLException {
+        if (args.length < 2) {
+            System.err.println("Usage: LedgerGenerator file movements [seed [periods [accounts]]]");
+            System.exit(1);
+        }
+        LedgerGenerator generator = new LedgerGenerator(args.length > 2 ?
+                Long.parseLong(args[2]) : BenchmarkDatabase.SEED)
+                .setMovements(Long.parseLong(args[1]));
+        if (args.length > 3) {
+            generator.setPeriods(Integer.parseInt(args[3]));
+        }
+        if (args.length > 4) {
+            generator.setAccounts(Integer.parseInt(args[4]));
+        }
+
+        long start = System.nanoTime();
+        generator.generate(new File(args[0]));
+        System.out.println(args[1] + " movements written to " + args[0] + " in " +
+                (System.nanoTime() - start) / 1000000 + " ms.");
+    }
+}
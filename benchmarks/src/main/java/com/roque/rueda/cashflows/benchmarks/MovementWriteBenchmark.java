@@ -0,0 +1,385 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.benchmarks;
+
+import static com.roque.rueda.cashflows.database.AggregatesTable.ALL_DAYS;
+import static com.roque.rueda.cashflows.database.AggregatesTable.SCOPE_ACCOUNT;
+import static com.roque.rueda.cashflows.database.AggregatesTable.SCOPE_ACCOUNT_DAY;
+import static com.roque.rueda.cashflows.database.AggregatesTable.SCOPE_PERIOD;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.roque.rueda.cashflows.database.JdbcLedgerConnection;
+import com.roque.rueda.cashflows.database.LedgerConnection;
+import com.roque.rueda.cashflows.database.MovementWrites;
+import com.roque.rueda.cashflows.ledger.BalanceRules;
+import com.roque.rueda.cashflows.ledger.TagMask;
+import com.roque.rueda.cashflows.model.Movement;
+
+/**
+ * Saves and edits movements the way the application does.
+ *
+ * The prepared benchmarks run the {@link MovementWrites} used by the MovementsDao of
+ * the application over JDBC: the statements are compiled once and each write adds
+ * the delta to the balance and ensures and updates the daily, the account and the
+ * period totals. The contentValues benchmarks follow the path used before it with
+ * the same statements: the SQL is built and compiled on every call, like
+ * SQLiteDatabase.insert with ContentValues, and the balance is read, changed and
+ * written back with the account concatenated in the UPDATE. Each operation is one
+ * transaction and ends reading the balance of the account, like the screen does.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MovementWriteBenchmark {
+
+    private static final String BALANCE = "SELECT end_balance FROM accounts WHERE _id = ?";
+
+    @Param({ "1000", "10000", "100000", "1000000", "10000000" })
+    public int movements;
+
+    private File mFile;
+    private Connection mConnection;
+    private LedgerConnection mLedger;
+    private MovementWrites mWrites;
+    private PreparedStatement mBalance;
+    private final Random mRandom = new Random(BenchmarkDatabase.SEED);
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        mFile = BenchmarkDatabase.copyLedger(movements);
+        mConnection = BenchmarkDatabase.open(mFile);
+        mLedger = new JdbcLedgerConnection(mConnection);
+        mWrites = new MovementWrites(mLedger, null);
+        mBalance = mConnection.prepareStatement(BALANCE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        mWrites.close();
+        mBalance.close();
+        mConnection.close();
+        BenchmarkDatabase.delete(mFile);
+    }
+
+    @Benchmark
+    public long preparedSave() throws SQLException {
+        long idAccount = nextAccount();
+        mWrites.insert(nextAmount(), "Benchmark", System.currentTimeMillis(),
+                BalanceRules.NEGATIVE_SING, idAccount, Movement.NO_CATEGORY, TagMask.NONE);
+        return preparedBalance(idAccount);
+    }
+
+    @Benchmark
+    public long contentValuesSave() throws SQLException {
+        long idAccount = nextAccount();
+        long amount = nextAmount();
+        long date = System.currentTimeMillis();
+        mLedger.beginTransaction();
+        try {
+            Map<String, Object> values = new LinkedHashMap<String, Object>();
+            values.put("amount", amount);
+            values.put("description", "Benchmark");
+            values.put("date", date);
+            values.put("sing", BalanceRules.NEGATIVE_SING);
+            values.put("id_account", idAccount);
+            values.put("id_category", null);
+            values.put("tags", TagMask.NONE);
+            executeInsert("money_movements", values);
+
+            long balance = queryBalance(idAccount);
+            writeBalance(idAccount, balance + BalanceRules.signedAmount(
+                    BalanceRules.NEGATIVE_SING, amount));
+            addTotals(idAccount, date, BalanceRules.NEGATIVE_SING, amount);
+            mLedger.setTransactionSuccessful();
+        } finally {
+            mLedger.endTransaction();
+        }
+        return queryBalance(idAccount);
+    }
+
+    @Benchmark
+    public long preparedEdit() throws SQLException {
+        long id = nextMovement();
+        long amount = nextAmount();
+        long[] previous = readLedgerValues(id);
+        if (previous == null) {
+            return 0;
+        }
+        mWrites.update(id, amount, "Edited", previous[2], previous[1] < 0 ?
+                BalanceRules.NEGATIVE_SING : "+");
+        return preparedBalance(previous[0]);
+    }
+
+    @Benchmark
+    public long contentValuesEdit() throws SQLException {
+        long id = nextMovement();
+        long amount = nextAmount();
+        long idAccount;
+        mLedger.beginTransaction();
+        try {
+            Statement statement = mConnection.createStatement();
+            try {
+                ResultSet previous = statement.executeQuery("SELECT amount, sing, " +
+                        "id_account, date FROM money_movements WHERE _id = " + id);
+                try {
+                    if (!previous.next()) {
+                        return 0;
+                    }
+                    String sing = previous.getString(2);
+                    idAccount = previous.getLong(3);
+                    long date = previous.getLong(4);
+                    Map<String, Object> values = new LinkedHashMap<String, Object>();
+                    values.put("amount", amount);
+                    values.put("description", "Edited");
+                    values.put("date", date);
+                    values.put("sing", sing);
+                    executeUpdate("money_movements", values, "_id = ?", id);
+
+                    long balance = queryBalance(idAccount);
+                    writeBalance(idAccount, balance + BalanceRules.signedAmount(sing, amount) -
+                            BalanceRules.signedAmount(sing, previous.getLong(1)));
+                    addTotals(idAccount, date, sing, -previous.getLong(1));
+                    addTotals(idAccount, date, sing, amount);
+                } finally {
+                    previous.close();
+                }
+            } finally {
+                statement.close();
+            }
+            mLedger.setTransactionSuccessful();
+        } finally {
+            mLedger.endTransaction();
+        }
+        return queryBalance(idAccount);
+    }
+
+    /**
+     * Reads the account, the signed amount and the date of a movement, the edits keep
+     * the date and the sing so every edit changes the same rows of the totals.
+     * @return Array with the account, the signed amount and the date, null if the
+     *         movement doesn't exist.
+     */
+    private long[] readLedgerValues(long id) throws SQLException {
+        PreparedStatement statement = mConnection.prepareStatement(MovementWrites.LEDGER_VALUES);
+        try {
+            statement.setLong(1, id);
+            ResultSet c = statement.executeQuery();
+            try {
+                return c.next() ? new long[]{ c.getLong(3),
+                        BalanceRules.signedAmount(c.getString(2), c.getLong(1)), c.getLong(4) } :
+                        null;
+            } finally {
+                c.close();
+            }
+        } finally {
+            statement.close();
+        }
+    }
+
+    private long preparedBalance(long idAccount) throws SQLException {
+        mBalance.setLong(1, idAccount);
+        ResultSet c = mBalance.executeQuery();
+        try {
+            return c.next() ? c.getLong(1) : 0;
+        } finally {
+            c.close();
+        }
+    }
+
+    /**
+     * Adds an amount to the daily, the account and the period totals of an account
+     * with the statements of {@link MovementWrites}, compiled on every call.
+     * @param amount Amount in minor units, negative to take it out.
+     */
+    private void addTotals(long idAccount, long date, String sing, long amount)
+            throws SQLException {
+        boolean debit = BalanceRules.NEGATIVE_SING.equals(sing);
+        long credits = debit ? 0 : amount;
+        long debits = debit ? amount : 0;
+        long day = MovementWrites.dayOf(date);
+        if (execute(MovementWrites.ADD_TOTALS, credits, debits, SCOPE_ACCOUNT_DAY, idAccount,
+                day) == 0) {
+            execute(MovementWrites.ENSURE_ACCOUNT_DAY, idAccount, day);
+            execute(MovementWrites.ADD_TOTALS, credits, debits, SCOPE_ACCOUNT_DAY, idAccount,
+                    day);
+        }
+        if (execute(MovementWrites.ADD_TOTALS, credits, debits, SCOPE_ACCOUNT, idAccount,
+                ALL_DAYS) == 0) {
+            execute(MovementWrites.ENSURE_ACCOUNT, idAccount);
+            execute(MovementWrites.ADD_TOTALS, credits, debits, SCOPE_ACCOUNT, idAccount,
+                    ALL_DAYS);
+        }
+        long idPeriod = queryForLong(MovementWrites.PERIOD_OF_ACCOUNT, idAccount);
+        if (execute(MovementWrites.ADD_TOTALS, credits, debits, SCOPE_PERIOD, idPeriod,
+                ALL_DAYS) == 0) {
+            execute(MovementWrites.ENSURE_PERIOD, idAccount);
+            execute(MovementWrites.ADD_TOTALS, credits, debits, SCOPE_PERIOD, idPeriod,
+                    ALL_DAYS);
+        }
+    }
+
+    /**
+     * Compiles and executes a sentence, like SQLiteDatabase.execSQL with arguments.
+     * @return Number of rows changed.
+     */
+    private int execute(String sql, Object... args) throws SQLException {
+        PreparedStatement statement = mConnection.prepareStatement(sql);
+        try {
+            for (int i = 0; i < args.length; i++) {
+                statement.setObject(i + 1, args[i]);
+            }
+            return statement.executeUpdate();
+        } finally {
+            statement.close();
+        }
+    }
+
+    private long queryForLong(String sql, Object... args) throws SQLException {
+        PreparedStatement statement = mConnection.prepareStatement(sql);
+        try {
+            for (int i = 0; i < args.length; i++) {
+                statement.setObject(i + 1, args[i]);
+            }
+            ResultSet c = statement.executeQuery();
+            try {
+                return c.next() ? c.getLong(1) : 0;
+            } finally {
+                c.close();
+            }
+        } finally {
+            statement.close();
+        }
+    }
+
+    /**
+     * Builds and compiles the INSERT on every call, like SQLiteDatabase.insert.
+     */
+    private void executeInsert(String table, Map<String, Object> values) throws SQLException {
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(table).append('(');
+        StringBuilder params = new StringBuilder();
+        for (String column : values.keySet()) {
+            sql.append(params.length() == 0 ? "" : ",").append(column);
+            params.append(params.length() == 0 ? "?" : ",?");
+        }
+        sql.append(") VALUES (").append(params).append(')');
+        PreparedStatement statement = mConnection.prepareStatement(sql.toString());
+        try {
+            bind(statement, values, 1);
+            statement.executeUpdate();
+        } finally {
+            statement.close();
+        }
+    }
+
+    /**
+     * Builds and compiles the UPDATE on every call, like SQLiteDatabase.update.
+     */
+    private void executeUpdate(String table, Map<String, Object> values, String where,
+                               long id) throws SQLException {
+        StringBuilder sql = new StringBuilder("UPDATE ").append(table).append(" SET ");
+        boolean first = true;
+        for (String column : values.keySet()) {
+            sql.append(first ? "" : ",").append(column).append("=?");
+            first = false;
+        }
+        sql.append(" WHERE ").append(where);
+        PreparedStatement statement = mConnection.prepareStatement(sql.toString());
+        try {
+            int index = bind(statement, values, 1);
+            statement.setLong(index, id);
+            statement.executeUpdate();
+        } finally {
+            statement.close();
+        }
+    }
+
+    private static int bind(PreparedStatement statement, Map<String, Object> values, int index)
+            throws SQLException {
+        for (Object value : values.values()) {
+            statement.setObject(index++, value);
+        }
+        return index;
+    }
+
+    private long queryBalance(long idAccount) throws SQLException {
+        Statement statement = mConnection.createStatement();
+        try {
+            ResultSet c = statement.executeQuery("SELECT end_balance FROM accounts " +
+                    "WHERE _id = " + idAccount);
+            try {
+                return c.next() ? c.getLong(1) : 0;
+            } finally {
+                c.close();
+            }
+        } finally {
+            statement.close();
+        }
+    }
+
+    private void writeBalance(long idAccount, long balance) throws SQLException {
+        Statement statement = mConnection.createStatement();
+        try {
+            statement.executeUpdate("UPDATE accounts SET end_balance = " + balance +
+                    " WHERE _id = " + idAccount);
+        } finally {
+            statement.close();
+        }
+    }
+
+    private long nextAccount() {
+        return 1 + mRandom.nextInt(BenchmarkDatabase.ACCOUNTS);
+    }
+
+    private long nextMovement() {
+        return 1 + mRandom.nextInt(movements);
+    }
+
+    private long nextAmount() {
+        return 1 + mRandom.nextInt(50000);
+    }
+}
@@ -15,8 +15,6 @@
  */
 package com.roque.rueda.cashflows.database;
 
-import android.provider.BaseColumns;
-
 /**
  * 
  * Contains the constants to handle the database communication
@@ -27,7 +25,7 @@ import android.provider.BaseColumns;
  * @version 1.0
  *
  */
-public interface AccountTable extends BaseColumns{
+public interface AccountTable extends LedgerColumns {
 
 	/**
 	 * Table name to store accounts of the user.
@@ -42,14 +40,14 @@ public interface AccountTable extends BaseColumns{
 	public static final String FULL_ID = TABLE_ACCOUNTS + "." + _ID;
 	
 	/**
-	 * Column name used to store the initial balance for the account.
-	 * <b>TYPE REAL</b>.
+	 * Column name used to store the initial balance for the account in minor units.
+	 * <b>TYPE INTEGER</b>.
 	 */
 	public static final String ACCOUNT_INITIAL_BALANCE= "initial_balance";
 	
 	/**
-	 * Column name used to store the initial balance for the account.
-	 * <b>TYPE REAL</b>.
+	 * Column name used to store the initial balance for the account in minor units.
+	 * <b>TYPE INTEGER</b>.
 	 */
 	public static final String FULL_INITIAL_BALANCE = TABLE_ACCOUNTS + "." + ACCOUNT_INITIAL_BALANCE;
 	
@@ -66,14 +64,14 @@ public interface AccountTable extends BaseColumns{
 	public static final String FULL_ACCOUNT_NAME = TABLE_ACCOUNTS + "." + ACCOUNT_NAME;
 	
 	/**
-	 * Column name used to store the end balance of the table.
-	 * <b>TYPE REAL</b>.
+	 * Column name used to store the end balance of the table in minor units.
+	 * <b>TYPE INTEGER</b>.
 	 */
 	public static final String ACCOUNT_END_BALANCE = "end_balance";
 	
 	/**
-	 * Column name used to store the end balance of the table.
-	 * <b>TYPE REAL</b>.
+	 * Column name used to store the end balance of the table in minor units.
+	 * <b>TYPE INTEGER</b>.
 	 */
 	public static final String FULL_ACCOUNT_END_BALANCE = TABLE_ACCOUNTS + "." + ACCOUNT_END_BALANCE;
 	
@@ -101,5 +99,11 @@ public interface AccountTable extends BaseColumns{
 	 * <b>TYPE INTEGER</b>.
 	 */
 	public static final String FULL_ID_PERIOD = TABLE_ACCOUNTS + "." + ID_PERIOD;
+
+	/**
+	 * Index over the period of the accounts, used by the joins with the periods.
+	 * <i>Index Name</i>.
+	 */
+	public static final String INDEX_PERIOD = "accounts_period";
 	
 }
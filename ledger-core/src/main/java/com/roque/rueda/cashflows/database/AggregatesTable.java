@@ -0,0 +1,100 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database;
+
+/**
+ * 
+ * Contains the constants to handle the database communication
+ * for the aggregates table, it keeps the sums of credits and debits
+ * of the movements so the totals don't need to read the movements.
+ * 
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public interface AggregatesTable {
+
+	/**
+	 * Table name to store the totals of the movements.
+	 * <i>Table Name</i>.
+	 */
+	public static final String TABLE_AGGREGATES = "aggregates";
+
+	/**
+	 * Column name used to store what the row adds up, one of the SCOPE_* values.
+	 * <b>TYPE INTEGER</b>.
+	 */
+	public static final String SCOPE = "scope";
+	public static final String FULL_SCOPE = TABLE_AGGREGATES + "." + SCOPE;
+
+	/**
+	 * Column name used to store the account or the period of the row.
+	 * <b>TYPE INTEGER</b>.
+	 */
+	public static final String SCOPE_ID = "scope_id";
+	public static final String FULL_SCOPE_ID = TABLE_AGGREGATES + "." + SCOPE_ID;
+
+	/**
+	 * Column name used to store the first millisecond of the local day of the row,
+	 * or {@link #ALL_DAYS} for the totals. <b>TYPE INTEGER</b>.
+	 */
+	public static final String DAY = "day";
+	public static final String FULL_DAY = TABLE_AGGREGATES + "." + DAY;
+
+	/**
+	 * Column name used to store the sum of the positive movements in minor units.
+	 * <b>TYPE INTEGER</b>.
+	 */
+	public static final String CREDITS = "credits";
+	public static final String FULL_CREDITS = TABLE_AGGREGATES + "." + CREDITS;
+
+	/**
+	 * Column name used to store the sum of the negative movements in minor units,
+	 * as a positive number. <b>TYPE INTEGER</b>.
+	 */
+	public static final String DEBITS = "debits";
+	public static final String FULL_DEBITS = TABLE_AGGREGATES + "." + DEBITS;
+
+	/**
+	 * Column name used to store the initial balance of the account, or the sum of
+	 * the initial balances of the period, in minor units. Zero for the daily rows.
+	 * <b>TYPE INTEGER</b>.
+	 */
+	public static final String OPENING = "opening";
+	public static final String FULL_OPENING = TABLE_AGGREGATES + "." + OPENING;
+
+	/**
+	 * Scope of the totals of one account.
+	 */
+	public static final int SCOPE_ACCOUNT = 0;
+
+	/**
+	 * Scope of the totals of one account in one day.
+	 */
+	public static final int SCOPE_ACCOUNT_DAY = 1;
+
+	/**
+	 * Scope of the totals of all the accounts of one period.
+	 */
+	public static final int SCOPE_PERIOD = 2;
+
+	/**
+	 * Day used by the rows that add up every day.
+	 */
+	public static final long ALL_DAYS = -1;
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database;
+
+/**
+ *
+ * Contains the constants to handle the database communication
+ * for the archive table, it keeps the movements of the closed periods
+ * in a compact form: the amount carries the sing and the descriptions
+ * are stored once in {@link #TABLE_DESCRIPTIONS}.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public interface ArchiveTable extends LedgerColumns {
+
+	/**
+	 * Table name to store the movements of the closed periods.
+	 * <i>Table Name</i>.
+	 */
+	public static final String TABLE_ARCHIVE = "money_movements_archive";
+	public static final String FULL_ID = TABLE_ARCHIVE + "." + _ID;
+
+	/**
+	 * Column name to storage the signed amount of money in minor units,
+	 * negative for an expense. <b>TYPE INTEGER</b>.
+	 */
+	public static final String ARCHIVE_AMOUNT = "amount";
+
+	/**
+	 * Column name to storage the date of the movement as milliseconds
+	 * since the epoch. <b>TYPE INTEGER</b>.
+	 */
+	public static final String ARCHIVE_DATE = "date";
+
+	/**
+	 * Column name used to relate the movement with its description in
+	 * {@link #TABLE_DESCRIPTIONS}, null if it has none. <b>TYPE INTEGER</b>.
+	 */
+	public static final String ID_DESCRIPTION = "id_description";
+
+	/**
+	 * Column name used to relate the movement with the account of the
+	 * closed period. <b>TYPE INTEGER</b>.
+	 */
+	public static final String ID_ACCOUNT = "id_account";
+
+	/**
+	 * Column name used to relate the movement with its category, null if
+	 * it has none. <b>TYPE INTEGER</b>.
+	 */
+	public static final String ID_CATEGORY = "id_category";
+
+	/**
+	 * Column name to storage the tags of the movement, one bit per tag.
+	 * <b>TYPE INTEGER</b>.
+	 */
+	public static final String ARCHIVE_TAGS = "tags";
+
+	/**
+	 * Index over the account and the date of the archived movements.
+	 * <i>Index Name</i>.
+	 */
+	public static final String INDEX_ACCOUNT_DATE = "money_movements_archive_account_date";
+
+	/**
+	 * Index over the date of the archived movements, used by the reports.
+	 * <i>Index Name</i>.
+	 */
+	public static final String INDEX_DATE = "money_movements_archive_date";
+
+	/**
+	 * Index over the account, the category, the tags and the amount of the
+	 * archived movements. <i>Index Name</i>.
+	 */
+	public static final String INDEX_ACCOUNT_CATEGORY = "money_movements_archive_account_category";
+
+	/**
+	 * Table name to store each distinct description of the archive once.
+	 * <i>Table Name</i>.
+	 */
+	public static final String TABLE_DESCRIPTIONS = "archive_descriptions";
+
+	/**
+	 * Column name to storage the text of a description, it's unique.
+	 * <b>TYPE TEXT</b>.
+	 */
+	public static final String DESCRIPTION_TEXT = "text";
+
+	/**
+	 * View with the current and the archived movements, it has the columns of
+	 * {@link MovementsTable}. <i>View Name</i>.
+	 */
+	public static final String VIEW_ALL_MOVEMENTS = "all_movements";
+
+}
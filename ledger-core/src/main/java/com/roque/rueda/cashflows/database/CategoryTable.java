@@ -0,0 +1,44 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database;
+
+/**
+ *
+ * Contains the constants to handle the database communication
+ * for the categories table, each movement may have one category.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public interface CategoryTable extends LedgerColumns {
+
+	/**
+	 * Table name to store the categories of the movements.
+	 * <i>Table Name</i>.
+	 */
+	public static final String TABLE_CATEGORIES = "categories";
+	public static final String FULL_ID = TABLE_CATEGORIES + "." + _ID;
+
+	/**
+	 * Column name to storage the name of the category, it's unique.
+	 * <b>TYPE TEXT</b>.
+	 */
+	public static final String CATEGORY_NAME = "name";
+	public static final String FULL_CATEGORY_NAME = TABLE_CATEGORIES + "." + CATEGORY_NAME;
+
+}
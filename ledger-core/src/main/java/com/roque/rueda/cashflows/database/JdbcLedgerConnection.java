@@ -0,0 +1,287 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Runs the {@link LedgerConnection} over a JDBC connection, used by the benchmarks and
+ * the tests to run the same writes as the application off the device. The errors of
+ * the driver are thrown as {@link IllegalStateException}.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class JdbcLedgerConnection implements LedgerConnection {
+
+    private static final String LAST_INSERT_ROWID = "SELECT last_insert_rowid()";
+
+    private final Connection mConnection;
+    private PreparedStatement mLastInsertRowId;
+    private int mTransactionDepth;
+    private boolean mCurrentSuccessful;
+    private boolean mAllSuccessful;
+
+    /**
+     * Creates a ledger connection over the given connection.
+     * @param connection Open connection in auto commit mode.
+     */
+    public JdbcLedgerConnection(Connection connection) {
+        mConnection = connection;
+    }
+
+    @Override
+    public LedgerStatement compileStatement(String sql) {
+        try {
+            return new JdbcStatement(mConnection.prepareStatement(sql), sql);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Can't compile: " + sql, e);
+        }
+    }
+
+    @Override
+    public LedgerCursor rawQuery(String sql, String[] args) {
+        try {
+            PreparedStatement statement = mConnection.prepareStatement(sql);
+            try {
+                if (args != null) {
+                    for (int i = 0; i < args.length; i++) {
+                        statement.setString(i + 1, args[i]);
+                    }
+                }
+                return new JdbcCursor(statement, statement.executeQuery());
+            } catch (SQLException e) {
+                statement.close();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Error executing: " + sql, e);
+        }
+    }
+
+    @Override
+    public void beginTransaction() {
+        try {
+            if (mTransactionDepth == 0) {
+                mConnection.setAutoCommit(false);
+                mAllSuccessful = true;
+            }
+            mTransactionDepth++;
+            mCurrentSuccessful = false;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Can't begin a transaction.", e);
+        }
+    }
+
+    @Override
+    public void setTransactionSuccessful() {
+        mCurrentSuccessful = true;
+    }
+
+    @Override
+    public void endTransaction() {
+        if (mTransactionDepth == 0) {
+            throw new IllegalStateException("There's no transaction to end.");
+        }
+        mAllSuccessful &= mCurrentSuccessful;
+        mCurrentSuccessful = false;
+        if (--mTransactionDepth > 0) {
+            return;
+        }
+        try {
+            if (mAllSuccessful) {
+                mConnection.commit();
+            } else {
+                mConnection.rollback();
+            }
+            mConnection.setAutoCommit(true);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Can't end the transaction.", e);
+        }
+    }
+
+    @Override
+    public boolean inTransaction() {
+        return mTransactionDepth > 0;
+    }
+
+    private long lastInsertRowId() throws SQLException {
+        if (mLastInsertRowId == null) {
+            mLastInsertRowId = mConnection.prepareStatement(LAST_INSERT_ROWID);
+        }
+        ResultSet rs = mLastInsertRowId.executeQuery();
+        try {
+            rs.next();
+            return rs.getLong(1);
+        } finally {
+            rs.close();
+        }
+    }
+
+    /**
+     * Compiled statement over a prepared statement.
+     */
+    private final class JdbcStatement implements LedgerStatement {
+
+        private final PreparedStatement mStatement;
+        private final String mSql;
+
+        JdbcStatement(PreparedStatement statement, String sql) {
+            mStatement = statement;
+            mSql = sql;
+        }
+
+        @Override
+        public void bindLong(int index, long value) {
+            try {
+                mStatement.setLong(index, value);
+            } catch (SQLException e) {
+                throw error(e);
+            }
+        }
+
+        @Override
+        public void bindString(int index, String value) {
+            try {
+                mStatement.setString(index, value);
+            } catch (SQLException e) {
+                throw error(e);
+            }
+        }
+
+        @Override
+        public void bindNull(int index) {
+            try {
+                mStatement.setNull(index, Types.NULL);
+            } catch (SQLException e) {
+                throw error(e);
+            }
+        }
+
+        @Override
+        public void clearBindings() {
+            try {
+                mStatement.clearParameters();
+            } catch (SQLException e) {
+                throw error(e);
+            }
+        }
+
+        @Override
+        public long executeInsert() {
+            try {
+                return mStatement.executeUpdate() > 0 ? lastInsertRowId() : -1;
+            } catch (SQLException e) {
+                throw error(e);
+            }
+        }
+
+        @Override
+        public int executeUpdateDelete() {
+            try {
+                return mStatement.executeUpdate();
+            } catch (SQLException e) {
+                throw error(e);
+            }
+        }
+
+        @Override
+        public long simpleQueryForLong() {
+            try {
+                ResultSet rs = mStatement.executeQuery();
+                try {
+                    if (!rs.next()) {
+                        throw new IllegalStateException("The query returned no rows: " + mSql);
+                    }
+                    return rs.getLong(1);
+                } finally {
+                    rs.close();
+                }
+            } catch (SQLException e) {
+                throw error(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                mStatement.close();
+            } catch (SQLException e) {
+                throw error(e);
+            }
+        }
+
+        private IllegalStateException error(SQLException e) {
+            return new IllegalStateException("Error executing: " + mSql, e);
+        }
+    }
+
+    /**
+     * Rows of a query, it closes its statement when it's closed.
+     */
+    private static final class JdbcCursor implements LedgerCursor {
+
+        private final PreparedStatement mStatement;
+        private final ResultSet mRows;
+
+        JdbcCursor(PreparedStatement statement, ResultSet rows) {
+            mStatement = statement;
+            mRows = rows;
+        }
+
+        @Override
+        public boolean moveToFirst() {
+            try {
+                return mRows.next();
+            } catch (SQLException e) {
+                throw new IllegalStateException("Can't read the rows.", e);
+            }
+        }
+
+        @Override
+        public long getLong(int column) {
+            try {
+                return mRows.getLong(column + 1);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Can't read the column " + column + ".", e);
+            }
+        }
+
+        @Override
+        public String getString(int column) {
+            try {
+                return mRows.getString(column + 1);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Can't read the column " + column + ".", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                mStatement.close();
+            } catch (SQLException e) {
+                throw new IllegalStateException("Can't close the rows.", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database;
+
+/**
+ * 
+ * Contains the columns shared by the tables, the same values as
+ * android.provider.BaseColumns so the tables can be used by the
+ * cursor adapters without depending on Android.
+ * 
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public interface LedgerColumns {
+
+	/**
+	 * Column name of the unique identifier of a row.
+	 * <b>TYPE INTEGER</b>.
+	 */
+	public static final String _ID = "_id";
+
+}
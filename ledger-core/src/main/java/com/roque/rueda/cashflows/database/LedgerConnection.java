@@ -0,0 +1,69 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database;
+
+/**
+ * Connection to the database of the ledger, the part of the SQLiteDatabase API used
+ * by the writes of the movements.
+ *
+ * The application implements it over its SQLiteDatabase and the JVM over JDBC, see
+ * {@link JdbcLedgerConnection}, so the same statements run on the device and in the
+ * benchmarks. The transactions can be nested, the changes are committed when the
+ * outermost transaction ends and every level was marked successful.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public interface LedgerConnection {
+
+    /**
+     * Compiles a statement that will be executed many times.
+     * @param sql SQL sentence with ? for its arguments.
+     * @return Compiled statement, the caller closes it.
+     */
+    LedgerStatement compileStatement(String sql);
+
+    /**
+     * Runs a query.
+     * @param sql SQL query with ? for its arguments.
+     * @param args Arguments of the query, bound as text.
+     * @return Cursor over the rows, the caller closes it.
+     */
+    LedgerCursor rawQuery(String sql, String[] args);
+
+    /**
+     * Begins a transaction.
+     */
+    void beginTransaction();
+
+    /**
+     * Marks the current transaction as successful.
+     */
+    void setTransactionSuccessful();
+
+    /**
+     * Ends the current transaction.
+     */
+    void endTransaction();
+
+    /**
+     * Checks if there's an open transaction.
+     * @return true if a transaction was begun and not ended yet.
+     */
+    boolean inTransaction();
+}
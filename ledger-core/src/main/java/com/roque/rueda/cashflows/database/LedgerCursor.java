@@ -0,0 +1,54 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database;
+
+/**
+ * Rows returned by {@link LedgerConnection#rawQuery(String, String[])}, the part of
+ * the Cursor API used by the writes of the movements. The indexes of the columns
+ * start at 0.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public interface LedgerCursor {
+
+    /**
+     * Moves to the first row.
+     * @return false if there are no rows.
+     */
+    boolean moveToFirst();
+
+    /**
+     * Gets a column of the current row as a long.
+     * @param column Index of the column, starting at 0.
+     * @return Value of the column.
+     */
+    long getLong(int column);
+
+    /**
+     * Gets a column of the current row as a string.
+     * @param column Index of the column, starting at 0.
+     * @return Value of the column, may be null.
+     */
+    String getString(int column);
+
+    /**
+     * Releases the rows.
+     */
+    void close();
+}
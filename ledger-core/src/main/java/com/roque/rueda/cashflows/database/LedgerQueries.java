@@ -0,0 +1,392 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database;
+
+import static com.roque.rueda.cashflows.database.AccountTable.ACCOUNT_END_BALANCE;
+import static com.roque.rueda.cashflows.database.AccountTable.TABLE_ACCOUNTS;
+import static com.roque.rueda.cashflows.database.CategoryTable.CATEGORY_NAME;
+import static com.roque.rueda.cashflows.database.CategoryTable.TABLE_CATEGORIES;
+import static com.roque.rueda.cashflows.database.LedgerSchema.ARCHIVE_COLUMNS;
+import static com.roque.rueda.cashflows.database.LedgerSchema.MOVEMENT_COLUMNS;
+import static com.roque.rueda.cashflows.database.MovementsTable.ID_ACCOUNT;
+import static com.roque.rueda.cashflows.database.MovementsTable.ID_CATEGORY;
+import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_AMOUNT;
+import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_DATE;
+import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_DESCRIPTION;
+import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_SING;
+import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_TAGS;
+import static com.roque.rueda.cashflows.database.MovementsTable.TABLE_MOVEMENTS;
+import static com.roque.rueda.cashflows.database.PeriodTable.ACTIVE;
+import static com.roque.rueda.cashflows.database.PeriodTable.TABLE_PERIODS;
+import static com.roque.rueda.cashflows.database.SearchTable.DOCID;
+import static com.roque.rueda.cashflows.database.SearchTable.SEARCH_DESCRIPTION;
+import static com.roque.rueda.cashflows.database.SearchTable.SEARCH_RELEVANCE;
+import static com.roque.rueda.cashflows.database.SearchTable.TABLE_SEARCH;
+
+import com.roque.rueda.cashflows.ledger.BalanceRules;
+
+/**
+ * Queries issued by the managers of the application.
+ *
+ * They are plain SQL over the {@link LedgerSchema}, so the same sentences run on
+ * the device and on the JVM, where their query plans are checked against the
+ * indexes of the schema. The arguments are bound as text, as the device does.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public final class LedgerQueries {
+
+    /**
+     * Account filter of the search that matches the movements of every account.
+     */
+    public static final long ALL_ACCOUNTS = -1;
+
+    /**
+     * Column with the sum of the positive movements of a category.
+     */
+    public static final String CATEGORY_CREDITS = "credits";
+
+    /**
+     * Column with the sum of the negative movements of a category, as a positive number.
+     */
+    public static final String CATEGORY_DEBITS = "debits";
+
+    /**
+     * Argument compared with an expression, the arguments are bound as text and the
+     * expressions have no affinity to convert them.
+     */
+    public static final String INTEGER_ARG = "CAST(? AS INTEGER)";
+
+    /**
+     * Number of matches of the full-text query in the description of the row. The
+     * offsets of FTS4 are four numbers per match separated by spaces, the scores of
+     * matchinfo() are a blob that SQL can't read and Android can't register a rank
+     * function, so the matches are counted from the offsets.
+     */
+    private static final String MATCHES = "(LENGTH(OFFSETS(" + TABLE_SEARCH +
+            ")) - LENGTH(REPLACE(OFFSETS(" + TABLE_SEARCH + "), ' ', '')) + 1) / 4";
+
+    /**
+     * Number of words, separated by spaces, of the description of the row.
+     */
+    private static final String WORDS = "(LENGTH(TRIM(" + SEARCH_DESCRIPTION +
+            ")) - LENGTH(REPLACE(TRIM(" + SEARCH_DESCRIPTION + "), ' ', '')) + 1)";
+
+    /**
+     * Relevance of a row of the full-text search, the percentage of the words of the
+     * description that match the query. A short description that is only the words
+     * searched ranks above a long one that mentions them once.
+     */
+    private static final String RELEVANCE = MATCHES + " * 100 / " + WORDS;
+
+    private static final String JOIN_ACCOUNTS_OF_PERIODS = TABLE_PERIODS + " INNER JOIN " +
+            TABLE_ACCOUNTS + " ON " + AccountTable.ID_PERIOD + " = " + PeriodTable.FULL_ID;
+
+    private static final String ACTIVE_PERIOD = PeriodTable.FULL_ACTIVE + " = 1";
+
+    /**
+     * Columns of the movements of a day.
+     */
+    private static final String CASH_COLUMNS = MovementsTable._ID + ", " + MOVEMENTS_AMOUNT +
+            ", " + MOVEMENTS_DATE + ", " + MOVEMENTS_DESCRIPTION + ", " + MOVEMENTS_SING;
+
+    /**
+     * Accounts of a period, argument: period.
+     */
+    private static final String ACCOUNTS_OF_PERIOD = " IN (SELECT " + AccountTable._ID +
+            " FROM " + TABLE_ACCOUNTS + " WHERE " + AccountTable.ID_PERIOD + " = ?)";
+
+    /**
+     * Accounts of the active period, used by AccountManager.getAccountsForCurrentPeriod.
+     * No arguments.
+     */
+    public static final String ACCOUNTS_FOR_CURRENT_PERIOD = "SELECT " +
+            AccountTable.FULL_ID + ", " + AccountTable.FULL_INITIAL_BALANCE + ", " +
+            AccountTable.FULL_ACCOUNT_NAME + ", " + AccountTable.FULL_ACCOUNT_END_BALANCE +
+            ", " + AccountTable.FULL_ACCOUNT_NUMBER + " FROM " + JOIN_ACCOUNTS_OF_PERIODS +
+            " WHERE " + ACTIVE_PERIOD + " ORDER BY " + AccountTable.FULL_ACCOUNT_NAME + " DESC";
+
+    /**
+     * Balance of the active period read from its totals row instead of adding up the
+     * accounts, used by AccountManager.getFinalBalance. No arguments.
+     */
+    public static final String FINAL_BALANCE = "SELECT SUM(" + AggregatesTable.OPENING +
+            " + " + AggregatesTable.CREDITS + " - " + AggregatesTable.DEBITS + ") FROM " +
+            AggregatesTable.TABLE_AGGREGATES + " WHERE " + AggregatesTable.SCOPE + " = " +
+            AggregatesTable.SCOPE_PERIOD + " AND " + AggregatesTable.SCOPE_ID + " IN (SELECT " +
+            PeriodTable._ID + " FROM " + TABLE_PERIODS + " WHERE " + ACTIVE + " = 1) AND " +
+            AggregatesTable.DAY + " = " + AggregatesTable.ALL_DAYS;
+
+    /**
+     * Name, picture and identifier of the accounts of the active period, used by
+     * AccountManager.getShortAccountInfo. No arguments.
+     */
+    public static final String SHORT_ACCOUNT_INFO = "SELECT " + AccountTable.FULL_ID + ", " +
+            AccountTable.FULL_ACCOUNT_NAME + ", " + AccountTable.FULL_ACCOUNT_NUMBER +
+            " FROM " + JOIN_ACCOUNTS_OF_PERIODS + " WHERE " + ACTIVE_PERIOD + " ORDER BY " +
+            AccountTable.FULL_ACCOUNT_NAME + " DESC";
+
+    /**
+     * Running balance of one account, used by AccountManager.getAccountBalance.
+     * Argument: account.
+     */
+    public static final String ACCOUNT_BALANCE = "SELECT " + ACCOUNT_END_BALANCE + " FROM " +
+            TABLE_ACCOUNTS + " WHERE " + AccountTable._ID + " = ?";
+
+    /**
+     * Every movement of an account, newest first, used by
+     * MovementsManager.getCashMovements. Argument: account.
+     */
+    public static final String CASH_MOVEMENTS = "SELECT " + MovementsTable.FULL_ID + ", " +
+            MovementsTable.FULL_MOVEMENTS_AMOUNT + ", " +
+            MovementsTable.FULL_MOVEMENTS_DESCRIPTION + ", " +
+            MovementsTable.FULL_MOVEMENTS_DATE + ", " + MovementsTable.FULL_MOVEMENTS_SING +
+            ", " + MovementsTable.FULL_ID_ACCOUNT + " FROM " + TABLE_ACCOUNTS + " INNER JOIN " +
+            TABLE_MOVEMENTS + " ON " + MovementsTable.ID_ACCOUNT + " = " + AccountTable.FULL_ID +
+            " WHERE " + AccountTable.FULL_ID + " = ? ORDER BY " +
+            MovementsTable.FULL_MOVEMENTS_DATE + " DESC";
+
+    /**
+     * Movements of a day, newest first, used by CashMovements.getTodayCashMovements.
+     * Arguments: start and end of the day.
+     */
+    public static final String DAY_MOVEMENTS = "SELECT " + CASH_COLUMNS + " FROM " +
+            TABLE_MOVEMENTS + " WHERE " + MOVEMENTS_DATE + " >= ? AND " + MOVEMENTS_DATE +
+            " < ? ORDER BY " + MOVEMENTS_DATE + " DESC";
+
+    /**
+     * Movements of an account in a day, newest first, used by
+     * CashMovements.getTodayCashMovements. Arguments: account, start and end of the day.
+     */
+    public static final String ACCOUNT_DAY_MOVEMENTS = "SELECT " + CASH_COLUMNS + " FROM " +
+            TABLE_MOVEMENTS + " WHERE " + ID_ACCOUNT + " = ? AND " + MOVEMENTS_DATE +
+            " >= ? AND " + MOVEMENTS_DATE + " < ? ORDER BY " + MOVEMENTS_DATE + " DESC";
+
+    /**
+     * Movements of the accounts of the active period, newest first, used by
+     * CashMovements.getCashMovements. No arguments.
+     */
+    public static final String PERIOD_MOVEMENTS = "SELECT * FROM " + JOIN_ACCOUNTS_OF_PERIODS +
+            " INNER JOIN " + TABLE_MOVEMENTS + " ON " + MovementsTable.ID_ACCOUNT + "=" +
+            AccountTable.FULL_ID + " WHERE " + PeriodTable.ACTIVE + " = 1 ORDER BY " +
+            MOVEMENTS_DATE + " DESC";
+
+    /**
+     * Current and archived movements of a range of dates, newest first, used by
+     * CashMovements.getHistoricalMovements. Arguments: start and end of the range.
+     */
+    public static final String HISTORICAL_MOVEMENTS = "SELECT " + CASH_COLUMNS + " FROM " +
+            ArchiveTable.VIEW_ALL_MOVEMENTS + " WHERE " + MOVEMENTS_DATE + " >= ? AND " +
+            MOVEMENTS_DATE + " < ? ORDER BY " + MOVEMENTS_DATE + " DESC";
+
+    /**
+     * Movements of a period that have every given tag, newest first, used by
+     * CategoryManager.getTaggedMovements. Arguments: the period and the mask twice, for
+     * the current and the archived movements.
+     */
+    public static final String TAGGED_MOVEMENTS = "SELECT " + MOVEMENT_COLUMNS + " FROM " +
+            TABLE_MOVEMENTS + " WHERE " + ID_ACCOUNT + ACCOUNTS_OF_PERIOD + " AND (" +
+            MOVEMENTS_TAGS + " & " + INTEGER_ARG + ") = " + INTEGER_ARG + " UNION ALL SELECT " +
+            ARCHIVE_COLUMNS + " WHERE a." + ArchiveTable.ID_ACCOUNT + ACCOUNTS_OF_PERIOD +
+            " AND (a." + ArchiveTable.ARCHIVE_TAGS + " & " + INTEGER_ARG + ") = " +
+            INTEGER_ARG + " ORDER BY " + MOVEMENTS_DATE + " DESC";
+
+    /**
+     * Movements of a period in a category, newest first, used by
+     * CategoryManager.getCategoryMovements. Arguments: the period and the category twice.
+     */
+    public static final String CATEGORY_MOVEMENTS = "SELECT " + MOVEMENT_COLUMNS + " FROM " +
+            TABLE_MOVEMENTS + " WHERE " + ID_ACCOUNT + ACCOUNTS_OF_PERIOD + " AND " +
+            ID_CATEGORY + " = ? UNION ALL SELECT " + ARCHIVE_COLUMNS + " WHERE a." +
+            ArchiveTable.ID_ACCOUNT + ACCOUNTS_OF_PERIOD + " AND a." +
+            ArchiveTable.ID_CATEGORY + " = ? ORDER BY " + MOVEMENTS_DATE + " DESC";
+
+    /**
+     * Credits and debits of each category in a period, the biggest spending first,
+     * used by CategoryManager.getCategoryTotals. The movements of a period are all
+     * current or all archived, so each part of the union has the whole totals of its
+     * categories. Arguments: the period twice.
+     */
+    public static final String CATEGORY_TOTALS = "SELECT m." + ID_CATEGORY + " AS " +
+            CategoryTable._ID + ", c." + CATEGORY_NAME + " AS " + CATEGORY_NAME +
+            ", SUM(CASE WHEN m." + MOVEMENTS_SING + " = '" + BalanceRules.NEGATIVE_SING +
+            "' THEN 0 ELSE ABS(m." + MOVEMENTS_AMOUNT + ") END) AS " + CATEGORY_CREDITS +
+            ", SUM(CASE WHEN m." + MOVEMENTS_SING + " = '" + BalanceRules.NEGATIVE_SING +
+            "' THEN ABS(m." + MOVEMENTS_AMOUNT + ") ELSE 0 END) AS " + CATEGORY_DEBITS +
+            " FROM " + TABLE_MOVEMENTS + " m LEFT JOIN " + TABLE_CATEGORIES + " c ON c." +
+            CategoryTable._ID + " = m." + ID_CATEGORY + " WHERE m." + ID_ACCOUNT +
+            ACCOUNTS_OF_PERIOD + " GROUP BY m." + ID_CATEGORY + " UNION ALL SELECT a." +
+            ArchiveTable.ID_CATEGORY + ", c." + CATEGORY_NAME + ", SUM(CASE WHEN a." +
+            ArchiveTable.ARCHIVE_AMOUNT + " < 0 THEN 0 ELSE a." + ArchiveTable.ARCHIVE_AMOUNT +
+            " END), SUM(CASE WHEN a." + ArchiveTable.ARCHIVE_AMOUNT + " < 0 THEN -a." +
+            ArchiveTable.ARCHIVE_AMOUNT + " ELSE 0 END) FROM " + ArchiveTable.TABLE_ARCHIVE +
+            " a LEFT JOIN " + TABLE_CATEGORIES + " c ON c." + CategoryTable._ID + " = a." +
+            ArchiveTable.ID_CATEGORY + " WHERE a." + ArchiveTable.ID_ACCOUNT +
+            ACCOUNTS_OF_PERIOD + " GROUP BY a." + ArchiveTable.ID_CATEGORY + " ORDER BY " +
+            CATEGORY_DEBITS + " DESC";
+
+    private LedgerQueries() {
+        // Only static members.
+    }
+
+    /**
+     * Columns of the current movements "m" written by the export: identifier, account,
+     * date, amount, sing and description.
+     */
+    private static final String EXPORT_COLUMNS = "SELECT m." + MovementsTable._ID + ", m." +
+            ID_ACCOUNT + ", m." + MOVEMENTS_DATE + ", m." + MOVEMENTS_AMOUNT + ", m." +
+            MOVEMENTS_SING + ", m." + MOVEMENTS_DESCRIPTION + " FROM ";
+
+    /**
+     * Columns of the archived movements "a" written by the export, in the order of
+     * {@link #EXPORT_COLUMNS}.
+     */
+    private static final String EXPORT_ARCHIVED_COLUMNS = "SELECT a." + ArchiveTable._ID +
+            ", a." + ArchiveTable.ID_ACCOUNT + ", a." + ArchiveTable.ARCHIVE_DATE + ", ABS(a." +
+            ArchiveTable.ARCHIVE_AMOUNT + "), CASE WHEN a." + ArchiveTable.ARCHIVE_AMOUNT +
+            " < 0 THEN '" + BalanceRules.NEGATIVE_SING + "' ELSE '+' END, d." +
+            ArchiveTable.DESCRIPTION_TEXT + " FROM ";
+
+    private static final String CURRENT = TABLE_MOVEMENTS + " m";
+
+    private static final String ARCHIVED = ArchiveTable.TABLE_ARCHIVE + " a";
+
+    private static final String ARCHIVED_DESCRIPTIONS = " LEFT JOIN " +
+            ArchiveTable.TABLE_DESCRIPTIONS + " d ON d." + ArchiveTable._ID + " = a." +
+            ArchiveTable.ID_DESCRIPTION;
+
+    /**
+     * Accounts "c" of a period, the movements are read account by account in the
+     * order of the period index.
+     */
+    private static final String ACCOUNTS_OF_PERIOD_JOIN = TABLE_ACCOUNTS + " c INNER JOIN ";
+
+    private static final String ORDER_BY_ACCOUNT = " ORDER BY m." + ID_ACCOUNT + ", m." +
+            MOVEMENTS_DATE;
+
+    private static final String ORDER_BY_ARCHIVED_ACCOUNT = " ORDER BY a." +
+            ArchiveTable.ID_ACCOUNT + ", a." + ArchiveTable.ARCHIVE_DATE;
+
+    /**
+     * Every current movement sorted by account and date, used by MovementExporter.
+     * No arguments.
+     */
+    public static final String EXPORT_MOVEMENTS = EXPORT_COLUMNS + CURRENT + ORDER_BY_ACCOUNT;
+
+    /**
+     * Every archived movement sorted by account and date, used by MovementExporter.
+     * No arguments.
+     */
+    public static final String EXPORT_ARCHIVED_MOVEMENTS = EXPORT_ARCHIVED_COLUMNS +
+            ARCHIVED + ARCHIVED_DESCRIPTIONS + ORDER_BY_ARCHIVED_ACCOUNT;
+
+    /**
+     * Current movements of an account sorted by date, used by MovementExporter.
+     * Argument: account.
+     */
+    public static final String EXPORT_ACCOUNT_MOVEMENTS = EXPORT_COLUMNS + CURRENT +
+            " WHERE m." + ID_ACCOUNT + " = " + INTEGER_ARG + ORDER_BY_ACCOUNT;
+
+    /**
+     * Archived movements of an account sorted by date, used by MovementExporter.
+     * Argument: account.
+     */
+    public static final String EXPORT_ACCOUNT_ARCHIVED_MOVEMENTS = EXPORT_ARCHIVED_COLUMNS +
+            ARCHIVED + ARCHIVED_DESCRIPTIONS + " WHERE a." + ArchiveTable.ID_ACCOUNT + " = " +
+            INTEGER_ARG + ORDER_BY_ARCHIVED_ACCOUNT;
+
+    /**
+     * Current movements of the accounts of a period sorted by account and date, used by
+     * MovementExporter. Sorting by the account of the period index instead of the one
+     * of the movement lets SQLite walk both indexes in order. Argument: period.
+     */
+    public static final String EXPORT_PERIOD_MOVEMENTS = EXPORT_COLUMNS +
+            ACCOUNTS_OF_PERIOD_JOIN + CURRENT + " ON m." + ID_ACCOUNT + " = c." +
+            AccountTable._ID + " WHERE c." + AccountTable.ID_PERIOD + " = " + INTEGER_ARG +
+            " ORDER BY c." + AccountTable._ID + ", m." + MOVEMENTS_DATE;
+
+    /**
+     * Archived movements of the accounts of a period sorted by account and date, used
+     * by MovementExporter. Argument: period.
+     */
+    public static final String EXPORT_PERIOD_ARCHIVED_MOVEMENTS = EXPORT_ARCHIVED_COLUMNS +
+            ACCOUNTS_OF_PERIOD_JOIN + ARCHIVED + " ON a." + ArchiveTable.ID_ACCOUNT + " = c." +
+            AccountTable._ID + ARCHIVED_DESCRIPTIONS + " WHERE c." + AccountTable.ID_PERIOD +
+            " = " + INTEGER_ARG + " ORDER BY c." + AccountTable._ID + ", a." +
+            ArchiveTable.ARCHIVE_DATE;
+
+    /**
+     * Builds one page of the movements of an account, newest first, used by
+     * MovementsManager.getCashMovementsPage. The page starts right after the row
+     * identified by a date and an identifier and the rows are sorted by both, so two
+     * movements on the same date never land on both sides of a page boundary.
+     * @param limit Maximum number of rows of the page.
+     * @return SQL sentence with the account, the date twice and the identifier as arguments.
+     */
+    public static String cashMovementsPage(int limit) {
+        return "SELECT " + MovementsTable._ID + ", " + MOVEMENTS_AMOUNT + ", " +
+                MOVEMENTS_DESCRIPTION + ", " + MOVEMENTS_DATE + ", " + MOVEMENTS_SING + ", " +
+                ID_ACCOUNT + " FROM " + TABLE_MOVEMENTS + " WHERE " + ID_ACCOUNT + " = ? AND " +
+                MOVEMENTS_DATE + " <= ? AND (" + MOVEMENTS_DATE + " < ? OR " +
+                MovementsTable._ID + " < ?) ORDER BY " + MOVEMENTS_DATE + " DESC, " +
+                MovementsTable._ID + " DESC LIMIT " + limit;
+    }
+
+    /**
+     * Builds one page of the full-text search, used by MovementSearch.search. The rows
+     * are ranked by {@link SearchTable#SEARCH_RELEVANCE}, the most relevant first and
+     * the newest first between equal ones, and each page starts after the relevance
+     * and the identifier of the last row of the previous one. Each result reads the
+     * current movement and the archived one by their primary keys, only one of them
+     * exists.
+     * @param limit Maximum number of rows of the page.
+     * @return SQL sentence with the match query, the relevance twice, the identifier,
+     *         the account twice and the range of dates as arguments.
+     */
+    public static String search(int limit) {
+        String date = currentOrArchived(MOVEMENTS_DATE, ArchiveTable.ARCHIVE_DATE);
+        String account = currentOrArchived(ID_ACCOUNT, ArchiveTable.ID_ACCOUNT);
+        return "SELECT s." + DOCID + " AS " + MovementsTable._ID + ", IFNULL(m." +
+                MOVEMENTS_AMOUNT + ", ABS(a." + ArchiveTable.ARCHIVE_AMOUNT + ")) AS " +
+                MOVEMENTS_AMOUNT + ", s." + SEARCH_DESCRIPTION + " AS " +
+                MOVEMENTS_DESCRIPTION + ", " + date + " AS " + MOVEMENTS_DATE + ", IFNULL(m." +
+                MOVEMENTS_SING + ", CASE WHEN a." + ArchiveTable.ARCHIVE_AMOUNT + " < 0 THEN '" +
+                BalanceRules.NEGATIVE_SING + "' ELSE '+' END) AS " + MOVEMENTS_SING + ", " +
+                account + " AS " + ID_ACCOUNT + ", s." + SEARCH_RELEVANCE + " AS " +
+                SEARCH_RELEVANCE + " FROM (SELECT " +
+                DOCID + ", " + SEARCH_DESCRIPTION + ", " + RELEVANCE + " AS " +
+                SEARCH_RELEVANCE + " FROM " + TABLE_SEARCH + " WHERE " + SEARCH_DESCRIPTION +
+                " MATCH ?) s LEFT JOIN " + TABLE_MOVEMENTS + " m ON m." + MovementsTable._ID +
+                " = s." + DOCID + " LEFT JOIN " + ArchiveTable.TABLE_ARCHIVE + " a ON a." +
+                ArchiveTable._ID + " = s." + DOCID + " WHERE (s." + SEARCH_RELEVANCE + " < " +
+                INTEGER_ARG + " OR (s." + SEARCH_RELEVANCE + " = " + INTEGER_ARG + " AND s." +
+                DOCID + " < " + INTEGER_ARG + ")) AND (" + INTEGER_ARG + " = " + ALL_ACCOUNTS +
+                " OR " + account + " = " + INTEGER_ARG + ") AND " + date + " >= " +
+                INTEGER_ARG + " AND " + date + " < " + INTEGER_ARG + " ORDER BY s." +
+                SEARCH_RELEVANCE + " DESC, s." + DOCID + " DESC LIMIT " + limit;
+    }
+
+    /**
+     * Gets the column of the current movement or, if it was archived, the column of
+     * the archived one.
+     */
+    private static String currentOrArchived(String movementColumn, String archiveColumn) {
+        return "IFNULL(m." + movementColumn + ", a." + archiveColumn + ")";
+    }
+}
@@ -0,0 +1,361 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database;
+
+import static com.roque.rueda.cashflows.database.AccountTable.ACCOUNT_END_BALANCE;
+import static com.roque.rueda.cashflows.database.AccountTable.ACCOUNT_INITIAL_BALANCE;
+import static com.roque.rueda.cashflows.database.AccountTable.ACCOUNT_NAME;
+import static com.roque.rueda.cashflows.database.AccountTable.PHOTO_NUMBER;
+import static com.roque.rueda.cashflows.database.AccountTable.TABLE_ACCOUNTS;
+import static com.roque.rueda.cashflows.database.AggregatesTable.ALL_DAYS;
+import static com.roque.rueda.cashflows.database.AggregatesTable.CREDITS;
+import static com.roque.rueda.cashflows.database.AggregatesTable.DAY;
+import static com.roque.rueda.cashflows.database.AggregatesTable.DEBITS;
+import static com.roque.rueda.cashflows.database.AggregatesTable.OPENING;
+import static com.roque.rueda.cashflows.database.AggregatesTable.SCOPE;
+import static com.roque.rueda.cashflows.database.AggregatesTable.SCOPE_ACCOUNT;
+import static com.roque.rueda.cashflows.database.AggregatesTable.SCOPE_ACCOUNT_DAY;
+import static com.roque.rueda.cashflows.database.AggregatesTable.SCOPE_ID;
+import static com.roque.rueda.cashflows.database.AggregatesTable.SCOPE_PERIOD;
+import static com.roque.rueda.cashflows.database.AggregatesTable.TABLE_AGGREGATES;
+import static com.roque.rueda.cashflows.database.ArchiveTable.DESCRIPTION_TEXT;
+import static com.roque.rueda.cashflows.database.ArchiveTable.TABLE_ARCHIVE;
+import static com.roque.rueda.cashflows.database.ArchiveTable.TABLE_DESCRIPTIONS;
+import static com.roque.rueda.cashflows.database.ArchiveTable.VIEW_ALL_MOVEMENTS;
+import static com.roque.rueda.cashflows.database.MovementsTable.ID_ACCOUNT;
+import static com.roque.rueda.cashflows.database.MovementsTable.ID_CATEGORY;
+import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_AMOUNT;
+import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_DATE;
+import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_DESCRIPTION;
+import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_SING;
+import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_TAGS;
+import static com.roque.rueda.cashflows.database.MovementsTable.TABLE_MOVEMENTS;
+import static com.roque.rueda.cashflows.database.PeriodTable.ACTIVE;
+import static com.roque.rueda.cashflows.database.PeriodTable.END_DATE;
+import static com.roque.rueda.cashflows.database.PeriodTable.NAME;
+import static com.roque.rueda.cashflows.database.PeriodTable.START_DATE;
+import static com.roque.rueda.cashflows.database.PeriodTable.TABLE_PERIODS;
+import static com.roque.rueda.cashflows.database.SearchTable.DOCID;
+import static com.roque.rueda.cashflows.database.SearchTable.SEARCH_DESCRIPTION;
+import static com.roque.rueda.cashflows.database.SearchTable.TABLE_SEARCH;
+
+import com.roque.rueda.cashflows.database.migration.AggregatesMigration;
+import com.roque.rueda.cashflows.database.migration.ArchiveMigration;
+import com.roque.rueda.cashflows.database.migration.CategoriesMigration;
+import com.roque.rueda.cashflows.database.migration.CompactArchiveMigration;
+import com.roque.rueda.cashflows.database.migration.EpochDatesMigration;
+import com.roque.rueda.cashflows.database.migration.IntegerAmountsMigration;
+import com.roque.rueda.cashflows.database.migration.ManagedIndexesMigration;
+import com.roque.rueda.cashflows.database.migration.Migrator;
+import com.roque.rueda.cashflows.database.migration.SearchMigration;
+import com.roque.rueda.cashflows.ledger.BalanceRules;
+import com.roque.rueda.cashflows.ledger.TagMask;
+
+/**
+ * Sentences that create the current schema of the database.
+ *
+ * The application creates its database with them and the benchmarks write their
+ * ledgers with them, so both always have the same schema. The migrations keep their
+ * own literal SQL, a step must not change when the schema moves on, and
+ * {@link #MIGRATOR} must leave an old database with this same schema.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public final class LedgerSchema {
+
+    /**
+     * Version of the schema created by these sentences.
+     */
+    public static final int VERSION = 23;
+
+    /**
+     * First version whose data is kept by the upgrades, the versions before the
+     * release only had test values.
+     */
+    public static final int RELEASE_VERSION = 15;
+
+    /**
+     * Ordered steps used to upgrade a database from {@link #RELEASE_VERSION} to
+     * {@link #VERSION} without losing its data.
+     */
+    public static final Migrator MIGRATOR = new Migrator(
+            new IntegerAmountsMigration(),
+            new EpochDatesMigration(),
+            new ManagedIndexesMigration(),
+            new AggregatesMigration(),
+            new ArchiveMigration(),
+            new CompactArchiveMigration(),
+            new SearchMigration(),
+            new CategoriesMigration());
+
+    /**
+     * Create sentence for the periods table.
+     */
+    public static final String CREATION_TABLE_PERIODS =
+            "CREATE TABLE " + TABLE_PERIODS + " (" +
+                    PeriodTable._ID + " INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL," +
+                    START_DATE + " DATETIME NOT NULL," +
+                    END_DATE + " DATETIME NOT NULL," +
+                    NAME + " TEXT NOT NULL," +
+                    ACTIVE + " INTEGER NOT NULL);";
+
+    /**
+     * Create sentence for the accounts table.
+     */
+    public static final String CREATION_TABLE_ACCOUNTS =
+            "CREATE TABLE " + TABLE_ACCOUNTS + " (" +
+                    AccountTable._ID + " INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL," +
+                    ACCOUNT_INITIAL_BALANCE + " INTEGER NOT NULL, " +
+                    ACCOUNT_NAME + " TEXT NO NULL," +
+                    ACCOUNT_END_BALANCE + " INTEGER," +
+                    PHOTO_NUMBER + " INTEGER," +
+                    AccountTable.ID_PERIOD + " INTEGER NOT NULL REFERENCES " + TABLE_PERIODS +
+                    "(" + PeriodTable._ID + "));";
+
+    /**
+     * Create sentence for the categories table.
+     */
+    public static final String CREATION_TABLE_CATEGORIES =
+            "CREATE TABLE " + CategoryTable.TABLE_CATEGORIES + " (" +
+                    CategoryTable._ID + " INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL," +
+                    CategoryTable.CATEGORY_NAME + " TEXT NOT NULL UNIQUE);";
+
+    /**
+     * Create sentence for the tags table, the identifier is the bit of the tag.
+     */
+    public static final String CREATION_TABLE_TAGS =
+            "CREATE TABLE " + TagTable.TABLE_TAGS + " (" +
+                    TagTable._ID + " INTEGER PRIMARY KEY NOT NULL CHECK (" + TagTable._ID +
+                    " BETWEEN 0 AND " + (TagMask.MAX_TAGS - 1) + ")," +
+                    TagTable.TAG_NAME + " TEXT NOT NULL UNIQUE);";
+
+    /**
+     * Create sentence for the movements table.
+     */
+    public static final String CREATION_TABLE_MOVEMENTS =
+            "CREATE TABLE " + TABLE_MOVEMENTS + "(" +
+                    MovementsTable._ID + " INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL," +
+                    MOVEMENTS_AMOUNT + " INTEGER NOT NULL," +
+                    MOVEMENTS_DESCRIPTION + " TEXT," +
+                    MOVEMENTS_DATE + " INTEGER NOT NULL," +
+                    MOVEMENTS_SING + " TEXT NOT NULL," +
+                    ID_ACCOUNT + " INTEGER NOT NULL REFERENCES " + TABLE_ACCOUNTS + "(" +
+                    AccountTable._ID + ")," +
+                    ID_CATEGORY + " INTEGER REFERENCES " + CategoryTable.TABLE_CATEGORIES +
+                    "(" + CategoryTable._ID + ")," +
+                    MOVEMENTS_TAGS + " INTEGER NOT NULL DEFAULT 0);";
+
+    /**
+     * Create sentence for the aggregates table.
+     */
+    public static final String CREATION_TABLE_AGGREGATES =
+            "CREATE TABLE " + TABLE_AGGREGATES + " (" +
+                    SCOPE + " INTEGER NOT NULL," +
+                    SCOPE_ID + " INTEGER NOT NULL," +
+                    DAY + " INTEGER NOT NULL," +
+                    CREDITS + " INTEGER NOT NULL," +
+                    DEBITS + " INTEGER NOT NULL," +
+                    OPENING + " INTEGER NOT NULL," +
+                    "PRIMARY KEY (" + SCOPE + ", " + SCOPE_ID + ", " + DAY + "));";
+
+    /**
+     * Create sentence for the archive table, the amount carries the sing and the
+     * description is a reference to {@link ArchiveTable#TABLE_DESCRIPTIONS}.
+     */
+    public static final String CREATION_TABLE_ARCHIVE =
+            "CREATE TABLE " + TABLE_ARCHIVE + " (" +
+                    ArchiveTable._ID + " INTEGER PRIMARY KEY NOT NULL," +
+                    ArchiveTable.ARCHIVE_AMOUNT + " INTEGER NOT NULL," +
+                    ArchiveTable.ARCHIVE_DATE + " INTEGER NOT NULL," +
+                    ArchiveTable.ID_DESCRIPTION + " INTEGER," +
+                    ArchiveTable.ID_ACCOUNT + " INTEGER NOT NULL," +
+                    ArchiveTable.ID_CATEGORY + " INTEGER," +
+                    ArchiveTable.ARCHIVE_TAGS + " INTEGER NOT NULL DEFAULT 0);";
+
+    /**
+     * Create sentence for the dictionary of the archived descriptions.
+     */
+    public static final String CREATION_TABLE_DESCRIPTIONS =
+            "CREATE TABLE " + TABLE_DESCRIPTIONS + " (" +
+                    ArchiveTable._ID + " INTEGER PRIMARY KEY NOT NULL," +
+                    DESCRIPTION_TEXT + " TEXT NOT NULL UNIQUE);";
+
+    /**
+     * Columns of the movements.
+     */
+    public static final String MOVEMENT_COLUMNS = MovementsTable._ID + ", " +
+            MOVEMENTS_AMOUNT + ", " + MOVEMENTS_DESCRIPTION + ", " + MOVEMENTS_DATE + ", " +
+            MOVEMENTS_SING + ", " + ID_ACCOUNT + ", " + ID_CATEGORY + ", " + MOVEMENTS_TAGS;
+
+    /**
+     * Columns of the archived movements "a" expanded to the columns of the movements,
+     * followed by the archive joined with the dictionary "d" of its descriptions.
+     */
+    public static final String ARCHIVE_COLUMNS = "a." + ArchiveTable._ID + ", ABS(a." +
+            ArchiveTable.ARCHIVE_AMOUNT + "), d." + DESCRIPTION_TEXT + ", a." +
+            ArchiveTable.ARCHIVE_DATE + ", CASE WHEN a." + ArchiveTable.ARCHIVE_AMOUNT +
+            " < 0 THEN '" + BalanceRules.NEGATIVE_SING + "' ELSE '+' END, a." +
+            ArchiveTable.ID_ACCOUNT + ", a." + ArchiveTable.ID_CATEGORY + ", a." +
+            ArchiveTable.ARCHIVE_TAGS + " FROM " + TABLE_ARCHIVE + " a LEFT JOIN " +
+            TABLE_DESCRIPTIONS + " d ON d." + ArchiveTable._ID + " = a." +
+            ArchiveTable.ID_DESCRIPTION;
+
+    /**
+     * Create sentence for the view with the current and the archived movements, the
+     * archived rows are expanded to the columns of the movements, with their category
+     * and tags.
+     */
+    public static final String CREATION_VIEW_ALL_MOVEMENTS =
+            "CREATE VIEW " + VIEW_ALL_MOVEMENTS + " AS SELECT " + MOVEMENT_COLUMNS +
+                    " FROM " + TABLE_MOVEMENTS + " UNION ALL SELECT " + ARCHIVE_COLUMNS + ";";
+
+    /**
+     * Create sentence for the full-text index of the descriptions.
+     */
+    public static final String CREATION_TABLE_SEARCH = "CREATE VIRTUAL TABLE " +
+            TABLE_SEARCH + " USING fts4(" + SEARCH_DESCRIPTION + ");";
+
+    /**
+     * Create sentences of the tables and the views, in the order of their references.
+     */
+    public static final String[] CREATION_TABLES = new String[] {
+            CREATION_TABLE_PERIODS,
+            CREATION_TABLE_ACCOUNTS,
+            CREATION_TABLE_CATEGORIES,
+            CREATION_TABLE_TAGS,
+            CREATION_TABLE_MOVEMENTS,
+            CREATION_TABLE_AGGREGATES,
+            CREATION_TABLE_ARCHIVE,
+            CREATION_TABLE_DESCRIPTIONS,
+            CREATION_VIEW_ALL_MOVEMENTS,
+            CREATION_TABLE_SEARCH
+    };
+
+    /**
+     * Create sentences for the triggers that keep the full-text index in sync with
+     * the movements. The rollover deletes the movements after copying them to the
+     * archive, so the rows of the archived movements are kept.
+     */
+    public static final String[] CREATION_TRIGGERS = new String[] {
+            "CREATE TRIGGER " + SearchTable.TRIGGER_INSERT + " AFTER INSERT ON " +
+                    TABLE_MOVEMENTS + " WHEN new." + MOVEMENTS_DESCRIPTION +
+                    " IS NOT NULL BEGIN INSERT INTO " + TABLE_SEARCH + " (" + DOCID + ", " +
+                    SEARCH_DESCRIPTION + ") VALUES (new." + MovementsTable._ID + ", new." +
+                    MOVEMENTS_DESCRIPTION + "); END;",
+            "CREATE TRIGGER " + SearchTable.TRIGGER_UPDATE + " AFTER UPDATE OF " +
+                    MOVEMENTS_DESCRIPTION + " ON " + TABLE_MOVEMENTS + " BEGIN DELETE FROM " +
+                    TABLE_SEARCH + " WHERE " + DOCID + " = old." + MovementsTable._ID +
+                    "; INSERT INTO " + TABLE_SEARCH + " (" + DOCID + ", " + SEARCH_DESCRIPTION +
+                    ") SELECT new." + MovementsTable._ID + ", new." + MOVEMENTS_DESCRIPTION +
+                    " WHERE new." + MOVEMENTS_DESCRIPTION + " IS NOT NULL; END;",
+            "CREATE TRIGGER " + SearchTable.TRIGGER_DELETE + " AFTER DELETE ON " +
+                    TABLE_MOVEMENTS + " WHEN NOT EXISTS (SELECT 1 FROM " + TABLE_ARCHIVE +
+                    " WHERE " + ArchiveTable._ID + " = old." + MovementsTable._ID +
+                    ") BEGIN DELETE FROM " + TABLE_SEARCH + " WHERE " + DOCID + " = old." +
+                    MovementsTable._ID + "; END;"
+    };
+
+    /**
+     * Create sentences of the secondary indexes, every query of the managers must be
+     * answered with them.
+     */
+    public static final String[] CREATION_INDEXES = new String[] {
+            "CREATE INDEX IF NOT EXISTS " + PeriodTable.INDEX_ACTIVE + " ON " + TABLE_PERIODS +
+                    "(" + ACTIVE + ");",
+            "CREATE INDEX IF NOT EXISTS " + AccountTable.INDEX_PERIOD + " ON " +
+                    TABLE_ACCOUNTS + "(" + AccountTable.ID_PERIOD + ");",
+            "CREATE INDEX IF NOT EXISTS " + MovementsTable.INDEX_ACCOUNT_DATE + " ON " +
+                    TABLE_MOVEMENTS + "(" + ID_ACCOUNT + ", " + MOVEMENTS_DATE + ");",
+            "CREATE INDEX IF NOT EXISTS " + MovementsTable.INDEX_DATE + " ON " +
+                    TABLE_MOVEMENTS + "(" + MOVEMENTS_DATE + ");",
+            "CREATE INDEX IF NOT EXISTS " + ArchiveTable.INDEX_ACCOUNT_DATE + " ON " +
+                    TABLE_ARCHIVE + "(" + ArchiveTable.ID_ACCOUNT + ", " +
+                    ArchiveTable.ARCHIVE_DATE + ");",
+            "CREATE INDEX IF NOT EXISTS " + ArchiveTable.INDEX_DATE + " ON " +
+                    TABLE_ARCHIVE + "(" + ArchiveTable.ARCHIVE_DATE + ");",
+            "CREATE INDEX IF NOT EXISTS " + MovementsTable.INDEX_ACCOUNT_CATEGORY + " ON " +
+                    TABLE_MOVEMENTS + "(" + ID_ACCOUNT + ", " + ID_CATEGORY + ", " +
+                    MOVEMENTS_TAGS + ", " + MOVEMENTS_SING + ", " + MOVEMENTS_AMOUNT + ");",
+            "CREATE INDEX IF NOT EXISTS " + ArchiveTable.INDEX_ACCOUNT_CATEGORY + " ON " +
+                    TABLE_ARCHIVE + "(" + ArchiveTable.ID_ACCOUNT + ", " +
+                    ArchiveTable.ID_CATEGORY + ", " + ArchiveTable.ARCHIVE_TAGS + ", " +
+                    ArchiveTable.ARCHIVE_AMOUNT + ");"
+    };
+
+    /**
+     * Fills the full-text index with the descriptions of every movement, used when the
+     * movements are written before the triggers exist.
+     */
+    public static final String[] FILL_SEARCH = new String[] {
+            "INSERT INTO " + TABLE_SEARCH + " (" + DOCID + ", " + SEARCH_DESCRIPTION +
+                    ") SELECT " + MovementsTable._ID + ", " + MOVEMENTS_DESCRIPTION + " FROM " +
+                    VIEW_ALL_MOVEMENTS + " WHERE " + MOVEMENTS_DESCRIPTION + " IS NOT NULL;",
+            "INSERT INTO " + TABLE_SEARCH + " (" + TABLE_SEARCH + ") VALUES ('optimize');"
+    };
+
+    /**
+     * SQL expression with the first millisecond of the local day of a movement.
+     */
+    private static final String DAY_OF_MOVEMENT = "CAST(strftime('%s', " + MOVEMENTS_DATE +
+            " / 1000, 'unixepoch', 'localtime', 'start of day', 'utc') AS INTEGER) * 1000";
+
+    private static final String CREDIT_AMOUNT = "CASE WHEN " + MOVEMENTS_SING + " = '" +
+            BalanceRules.NEGATIVE_SING + "' THEN 0 ELSE ABS(" + MOVEMENTS_AMOUNT + ") END";
+
+    private static final String DEBIT_AMOUNT = "CASE WHEN " + MOVEMENTS_SING + " = '" +
+            BalanceRules.NEGATIVE_SING + "' THEN ABS(" + MOVEMENTS_AMOUNT + ") ELSE 0 END";
+
+    /**
+     * Columns of the aggregates table, in the order of the values of the inserts.
+     */
+    public static final String AGGREGATES_COLUMNS = " (" + SCOPE + ", " + SCOPE_ID + ", " +
+            DAY + ", " + CREDITS + ", " + DEBITS + ", " + OPENING + ") ";
+
+    /**
+     * Computes every row of the aggregates table again from the current and the
+     * archived movements: the daily totals of each account, then the totals of each
+     * account and then the totals of each period.
+     */
+    public static final String[] REBUILD_TOTALS = new String[] {
+            "DELETE FROM " + TABLE_AGGREGATES,
+            "INSERT INTO " + TABLE_AGGREGATES + AGGREGATES_COLUMNS + "SELECT " +
+                    SCOPE_ACCOUNT_DAY + ", " + ID_ACCOUNT + ", " + DAY_OF_MOVEMENT + ", SUM(" +
+                    CREDIT_AMOUNT + "), SUM(" + DEBIT_AMOUNT + "), 0 FROM " +
+                    VIEW_ALL_MOVEMENTS + " GROUP BY " + ID_ACCOUNT + ", " + DAY_OF_MOVEMENT,
+            "INSERT INTO " + TABLE_AGGREGATES + AGGREGATES_COLUMNS + "SELECT " +
+                    SCOPE_ACCOUNT + ", " + AccountTable.FULL_ID + ", " + ALL_DAYS +
+                    ", IFNULL(SUM(d." + CREDITS + "), 0), IFNULL(SUM(d." + DEBITS + "), 0), " +
+                    AccountTable.FULL_INITIAL_BALANCE + " FROM " + TABLE_ACCOUNTS +
+                    " LEFT JOIN " + TABLE_AGGREGATES + " d ON d." + SCOPE + " = " +
+                    SCOPE_ACCOUNT_DAY + " AND d." + SCOPE_ID + " = " + AccountTable.FULL_ID +
+                    " GROUP BY " + AccountTable.FULL_ID,
+            "INSERT INTO " + TABLE_AGGREGATES + AGGREGATES_COLUMNS + "SELECT " +
+                    SCOPE_PERIOD + ", " + PeriodTable.FULL_ID + ", " + ALL_DAYS +
+                    ", IFNULL(SUM(a." + CREDITS + "), 0), IFNULL(SUM(a." + DEBITS + "), 0), " +
+                    "IFNULL(SUM(a." + OPENING + "), 0) FROM " + TABLE_PERIODS +
+                    " LEFT JOIN " + TABLE_ACCOUNTS + " ON " + AccountTable.FULL_ID_PERIOD +
+                    " = " + PeriodTable.FULL_ID + " LEFT JOIN " + TABLE_AGGREGATES + " a ON a." +
+                    SCOPE + " = " + SCOPE_ACCOUNT + " AND a." + SCOPE_ID + " = " +
+                    AccountTable.FULL_ID + " GROUP BY " + PeriodTable.FULL_ID
+    };
+
+    private LedgerSchema() {
+        // Only static members.
+    }
+}
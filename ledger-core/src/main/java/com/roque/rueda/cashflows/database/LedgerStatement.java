@@ -0,0 +1,76 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database;
+
+/**
+ * Compiled statement of a {@link LedgerConnection}, the part of the SQLiteStatement
+ * API used by the writes of the movements. The indexes of the arguments start at 1.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public interface LedgerStatement {
+
+    /**
+     * Binds a long to an argument.
+     * @param index Index of the argument, starting at 1.
+     * @param value Value of the argument.
+     */
+    void bindLong(int index, long value);
+
+    /**
+     * Binds a string to an argument.
+     * @param index Index of the argument, starting at 1.
+     * @param value Value of the argument, not null.
+     */
+    void bindString(int index, String value);
+
+    /**
+     * Binds null to an argument.
+     * @param index Index of the argument, starting at 1.
+     */
+    void bindNull(int index);
+
+    /**
+     * Clears the values bound to the arguments.
+     */
+    void clearBindings();
+
+    /**
+     * Executes an INSERT.
+     * @return Row id of the inserted row or -1 if no row was inserted.
+     */
+    long executeInsert();
+
+    /**
+     * Executes an UPDATE or a DELETE.
+     * @return Number of rows changed.
+     */
+    int executeUpdateDelete();
+
+    /**
+     * Executes a query that returns one row with one number.
+     * @return Value of the first column of the first row.
+     */
+    long simpleQueryForLong();
+
+    /**
+     * Releases the statement.
+     */
+    void close();
+}
@@ -0,0 +1,525 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database;
+
+import static com.roque.rueda.cashflows.database.AggregatesTable.ALL_DAYS;
+import static com.roque.rueda.cashflows.database.AggregatesTable.CREDITS;
+import static com.roque.rueda.cashflows.database.AggregatesTable.DAY;
+import static com.roque.rueda.cashflows.database.AggregatesTable.DEBITS;
+import static com.roque.rueda.cashflows.database.AggregatesTable.SCOPE;
+import static com.roque.rueda.cashflows.database.AggregatesTable.SCOPE_ACCOUNT;
+import static com.roque.rueda.cashflows.database.AggregatesTable.SCOPE_ACCOUNT_DAY;
+import static com.roque.rueda.cashflows.database.AggregatesTable.SCOPE_ID;
+import static com.roque.rueda.cashflows.database.AggregatesTable.SCOPE_PERIOD;
+import static com.roque.rueda.cashflows.database.AggregatesTable.TABLE_AGGREGATES;
+import static com.roque.rueda.cashflows.database.LedgerSchema.AGGREGATES_COLUMNS;
+import static com.roque.rueda.cashflows.database.MovementsTable.ID_ACCOUNT;
+import static com.roque.rueda.cashflows.database.MovementsTable.ID_CATEGORY;
+import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_AMOUNT;
+import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_DATE;
+import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_DESCRIPTION;
+import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_SING;
+import static com.roque.rueda.cashflows.database.MovementsTable.MOVEMENTS_TAGS;
+import static com.roque.rueda.cashflows.database.MovementsTable.TABLE_MOVEMENTS;
+
+import java.util.Calendar;
+
+import com.roque.rueda.cashflows.ledger.BalanceRules;
+import com.roque.rueda.cashflows.ledger.TagMask;
+import com.roque.rueda.cashflows.model.Movement;
+
+/**
+ * Writes the movements with statements compiled once for the lifetime of the
+ * connection, the values are bound as primitives.
+ *
+ * Every write keeps the running balance of the account and the totals of the
+ * aggregates table in the same transaction: the totals of the account, the totals of
+ * the account in the local day of the movement and the totals of the period of the
+ * account. The application runs it over its SQLiteDatabase and the benchmarks over
+ * JDBC, so both measure the same statements.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class MovementWrites {
+
+    /**
+     * Receives the changes after they are written.
+     */
+    public interface Listener {
+
+        /**
+         * Called after a write ended successfully. When the caller has its own
+         * transaction the change is not committed yet.
+         * @param idAccount Account whose movements changed.
+         * @param delta Signed amount added to the balance of the account.
+         * @param rewritten true if an existing movement was changed or deleted.
+         */
+        void onMovementsChanged(long idAccount, long delta, boolean rewritten);
+    }
+
+    /**
+     * Inserts a movement, arguments: amount, description, date, sing, account,
+     * category and tags.
+     */
+    public static final String INSERT = "INSERT INTO " + TABLE_MOVEMENTS + " (" +
+            MOVEMENTS_AMOUNT + ", " + MOVEMENTS_DESCRIPTION + ", " + MOVEMENTS_DATE + ", " +
+            MOVEMENTS_SING + ", " + ID_ACCOUNT + ", " + ID_CATEGORY + ", " + MOVEMENTS_TAGS +
+            ") VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Changes a movement, arguments: amount, description, date, sing, movement.
+     */
+    public static final String UPDATE = "UPDATE " + TABLE_MOVEMENTS + " SET " +
+            MOVEMENTS_AMOUNT + " = ?, " + MOVEMENTS_DESCRIPTION + " = ?, " +
+            MOVEMENTS_DATE + " = ?, " + MOVEMENTS_SING + " = ? WHERE " +
+            MovementsTable._ID + " = ?";
+
+    /**
+     * Changes the category and the tags of a movement, arguments: category, tags,
+     * movement.
+     */
+    public static final String CLASSIFY = "UPDATE " + TABLE_MOVEMENTS + " SET " +
+            ID_CATEGORY + " = ?, " + MOVEMENTS_TAGS + " = ? WHERE " + MovementsTable._ID +
+            " = ?";
+
+    /**
+     * Deletes a movement, arguments: movement.
+     */
+    public static final String DELETE = "DELETE FROM " + TABLE_MOVEMENTS + " WHERE " +
+            MovementsTable._ID + " = ?";
+
+    /**
+     * Gets the amount, the sing, the account and the date of a movement, arguments:
+     * movement.
+     */
+    public static final String LEDGER_VALUES = "SELECT " + MOVEMENTS_AMOUNT + ", " +
+            MOVEMENTS_SING + ", " + ID_ACCOUNT + ", " + MOVEMENTS_DATE + " FROM " +
+            TABLE_MOVEMENTS + " WHERE " + MovementsTable._ID + " = ?";
+
+    /**
+     * Adds a delta to the running balance of an account, arguments: delta, account.
+     */
+    public static final String APPLY_DELTA = "UPDATE " + AccountTable.TABLE_ACCOUNTS +
+            " SET " + AccountTable.ACCOUNT_END_BALANCE + " = IFNULL(" +
+            AccountTable.ACCOUNT_END_BALANCE + ", 0) + ? WHERE " + AccountTable._ID + " = ?";
+
+    /**
+     * Adds credits and debits to a row, arguments: credits, debits, scope, scope id, day.
+     */
+    public static final String ADD_TOTALS = "UPDATE " + TABLE_AGGREGATES + " SET " +
+            CREDITS + " = " + CREDITS + " + ?, " + DEBITS + " = " + DEBITS + " + ? WHERE " +
+            SCOPE + " = ? AND " + SCOPE_ID + " = ? AND " + DAY + " = ?";
+
+    /**
+     * Creates the daily row of an account, arguments: account, day.
+     */
+    public static final String ENSURE_ACCOUNT_DAY = "INSERT OR IGNORE INTO " +
+            TABLE_AGGREGATES + AGGREGATES_COLUMNS + "VALUES (" + SCOPE_ACCOUNT_DAY +
+            ", ?, ?, 0, 0, 0)";
+
+    /**
+     * Creates the row of an account, arguments: account.
+     */
+    public static final String ENSURE_ACCOUNT = "INSERT OR IGNORE INTO " + TABLE_AGGREGATES +
+            AGGREGATES_COLUMNS + "SELECT " + SCOPE_ACCOUNT + ", " + AccountTable._ID + ", " +
+            ALL_DAYS + ", 0, 0, " + AccountTable.ACCOUNT_INITIAL_BALANCE + " FROM " +
+            AccountTable.TABLE_ACCOUNTS + " WHERE " + AccountTable._ID + " = ?";
+
+    /**
+     * Creates the row of the period of an account, arguments: account.
+     */
+    public static final String ENSURE_PERIOD = "INSERT OR IGNORE INTO " + TABLE_AGGREGATES +
+            AGGREGATES_COLUMNS + "SELECT " + SCOPE_PERIOD + ", " + AccountTable.ID_PERIOD +
+            ", " + ALL_DAYS + ", 0, 0, (SELECT IFNULL(SUM(p." +
+            AccountTable.ACCOUNT_INITIAL_BALANCE + "), 0) FROM " +
+            AccountTable.TABLE_ACCOUNTS + " p WHERE p." + AccountTable.ID_PERIOD + " = " +
+            AccountTable.FULL_ID_PERIOD + ") FROM " + AccountTable.TABLE_ACCOUNTS +
+            " WHERE " + AccountTable._ID + " = ?";
+
+    /**
+     * Gets the period of an account, arguments: account.
+     */
+    public static final String PERIOD_OF_ACCOUNT = "SELECT " + AccountTable.ID_PERIOD +
+            " FROM " + AccountTable.TABLE_ACCOUNTS + " WHERE " + AccountTable._ID + " = ?";
+
+    private final LedgerConnection mDb;
+    private final Listener mListener;
+    private final LedgerStatement mInsert;
+    private final LedgerStatement mUpdate;
+    private final LedgerStatement mClassify;
+    private final LedgerStatement mDelete;
+    private final LedgerStatement mApplyDelta;
+    private final LedgerStatement mAddTotals;
+    private final LedgerStatement mEnsureAccountDay;
+    private final LedgerStatement mEnsureAccount;
+    private final LedgerStatement mEnsurePeriod;
+    private final LedgerStatement mPeriodOfAccount;
+
+    /**
+     * Compiles the statements over the given connection.
+     * @param db Writable connection, the statements live as long as this connection.
+     * @param listener Optional listener of the changes.
+     */
+    public MovementWrites(LedgerConnection db, Listener listener) {
+        mDb = db;
+        mListener = listener;
+        mInsert = db.compileStatement(INSERT);
+        mUpdate = db.compileStatement(UPDATE);
+        mClassify = db.compileStatement(CLASSIFY);
+        mDelete = db.compileStatement(DELETE);
+        mApplyDelta = db.compileStatement(APPLY_DELTA);
+        mAddTotals = db.compileStatement(ADD_TOTALS);
+        mEnsureAccountDay = db.compileStatement(ENSURE_ACCOUNT_DAY);
+        mEnsureAccount = db.compileStatement(ENSURE_ACCOUNT);
+        mEnsurePeriod = db.compileStatement(ENSURE_PERIOD);
+        mPeriodOfAccount = db.compileStatement(PERIOD_OF_ACCOUNT);
+    }
+
+    /**
+     * Gets the first millisecond of the local day of a date, the same value the
+     * rebuild of the totals computes in SQL.
+     * @param millis Date in milliseconds since the epoch.
+     * @return First millisecond of the day in the default time zone.
+     */
+    public static long dayOf(long millis) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(millis);
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        return calendar.getTimeInMillis();
+    }
+
+    /**
+     * Saves a new movement with its category and tags and adds it to the balance and
+     * the totals of its account.
+     * @param amount Amount in minor units.
+     * @param description Description of the movement, may be null.
+     * @param date Date in milliseconds since the epoch.
+     * @param sing Sing of the movement ("+" or "-").
+     * @param idAccount Account of the movement.
+     * @param idCategory Category of the movement or {@link Movement#NO_CATEGORY}.
+     * @param tags Tags of the movement, see {@link TagMask}.
+     * @return Identifier of the new movement or -1 if the account doesn't exist.
+     */
+    public long insert(long amount, String description, long date, String sing,
+                       long idAccount, long idCategory, long tags) {
+        long id;
+        long delta = BalanceRules.signedAmount(sing, amount);
+        mDb.beginTransaction();
+        try {
+            id = insertWithoutBalance(amount, description, date, sing, idAccount, idCategory,
+                    tags);
+            if (id == -1 || !applyDelta(idAccount, delta)) {
+                return -1;
+            }
+            applyMovementTotals(idAccount, date, sing, amount, 1);
+            mDb.setTransactionSuccessful();
+        } finally {
+            mDb.endTransaction();
+        }
+
+        notifyChange(idAccount, delta, false);
+        return id;
+    }
+
+    /**
+     * Saves a new movement without touching the balance nor the totals of its account,
+     * the caller must apply the amount with {@link #applyDelta(long, long)} and
+     * {@link #applyTotals(long, long, long, long)} in the same transaction.
+     * @param amount Amount in minor units.
+     * @param description Description of the movement, may be null.
+     * @param date Date in milliseconds since the epoch.
+     * @param sing Sing of the movement ("+" or "-").
+     * @param idAccount Account of the movement.
+     * @param idCategory Category of the movement or {@link Movement#NO_CATEGORY}.
+     * @param tags Tags of the movement, see {@link TagMask}.
+     * @return Identifier of the new movement.
+     */
+    public long insertWithoutBalance(long amount, String description, long date, String sing,
+                                     long idAccount, long idCategory, long tags) {
+        try {
+            mInsert.bindLong(1, amount);
+            bindStringOrNull(mInsert, 2, description);
+            mInsert.bindLong(3, date);
+            mInsert.bindString(4, sing);
+            mInsert.bindLong(5, idAccount);
+            bindCategory(mInsert, 6, idCategory);
+            mInsert.bindLong(7, tags);
+            return mInsert.executeInsert();
+        } finally {
+            mInsert.clearBindings();
+        }
+    }
+
+    /**
+     * Changes a movement and replaces its old amount in the balance and the totals of
+     * its account.
+     * @param id Identifier of the movement.
+     * @param amount New amount in minor units.
+     * @param description New description, may be null.
+     * @param date New date in milliseconds since the epoch.
+     * @param sing New sing of the movement.
+     * @return true if the movement was updated.
+     */
+    public boolean update(long id, long amount, String description, long date, String sing) {
+        boolean updated;
+        long idAccount;
+        long delta;
+        mDb.beginTransaction();
+        try {
+            LedgerCursor previous = queryLedgerValues(id);
+            try {
+                if (!previous.moveToFirst()) {
+                    return false;
+                }
+                idAccount = previous.getLong(2);
+
+                mUpdate.bindLong(1, amount);
+                bindStringOrNull(mUpdate, 2, description);
+                mUpdate.bindLong(3, date);
+                mUpdate.bindString(4, sing);
+                mUpdate.bindLong(5, id);
+                updated = mUpdate.executeUpdateDelete() > 0;
+
+                delta = BalanceRules.signedAmount(sing, amount) -
+                        BalanceRules.signedAmount(previous.getString(1), previous.getLong(0));
+                applyDelta(idAccount, delta);
+
+                // The day and the sing may change, move the amount between the totals.
+                applyMovementTotals(idAccount, previous.getLong(3), previous.getString(1),
+                        previous.getLong(0), -1);
+                applyMovementTotals(idAccount, date, sing, amount, 1);
+                mDb.setTransactionSuccessful();
+            } finally {
+                previous.close();
+            }
+        } finally {
+            mUpdate.clearBindings();
+            mDb.endTransaction();
+        }
+
+        notifyChange(idAccount, delta, true);
+        return updated;
+    }
+
+    /**
+     * Changes the category and the tags of a movement, the balance and the totals
+     * don't change.
+     * @param id Identifier of the movement.
+     * @param idCategory New category or {@link Movement#NO_CATEGORY}.
+     * @param tags New tags, see {@link TagMask}.
+     * @return true if the movement was updated.
+     */
+    public boolean classify(long id, long idCategory, long tags) {
+        long idAccount;
+        LedgerCursor previous = queryLedgerValues(id);
+        try {
+            if (!previous.moveToFirst()) {
+                return false;
+            }
+            idAccount = previous.getLong(2);
+        } finally {
+            previous.close();
+        }
+
+        boolean updated;
+        try {
+            bindCategory(mClassify, 1, idCategory);
+            mClassify.bindLong(2, tags);
+            mClassify.bindLong(3, id);
+            updated = mClassify.executeUpdateDelete() > 0;
+        } finally {
+            mClassify.clearBindings();
+        }
+
+        notifyChange(idAccount, 0, false);
+        return updated;
+    }
+
+    /**
+     * Deletes a movement and takes its amount out of the balance and the totals of its
+     * account.
+     * @param id Identifier of the movement.
+     * @return true if the movement was deleted.
+     */
+    public boolean delete(long id) {
+        boolean deleted;
+        long idAccount;
+        long delta;
+        mDb.beginTransaction();
+        try {
+            LedgerCursor previous = queryLedgerValues(id);
+            try {
+                if (!previous.moveToFirst()) {
+                    return false;
+                }
+                idAccount = previous.getLong(2);
+
+                mDelete.bindLong(1, id);
+                deleted = mDelete.executeUpdateDelete() > 0;
+
+                delta = -BalanceRules.signedAmount(previous.getString(1), previous.getLong(0));
+                applyDelta(idAccount, delta);
+                applyMovementTotals(idAccount, previous.getLong(3), previous.getString(1),
+                        previous.getLong(0), -1);
+                mDb.setTransactionSuccessful();
+            } finally {
+                previous.close();
+            }
+        } finally {
+            mDelete.clearBindings();
+            mDb.endTransaction();
+        }
+
+        notifyChange(idAccount, delta, true);
+        return deleted;
+    }
+
+    /**
+     * Adds a delta to the running balance of an account.
+     * @param idAccount Account identifier.
+     * @param delta Signed amount in minor units.
+     * @return true if the account was updated.
+     */
+    public boolean applyDelta(long idAccount, long delta) {
+        mApplyDelta.bindLong(1, delta);
+        mApplyDelta.bindLong(2, idAccount);
+        try {
+            return mApplyDelta.executeUpdateDelete() > 0;
+        } finally {
+            mApplyDelta.clearBindings();
+        }
+    }
+
+    /**
+     * Adds credits and debits to the daily, the account and the period totals of an
+     * account.
+     * @param idAccount Account identifier.
+     * @param day First millisecond of the local day, see {@link #dayOf(long)}.
+     * @param credits Minor units added to the credits, negative to take them out.
+     * @param debits Minor units added to the debits, negative to take them out.
+     */
+    public void applyTotals(long idAccount, long day, long credits, long debits) {
+        addTotals(SCOPE_ACCOUNT_DAY, idAccount, day, credits, debits, idAccount);
+        addTotals(SCOPE_ACCOUNT, idAccount, ALL_DAYS, credits, debits, idAccount);
+
+        mPeriodOfAccount.bindLong(1, idAccount);
+        long idPeriod;
+        try {
+            idPeriod = mPeriodOfAccount.simpleQueryForLong();
+        } finally {
+            mPeriodOfAccount.clearBindings();
+        }
+        addTotals(SCOPE_PERIOD, idPeriod, ALL_DAYS, credits, debits, idAccount);
+    }
+
+    /**
+     * Releases the compiled statements.
+     */
+    public void close() {
+        mInsert.close();
+        mUpdate.close();
+        mDelete.close();
+        mClassify.close();
+        mApplyDelta.close();
+        mAddTotals.close();
+        mEnsureAccountDay.close();
+        mEnsureAccount.close();
+        mEnsurePeriod.close();
+        mPeriodOfAccount.close();
+    }
+
+    private void notifyChange(long idAccount, long delta, boolean rewritten) {
+        if (mListener != null) {
+            mListener.onMovementsChanged(idAccount, delta, rewritten);
+        }
+    }
+
+    /**
+     * Adds or takes out a movement from the totals of its account.
+     * @param direction 1 to add the movement, -1 to take it out.
+     */
+    private void applyMovementTotals(long idAccount, long date, String sing, long amount,
+                                     int direction) {
+        long value = direction * Math.abs(amount);
+        boolean debit = BalanceRules.NEGATIVE_SING.equals(sing);
+        applyTotals(idAccount, dayOf(date), debit ? 0 : value, debit ? value : 0);
+    }
+
+    /**
+     * Adds credits and debits to one row, the row is created the first time.
+     */
+    private void addTotals(int scope, long scopeId, long day, long credits, long debits,
+                           long idAccount) {
+        if (updateTotals(scope, scopeId, day, credits, debits)) {
+            return;
+        }
+
+        LedgerStatement ensure;
+        if (scope == SCOPE_ACCOUNT_DAY) {
+            ensure = mEnsureAccountDay;
+            ensure.bindLong(1, scopeId);
+            ensure.bindLong(2, day);
+        } else {
+            ensure = scope == SCOPE_ACCOUNT ? mEnsureAccount : mEnsurePeriod;
+            ensure.bindLong(1, idAccount);
+        }
+        try {
+            ensure.executeInsert();
+        } finally {
+            ensure.clearBindings();
+        }
+        updateTotals(scope, scopeId, day, credits, debits);
+    }
+
+    private boolean updateTotals(int scope, long scopeId, long day, long credits, long debits) {
+        mAddTotals.bindLong(1, credits);
+        mAddTotals.bindLong(2, debits);
+        mAddTotals.bindLong(3, scope);
+        mAddTotals.bindLong(4, scopeId);
+        mAddTotals.bindLong(5, day);
+        try {
+            return mAddTotals.executeUpdateDelete() > 0;
+        } finally {
+            mAddTotals.clearBindings();
+        }
+    }
+
+    private LedgerCursor queryLedgerValues(long id) {
+        return mDb.rawQuery(LEDGER_VALUES, new String[]{ String.valueOf(id) });
+    }
+
+    private static void bindStringOrNull(LedgerStatement statement, int index, String value) {
+        if (value == null) {
+            statement.bindNull(index);
+        } else {
+            statement.bindString(index, value);
+        }
+    }
+
+    private static void bindCategory(LedgerStatement statement, int index, long idCategory) {
+        if (idCategory == Movement.NO_CATEGORY) {
+            statement.bindNull(index);
+        } else {
+            statement.bindLong(index, idCategory);
+        }
+    }
+}
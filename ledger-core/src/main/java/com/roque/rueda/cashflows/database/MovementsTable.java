@@ -15,8 +15,6 @@
  */
 package com.roque.rueda.cashflows.database;
 
-import android.provider.BaseColumns;
-
 /**
  * 
  * Contains the constants to handle the database communication
@@ -27,7 +25,7 @@ import android.provider.BaseColumns;
  * @version 1.0
  *
  */
-public interface MovementsTable extends BaseColumns {
+public interface MovementsTable extends LedgerColumns {
 	
 	/**
 	 * Table name to store the daily cash movements.
@@ -38,7 +36,7 @@ public interface MovementsTable extends BaseColumns {
 	
 	/**
 	 * Column name to storage the amount of money that
-	 * is move.<b>TYPE REAL</b>.
+	 * is move in minor units (cents).<b>TYPE INTEGER</b>.
 	 */
 	public static final String MOVEMENTS_AMOUNT = "amount";
 	public static final String FULL_MOVEMENTS_AMOUNT = TABLE_MOVEMENTS + "." + MOVEMENTS_AMOUNT;
@@ -52,8 +50,8 @@ public interface MovementsTable extends BaseColumns {
 	+ MOVEMENTS_DESCRIPTION;
 	
 	/**
-	 * Column name to storage the date of the movement.
-	 * <b>TYPE DATETIME</b>.
+	 * Column name to storage the date of the movement as
+	 * milliseconds since the epoch. <b>TYPE INTEGER</b>.
 	 */
 	public static final String MOVEMENTS_DATE = "date";
 	public static final String FULL_MOVEMENTS_DATE = TABLE_MOVEMENTS + "." + MOVEMENTS_DATE;
@@ -72,5 +70,40 @@ public interface MovementsTable extends BaseColumns {
 	 */
 	public static final String ID_ACCOUNT = "id_account";
 	public static final String FULL_ID_ACCOUNT = TABLE_MOVEMENTS + "." + ID_ACCOUNT;
+
+	/**
+	 * Column name used to related a movement with its category, null if
+	 * it has none. <b>TYPE INTEGER</b>.
+	 */
+	public static final String ID_CATEGORY = "id_category";
+	public static final String FULL_ID_CATEGORY = TABLE_MOVEMENTS + "." + ID_CATEGORY;
+
+	/**
+	 * Column name to storage the tags of the movement, one bit per tag of
+	 * {@link TagTable}. <b>TYPE INTEGER</b>.
+	 */
+	public static final String MOVEMENTS_TAGS = "tags";
+	public static final String FULL_MOVEMENTS_TAGS = TABLE_MOVEMENTS + "." + MOVEMENTS_TAGS;
+
+	/**
+	 * Index over the account and the date of the movements, used to
+	 * seek the movements of an account in a range of dates.
+	 * <i>Index Name</i>.
+	 */
+	public static final String INDEX_ACCOUNT_DATE = "money_movements_account_date";
+
+	/**
+	 * Index over the date of the movements, used by the day queries that
+	 * don't filter by account.
+	 * <i>Index Name</i>.
+	 */
+	public static final String INDEX_DATE = "money_movements_date";
+
+	/**
+	 * Index over the account, the category, the tags and the amount of the
+	 * movements, it covers the filters and the totals by category and tag.
+	 * <i>Index Name</i>.
+	 */
+	public static final String INDEX_ACCOUNT_CATEGORY = "money_movements_account_category";
 	
 }
@@ -15,8 +15,6 @@
  */
 package com.roque.rueda.cashflows.database;
 
-import android.provider.BaseColumns;
-
 /**
  * 
  * Contains the constants to handle the database communication
@@ -27,7 +25,7 @@ import android.provider.BaseColumns;
  * @version 1.0
  *
  */
-public interface PeriodTable extends BaseColumns {
+public interface PeriodTable extends LedgerColumns {
 	
 	/**
 	 * Table name to store the daily Period.
@@ -63,5 +61,11 @@ public interface PeriodTable extends BaseColumns {
 	 */
 	public static final String ACTIVE = "active";
 	public static final String FULL_ACTIVE = TABLE_PERIODS + "." + ACTIVE;
+
+	/**
+	 * Index over the active value, used to find the current period.
+	 * <i>Index Name</i>.
+	 */
+	public static final String INDEX_ACTIVE = "periods_active";
 	
 }
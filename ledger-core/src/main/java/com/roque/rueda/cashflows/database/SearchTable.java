@@ -0,0 +1,74 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database;
+
+/**
+ *
+ * Contains the constants to handle the database communication
+ * for the full-text index of the descriptions. It's an FTS4 table
+ * where the docid of each row is the identifier of the movement, so
+ * it covers the current and the archived movements.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public interface SearchTable {
+
+	/**
+	 * Table name of the full-text index of the descriptions.
+	 * <i>Table Name</i>.
+	 */
+	public static final String TABLE_SEARCH = "movements_search";
+
+	/**
+	 * Column name of the row identifier, the same as the identifier of the
+	 * movement. <b>TYPE INTEGER</b>.
+	 */
+	public static final String DOCID = "docid";
+
+	/**
+	 * Column name to storage the indexed description. <b>TYPE TEXT</b>.
+	 */
+	public static final String SEARCH_DESCRIPTION = "description";
+
+	/**
+	 * Column name of the relevance of a result of the search, computed by the
+	 * query from the matches of each row. Higher is more relevant.
+	 * <b>TYPE INTEGER</b>.
+	 */
+	public static final String SEARCH_RELEVANCE = "relevance";
+
+	/**
+	 * Trigger that indexes the description of a new movement.
+	 * <i>Trigger Name</i>.
+	 */
+	public static final String TRIGGER_INSERT = "movements_search_insert";
+
+	/**
+	 * Trigger that indexes the description of an edited movement.
+	 * <i>Trigger Name</i>.
+	 */
+	public static final String TRIGGER_UPDATE = "movements_search_update";
+
+	/**
+	 * Trigger that removes the description of a deleted movement, unless the
+	 * movement was moved to the archive. <i>Trigger Name</i>.
+	 */
+	public static final String TRIGGER_DELETE = "movements_search_delete";
+
+}
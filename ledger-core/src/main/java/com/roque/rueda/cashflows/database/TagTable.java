@@ -0,0 +1,45 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database;
+
+/**
+ *
+ * Contains the constants to handle the database communication
+ * for the tags table. The identifier of a tag is its bit in the
+ * tags column of the movements, from 0 to 62.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public interface TagTable extends LedgerColumns {
+
+	/**
+	 * Table name to store the names of the tags.
+	 * <i>Table Name</i>.
+	 */
+	public static final String TABLE_TAGS = "tags";
+	public static final String FULL_ID = TABLE_TAGS + "." + _ID;
+
+	/**
+	 * Column name to storage the name of the tag, it's unique.
+	 * <b>TYPE TEXT</b>.
+	 */
+	public static final String TAG_NAME = "name";
+	public static final String FULL_TAG_NAME = TABLE_TAGS + "." + TAG_NAME;
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database.migration;
+
+/**
+ * Creates the aggregates table with the credits and debits of each account, each
+ * account and day, and each period, and fills it from the existing movements.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class AggregatesMigration extends Migration {
+
+    public AggregatesMigration() {
+        super(18, 19);
+    }
+
+    @Override
+    public void migrate(MigrationExecutor db) {
+        db.execSQL("CREATE TABLE aggregates (" +
+                "scope INTEGER NOT NULL," +
+                "scope_id INTEGER NOT NULL," +
+                "day INTEGER NOT NULL," +
+                "credits INTEGER NOT NULL," +
+                "debits INTEGER NOT NULL," +
+                "opening INTEGER NOT NULL," +
+                "PRIMARY KEY (scope, scope_id, day));");
+
+        // Daily totals of each account.
+        db.execSQL("INSERT INTO aggregates (scope, scope_id, day, credits, debits, opening) " +
+                "SELECT 1, id_account, CAST(strftime('%s', date / 1000, 'unixepoch', " +
+                "'localtime', 'start of day', 'utc') AS INTEGER) * 1000, " +
+                "SUM(CASE WHEN sing = '-' THEN 0 ELSE ABS(amount) END), " +
+                "SUM(CASE WHEN sing = '-' THEN ABS(amount) ELSE 0 END), 0 " +
+                "FROM money_movements GROUP BY id_account, CAST(strftime('%s', date / 1000, " +
+                "'unixepoch', 'localtime', 'start of day', 'utc') AS INTEGER) * 1000;");
+
+        // Totals of each account.
+        db.execSQL("INSERT INTO aggregates (scope, scope_id, day, credits, debits, opening) " +
+                "SELECT 0, accounts._id, -1, IFNULL(SUM(d.credits), 0), " +
+                "IFNULL(SUM(d.debits), 0), accounts.initial_balance FROM accounts " +
+                "LEFT JOIN aggregates d ON d.scope = 1 AND d.scope_id = accounts._id " +
+                "GROUP BY accounts._id;");
+
+        // Totals of each period.
+        db.execSQL("INSERT INTO aggregates (scope, scope_id, day, credits, debits, opening) " +
+                "SELECT 2, periods._id, -1, IFNULL(SUM(a.credits), 0), " +
+                "IFNULL(SUM(a.debits), 0), IFNULL(SUM(a.opening), 0) FROM periods " +
+                "LEFT JOIN accounts ON accounts.id_period = periods._id " +
+                "LEFT JOIN aggregates a ON a.scope = 0 AND a.scope_id = accounts._id " +
+                "GROUP BY periods._id;");
+    }
+}
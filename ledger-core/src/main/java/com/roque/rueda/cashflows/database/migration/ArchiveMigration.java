@@ -0,0 +1,45 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database.migration;
+
+/**
+ * Creates the archive table where the period rollover moves the movements of the
+ * closed periods.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class ArchiveMigration extends Migration {
+
+    public ArchiveMigration() {
+        super(19, 20);
+    }
+
+    @Override
+    public void migrate(MigrationExecutor db) {
+        db.execSQL("CREATE TABLE money_movements_archive (" +
+                "_id INTEGER PRIMARY KEY NOT NULL," +
+                "amount INTEGER NOT NULL," +
+                "description TEXT," +
+                "date INTEGER NOT NULL," +
+                "sing TEXT NOT NULL," +
+                "id_account INTEGER NOT NULL);");
+        db.execSQL("CREATE INDEX IF NOT EXISTS money_movements_archive_account_date " +
+                "ON money_movements_archive(id_account, date);");
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database.migration;
+
+/**
+ * Adds the categories and the tags of the movements, the category and the tags
+ * columns of the current and the archived movements and their indexes, and creates
+ * the view of all the movements again with the new columns.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class CategoriesMigration extends Migration {
+
+    public CategoriesMigration() {
+        super(22, 23);
+    }
+
+    @Override
+    public void migrate(MigrationExecutor db) {
+        db.execSQL("CREATE TABLE categories (" +
+                "_id INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL," +
+                "name TEXT NOT NULL UNIQUE);");
+        db.execSQL("CREATE TABLE tags (" +
+                "_id INTEGER PRIMARY KEY NOT NULL CHECK (_id BETWEEN 0 AND 62)," +
+                "name TEXT NOT NULL UNIQUE);");
+
+        db.execSQL("ALTER TABLE money_movements ADD COLUMN " +
+                "id_category INTEGER REFERENCES categories(_id);");
+        db.execSQL("ALTER TABLE money_movements ADD COLUMN tags INTEGER NOT NULL DEFAULT 0;");
+        db.execSQL("ALTER TABLE money_movements_archive ADD COLUMN id_category INTEGER;");
+        db.execSQL("ALTER TABLE money_movements_archive ADD COLUMN " +
+                "tags INTEGER NOT NULL DEFAULT 0;");
+
+        db.execSQL("CREATE INDEX IF NOT EXISTS money_movements_account_category " +
+                "ON money_movements(id_account, id_category, tags, sing, amount);");
+        db.execSQL("CREATE INDEX IF NOT EXISTS money_movements_archive_account_category " +
+                "ON money_movements_archive(id_account, id_category, tags, amount);");
+
+        db.execSQL("DROP VIEW all_movements;");
+        db.execSQL("CREATE VIEW all_movements AS " +
+                "SELECT _id, amount, description, date, sing, id_account, id_category, tags " +
+                "FROM money_movements " +
+                "UNION ALL SELECT a._id, ABS(a.amount), d.text, a.date, " +
+                "CASE WHEN a.amount < 0 THEN '-' ELSE '+' END, a.id_account, " +
+                "a.id_category, a.tags " +
+                "FROM money_movements_archive a " +
+                "LEFT JOIN archive_descriptions d ON d._id = a.id_description;");
+    }
+}
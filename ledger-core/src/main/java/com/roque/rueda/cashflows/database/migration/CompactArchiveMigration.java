@@ -0,0 +1,69 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database.migration;
+
+/**
+ * Stores the archive in a compact form, the amount carries the sing and each
+ * description is stored once, and creates the view with the current and the
+ * archived movements.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class CompactArchiveMigration extends Migration {
+
+    public CompactArchiveMigration() {
+        super(20, 21);
+    }
+
+    @Override
+    public void migrate(MigrationExecutor db) {
+        db.execSQL("CREATE TABLE archive_descriptions (" +
+                "_id INTEGER PRIMARY KEY NOT NULL," +
+                "text TEXT NOT NULL UNIQUE);");
+        db.execSQL("INSERT OR IGNORE INTO archive_descriptions (text) " +
+                "SELECT description FROM money_movements_archive " +
+                "WHERE description IS NOT NULL;");
+
+        db.execSQL("ALTER TABLE money_movements_archive RENAME TO money_movements_archive_old;");
+        db.execSQL("CREATE TABLE money_movements_archive (" +
+                "_id INTEGER PRIMARY KEY NOT NULL," +
+                "amount INTEGER NOT NULL," +
+                "date INTEGER NOT NULL," +
+                "id_description INTEGER," +
+                "id_account INTEGER NOT NULL);");
+        db.execSQL("INSERT INTO money_movements_archive " +
+                "(_id, amount, date, id_description, id_account) " +
+                "SELECT o._id, CASE WHEN o.sing = '-' THEN -ABS(o.amount) ELSE ABS(o.amount) END, " +
+                "o.date, d._id, o.id_account FROM money_movements_archive_old o " +
+                "LEFT JOIN archive_descriptions d ON d.text = o.description;");
+        db.execSQL("DROP TABLE money_movements_archive_old;");
+
+        db.execSQL("CREATE INDEX IF NOT EXISTS money_movements_archive_account_date " +
+                "ON money_movements_archive(id_account, date);");
+        db.execSQL("CREATE INDEX IF NOT EXISTS money_movements_archive_date " +
+                "ON money_movements_archive(date);");
+
+        db.execSQL("CREATE VIEW all_movements AS " +
+                "SELECT _id, amount, description, date, sing, id_account FROM money_movements " +
+                "UNION ALL SELECT a._id, ABS(a.amount), d.text, a.date, " +
+                "CASE WHEN a.amount < 0 THEN '-' ELSE '+' END, a.id_account " +
+                "FROM money_movements_archive a " +
+                "LEFT JOIN archive_descriptions d ON d._id = a.id_description;");
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database.migration;
+
+/**
+ * Converts the "yyyy-MM-dd HH:mm:ss" text dates of the movements, written in the
+ * local time zone, into INTEGER milliseconds since the epoch and creates the index
+ * over the account and the date. A date that can't be read takes the current time,
+ * the same value the list used to show for it.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class EpochDatesMigration extends Migration {
+
+    public EpochDatesMigration() {
+        super(16, 17);
+    }
+
+    @Override
+    public void migrate(MigrationExecutor db) {
+        db.execSQL("CREATE TABLE money_movements_new(" +
+                "_id INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL," +
+                "amount INTEGER NOT NULL," +
+                "description TEXT," +
+                "date INTEGER NOT NULL," +
+                "sing TEXT NOT NULL," +
+                "id_account INTEGER NOT NULL REFERENCES accounts(_id));");
+        db.execSQL("INSERT INTO money_movements_new (_id, amount, description, date, sing, " +
+                "id_account) SELECT _id, amount, description, " +
+                "IFNULL(CAST(strftime('%s', date, 'utc') AS INTEGER), " +
+                "CAST(strftime('%s', 'now') AS INTEGER)) * 1000, sing, id_account " +
+                "FROM money_movements;");
+        db.execSQL("DROP TABLE money_movements;");
+        db.execSQL("ALTER TABLE money_movements_new RENAME TO money_movements;");
+        db.execSQL("CREATE INDEX IF NOT EXISTS money_movements_account_date " +
+                "ON money_movements(id_account, date);");
+    }
+}
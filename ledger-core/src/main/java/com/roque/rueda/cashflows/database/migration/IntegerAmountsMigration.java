@@ -0,0 +1,63 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database.migration;
+
+/**
+ * Converts the REAL amount and balance columns into INTEGER minor units (cents).
+ * SQLite can't change the type of a column so each table is rebuilt and its rows
+ * copied with a single INSERT ... SELECT.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class IntegerAmountsMigration extends Migration {
+
+    public IntegerAmountsMigration() {
+        super(15, 16);
+    }
+
+    @Override
+    public void migrate(MigrationExecutor db) {
+        db.execSQL("CREATE TABLE accounts_new (" +
+                "_id INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL," +
+                "initial_balance INTEGER NOT NULL, " +
+                "name TEXT NO NULL," +
+                "end_balance INTEGER," +
+                "photo_number INTEGER," +
+                "id_period INTEGER NOT NULL REFERENCES periods(_id));");
+        db.execSQL("INSERT INTO accounts_new (_id, initial_balance, name, end_balance, " +
+                "photo_number, id_period) SELECT _id, CAST(ROUND(initial_balance * 100) AS INTEGER), " +
+                "name, CAST(ROUND(end_balance * 100) AS INTEGER), photo_number, id_period " +
+                "FROM accounts;");
+        db.execSQL("DROP TABLE accounts;");
+        db.execSQL("ALTER TABLE accounts_new RENAME TO accounts;");
+
+        db.execSQL("CREATE TABLE money_movements_new(" +
+                "_id INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL," +
+                "amount INTEGER NOT NULL," +
+                "description TEXT," +
+                "date DATETIME NOT NULL," +
+                "sing TEXT NOT NULL," +
+                "id_account INTEGER NOT NULL REFERENCES accounts(_id));");
+        db.execSQL("INSERT INTO money_movements_new (_id, amount, description, date, sing, " +
+                "id_account) SELECT _id, CAST(ROUND(amount * 100) AS INTEGER), description, " +
+                "date, sing, id_account FROM money_movements;");
+        db.execSQL("DROP TABLE money_movements;");
+        db.execSQL("ALTER TABLE money_movements_new RENAME TO money_movements;");
+    }
+}
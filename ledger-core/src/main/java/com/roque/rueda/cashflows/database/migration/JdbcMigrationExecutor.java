@@ -0,0 +1,130 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database.migration;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * {@link MigrationExecutor} backed by a JDBC connection, used to run the migration
+ * steps on the JVM against a plain SQLite database (e.g. the sqlite-jdbc driver).
+ *
+ * Nested transactions behave like the Android ones: {@link #setTransactionSuccessful()}
+ * marks the innermost level, only the outermost {@link #endTransaction()} commits, and
+ * it rolls back if any level wasn't marked as successful.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class JdbcMigrationExecutor implements MigrationExecutor {
+
+    private final Connection mConnection;
+
+    /**
+     * Whether each open level was marked as successful, the innermost first.
+     */
+    private final Deque<Boolean> mLevels = new ArrayDeque<Boolean>();
+    private boolean mAllSuccessful;
+
+    /**
+     * Creates an executor over the given connection.
+     * @param connection Open connection to the database that will be migrated.
+     */
+    public JdbcMigrationExecutor(Connection connection) {
+        mConnection = connection;
+    }
+
+    @Override
+    public void execSQL(String sql) {
+        try {
+            Statement statement = mConnection.createStatement();
+            try {
+                statement.execute(sql);
+            } finally {
+                statement.close();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Error executing: " + sql, e);
+        }
+    }
+
+    @Override
+    public long queryForLong(String sql) {
+        try {
+            Statement statement = mConnection.createStatement();
+            try {
+                ResultSet rs = statement.executeQuery(sql);
+                if (!rs.next()) {
+                    throw new IllegalStateException("The query returned no rows: " + sql);
+                }
+                return rs.getLong(1);
+            } finally {
+                statement.close();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Error executing: " + sql, e);
+        }
+    }
+
+    @Override
+    public void beginTransaction() {
+        try {
+            if (mLevels.isEmpty()) {
+                mConnection.setAutoCommit(false);
+                mAllSuccessful = true;
+            }
+            mLevels.push(Boolean.FALSE);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Can't begin a transaction.", e);
+        }
+    }
+
+    @Override
+    public void setTransactionSuccessful() {
+        if (mLevels.isEmpty()) {
+            throw new IllegalStateException("There's no transaction to mark.");
+        }
+        mLevels.pop();
+        mLevels.push(Boolean.TRUE);
+    }
+
+    @Override
+    public void endTransaction() {
+        if (mLevels.isEmpty()) {
+            throw new IllegalStateException("There's no transaction to end.");
+        }
+        mAllSuccessful &= mLevels.pop();
+        if (!mLevels.isEmpty()) {
+            return;
+        }
+        try {
+            if (mAllSuccessful) {
+                mConnection.commit();
+            } else {
+                mConnection.rollback();
+            }
+            mConnection.setAutoCommit(true);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Can't end the transaction.", e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database.migration;
+
+/**
+ * Creates the secondary indexes used by the joins between periods, accounts and
+ * movements, and by the day queries over the movements.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class ManagedIndexesMigration extends Migration {
+
+    public ManagedIndexesMigration() {
+        super(17, 18);
+    }
+
+    @Override
+    public void migrate(MigrationExecutor db) {
+        db.execSQL("CREATE INDEX IF NOT EXISTS periods_active ON periods(active);");
+        db.execSQL("CREATE INDEX IF NOT EXISTS accounts_period ON accounts(id_period);");
+        db.execSQL("CREATE INDEX IF NOT EXISTS money_movements_account_date " +
+                "ON money_movements(id_account, date);");
+        db.execSQL("CREATE INDEX IF NOT EXISTS money_movements_date ON money_movements(date);");
+    }
+}
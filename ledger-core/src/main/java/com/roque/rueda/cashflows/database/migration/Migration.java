@@ -0,0 +1,67 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database.migration;
+
+/**
+ * One step of the schema upgrade, it moves the database from a version to the next
+ * one without losing the user data.
+ *
+ * The statements of a step are frozen: they use literal table and column names
+ * instead of the constants of the table interfaces, so a later rename doesn't change
+ * what an old step does.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public abstract class Migration {
+
+    private final int mStartVersion;
+    private final int mEndVersion;
+
+    /**
+     * Creates a step between two database versions.
+     * @param startVersion Version the database must have before the step.
+     * @param endVersion Version the database will have after the step.
+     */
+    protected Migration(int startVersion, int endVersion) {
+        if (endVersion <= startVersion) {
+            throw new IllegalArgumentException("A migration must move to a newer version.");
+        }
+        mStartVersion = startVersion;
+        mEndVersion = endVersion;
+    }
+
+    public int getStartVersion() {
+        return mStartVersion;
+    }
+
+    public int getEndVersion() {
+        return mEndVersion;
+    }
+
+    /**
+     * Applies the changes of this step. The caller takes care of the transaction.
+     * @param db Executor of the database that will be migrated.
+     */
+    public abstract void migrate(MigrationExecutor db);
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " (" + mStartVersion + " -> " + mEndVersion + ")";
+    }
+}
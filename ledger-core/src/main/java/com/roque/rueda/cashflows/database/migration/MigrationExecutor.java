@@ -0,0 +1,60 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database.migration;
+
+/**
+ * Minimal set of database operations a {@link Migration} can use.
+ *
+ * Keeping the steps behind this interface lets them run on the device through
+ * the SQLiteMigrationExecutor of the application and on the JVM through
+ * {@link JdbcMigrationExecutor}.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public interface MigrationExecutor {
+
+    /**
+     * Executes a single SQL statement that returns no data.
+     * @param sql Statement that will be executed.
+     */
+    void execSQL(String sql);
+
+    /**
+     * Executes a query that returns a single number.
+     * @param sql Query that will be executed.
+     * @return Value of the first column of the first row.
+     */
+    long queryForLong(String sql);
+
+    /**
+     * Begins a transaction, transactions may be nested.
+     */
+    void beginTransaction();
+
+    /**
+     * Marks the current transaction as successful.
+     */
+    void setTransactionSuccessful();
+
+    /**
+     * Ends the current transaction, it will be rolled back unless it was marked
+     * as successful.
+     */
+    void endTransaction();
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database.migration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the ordered {@link Migration} steps needed to move a database from one
+ * version to another inside a single transaction.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class Migrator {
+
+    /**
+     * Receives the time spent by each step.
+     */
+    public interface Listener {
+
+        /**
+         * Called after a step finished successfully.
+         * @param migration Step that was applied.
+         * @param elapsedMillis Time spent by the step in milliseconds.
+         */
+        void onMigrationFinished(Migration migration, long elapsedMillis);
+    }
+
+    private final List<Migration> mMigrations;
+
+    /**
+     * Creates a migrator with the given steps.
+     * @param migrations Steps sorted by version, each one must start at the end
+     *                   version of the previous one.
+     */
+    public Migrator(Migration... migrations) {
+        mMigrations = new ArrayList<Migration>(migrations.length);
+        for (Migration migration : migrations) {
+            if (!mMigrations.isEmpty() && mMigrations.get(mMigrations.size() - 1)
+                    .getEndVersion() != migration.getStartVersion()) {
+                throw new IllegalArgumentException("Migration " + migration +
+                        " doesn't continue the previous step.");
+            }
+            mMigrations.add(migration);
+        }
+    }
+
+    /**
+     * Gets the steps needed to move between two versions.
+     * @param oldVersion Current version of the database.
+     * @param newVersion Version the database must have.
+     * @return Ordered steps or null if there's no path between the versions.
+     */
+    public List<Migration> findPath(int oldVersion, int newVersion) {
+        List<Migration> path = new ArrayList<Migration>();
+        int version = oldVersion;
+        for (Migration migration : mMigrations) {
+            if (version == newVersion) {
+                break;
+            }
+            if (migration.getStartVersion() == version) {
+                path.add(migration);
+                version = migration.getEndVersion();
+            }
+        }
+        return version == newVersion ? path : null;
+    }
+
+    /**
+     * Checks if the database can be upgraded without losing its data.
+     * @param oldVersion Current version of the database.
+     * @param newVersion Version the database must have.
+     * @return true if there are steps for every version in between.
+     */
+    public boolean canUpgrade(int oldVersion, int newVersion) {
+        return findPath(oldVersion, newVersion) != null;
+    }
+
+    /**
+     * Applies every step between the two versions inside one transaction, if a step
+     * fails nothing is changed.
+     * @param db Executor of the database that will be migrated.
+     * @param oldVersion Current version of the database.
+     * @param newVersion Version the database must have.
+     * @param listener Optional listener that receives the timing of each step.
+     * @return Total time spent in milliseconds.
+     */
+    public long upgrade(MigrationExecutor db, int oldVersion, int newVersion, Listener listener) {
+        List<Migration> path = findPath(oldVersion, newVersion);
+        if (path == null) {
+            throw new IllegalStateException("There are no migrations from version " +
+                    oldVersion + " to " + newVersion + ".");
+        }
+
+        long total = 0;
+        db.beginTransaction();
+        try {
+            for (Migration migration : path) {
+                long start = System.nanoTime();
+                migration.migrate(db);
+                long elapsed = (System.nanoTime() - start) / 1000000L;
+                total += elapsed;
+                if (listener != null) {
+                    listener.onMigrationFinished(migration, elapsed);
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        return total;
+    }
+}
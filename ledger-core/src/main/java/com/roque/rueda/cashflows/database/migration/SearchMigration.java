@@ -0,0 +1,57 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database.migration;
+
+/**
+ * Creates the full-text index of the descriptions of the current and the archived
+ * movements and the triggers that keep it in sync with the movements.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class SearchMigration extends Migration {
+
+    public SearchMigration() {
+        super(21, 22);
+    }
+
+    @Override
+    public void migrate(MigrationExecutor db) {
+        db.execSQL("CREATE VIRTUAL TABLE movements_search USING fts4(description);");
+        db.execSQL("INSERT INTO movements_search (docid, description) " +
+                "SELECT _id, description FROM money_movements WHERE description IS NOT NULL;");
+        db.execSQL("INSERT INTO movements_search (docid, description) " +
+                "SELECT a._id, d.text FROM money_movements_archive a " +
+                "INNER JOIN archive_descriptions d ON d._id = a.id_description;");
+        db.execSQL("INSERT INTO movements_search (movements_search) VALUES ('optimize');");
+
+        db.execSQL("CREATE TRIGGER movements_search_insert AFTER INSERT ON money_movements " +
+                "WHEN new.description IS NOT NULL BEGIN " +
+                "INSERT INTO movements_search (docid, description) " +
+                "VALUES (new._id, new.description); END;");
+        db.execSQL("CREATE TRIGGER movements_search_update " +
+                "AFTER UPDATE OF description ON money_movements BEGIN " +
+                "DELETE FROM movements_search WHERE docid = old._id; " +
+                "INSERT INTO movements_search (docid, description) " +
+                "SELECT new._id, new.description WHERE new.description IS NOT NULL; END;");
+        db.execSQL("CREATE TRIGGER movements_search_delete AFTER DELETE ON money_movements " +
+                "WHEN NOT EXISTS (SELECT 1 FROM money_movements_archive " +
+                "WHERE _id = old._id) BEGIN " +
+                "DELETE FROM movements_search WHERE docid = old._id; END;");
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.ledger;
+
+import com.roque.rueda.cashflows.model.Movement;
+
+/**
+ * Movement that adds money to the account.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public final class AddPositiveStrategy implements MovementStrategy {
+
+    @Override
+    public Movement prepare(Movement movement) {
+        // The amount is stored without sing.
+        movement.setAmount(Math.abs(movement.getAmount()));
+        movement.setSing(BalanceRules.POSITIVE_SING);
+        return movement;
+    }
+}
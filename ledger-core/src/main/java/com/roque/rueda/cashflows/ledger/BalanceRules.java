@@ -0,0 +1,110 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.ledger;
+
+import com.roque.rueda.cashflows.model.Movement;
+
+/**
+ * Rules used to compute the balance of an account from its movements.
+ *
+ * The amount of a movement is stored without sing in minor units and the sing
+ * says if it's added to or taken out of the balance. The balance of an account is
+ * its initial balance plus the signed amount of each movement.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public final class BalanceRules {
+
+    /**
+     * Sing used to store a positive movement.
+     */
+    public static final String POSITIVE_SING = "+";
+
+    /**
+     * Sing used to store a negative movement.
+     */
+    public static final String NEGATIVE_SING = "-";
+
+    private BalanceRules() {
+        // Only static members.
+    }
+
+    /**
+     * Gets the amount of a movement with the sing applied.
+     * @param sing Sing of the movement ("+" or "-").
+     * @param amount Amount of the movement in minor units.
+     * @return Negative amount for an expense, positive amount for an income.
+     */
+    public static long signedAmount(String sing, long amount) {
+        return NEGATIVE_SING.equals(sing) ? -Math.abs(amount) : Math.abs(amount);
+    }
+
+    /**
+     * Gets the signed amount of a movement.
+     * @param movement Movement with amount and sing.
+     * @return Amount that the movement adds to the balance of its account.
+     */
+    public static long signedAmount(Movement movement) {
+        return signedAmount(movement.getSing(), movement.getAmount());
+    }
+
+    /**
+     * Gets the change of the balance when a movement is replaced by another one.
+     * @param previous Movement before the edition.
+     * @param current Movement after the edition.
+     * @return Signed amount that must be added to the balance of the account.
+     */
+    public static long editDelta(Movement previous, Movement current) {
+        return signedAmount(current) - signedAmount(previous);
+    }
+
+    /**
+     * Computes the balance of an account from scratch.
+     * @param initialBalance Initial balance of the account in minor units.
+     * @param movements Movements of the account.
+     * @return Balance in minor units.
+     */
+    public static long balance(long initialBalance, Iterable<Movement> movements) {
+        long balance = initialBalance;
+        for (Movement movement : movements) {
+            balance += signedAmount(movement);
+        }
+        return balance;
+    }
+
+    /**
+     * Checks that a movement can be stored.
+     * @param movement Movement that will be stored.
+     * @throws IllegalArgumentException if the amount is not positive, the sing is not
+     * "+" or "-" or the movement has no date.
+     */
+    public static void validate(Movement movement) {
+        if (movement.getAmount() <= 0) {
+            throw new IllegalArgumentException("The amount of a movement must be positive: " +
+                    movement.getAmount());
+        }
+        if (!POSITIVE_SING.equals(movement.getSing()) &&
+                !NEGATIVE_SING.equals(movement.getSing())) {
+            throw new IllegalArgumentException("Unknown sing: " + movement.getSing());
+        }
+        if (movement.getDate() == null) {
+            throw new IllegalArgumentException("The movement has no date.");
+        }
+    }
+}
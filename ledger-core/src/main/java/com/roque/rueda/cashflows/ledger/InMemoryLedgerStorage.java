@@ -0,0 +1,193 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.ledger;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.roque.rueda.cashflows.model.Account;
+import com.roque.rueda.cashflows.model.Movement;
+import com.roque.rueda.cashflows.model.Period;
+
+/**
+ * {@link LedgerStorage} kept in memory, used to run the ledger off the device.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class InMemoryLedgerStorage implements LedgerStorage {
+
+    private final Map<Long, Period> mPeriods = new LinkedHashMap<Long, Period>();
+    private final Map<Long, Account> mAccounts = new LinkedHashMap<Long, Account>();
+    private final Map<Long, Long> mAccountPeriods = new HashMap<Long, Long>();
+    private final Map<Long, Movement> mMovements = new HashMap<Long, Movement>();
+    private long mNextId = 1;
+
+    /**
+     * Adds a period, the other periods are closed if this one is active.
+     * @param name Name of the period.
+     * @param active Flag indicating if this is the current period.
+     * @return Identifier of the period.
+     */
+    public synchronized long addPeriod(String name, boolean active) {
+        if (active) {
+            for (Period period : mPeriods.values()) {
+                period.setActive(false);
+            }
+        }
+        Period period = new Period();
+        period.setId(mNextId++);
+        period.setName(name);
+        period.setStartDate(new Date());
+        period.setEndDate(period.getStartDate());
+        period.setActive(active);
+        mPeriods.put(period.getId(), period);
+        return period.getId();
+    }
+
+    /**
+     * Adds an account to a period, its end balance starts as the initial balance.
+     * @param idPeriod Identifier of the period.
+     * @param name Name of the account.
+     * @param initialBalance Initial balance in minor units.
+     * @return Identifier of the account.
+     */
+    public synchronized long addAccount(long idPeriod, String name, long initialBalance) {
+        Account account = new Account();
+        account.id = mNextId++;
+        account.name = name;
+        account.initialBalance = initialBalance;
+        account.endBalance = initialBalance;
+        mAccounts.put(account.id, account);
+        mAccountPeriods.put(account.id, idPeriod);
+        return account.id;
+    }
+
+    /**
+     * Gets the movements of an account.
+     * @param idAccount Identifier of the account.
+     * @return Copies of the movements of the account.
+     */
+    public synchronized List<Movement> getMovements(long idAccount) {
+        List<Movement> movements = new ArrayList<Movement>();
+        for (Movement movement : mMovements.values()) {
+            if (movement.getIdAccount() == idAccount) {
+                movements.add(copy(movement));
+            }
+        }
+        return movements;
+    }
+
+    @Override
+    public synchronized long insertMovement(Movement movement) {
+        Account account = mAccounts.get(movement.getIdAccount());
+        if (account == null) {
+            return NO_ID;
+        }
+        Movement stored = copy(movement);
+        stored.setId(mNextId++);
+        mMovements.put(stored.getId(), stored);
+        account.endBalance += BalanceRules.signedAmount(stored);
+        return stored.getId();
+    }
+
+    @Override
+    public synchronized boolean updateMovement(Movement movement) {
+        Movement previous = mMovements.get(movement.getId());
+        if (previous == null) {
+            return false;
+        }
+        Movement stored = copy(movement);
+        // The account of a movement doesn't change.
+        stored.setIdAccount(previous.getIdAccount());
+        mMovements.put(stored.getId(), stored);
+        mAccounts.get(stored.getIdAccount()).endBalance +=
+                BalanceRules.editDelta(previous, stored);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean deleteMovement(long id) {
+        Movement previous = mMovements.remove(id);
+        if (previous == null) {
+            return false;
+        }
+        mAccounts.get(previous.getIdAccount()).endBalance -= BalanceRules.signedAmount(previous);
+        return true;
+    }
+
+    @Override
+    public synchronized Movement getMovement(long id) {
+        Movement movement = mMovements.get(id);
+        return movement == null ? null : copy(movement);
+    }
+
+    @Override
+    public synchronized Account getAccount(long idAccount) {
+        Account account = mAccounts.get(idAccount);
+        return account == null ? null : copy(account);
+    }
+
+    @Override
+    public synchronized List<Account> getAccounts(long idPeriod) {
+        List<Account> accounts = new ArrayList<Account>();
+        for (Account account : mAccounts.values()) {
+            if (mAccountPeriods.get(account.id) == idPeriod) {
+                accounts.add(copy(account));
+            }
+        }
+        return accounts;
+    }
+
+    @Override
+    public synchronized Period getActivePeriod() {
+        for (Period period : mPeriods.values()) {
+            if (period.isActive()) {
+                return period;
+            }
+        }
+        return null;
+    }
+
+    private static Movement copy(Movement movement) {
+        Movement copy = new Movement();
+        copy.setId(movement.getId());
+        copy.setAmount(movement.getAmount());
+        copy.setDescription(movement.getDescription());
+        copy.setDate(movement.getDate());
+        copy.setSing(movement.getSing());
+        copy.setIdAccount(movement.getIdAccount());
+        copy.setIdCategory(movement.getIdCategory());
+        copy.setTags(movement.getTags());
+        return copy;
+    }
+
+    private static Account copy(Account account) {
+        Account copy = new Account();
+        copy.id = account.id;
+        copy.initialBalance = account.initialBalance;
+        copy.endBalance = account.endBalance;
+        copy.photoNumber = account.photoNumber;
+        copy.name = account.name;
+        return copy;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.ledger;
+
+import java.util.List;
+
+import com.roque.rueda.cashflows.model.Account;
+import com.roque.rueda.cashflows.model.Movement;
+import com.roque.rueda.cashflows.model.Period;
+
+/**
+ * Adds, edits and deletes the movements of the accounts and reads their balances.
+ *
+ * The ledger checks the movements with the {@link BalanceRules} and leaves the
+ * persistence to a {@link LedgerStorage}, so it runs the same on the device and on a
+ * plain JVM.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class Ledger {
+
+    private final LedgerStorage mStorage;
+
+    /**
+     * Creates a ledger over a storage.
+     * @param storage Storage of the periods, the accounts and the movements.
+     */
+    public Ledger(LedgerStorage storage) {
+        mStorage = storage;
+    }
+
+    /**
+     * Gets the storage used by this ledger.
+     * @return Storage of the periods, the accounts and the movements.
+     */
+    public LedgerStorage getStorage() {
+        return mStorage;
+    }
+
+    /**
+     * Adds a movement of the given kind.
+     * @param strategy Kind of movement, see {@link AddPositiveStrategy} and
+     *                 {@link AddNegativeStrategy}.
+     * @param movement Movement typed by the user.
+     * @return Identifier of the movement or {@link LedgerStorage#NO_ID}.
+     * @throws IllegalArgumentException if the movement is not valid.
+     */
+    public long add(MovementStrategy strategy, Movement movement) {
+        return save(strategy.prepare(movement));
+    }
+
+    /**
+     * Adds a movement that already has its sing.
+     * @param movement Movement that will be stored.
+     * @return Identifier of the movement or {@link LedgerStorage#NO_ID}.
+     * @throws IllegalArgumentException if the movement is not valid.
+     */
+    public long save(Movement movement) {
+        BalanceRules.validate(movement);
+        return mStorage.insertMovement(movement);
+    }
+
+    /**
+     * Replaces the values of a movement.
+     * @param movement Movement with the identifier of the stored one and the new values.
+     * @return true if the movement was updated.
+     * @throws IllegalArgumentException if the movement is not valid.
+     */
+    public boolean edit(Movement movement) {
+        BalanceRules.validate(movement);
+        return mStorage.updateMovement(movement);
+    }
+
+    /**
+     * Deletes a movement.
+     * @param id Identifier of the movement.
+     * @return true if the movement was deleted.
+     */
+    public boolean delete(long id) {
+        return mStorage.deleteMovement(id);
+    }
+
+    /**
+     * Gets the running balance of an account.
+     * @param idAccount Identifier of the account.
+     * @return Balance in minor units, 0 if the account doesn't exist.
+     */
+    public long getBalance(long idAccount) {
+        Account account = mStorage.getAccount(idAccount);
+        return account == null ? 0 : account.endBalance;
+    }
+
+    /**
+     * Gets the sum of the balances of the accounts of the active period.
+     * @return Balance in minor units, 0 if there is no active period.
+     */
+    public long getFinalBalance() {
+        Period period = mStorage.getActivePeriod();
+        if (period == null) {
+            return 0;
+        }
+        long balance = 0;
+        List<Account> accounts = mStorage.getAccounts(period.getId());
+        for (Account account : accounts) {
+            balance += account.endBalance;
+        }
+        return balance;
+    }
+}
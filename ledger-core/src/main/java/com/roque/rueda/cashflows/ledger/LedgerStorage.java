@@ -0,0 +1,89 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.ledger;
+
+import java.util.List;
+
+import com.roque.rueda.cashflows.model.Account;
+import com.roque.rueda.cashflows.model.Movement;
+import com.roque.rueda.cashflows.model.Period;
+
+/**
+ * Storage of the periods, the accounts and the movements used by the {@link Ledger}.
+ *
+ * A write of a movement must add its change to the end balance of the account
+ * following the {@link BalanceRules} as one atomic operation.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public interface LedgerStorage {
+
+    /**
+     * Identifier returned when a movement can't be stored.
+     */
+    long NO_ID = -1;
+
+    /**
+     * Stores a new movement and adds it to the balance of its account.
+     * @param movement Movement with a valid amount, sing, date and account.
+     * @return Identifier of the movement or {@link #NO_ID} if the account doesn't exist.
+     */
+    long insertMovement(Movement movement);
+
+    /**
+     * Replaces a movement and moves the difference to the balance of its account.
+     * @param movement Movement with the identifier of the stored one and the new values.
+     * @return true if the movement was updated.
+     */
+    boolean updateMovement(Movement movement);
+
+    /**
+     * Deletes a movement and takes it out of the balance of its account.
+     * @param id Identifier of the movement.
+     * @return true if the movement was deleted.
+     */
+    boolean deleteMovement(long id);
+
+    /**
+     * Gets a movement.
+     * @param id Identifier of the movement.
+     * @return Movement or null if it doesn't exist.
+     */
+    Movement getMovement(long id);
+
+    /**
+     * Gets an account with its end balance.
+     * @param idAccount Identifier of the account.
+     * @return Account or null if it doesn't exist.
+     */
+    Account getAccount(long idAccount);
+
+    /**
+     * Gets the accounts of a period.
+     * @param idPeriod Identifier of the period.
+     * @return Accounts of the period, empty if there are none.
+     */
+    List<Account> getAccounts(long idPeriod);
+
+    /**
+     * Gets the current period.
+     * @return Active period or null if there is none.
+     */
+    Period getActivePeriod();
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.ledger;
+
+import java.util.Arrays;
+
+/**
+ * Rules of the tags of the movements.
+ *
+ * A movement keeps its tags in one long, the bit n is set when the movement has the
+ * tag n, so a movement can have any of {@link #MAX_TAGS} tags without a join table
+ * and a filter by several tags is one AND of two masks.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public final class TagMask {
+
+    /**
+     * Number of different tags, the sign bit is not used.
+     */
+    public static final int MAX_TAGS = 63;
+
+    /**
+     * Mask without tags.
+     */
+    public static final long NONE = 0L;
+
+    private TagMask() {
+        // Only static members.
+    }
+
+    /**
+     * Gets the mask with only one tag.
+     * @param tag Tag number, from 0 to {@link #MAX_TAGS} - 1.
+     * @return Mask with the bit of the tag set.
+     * @throws IllegalArgumentException if the tag is out of range.
+     */
+    public static long of(int tag) {
+        if (tag < 0 || tag >= MAX_TAGS) {
+            throw new IllegalArgumentException("Invalid tag: " + tag);
+        }
+        return 1L << tag;
+    }
+
+    /**
+     * Gets the mask with all the given tags.
+     * @param tags Tag numbers.
+     * @return Mask with the bit of each tag set.
+     * @throws IllegalArgumentException if a tag is out of range.
+     */
+    public static long of(int... tags) {
+        long mask = NONE;
+        for (int tag : tags) {
+            mask |= of(tag);
+        }
+        return mask;
+    }
+
+    /**
+     * Adds a tag to a mask.
+     * @param mask Tags of a movement.
+     * @param tag Tag number.
+     * @return Mask with the tag.
+     */
+    public static long add(long mask, int tag) {
+        return mask | of(tag);
+    }
+
+    /**
+     * Removes a tag from a mask.
+     * @param mask Tags of a movement.
+     * @param tag Tag number.
+     * @return Mask without the tag.
+     */
+    public static long remove(long mask, int tag) {
+        return mask & ~of(tag);
+    }
+
+    /**
+     * Checks if a mask has a tag.
+     * @param mask Tags of a movement.
+     * @param tag Tag number.
+     * @return true if the bit of the tag is set.
+     */
+    public static boolean contains(long mask, int tag) {
+        return (mask & of(tag)) != 0;
+    }
+
+    /**
+     * Checks if a mask has every tag of another one, the test used to filter the
+     * movements by several tags.
+     * @param mask Tags of a movement.
+     * @param required Tags that the movement must have.
+     * @return true if every bit of the required mask is set.
+     */
+    public static boolean containsAll(long mask, long required) {
+        return (mask & required) == required;
+    }
+
+    /**
+     * Gets the tags of a mask.
+     * @param mask Tags of a movement.
+     * @return Tag numbers in ascending order.
+     */
+    public static int[] toArray(long mask) {
+        int[] tags = new int[Long.bitCount(mask)];
+        int i = 0;
+        long rest = mask;
+        while (rest != 0) {
+            tags[i++] = Long.numberOfTrailingZeros(rest);
+            rest &= rest - 1;
+        }
+        return tags;
+    }
+
+    /**
+     * Gets the lowest tag that is not in a mask, used to give a number to a new tag.
+     * @param used Mask with the tags in use.
+     * @return Tag number, -1 if every tag is in use.
+     */
+    public static int firstFree(long used) {
+        int tag = Long.numberOfTrailingZeros(~used);
+        return tag < MAX_TAGS ? tag : -1;
+    }
+
+    /**
+     * Gets a readable form of a mask.
+     * @param mask Tags of a movement.
+     * @return Tag numbers, e.g. "[0, 3]".
+     */
+    public static String toString(long mask) {
+        return Arrays.toString(toArray(mask));
+    }
+}
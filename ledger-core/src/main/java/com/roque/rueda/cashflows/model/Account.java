@@ -30,13 +30,13 @@ public class Account {
 	 */
 	public long id;
 	/**
-	 * Initial balance of the account.
+	 * Initial balance of the account in minor units (cents).
 	 */
-	public double initialBalance;
+	public long initialBalance;
 	/**
-	 * End balance of the account.
+	 * End balance of the account in minor units (cents).
 	 */
-	public double endBalance;
+	public long endBalance;
 	/**
 	 * Photo number of this account.
 	 */
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Immutable amount of money stored as a number of minor units (cents).
+ *
+ * The database and the models keep the raw {@code long} value returned by
+ * {@link #getMinorUnits()}, this type is used to convert from and to the
+ * decimal values the user types and reads.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public final class Money implements Comparable<Money> {
+
+    /**
+     * Number of decimal digits of the minor unit.
+     */
+    public static final int SCALE = 2;
+
+    /**
+     * Number of minor units contained in one unit.
+     */
+    public static final long MINOR_UNITS_PER_UNIT = 100;
+
+    /**
+     * Money with no value.
+     */
+    public static final Money ZERO = new Money(0);
+
+    /**
+     * Amount in minor units (cents).
+     */
+    private final long minorUnits;
+
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    /**
+     * Creates an instance from a number of minor units.
+     * @param minorUnits Amount in cents.
+     * @return Money instance with the given value.
+     */
+    public static Money ofMinorUnits(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    /**
+     * Creates an instance from a decimal value, rounding half up to the nearest cent.
+     * @param value Decimal value.
+     * @return Money instance with the given value.
+     */
+    public static Money fromDecimal(BigDecimal value) {
+        return ofMinorUnits(value.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValue());
+    }
+
+    /**
+     * Parse a plain decimal string like "1234.5" into money.
+     * @param value String that will be parsed.
+     * @return Money with the parsed value.
+     * @throws NumberFormatException if the value is not a decimal number.
+     */
+    public static Money parse(String value) {
+        return fromDecimal(new BigDecimal(value.trim()));
+    }
+
+    /**
+     * Gets the amount in minor units.
+     * @return Number of cents.
+     */
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    /**
+     * Gets the exact decimal value of this amount.
+     * @return BigDecimal with two decimal digits.
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public Money plus(Money other) {
+        return ofMinorUnits(minorUnits + other.minorUnits);
+    }
+
+    public Money minus(Money other) {
+        return ofMinorUnits(minorUnits - other.minorUnits);
+    }
+
+    public Money negate() {
+        return ofMinorUnits(-minorUnits);
+    }
+
+    public Money abs() {
+        return minorUnits < 0 ? negate() : this;
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return minorUnits < other.minorUnits ? -1 : (minorUnits == other.minorUnits ? 0 : 1);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money && ((Money) o).minorUnits == minorUnits;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (minorUnits ^ (minorUnits >>> 32));
+    }
+
+    /**
+     * Plain decimal representation of this amount, e.g. "-12.50".
+     * @return String with two decimal digits.
+     */
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -27,15 +27,20 @@ import java.util.Date;
  */
 public class Movement {
 
+    /**
+     * Category of a movement that has none.
+     */
+    public static final long NO_CATEGORY = -1;
+
     /**
      * Id of the movement.
      */
     private long id;
 
     /**
-     * Amount of money that will be used on this movement.
+     * Amount of money that will be used on this movement in minor units (cents).
      */
-    private double amount;
+    private long amount;
 
     /**
      * Description for this movement.
@@ -57,6 +62,17 @@ public class Movement {
      */
     private long idAccount;
 
+    /**
+     * Category of this movement, {@link #NO_CATEGORY} if it has none.
+     */
+    private long idCategory = NO_CATEGORY;
+
+    /**
+     * Tags of this movement, one bit per tag, see
+     * {@link com.roque.rueda.cashflows.ledger.TagMask}.
+     */
+    private long tags;
+
     public long getId() {
         return id;
     }
@@ -65,11 +81,11 @@ public class Movement {
         this.id = id;
     }
 
-    public double getAmount() {
+    public long getAmount() {
         return amount;
     }
 
-    public void setAmount(double amount) {
+    public void setAmount(long amount) {
         this.amount = amount;
     }
 
@@ -104,4 +120,20 @@ public class Movement {
     public void setIdAccount(long idAccount) {
         this.idAccount = idAccount;
     }
+
+    public long getIdCategory() {
+        return idCategory;
+    }
+
+    public void setIdCategory(long idCategory) {
+        this.idCategory = idCategory;
+    }
+
+    public long getTags() {
+        return tags;
+    }
+
+    public void setTags(long tags) {
+        this.tags = tags;
+    }
 }
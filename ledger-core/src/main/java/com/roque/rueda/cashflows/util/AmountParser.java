@@ -0,0 +1,244 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.util;
+
+import com.roque.rueda.cashflows.model.Money;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * Parses the amounts written in statement files into signed minor units, with the
+ * decimal and the grouping separators of the file.
+ *
+ * The number may have a currency symbol or code and a sign before or after it, and
+ * an amount between parentheses is negative, so "-$1,234.56", "1.234,56 EUR",
+ * "12.50-" and "(12.50)" are read. The grouping separator, or a space, may only split
+ * the integer part in groups of three digits. Anything else, like "12,50" read with a
+ * point as decimal separator, is rejected instead of guessed.
+ *
+ * The parsers are immutable and can be used from any thread.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public final class AmountParser {
+
+    /**
+     * Grouping separator of the parsers that don't accept grouped digits.
+     */
+    public static final char NO_GROUPING = '\0';
+
+    /**
+     * Amounts like "1,234.56", the ones written by the exporter and by US banks.
+     */
+    public static final AmountParser POINT = new AmountParser('.', ',');
+
+    /**
+     * Amounts like "1.234,56".
+     */
+    public static final AmountParser COMMA = new AmountParser(',', '.');
+
+    /**
+     * Largest amount in units that fits in minor units.
+     */
+    private static final BigDecimal MAX_UNITS =
+            BigDecimal.valueOf(Long.MAX_VALUE / Money.MINOR_UNITS_PER_UNIT);
+
+    private static final int GROUP_DIGITS = 3;
+
+    private static final char NO_SIGN = '\0';
+
+    private final char mDecimalSeparator;
+    private final char mGroupingSeparator;
+
+    /**
+     * Creates a parser with the given separators.
+     * @param decimalSeparator Character between the units and the fraction.
+     * @param groupingSeparator Character between the groups of digits, or
+     *                          {@link #NO_GROUPING}.
+     */
+    public AmountParser(char decimalSeparator, char groupingSeparator) {
+        if (decimalSeparator == groupingSeparator || Character.isDigit(decimalSeparator) ||
+                Character.isDigit(groupingSeparator)) {
+            throw new IllegalArgumentException("Invalid separators '" + decimalSeparator +
+                    "' and '" + groupingSeparator + "'");
+        }
+        mDecimalSeparator = decimalSeparator;
+        mGroupingSeparator = groupingSeparator;
+    }
+
+    /**
+     * Creates a parser for the amounts written in a locale.
+     * @param locale Locale of the file.
+     * @return Parser with the monetary separators of the locale.
+     */
+    public static AmountParser forLocale(Locale locale) {
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+        return new AmountParser(symbols.getMonetaryDecimalSeparator(),
+                symbols.getGroupingSeparator());
+    }
+
+    /**
+     * Gets the character between the units and the fraction.
+     * @return Decimal separator.
+     */
+    public char getDecimalSeparator() {
+        return mDecimalSeparator;
+    }
+
+    /**
+     * Parses an amount into signed minor units, a fraction longer than the minor
+     * units is rounded like {@link Money#fromDecimal(BigDecimal)} does.
+     * @param value Amount as written in the file.
+     * @return Signed amount in minor units.
+     * @throws NumberFormatException if the value is not an amount written with the
+     *                               separators of this parser.
+     */
+    public long parse(String value) {
+        int start = 0;
+        int end = value.length();
+        while (start < end && isSpace(value.charAt(start))) {
+            start++;
+        }
+        while (end > start && isSpace(value.charAt(end - 1))) {
+            end--;
+        }
+
+        boolean negative = false;
+        if (end - start >= 2 && value.charAt(start) == '(' && value.charAt(end - 1) == ')') {
+            negative = true;
+            start++;
+            end--;
+        }
+
+        int first = start;
+        while (first < end && !Character.isDigit(value.charAt(first)) &&
+                value.charAt(first) != mDecimalSeparator) {
+            first++;
+        }
+        int last = end - 1;
+        while (last >= first && !Character.isDigit(value.charAt(last))) {
+            last--;
+        }
+        if (last < first) {
+            throw invalid(value);
+        }
+
+        char before = signOf(value, start, first);
+        char after = signOf(value, last + 1, end);
+        if (before != NO_SIGN && after != NO_SIGN) {
+            throw invalid(value);
+        }
+        char sign = before != NO_SIGN ? before : after;
+        if (sign != NO_SIGN) {
+            if (negative) {
+                // A sign inside the parentheses, like "(-12.50)", is ambiguous.
+                throw invalid(value);
+            }
+            negative = sign == '-';
+        }
+
+        StringBuilder plain = new StringBuilder(last - first + 3);
+        if (negative) {
+            plain.append('-');
+        }
+        appendDigits(value, first, last + 1, plain);
+
+        BigDecimal amount = new BigDecimal(plain.toString());
+        if (amount.abs().compareTo(MAX_UNITS) > 0) {
+            throw invalid(value);
+        }
+        return Money.fromDecimal(amount).getMinorUnits();
+    }
+
+    /**
+     * Appends the digits of the number part of an amount as a plain decimal, checking
+     * the position of the separators.
+     */
+    private void appendDigits(String value, int first, int end, StringBuilder plain) {
+        int groupDigits = 0;
+        boolean grouped = false;
+        boolean afterSeparator = false;
+        boolean fraction = false;
+        plain.append('0');
+        for (int i = first; i < end; i++) {
+            char c = value.charAt(i);
+            if (Character.isDigit(c)) {
+                plain.append(Character.forDigit(Character.digit(c, 10), 10));
+                groupDigits++;
+                afterSeparator = false;
+            } else if (c == mDecimalSeparator && !fraction) {
+                if (afterSeparator || (grouped && groupDigits != GROUP_DIGITS)) {
+                    throw invalid(value);
+                }
+                plain.append('.');
+                fraction = true;
+                afterSeparator = true;
+            } else if (isGrouping(c) && !fraction && groupDigits > 0) {
+                if (afterSeparator || (grouped ? groupDigits != GROUP_DIGITS :
+                        groupDigits > GROUP_DIGITS)) {
+                    throw invalid(value);
+                }
+                grouped = true;
+                groupDigits = 0;
+                afterSeparator = true;
+            } else {
+                throw invalid(value);
+            }
+        }
+        if (grouped && !fraction && groupDigits != GROUP_DIGITS) {
+            throw invalid(value);
+        }
+    }
+
+    private boolean isGrouping(char c) {
+        return mGroupingSeparator != NO_GROUPING && (c == mGroupingSeparator || isSpace(c));
+    }
+
+    /**
+     * Gets the sign in the text before or after the number, which may also hold
+     * spaces and a currency symbol or code.
+     * @return '-', '+' or {@link #NO_SIGN}.
+     */
+    private static char signOf(String value, int start, int end) {
+        char sign = NO_SIGN;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c == '-' || c == '+') {
+                if (sign != NO_SIGN) {
+                    throw invalid(value);
+                }
+                sign = c;
+            } else if (!isSpace(c) && !Character.isLetter(c) &&
+                    Character.getType(c) != Character.CURRENCY_SYMBOL) {
+                throw invalid(value);
+            }
+        }
+        return sign;
+    }
+
+    private static boolean isSpace(char c) {
+        return Character.isWhitespace(c) || Character.isSpaceChar(c);
+    }
+
+    private static NumberFormatException invalid(String value) {
+        return new NumberFormatException("Invalid amount \"" + value + "\"");
+    }
+}
@@ -0,0 +1,404 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.util;
+
+import com.roque.rueda.cashflows.model.Money;
+
+import java.math.BigDecimal;
+import java.text.DateFormat;
+import java.text.DecimalFormat;
+import java.text.FieldPosition;
+import java.text.NumberFormat;
+import java.text.ParseException;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Formats the amounts of money and dates presented to the user, and parses them back.
+ *
+ * The JDK formats are expensive to create and not thread safe, so each thread keeps
+ * its own instances and reuses them. The strings of the last amounts and dates are
+ * kept in a small LRU cache shared by every thread, together with the value each string
+ * came from, so formatting an amount already shown or parsing a string this service
+ * produced is a lookup. The append methods skip that cache: they format straight into
+ * the buffer of the caller with the formats of the thread, which also remember the
+ * characters of the last values by slot, so binding a row again doesn't box a key,
+ * take a lock or allocate. Everything is created again when the default locale changes.
+ *
+ * All the methods can be called from any thread.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public final class FormattingService {
+
+    /**
+     * Number of strings kept for each kind of value.
+     */
+    private static final int CACHE_SIZE = 256;
+
+    /**
+     * Number of texts each thread remembers for each kind of value, a power of two
+     * well above the rows a list shows at once.
+     */
+    private static final int RECENT_SLOTS = 256;
+
+    /**
+     * Number of slots of each set of the texts a thread remembers, a power of two.
+     */
+    private static final int RECENT_WAYS = 4;
+
+    /**
+     * Amounts in minor units below this one have at most 15 digits, a double keeps
+     * their cents exact when they are formatted.
+     */
+    private static final long EXACT_MINOR_UNITS = 1000000000000000L;
+
+    private static final FormattingService sInstance = new FormattingService();
+
+    /**
+     * Caches of the current locale, replaced as a whole when the locale changes so a
+     * thread that formatted with the old locale can't store its result in the new ones.
+     */
+    private volatile Caches mCaches = new Caches(Locale.getDefault());
+
+    /**
+     * Formats of each thread.
+     */
+    private final ThreadLocal<Formats> mFormats = new ThreadLocal<Formats>();
+
+    private FormattingService() {
+        // Use getInstance().
+    }
+
+    /**
+     * Gets the instance shared by the whole application.
+     * @return Formatting service.
+     */
+    public static FormattingService getInstance() {
+        return sInstance;
+    }
+
+    /**
+     * Formats an amount of money to be presented to the user.
+     * @param minorUnits Amount in minor units (cents) that will be formatted.
+     * @return String with the formatted value.
+     */
+    public String formatCurrency(long minorUnits) {
+        Caches caches = getCaches();
+        Long key = minorUnits;
+        String text = caches.currency.get(key);
+        if (text == null) {
+            text = getFormats(caches).currency.format(Money.ofMinorUnits(minorUnits).toBigDecimal());
+            caches.currency.put(key, text);
+            caches.parsedCurrency.put(text, key);
+        }
+        return text;
+    }
+
+    /**
+     * Appends an amount of money formatted to be presented to the user.
+     * @param minorUnits Amount in minor units (cents) that will be formatted.
+     * @param out Buffer where the formatted value will be appended.
+     * @return The given buffer.
+     */
+    public StringBuffer appendCurrency(long minorUnits, StringBuffer out) {
+        Formats formats = getFormats(getCaches());
+        if (formats.recentCurrency.appendTo(minorUnits, out)) {
+            return out;
+        }
+        int start = out.length();
+        if (minorUnits > -EXACT_MINOR_UNITS && minorUnits < EXACT_MINOR_UNITS) {
+            // Unlike the BigDecimal the double doesn't have to be created for each amount.
+            formats.currency.format(minorUnits / (double) Money.MINOR_UNITS_PER_UNIT, out,
+                    formats.position);
+        } else {
+            formats.currency.format(Money.ofMinorUnits(minorUnits).toBigDecimal(), out,
+                    formats.position);
+        }
+        formats.recentCurrency.store(minorUnits, out, start);
+        return out;
+    }
+
+    /**
+     * Gets an amount of money from a formatted currency String.
+     * @param text String that will be parsed.
+     * @return Amount in minor units (cents) from the parsed string, 0 if the string
+     * is not a valid amount.
+     */
+    public long getMinorUnits(String text) {
+        Caches caches = getCaches();
+        Long cached = caches.parsedCurrency.get(text);
+        if (cached != null) {
+            return cached;
+        }
+
+        try {
+            BigDecimal result = (BigDecimal) getFormats(caches).currencyParser.parse(text);
+            return Money.fromDecimal(result).getMinorUnits();
+        } catch (ParseException e) {
+            return 0L;
+        }
+    }
+
+    /**
+     * Format a date to be presented to the user.
+     * @param date Date that will be formatted.
+     * @return String with the formatted value.
+     */
+    public String formatDate(Date date) {
+        return formatDate(date.getTime());
+    }
+
+    /**
+     * Format a date to be presented to the user.
+     * @param millis Date in milliseconds since the epoch.
+     * @return String with the formatted value.
+     */
+    public String formatDate(long millis) {
+        Caches caches = getCaches();
+        Long key = millis;
+        String text = caches.date.get(key);
+        if (text == null) {
+            Formats formats = getFormats(caches);
+            formats.date.setTime(millis);
+            text = formats.dateAndTime.format(formats.date, new StringBuffer(),
+                    formats.position).toString();
+            caches.date.put(key, text);
+            caches.parsedDate.put(text, key);
+        }
+        return text;
+    }
+
+    /**
+     * Appends a date formatted to be presented to the user.
+     * @param millis Date in milliseconds since the epoch.
+     * @param out Buffer where the formatted value will be appended.
+     * @return The given buffer.
+     */
+    public StringBuffer appendDate(long millis, StringBuffer out) {
+        Formats formats = getFormats(getCaches());
+        if (formats.recentDates.appendTo(millis, out)) {
+            return out;
+        }
+        int start = out.length();
+        formats.date.setTime(millis);
+        formats.dateAndTime.format(formats.date, out, formats.position);
+        formats.recentDates.store(millis, out, start);
+        return out;
+    }
+
+    /**
+     * Parse a string value into a date using the same date format value.
+     * @param text String value to be parse.
+     * @return Date result of parse operation or Current date if the string is not
+     * a valid date.
+     */
+    public Date parseDate(String text) {
+        Caches caches = getCaches();
+        Long cached = caches.parsedDate.get(text);
+        if (cached != null) {
+            return new Date(cached);
+        }
+
+        try {
+            return getFormats(caches).dateAndTime.parse(text);
+        } catch (ParseException e) {
+            return new Date();
+        }
+    }
+
+    /**
+     * Drops the cached strings and the formats of every thread, they are created
+     * again with the current default locale on the next call.
+     */
+    public void invalidate() {
+        mCaches = new Caches(Locale.getDefault());
+    }
+
+    /**
+     * Gets the caches of the current default locale.
+     * @return Caches to use in this call.
+     */
+    private Caches getCaches() {
+        Caches caches = mCaches;
+        if (!caches.locale.equals(Locale.getDefault())) {
+            invalidate();
+            caches = mCaches;
+        }
+        return caches;
+    }
+
+    /**
+     * Gets the formats of the calling thread, created with the locale of the caches.
+     * @param caches Caches used in this call.
+     * @return Formats of this thread.
+     */
+    private Formats getFormats(Caches caches) {
+        Formats formats = mFormats.get();
+        if (formats == null || formats.caches != caches) {
+            formats = new Formats(caches);
+            mFormats.set(formats);
+        }
+        return formats;
+    }
+
+    /**
+     * Formatted strings of one locale.
+     */
+    private static final class Caches {
+
+        final Locale locale;
+        final LruCache<Long, String> currency = new LruCache<Long, String>();
+        final LruCache<String, Long> parsedCurrency = new LruCache<String, Long>();
+        final LruCache<Long, String> date = new LruCache<Long, String>();
+        final LruCache<String, Long> parsedDate = new LruCache<String, Long>();
+
+        Caches(Locale locale) {
+            this.locale = locale;
+        }
+    }
+
+    /**
+     * Formats used by one thread.
+     */
+    private static final class Formats {
+
+        final Caches caches;
+        final DecimalFormat currency;
+        final DecimalFormat currencyParser;
+        final DateFormat dateAndTime;
+        final Date date = new Date();
+        final FieldPosition position = new FieldPosition(0);
+        final RecentTexts recentCurrency = new RecentTexts();
+        final RecentTexts recentDates = new RecentTexts();
+
+        Formats(Caches caches) {
+            this.caches = caches;
+
+            currency = (DecimalFormat) NumberFormat.getCurrencyInstance(caches.locale);
+            String symbol = currency.getCurrency().getSymbol(caches.locale);
+            currency.setNegativePrefix("-" + symbol);
+            currency.setNegativeSuffix("");
+
+            currencyParser = (DecimalFormat) NumberFormat.getCurrencyInstance(caches.locale);
+            currencyParser.setParseBigDecimal(true);
+
+            dateAndTime = DateFormat.getDateTimeInstance(DateFormat.DEFAULT, DateFormat.DEFAULT,
+                    caches.locale);
+        }
+    }
+
+    /**
+     * Characters of the last values formatted by one thread. Each value has a set of
+     * {@link #RECENT_WAYS} slots kept from the last used to the one used the longest
+     * ago, so a value is only dropped when that many values are used after it in its
+     * set. The arrays are reused by the next values, so once they are big enough
+     * nothing is allocated.
+     */
+    private static final class RecentTexts {
+
+        private final long[] values = new long[RECENT_SLOTS];
+        private final int[] lengths = new int[RECENT_SLOTS];
+        private final char[][] texts = new char[RECENT_SLOTS][];
+
+        /**
+         * Appends the text of a value if it's one of the last of its set.
+         * @return true if the text was appended.
+         */
+        boolean appendTo(long value, StringBuffer out) {
+            int first = firstSlotOf(value);
+            for (int slot = first; slot < first + RECENT_WAYS; slot++) {
+                if (lengths[slot] != 0 && values[slot] == value) {
+                    moveToFirst(first, slot);
+                    out.append(texts[first], 0, lengths[first]);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Keeps the text of a value, formatted at the end of the buffer, in place of the
+         * value of its set used the longest ago.
+         * @param start Index of the buffer where the text starts.
+         */
+        void store(long value, StringBuffer out, int start) {
+            int first = firstSlotOf(value);
+            moveToFirst(first, first + RECENT_WAYS - 1);
+            int length = out.length() - start;
+            char[] text = texts[first];
+            if (text == null || text.length < length) {
+                text = new char[length];
+                texts[first] = text;
+            }
+            out.getChars(start, out.length(), text, 0);
+            values[first] = value;
+            lengths[first] = length;
+        }
+
+        /**
+         * Moves a slot to the start of its set, shifting the slots before it.
+         */
+        private void moveToFirst(int first, int slot) {
+            if (slot == first) {
+                return;
+            }
+            long value = values[slot];
+            int length = lengths[slot];
+            char[] text = texts[slot];
+            for (int i = slot; i > first; i--) {
+                values[i] = values[i - 1];
+                lengths[i] = lengths[i - 1];
+                texts[i] = texts[i - 1];
+            }
+            values[first] = value;
+            lengths[first] = length;
+            texts[first] = text;
+        }
+
+        private static int firstSlotOf(long value) {
+            long hash = value * 0x9E3779B97F4A7C15L;
+            return (int) (hash >>> 32) & (RECENT_SLOTS - RECENT_WAYS);
+        }
+    }
+
+    /**
+     * Thread safe map that keeps the last {@link #CACHE_SIZE} values used, it doesn't
+     * depend on the Android LruCache so the service runs on any JVM.
+     */
+    private static final class LruCache<K, V> {
+
+        private final Map<K, V> map = new LinkedHashMap<K, V>(CACHE_SIZE, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        };
+
+        synchronized V get(K key) {
+            return map.get(key);
+        }
+
+        synchronized void put(K key, V value) {
+            map.put(key, value);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Databases with the current schema for the tests, over sqlite-jdbc.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public final class LedgerDatabases {
+
+    private LedgerDatabases() {
+        // Only static members.
+    }
+
+    /**
+     * Opens an empty database in memory with the tables, triggers and indexes of the
+     * {@link LedgerSchema}, as the application creates it.
+     * @return Open connection, the caller closes it.
+     * @throws SQLException if the schema can't be created.
+     */
+    public static Connection openEmpty() throws SQLException {
+        Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        Statement statement = connection.createStatement();
+        try {
+            for (String sql : LedgerSchema.CREATION_TABLES) {
+                statement.execute(sql);
+            }
+            for (String sql : LedgerSchema.CREATION_TRIGGERS) {
+                statement.execute(sql);
+            }
+            for (String sql : LedgerSchema.CREATION_INDEXES) {
+                statement.execute(sql);
+            }
+            statement.execute("PRAGMA user_version = " + LedgerSchema.VERSION);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        } finally {
+            statement.close();
+        }
+        return connection;
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs the triggers of the full-text index and {@link LedgerQueries#search(int)}
+ * over sqlite-jdbc, checking that the index follows the writes of the movements and
+ * the archive and that the results are ranked and paged.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class MovementSearchTest {
+
+    private static final String FIRST_RELEVANCE = String.valueOf(Integer.MAX_VALUE);
+    private static final String LAST = String.valueOf(Long.MAX_VALUE);
+    private static final String ALL = String.valueOf(LedgerQueries.ALL_ACCOUNTS);
+
+    private Connection mConnection;
+
+    @Before
+    public void setUp() throws SQLException {
+        mConnection = LedgerDatabases.openEmpty();
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        mConnection.close();
+    }
+
+    @Test
+    public void insertIndexesTheDescription() throws SQLException {
+        insert(1, 1, 10, "Weekly groceries");
+        insert(2, 1, 20, null);
+
+        assertEquals(Arrays.asList(1L), search("\"groceries*\""));
+        assertEquals(1, count("SELECT COUNT(*) FROM " + SearchTable.TABLE_SEARCH));
+    }
+
+    @Test
+    public void updateIndexesTheNewDescription() throws SQLException {
+        insert(1, 1, 10, "Weekly groceries");
+        execute("UPDATE money_movements SET description = 'Coffee' WHERE _id = 1");
+
+        assertEquals(new ArrayList<Long>(), search("\"groceries*\""));
+        assertEquals(Arrays.asList(1L), search("\"coffee*\""));
+
+        execute("UPDATE money_movements SET description = NULL WHERE _id = 1");
+        assertEquals(0, count("SELECT COUNT(*) FROM " + SearchTable.TABLE_SEARCH));
+    }
+
+    @Test
+    public void deleteRemovesTheDescription() throws SQLException {
+        insert(1, 1, 10, "Weekly groceries");
+        insert(2, 1, 20, "Groceries");
+        execute("DELETE FROM money_movements WHERE _id = 1");
+
+        assertEquals(Arrays.asList(2L), search("\"groceries*\""));
+    }
+
+    @Test
+    public void archivedMovementIsStillFound() throws SQLException {
+        insert(1, 2, 10, "Weekly groceries");
+        // The rollover copies the movement to the archive before deleting it.
+        execute("INSERT INTO money_movements_archive (_id, amount, date, id_account) " +
+                "VALUES (1, -500, 10, 2)");
+        execute("DELETE FROM money_movements WHERE _id = 1");
+
+        PreparedStatement statement = prepare("\"groceries*\"", FIRST_RELEVANCE, LAST, ALL,
+                10);
+        try {
+            ResultSet rs = statement.executeQuery();
+            assertTrue(rs.next());
+            assertEquals(1L, rs.getLong(MovementsTable._ID));
+            assertEquals(500L, rs.getLong(MovementsTable.MOVEMENTS_AMOUNT));
+            assertEquals("-", rs.getString(MovementsTable.MOVEMENTS_SING));
+            assertEquals(2L, rs.getLong(MovementsTable.ID_ACCOUNT));
+            assertEquals("Weekly groceries", rs.getString(MovementsTable.MOVEMENTS_DESCRIPTION));
+            assertFalse(rs.next());
+        } finally {
+            statement.close();
+        }
+    }
+
+    @Test
+    public void resultsAreRankedByRelevanceThenNewest() throws SQLException {
+        insert(1, 1, 10, "Groceries");
+        insert(2, 1, 20, "Groceries at the market for the week");
+        insert(3, 1, 30, "Rent");
+        insert(4, 1, 40, "Rent and groceries");
+        insert(5, 1, 50, "Groceries");
+
+        assertEquals(Arrays.asList(5L, 1L, 4L, 2L), search("\"groceries*\""));
+    }
+
+    @Test
+    public void pagesResumeAfterTheLastRow() throws SQLException {
+        String[] descriptions = { "Groceries", "Groceries and coffee", "Coffee groceries",
+                "Big groceries run", "Groceries", "Groceries at the market" };
+        for (int i = 0; i < descriptions.length; i++) {
+            insert(i + 1, 1, i, descriptions[i]);
+        }
+        List<Long> expected = search("\"groceries*\"");
+
+        List<Long> paged = new ArrayList<Long>();
+        String relevance = FIRST_RELEVANCE;
+        String id = LAST;
+        while (true) {
+            PreparedStatement statement = prepare("\"groceries*\"", relevance, id, ALL, 2);
+            int rows = 0;
+            try {
+                ResultSet rs = statement.executeQuery();
+                while (rs.next()) {
+                    paged.add(rs.getLong(MovementsTable._ID));
+                    relevance = rs.getString(SearchTable.SEARCH_RELEVANCE);
+                    id = rs.getString(MovementsTable._ID);
+                    rows++;
+                }
+            } finally {
+                statement.close();
+            }
+            if (rows < 2) {
+                break;
+            }
+        }
+
+        assertEquals(descriptions.length, expected.size());
+        assertEquals(expected, paged);
+    }
+
+    @Test
+    public void resultsAreFilteredByAccountAndDates() throws SQLException {
+        insert(1, 1, 10, "Groceries");
+        insert(2, 2, 10, "Groceries");
+        insert(3, 1, 100, "Groceries");
+
+        PreparedStatement statement = mConnection.prepareStatement(LedgerQueries.search(10));
+        try {
+            bind(statement, "\"groceries*\"", FIRST_RELEVANCE, LAST, "1");
+            statement.setString(7, "0");
+            statement.setString(8, "100");
+            ResultSet rs = statement.executeQuery();
+            assertTrue(rs.next());
+            assertEquals(1L, rs.getLong(MovementsTable._ID));
+            assertFalse(rs.next());
+        } finally {
+            statement.close();
+        }
+    }
+
+    private void insert(long id, long account, long date, String description)
+            throws SQLException {
+        PreparedStatement statement = mConnection.prepareStatement("INSERT INTO " +
+                "money_movements (_id, amount, description, date, sing, id_account) " +
+                "VALUES (?, 500, ?, ?, '+', ?)");
+        try {
+            statement.setLong(1, id);
+            statement.setString(2, description);
+            statement.setLong(3, date);
+            statement.setLong(4, account);
+            statement.executeUpdate();
+        } finally {
+            statement.close();
+        }
+    }
+
+    private void execute(String sql) throws SQLException {
+        Statement statement = mConnection.createStatement();
+        try {
+            statement.execute(sql);
+        } finally {
+            statement.close();
+        }
+    }
+
+    private int count(String sql) throws SQLException {
+        Statement statement = mConnection.createStatement();
+        try {
+            ResultSet rs = statement.executeQuery(sql);
+            rs.next();
+            return rs.getInt(1);
+        } finally {
+            statement.close();
+        }
+    }
+
+    /**
+     * Gets the identifiers of the first page of a search over every account and date.
+     */
+    private List<Long> search(String match) throws SQLException {
+        List<Long> ids = new ArrayList<Long>();
+        PreparedStatement statement = prepare(match, FIRST_RELEVANCE, LAST, ALL, 50);
+        try {
+            ResultSet rs = statement.executeQuery();
+            while (rs.next()) {
+                ids.add(rs.getLong(MovementsTable._ID));
+            }
+        } finally {
+            statement.close();
+        }
+        return ids;
+    }
+
+    /**
+     * Prepares a page of the search over every date, the arguments are bound as text
+     * like the application does.
+     */
+    private PreparedStatement prepare(String match, String relevance, String id,
+                                      String account, int limit) throws SQLException {
+        PreparedStatement statement = mConnection.prepareStatement(
+                LedgerQueries.search(limit));
+        bind(statement, match, relevance, id, account);
+        statement.setString(7, "0");
+        statement.setString(8, LAST);
+        return statement;
+    }
+
+    private static void bind(PreparedStatement statement, String match, String relevance,
+                             String id, String account) throws SQLException {
+        statement.setString(1, match);
+        statement.setString(2, relevance);
+        statement.setString(3, relevance);
+        statement.setString(4, id);
+        statement.setString(5, account);
+        statement.setString(6, account);
+    }
+}
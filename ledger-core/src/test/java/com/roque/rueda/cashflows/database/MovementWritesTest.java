@@ -0,0 +1,166 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.roque.rueda.cashflows.ledger.BalanceRules;
+import com.roque.rueda.cashflows.ledger.TagMask;
+import com.roque.rueda.cashflows.model.Movement;
+
+/**
+ * Runs the writes of the movements over sqlite-jdbc and checks that the totals
+ * they keep are the same ones {@link LedgerSchema#REBUILD_TOTALS} computes from the
+ * movements, and that the balance of each account follows its movements.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class MovementWritesTest {
+
+    private static final long SEED = 22L;
+    private static final int ACCOUNTS = 3;
+    private static final int WRITES = 2000;
+    private static final long[] INITIAL = { 0, 1000, 0, 250000 };
+    private static final long START = 1413590400000L;
+    private static final long HOUR = 60L * 60L * 1000L;
+
+    private Connection mConnection;
+    private MovementWrites mWrites;
+
+    @Before
+    public void setUp() throws SQLException {
+        mConnection = LedgerDatabases.openEmpty();
+        Statement statement = mConnection.createStatement();
+        try {
+            statement.execute("INSERT INTO periods (start_date, end_date, name, active) " +
+                    "VALUES (" + START + ", " + (START + 30L * 24L * HOUR) + ", 'Period', 1)");
+            for (int id = 1; id <= ACCOUNTS; id++) {
+                statement.execute("INSERT INTO accounts (_id, initial_balance, name, " +
+                        "end_balance, photo_number, id_period) VALUES (" + id + ", " +
+                        INITIAL[id] + ", 'Account " + id + "', " + INITIAL[id] + ", 0, 1)");
+            }
+        } finally {
+            statement.close();
+        }
+        mWrites = new MovementWrites(new JdbcLedgerConnection(mConnection), null);
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        mWrites.close();
+        mConnection.close();
+    }
+
+    @Test
+    public void totalsMatchTheRebuild() throws SQLException {
+        Random random = new Random(SEED);
+        List<Long> ids = new ArrayList<Long>();
+        for (int i = 0; i < WRITES; i++) {
+            int operation = ids.isEmpty() || i < ACCOUNTS ? 0 : random.nextInt(4);
+            if (operation <= 1) {
+                String sing = random.nextBoolean() ? BalanceRules.NEGATIVE_SING : "+";
+                long idAccount = i < ACCOUNTS ? i + 1 : 1 + random.nextInt(ACCOUNTS);
+                long id = mWrites.insert(1 + random.nextInt(50000), "Movement " + i,
+                        START + random.nextInt(20 * 24) * HOUR, sing, idAccount,
+                        Movement.NO_CATEGORY, TagMask.NONE);
+                assertTrue(id > 0);
+                ids.add(id);
+            } else if (operation == 2) {
+                long id = ids.get(random.nextInt(ids.size()));
+                String sing = random.nextBoolean() ? BalanceRules.NEGATIVE_SING : "+";
+                assertTrue(mWrites.update(id, 1 + random.nextInt(50000), "Edited " + i,
+                        START + random.nextInt(20 * 24) * HOUR, sing));
+            } else {
+                assertTrue(mWrites.delete(ids.remove(random.nextInt(ids.size()))));
+            }
+        }
+
+        List<String> kept = readTotals();
+        Statement statement = mConnection.createStatement();
+        try {
+            for (String sql : LedgerSchema.REBUILD_TOTALS) {
+                statement.execute(sql);
+            }
+        } finally {
+            statement.close();
+        }
+        assertEquals(readTotals(), kept);
+
+        for (int id = 1; id <= ACCOUNTS; id++) {
+            assertEquals(INITIAL[id] + queryForLong("SELECT IFNULL(SUM(CASE sing WHEN '" +
+                    BalanceRules.NEGATIVE_SING + "' THEN -amount ELSE amount END), 0) " +
+                    "FROM money_movements WHERE id_account = " + id),
+                    queryForLong("SELECT end_balance FROM accounts WHERE _id = " + id));
+        }
+    }
+
+    /**
+     * Reads the rows of the totals in order. The daily rows left empty by the edits
+     * and the deletes are skipped, the rebuild doesn't create them.
+     */
+    private List<String> readTotals() throws SQLException {
+        List<String> rows = new ArrayList<String>();
+        Statement statement = mConnection.createStatement();
+        try {
+            ResultSet c = statement.executeQuery("SELECT scope, scope_id, day, credits, " +
+                    "debits, opening FROM aggregates WHERE scope <> " +
+                    AggregatesTable.SCOPE_ACCOUNT_DAY + " OR credits <> 0 OR debits <> 0 " +
+                    "ORDER BY scope, scope_id, day");
+            try {
+                while (c.next()) {
+                    rows.add(c.getLong(1) + "/" + c.getLong(2) + "/" + c.getLong(3) + ": " +
+                            c.getLong(4) + ", " + c.getLong(5) + ", " + c.getLong(6));
+                }
+            } finally {
+                c.close();
+            }
+        } finally {
+            statement.close();
+        }
+        return rows;
+    }
+
+    private long queryForLong(String sql) throws SQLException {
+        Statement statement = mConnection.createStatement();
+        try {
+            ResultSet c = statement.executeQuery(sql);
+            try {
+                c.next();
+                return c.getLong(1);
+            } finally {
+                c.close();
+            }
+        } finally {
+            statement.close();
+        }
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Checks with EXPLAIN QUERY PLAN that every query of the managers is answered with
+ * the indexes of the {@link LedgerSchema} instead of reading a whole table. The
+ * queries run over a database created with the real sentences of the schema and
+ * the arguments are bound as text, as the device binds them.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+@RunWith(Parameterized.class)
+public class QueryPlanVerifierTest {
+
+    /**
+     * Name of the column with the description of each step of the plan.
+     */
+    private static final String DETAIL_COLUMN = "detail";
+
+    /**
+     * Part of the step that reads a virtual table, followed by the index number.
+     */
+    private static final String VIRTUAL_TABLE_INDEX = "VIRTUAL TABLE INDEX ";
+
+    /**
+     * Start of the step that sorts the rows in a temporary index.
+     */
+    private static final String TEMP_SORT = "USE TEMP B-TREE";
+
+    private static final String PAGE_SIZE = "50";
+    private static final int PAGE_LIMIT = Integer.parseInt(PAGE_SIZE);
+
+    private static Connection sConnection;
+
+    private final String mSql;
+    private final String[] mArgs;
+    private final boolean mStreamed;
+
+    /**
+     * Creates the check of one query.
+     * @param name Manager method that issues the query.
+     * @param sql Query that will be explained.
+     * @param args Sample arguments of the query.
+     * @param streamed true if the rows must come in the order of the indexes, without
+     *                 being sorted first.
+     */
+    public QueryPlanVerifierTest(String name, String sql, String[] args, boolean streamed) {
+        mSql = sql;
+        mArgs = args;
+        mStreamed = streamed;
+    }
+
+    /**
+     * Gets every query issued by the managers with sample arguments.
+     * @return Name, sentence and arguments of each query.
+     */
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> getManagerQueries() {
+        String all = String.valueOf(LedgerQueries.ALL_ACCOUNTS);
+        String last = String.valueOf(Long.MAX_VALUE);
+        return Arrays.asList(
+                query("AccountManager.getAccountsForCurrentPeriod",
+                        LedgerQueries.ACCOUNTS_FOR_CURRENT_PERIOD),
+                query("AccountManager.getFinalBalance", LedgerQueries.FINAL_BALANCE),
+                query("AccountManager.getShortAccountInfo", LedgerQueries.SHORT_ACCOUNT_INFO),
+                query("AccountManager.getAccountBalance", LedgerQueries.ACCOUNT_BALANCE, "1"),
+                query("MovementsManager.getCashMovements", LedgerQueries.CASH_MOVEMENTS, "1"),
+                query("MovementsManager.getCashMovementsPage",
+                        LedgerQueries.cashMovementsPage(PAGE_LIMIT), "1", "0", "0", "0"),
+                query("CashMovements.getTodayCashMovements", LedgerQueries.DAY_MOVEMENTS,
+                        "0", "86400000"),
+                query("CashMovements.getTodayCashMovements(account)",
+                        LedgerQueries.ACCOUNT_DAY_MOVEMENTS, "1", "0", "86400000"),
+                query("CashMovements.getCashMovements", LedgerQueries.PERIOD_MOVEMENTS),
+                query("CashMovements.getHistoricalMovements",
+                        LedgerQueries.HISTORICAL_MOVEMENTS, "0", "86400000"),
+                query("MovementSearch.search", LedgerQueries.search(PAGE_LIMIT),
+                        "\"groceries*\"", String.valueOf(Integer.MAX_VALUE),
+                        String.valueOf(Integer.MAX_VALUE), last, all, all, "0", last),
+                query("CategoryManager.getTaggedMovements", LedgerQueries.TAGGED_MOVEMENTS,
+                        "1", "5", "5", "1", "5", "5"),
+                query("CategoryManager.getCategoryMovements",
+                        LedgerQueries.CATEGORY_MOVEMENTS, "1", "1", "1", "1"),
+                query("CategoryManager.getCategoryTotals", LedgerQueries.CATEGORY_TOTALS,
+                        "1", "1"),
+                streamed("MovementExporter.export(ALL)", LedgerQueries.EXPORT_MOVEMENTS),
+                streamed("MovementExporter.export(ALL, archived)",
+                        LedgerQueries.EXPORT_ARCHIVED_MOVEMENTS),
+                streamed("MovementExporter.export(ACCOUNT)",
+                        LedgerQueries.EXPORT_ACCOUNT_MOVEMENTS, "1"),
+                streamed("MovementExporter.export(ACCOUNT, archived)",
+                        LedgerQueries.EXPORT_ACCOUNT_ARCHIVED_MOVEMENTS, "1"),
+                streamed("MovementExporter.export(PERIOD)",
+                        LedgerQueries.EXPORT_PERIOD_MOVEMENTS, "1"),
+                streamed("MovementExporter.export(PERIOD, archived)",
+                        LedgerQueries.EXPORT_PERIOD_ARCHIVED_MOVEMENTS, "1"));
+    }
+
+    private static Object[] query(String name, String sql, String... args) {
+        return new Object[]{ name, sql, args, false };
+    }
+
+    private static Object[] streamed(String name, String sql, String... args) {
+        return new Object[]{ name, sql, args, true };
+    }
+
+    @BeforeClass
+    public static void openDatabase() throws SQLException {
+        sConnection = LedgerDatabases.openEmpty();
+    }
+
+    @AfterClass
+    public static void closeDatabase() throws SQLException {
+        sConnection.close();
+    }
+
+    @Test
+    public void queryUsesAnIndex() throws SQLException {
+        assertEquals(Collections.<String>emptyList(), findFullScans(sConnection, mSql, mArgs));
+    }
+
+    @Test
+    public void streamedQueryIsNotSorted() throws SQLException {
+        assumeTrue(mStreamed);
+        List<String> sorts = new ArrayList<String>();
+        for (String detail : explain(sConnection, mSql, mArgs)) {
+            if (detail.startsWith(TEMP_SORT)) {
+                sorts.add(detail);
+            }
+        }
+        assertEquals(Collections.<String>emptyList(), sorts);
+    }
+
+    @Test
+    public void fullScansAreDetected() {
+        assertTrue(isFullScan("SCAN TABLE accounts"));
+        assertTrue(isFullScan("SCAN accounts"));
+        assertTrue(isFullScan("SCAN TABLE movements_search VIRTUAL TABLE INDEX 0:"));
+        assertFalse(isFullScan("SEARCH TABLE accounts USING INTEGER PRIMARY KEY (rowid=?)"));
+        assertFalse(isFullScan("SCAN TABLE money_movements USING INDEX money_movements_date"));
+        assertFalse(isFullScan("SCAN movements_search VIRTUAL TABLE INDEX 3:"));
+        assertFalse(isFullScan("SCAN CONSTANT ROW"));
+        assertFalse(isFullScan("SCAN SUBQUERY 1"));
+        assertFalse(isFullScan("SCAN " + ArchiveTable.VIEW_ALL_MOVEMENTS));
+    }
+
+    /**
+     * Checks if a step of a query plan reads a whole table. A step like
+     * "SCAN TABLE accounts" (or "SCAN accounts" on newer SQLite versions) is a full
+     * scan, while "SEARCH ..." or "SCAN ... USING INDEX" use an index. Reading the
+     * rows of the {@link ArchiveTable#VIEW_ALL_MOVEMENTS} co-routine is not a scan,
+     * the tables of the view have their own steps. A virtual table step reads the
+     * whole table only with the index 0, for FTS any other index is a full-text
+     * query or a docid lookup.
+     * @param detail Detail column of an EXPLAIN QUERY PLAN row.
+     * @return true if the step reads the whole table.
+     */
+    static boolean isFullScan(String detail) {
+        String step = detail.trim();
+        int virtualIndex = step.indexOf(VIRTUAL_TABLE_INDEX);
+        if (virtualIndex >= 0) {
+            return step.startsWith(VIRTUAL_TABLE_INDEX + "0:", virtualIndex);
+        }
+        return step.startsWith("SCAN ") && !step.contains(" USING ") &&
+                !step.startsWith("SCAN CONSTANT ROW") && !step.startsWith("SCAN SUBQUERY") &&
+                !step.equals("SCAN " + ArchiveTable.VIEW_ALL_MOVEMENTS);
+    }
+
+    /**
+     * Gets the steps of the plan of a query that read a whole table.
+     * @param connection Database used to explain the query.
+     * @param sql Query that will be explained.
+     * @param args Arguments of the query, bound as text.
+     * @return Details of the full scan steps, empty if the query only uses indexes.
+     */
+    static List<String> findFullScans(Connection connection, String sql, String[] args)
+            throws SQLException {
+        List<String> scans = new ArrayList<String>();
+        for (String detail : explain(connection, sql, args)) {
+            if (isFullScan(detail)) {
+                scans.add(detail);
+            }
+        }
+        return scans;
+    }
+
+    /**
+     * Gets the steps of the plan of a query.
+     * @param connection Database used to explain the query.
+     * @param sql Query that will be explained.
+     * @param args Arguments of the query, bound as text.
+     * @return Details of the steps.
+     */
+    static List<String> explain(Connection connection, String sql, String[] args)
+            throws SQLException {
+        List<String> steps = new ArrayList<String>();
+        PreparedStatement plan = connection.prepareStatement("EXPLAIN QUERY PLAN " + sql);
+        try {
+            for (int i = 0; i < args.length; i++) {
+                plan.setString(i + 1, args[i]);
+            }
+            ResultSet rs = plan.executeQuery();
+            while (rs.next()) {
+                String detail = rs.getString(DETAIL_COLUMN);
+                if (detail != null) {
+                    steps.add(detail);
+                }
+            }
+        } finally {
+            plan.close();
+        }
+        return steps;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database.migration;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * Checks that the nested transactions of the {@link JdbcMigrationExecutor} commit
+ * only when every level was marked as successful.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class JdbcMigrationExecutorTest {
+
+    private Connection mConnection;
+    private JdbcMigrationExecutor mExecutor;
+
+    @Before
+    public void openDatabase() throws SQLException {
+        mConnection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        mExecutor = new JdbcMigrationExecutor(mConnection);
+        mExecutor.execSQL("CREATE TABLE steps (name TEXT NOT NULL)");
+    }
+
+    @After
+    public void closeDatabase() throws SQLException {
+        mConnection.close();
+    }
+
+    @Test
+    public void nestedSuccessfulLevelsAreCommitted() {
+        mExecutor.beginTransaction();
+        mExecutor.execSQL("INSERT INTO steps VALUES ('outer')");
+        mExecutor.beginTransaction();
+        mExecutor.execSQL("INSERT INTO steps VALUES ('inner')");
+        mExecutor.setTransactionSuccessful();
+        mExecutor.endTransaction();
+        mExecutor.setTransactionSuccessful();
+        mExecutor.endTransaction();
+
+        assertEquals(2, countSteps());
+    }
+
+    @Test
+    public void failedInnerLevelRollsBackTheOuterOne() {
+        mExecutor.beginTransaction();
+        mExecutor.execSQL("INSERT INTO steps VALUES ('outer')");
+        mExecutor.setTransactionSuccessful();
+        mExecutor.beginTransaction();
+        mExecutor.execSQL("INSERT INTO steps VALUES ('inner')");
+        mExecutor.endTransaction();
+        mExecutor.setTransactionSuccessful();
+        mExecutor.endTransaction();
+
+        assertEquals(0, countSteps());
+    }
+
+    @Test
+    public void outerMarkIsKeptAcrossAnInnerLevel() {
+        mExecutor.beginTransaction();
+        mExecutor.setTransactionSuccessful();
+        mExecutor.beginTransaction();
+        mExecutor.execSQL("INSERT INTO steps VALUES ('inner')");
+        mExecutor.setTransactionSuccessful();
+        mExecutor.endTransaction();
+        mExecutor.endTransaction();
+
+        assertEquals(1, countSteps());
+    }
+
+    @Test
+    public void unmarkedOuterLevelIsRolledBack() {
+        mExecutor.beginTransaction();
+        mExecutor.beginTransaction();
+        mExecutor.execSQL("INSERT INTO steps VALUES ('inner')");
+        mExecutor.setTransactionSuccessful();
+        mExecutor.endTransaction();
+        mExecutor.endTransaction();
+
+        assertEquals(0, countSteps());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void endingWithoutATransactionFails() {
+        mExecutor.endTransaction();
+    }
+
+    private long countSteps() {
+        return mExecutor.queryForLong("SELECT COUNT(*) FROM steps");
+    }
+}
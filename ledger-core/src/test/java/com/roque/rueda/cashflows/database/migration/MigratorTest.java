@@ -0,0 +1,410 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.database.migration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.roque.rueda.cashflows.database.LedgerDatabases;
+import com.roque.rueda.cashflows.database.LedgerSchema;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Upgrades a release database of a million movements to the current schema over
+ * sqlite-jdbc and checks the time of each step, the schema and the data it leaves.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class MigratorTest {
+
+    private static final int MOVEMENTS = 1000000;
+    private static final int PERIODS = 2;
+    private static final int ACCOUNTS = 8;
+    private static final int SAMPLES = 1000;
+    private static final long SEED = 15L;
+
+    /**
+     * Longest time a single step may take over the million movements.
+     */
+    private static final long STEP_BUDGET_MILLIS = 60000L;
+
+    /**
+     * Schema of the release version, amounts stored as real numbers and the dates
+     * as local text.
+     */
+    private static final String[] RELEASE_SCHEMA = new String[] {
+            "CREATE TABLE periods (" +
+                    "_id INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL," +
+                    "start_date DATETIME NOT NULL," +
+                    "end_date DATETIME NOT NULL," +
+                    "name TEXT NOT NULL," +
+                    "active INTEGER NOT NULL);",
+            "CREATE TABLE accounts (" +
+                    "_id INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL," +
+                    "initial_balance REAL NOT NULL, " +
+                    "name TEXT NO NULL," +
+                    "end_balance REAL," +
+                    "photo_number INTEGER," +
+                    "id_period INTEGER NOT NULL REFERENCES periods(_id));",
+            "CREATE TABLE money_movements(" +
+                    "_id INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL," +
+                    "amount REAL NOT NULL," +
+                    "description TEXT," +
+                    "date DATETIME NOT NULL," +
+                    "sing TEXT NOT NULL," +
+                    "id_account INTEGER NOT NULL REFERENCES accounts(_id));"
+    };
+
+    private static File sFile;
+    private static Connection sConnection;
+
+    private static final long[] sInitial = new long[ACCOUNTS + 1];
+    private static final long[] sCredits = new long[ACCOUNTS + 1];
+    private static final long[] sDebits = new long[ACCOUNTS + 1];
+    private static int sDescriptions;
+    private static final long[] sSampleIds = new long[SAMPLES];
+    private static final long[] sSampleDates = new long[SAMPLES];
+
+    private static final List<Migration> sSteps = new ArrayList<Migration>();
+    private static final List<Long> sStepMillis = new ArrayList<Long>();
+    private static long sTotalMillis;
+
+    @BeforeClass
+    public static void upgradeReleaseDatabase() throws Exception {
+        sFile = File.createTempFile("ledger-v15", ".db");
+        writeReleaseDatabase();
+        sConnection = DriverManager.getConnection("jdbc:sqlite:" + sFile.getPath());
+        sTotalMillis = LedgerSchema.MIGRATOR.upgrade(new JdbcMigrationExecutor(sConnection),
+                LedgerSchema.RELEASE_VERSION, LedgerSchema.VERSION, new Migrator.Listener() {
+                    @Override
+                    public void onMigrationFinished(Migration migration, long elapsedMillis) {
+                        sSteps.add(migration);
+                        sStepMillis.add(elapsedMillis);
+                    }
+                });
+    }
+
+    @AfterClass
+    public static void deleteDatabase() throws SQLException {
+        if (sConnection != null) {
+            sConnection.close();
+        }
+        if (sFile != null && !sFile.delete()) {
+            sFile.deleteOnExit();
+        }
+    }
+
+    /**
+     * Writes the release database with seeded random movements and keeps the expected
+     * totals in cents. The hours stay in the working day so no date falls in a change
+     * of daylight saving time.
+     */
+    private static void writeReleaseDatabase() throws SQLException {
+        Connection connection = DriverManager.getConnection("jdbc:sqlite:" + sFile.getPath());
+        try {
+            Statement statement = connection.createStatement();
+            try {
+                statement.execute("PRAGMA journal_mode = OFF;");
+                statement.execute("PRAGMA synchronous = OFF;");
+                for (String sql : RELEASE_SCHEMA) {
+                    statement.execute(sql);
+                }
+                for (int period = 1; period <= PERIODS; period++) {
+                    statement.execute("INSERT INTO periods (start_date, end_date, name, " +
+                            "active) VALUES ('2014-0" + period + "-01 00:00:00', '2014-0" +
+                            period + "-28 23:59:59', 'Period " + period + "', " +
+                            (period == PERIODS ? 1 : 0) + ");");
+                }
+            } finally {
+                statement.close();
+            }
+            connection.setAutoCommit(false);
+            Random random = new Random(SEED);
+            PreparedStatement account = connection.prepareStatement("INSERT INTO accounts " +
+                    "(_id, initial_balance, name, end_balance, photo_number, id_period) " +
+                    "VALUES (?, ?, ?, ?, ?, ?);");
+            try {
+                for (int id = 1; id <= ACCOUNTS; id++) {
+                    sInitial[id] = random.nextInt(1000000);
+                }
+                PreparedStatement movement = connection.prepareStatement("INSERT INTO " +
+                        "money_movements (_id, amount, description, date, sing, id_account) " +
+                        "VALUES (?, ?, ?, ?, ?, ?);");
+                try {
+                    writeMovements(movement, random);
+                } finally {
+                    movement.close();
+                }
+                for (int id = 1; id <= ACCOUNTS; id++) {
+                    account.setLong(1, id);
+                    account.setDouble(2, sInitial[id] / 100.0);
+                    account.setString(3, "Account " + id);
+                    account.setDouble(4, (sInitial[id] + sCredits[id] - sDebits[id]) / 100.0);
+                    account.setInt(5, id);
+                    account.setInt(6, 1 + (id - 1) % PERIODS);
+                    account.executeUpdate();
+                }
+            } finally {
+                account.close();
+            }
+            connection.commit();
+            statement = connection.createStatement();
+            try {
+                statement.execute("PRAGMA user_version = " + LedgerSchema.RELEASE_VERSION);
+            } finally {
+                statement.close();
+            }
+        } finally {
+            connection.close();
+        }
+    }
+
+    private static void writeMovements(PreparedStatement movement, Random random)
+            throws SQLException {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.US);
+        Calendar calendar = Calendar.getInstance();
+        int step = MOVEMENTS / SAMPLES;
+        for (int id = 1; id <= MOVEMENTS; id++) {
+            int account = 1 + random.nextInt(ACCOUNTS);
+            long cents = 1 + random.nextInt(500000);
+            boolean debit = random.nextInt(3) == 0;
+            calendar.clear();
+            calendar.set(2013 + random.nextInt(2), random.nextInt(12), 1 + random.nextInt(28),
+                    9 + random.nextInt(9), random.nextInt(60), random.nextInt(60));
+            Date date = calendar.getTime();
+            movement.setLong(1, id);
+            movement.setDouble(2, cents / 100.0);
+            if (random.nextInt(10) == 0) {
+                movement.setNull(3, Types.VARCHAR);
+            } else {
+                movement.setString(3, "Movement " + random.nextInt(5000));
+                sDescriptions++;
+            }
+            movement.setString(4, format.format(date));
+            movement.setString(5, debit ? "-" : "+");
+            movement.setLong(6, account);
+            movement.addBatch();
+            if (debit) {
+                sDebits[account] += cents;
+            } else {
+                sCredits[account] += cents;
+            }
+            if (id % step == 0) {
+                sSampleIds[id / step - 1] = id;
+                sSampleDates[id / step - 1] = date.getTime();
+            }
+            if (id % 10000 == 0) {
+                movement.executeBatch();
+            }
+        }
+        movement.executeBatch();
+    }
+
+    @Test
+    public void everyStepIsAppliedWithinItsBudget() {
+        List<Migration> path = LedgerSchema.MIGRATOR.findPath(LedgerSchema.RELEASE_VERSION,
+                LedgerSchema.VERSION);
+        assertEquals(path, sSteps);
+        long total = 0;
+        for (int i = 0; i < sSteps.size(); i++) {
+            long millis = sStepMillis.get(i);
+            assertTrue(sSteps.get(i) + " took " + millis + " ms.",
+                    millis <= STEP_BUDGET_MILLIS);
+            total += millis;
+        }
+        assertEquals(total, sTotalMillis);
+        assertEquals(LedgerSchema.VERSION,
+                sSteps.get(sSteps.size() - 1).getEndVersion());
+    }
+
+    @Test
+    public void upgradedSchemaIsTheCurrentSchema() throws SQLException {
+        Connection fresh = LedgerDatabases.openEmpty();
+        try {
+            assertEquals(describeSchema(fresh), describeSchema(sConnection));
+        } finally {
+            fresh.close();
+        }
+    }
+
+    @Test
+    public void amountsAreKeptInCents() throws SQLException {
+        assertEquals(MOVEMENTS, queryForLong("SELECT COUNT(*) FROM money_movements;"));
+        for (int id = 1; id <= ACCOUNTS; id++) {
+            assertEquals(sInitial[id], queryForLong("SELECT initial_balance FROM accounts " +
+                    "WHERE _id = " + id));
+            assertEquals(sInitial[id] + sCredits[id] - sDebits[id], queryForLong(
+                    "SELECT end_balance FROM accounts WHERE _id = " + id));
+            assertEquals(sCredits[id], queryForLong("SELECT SUM(amount) FROM money_movements " +
+                    "WHERE id_account = " + id + " AND sing = '+';"));
+            assertEquals(sDebits[id], queryForLong("SELECT SUM(amount) FROM money_movements " +
+                    "WHERE id_account = " + id + " AND sing = '-';"));
+        }
+    }
+
+    @Test
+    public void datesAreEpochMillis() throws SQLException {
+        for (int i = 0; i < SAMPLES; i++) {
+            assertEquals("Date of movement " + sSampleIds[i], sSampleDates[i],
+                    queryForLong("SELECT date FROM money_movements WHERE _id = " +
+                            sSampleIds[i]));
+        }
+    }
+
+    @Test
+    public void aggregatesHoldTheTotals() throws SQLException {
+        long periodCredits = 0;
+        long periodDebits = 0;
+        long periodOpening = 0;
+        for (int id = 1; id <= ACCOUNTS; id++) {
+            assertEquals(sCredits[id], queryForLong("SELECT SUM(credits) FROM aggregates " +
+                    "WHERE scope = 1 AND scope_id = " + id));
+            assertEquals(sDebits[id], queryForLong("SELECT SUM(debits) FROM aggregates " +
+                    "WHERE scope = 1 AND scope_id = " + id));
+            assertEquals(sCredits[id], queryForLong("SELECT credits FROM aggregates " +
+                    "WHERE scope = 0 AND day = -1 AND scope_id = " + id));
+            assertEquals(sDebits[id], queryForLong("SELECT debits FROM aggregates " +
+                    "WHERE scope = 0 AND day = -1 AND scope_id = " + id));
+            assertEquals(sInitial[id], queryForLong("SELECT opening FROM aggregates " +
+                    "WHERE scope = 0 AND day = -1 AND scope_id = " + id));
+            if (1 + (id - 1) % PERIODS == 1) {
+                periodCredits += sCredits[id];
+                periodDebits += sDebits[id];
+                periodOpening += sInitial[id];
+            }
+        }
+        assertEquals(periodCredits, queryForLong("SELECT credits FROM aggregates " +
+                "WHERE scope = 2 AND day = -1 AND scope_id = 1"));
+        assertEquals(periodDebits, queryForLong("SELECT debits FROM aggregates " +
+                "WHERE scope = 2 AND day = -1 AND scope_id = 1"));
+        assertEquals(periodOpening, queryForLong("SELECT opening FROM aggregates " +
+                "WHERE scope = 2 AND day = -1 AND scope_id = 1"));
+        // The days of the migration are the days computed by the rebuild.
+        assertEquals(queryForLong("SELECT COUNT(*) FROM aggregates WHERE scope = 1"),
+                queryForLong("SELECT COUNT(DISTINCT id_account || ':' || CAST(strftime('%s', " +
+                        "date / 1000, 'unixepoch', 'localtime', 'start of day', 'utc') " +
+                        "AS INTEGER)) FROM money_movements"));
+    }
+
+    @Test
+    public void descriptionsAreSearchable() throws SQLException {
+        assertEquals(sDescriptions, queryForLong("SELECT COUNT(*) FROM movements_search;"));
+        assertEquals(queryForLong("SELECT COUNT(*) FROM money_movements " +
+                        "WHERE description = 'Movement 42';"),
+                queryForLong("SELECT COUNT(*) FROM movements_search " +
+                        "WHERE movements_search MATCH '\"Movement 42\"';"));
+        assertEquals(MOVEMENTS, queryForLong("SELECT COUNT(*) FROM all_movements " +
+                "WHERE tags = 0 AND id_category IS NULL;"));
+    }
+
+    private static long queryForLong(String sql) throws SQLException {
+        Statement statement = sConnection.createStatement();
+        try {
+            ResultSet rs = statement.executeQuery(sql);
+            assertTrue("No rows for " + sql, rs.next());
+            return rs.getLong(1);
+        } finally {
+            statement.close();
+        }
+    }
+
+    /**
+     * Describes the objects of a database, the columns of its tables and views, the
+     * columns of its indexes and its foreign keys, without the text that created them.
+     */
+    private static String describeSchema(Connection connection) throws SQLException {
+        StringBuilder schema = new StringBuilder();
+        List<String> tables = new ArrayList<String>();
+        Statement statement = connection.createStatement();
+        try {
+            ResultSet rs = statement.executeQuery("SELECT type, name, tbl_name FROM " +
+                    "sqlite_master WHERE name NOT LIKE 'sqlite_%' ORDER BY type, name;");
+            while (rs.next()) {
+                schema.append(rs.getString(1)).append(' ').append(rs.getString(2))
+                        .append(" on ").append(rs.getString(3)).append('\n');
+                if (!"index".equals(rs.getString(1)) && !"trigger".equals(rs.getString(1))) {
+                    tables.add(rs.getString(2));
+                }
+            }
+            rs.close();
+            for (String table : tables) {
+                appendPragma(statement, schema, "table_info(" + table + ")");
+                appendPragma(statement, schema, "foreign_key_list(" + table + ")");
+                List<String> indexes = new ArrayList<String>();
+                if (statement.execute("PRAGMA index_list(" + table + ")")) {
+                    rs = statement.getResultSet();
+                    while (rs.next()) {
+                        indexes.add(rs.getString("name") + " unique " + rs.getInt("unique"));
+                    }
+                    rs.close();
+                }
+                Collections.sort(indexes);
+                for (String index : indexes) {
+                    schema.append(table).append(" index ").append(index).append('\n');
+                    appendPragma(statement, schema, "index_info(" +
+                            index.substring(0, index.indexOf(' ')) + ")");
+                }
+            }
+        } finally {
+            statement.close();
+        }
+        return schema.toString();
+    }
+
+    private static void appendPragma(Statement statement, StringBuilder schema, String pragma)
+            throws SQLException {
+        // The driver gives no result set for a pragma without rows.
+        if (!statement.execute("PRAGMA " + pragma)) {
+            return;
+        }
+        ResultSet rs = statement.getResultSet();
+        try {
+            int columns = rs.getMetaData().getColumnCount();
+            while (rs.next()) {
+                schema.append(pragma);
+                for (int i = 1; i <= columns; i++) {
+                    schema.append(' ').append(rs.getString(i));
+                }
+                schema.append('\n');
+            }
+        } finally {
+            rs.close();
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.ledger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.roque.rueda.cashflows.model.Movement;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * Posts movements through the {@link Ledger} over an {@link InMemoryLedgerStorage}
+ * and checks the balances the {@link BalanceRules} give.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class LedgerTest {
+
+    private static final long INITIAL_BALANCE = 10000;
+
+    private InMemoryLedgerStorage mStorage;
+    private Ledger mLedger;
+    private long mPeriod;
+    private long mAccount;
+
+    @Before
+    public void createLedger() {
+        mStorage = new InMemoryLedgerStorage();
+        mLedger = new Ledger(mStorage);
+        mPeriod = mStorage.addPeriod("Current", true);
+        mAccount = mStorage.addAccount(mPeriod, "Cash", INITIAL_BALANCE);
+    }
+
+    @Test
+    public void positivePostingAddsToTheBalance() {
+        long id = mLedger.add(new AddPositiveStrategy(), movement(mAccount, 2550));
+
+        assertTrue(id != LedgerStorage.NO_ID);
+        assertEquals(BalanceRules.POSITIVE_SING, mStorage.getMovement(id).getSing());
+        assertEquals(INITIAL_BALANCE + 2550, mLedger.getBalance(mAccount));
+    }
+
+    @Test
+    public void negativePostingTakesFromTheBalance() {
+        long id = mLedger.add(new AddNegativeStrategy(), movement(mAccount, 2550));
+
+        Movement stored = mStorage.getMovement(id);
+        assertEquals(BalanceRules.NEGATIVE_SING, stored.getSing());
+        assertEquals(2550, stored.getAmount());
+        assertEquals(INITIAL_BALANCE - 2550, mLedger.getBalance(mAccount));
+    }
+
+    @Test
+    public void strategiesStoreTheAmountWithoutSing() {
+        long income = mLedger.add(new AddPositiveStrategy(), movement(mAccount, -300));
+        long expense = mLedger.add(new AddNegativeStrategy(), movement(mAccount, -100));
+
+        assertEquals(300, mStorage.getMovement(income).getAmount());
+        assertEquals(100, mStorage.getMovement(expense).getAmount());
+        assertEquals(INITIAL_BALANCE + 200, mLedger.getBalance(mAccount));
+    }
+
+    @Test
+    public void editAndDeleteKeepTheBalance() {
+        long id = mLedger.add(new AddNegativeStrategy(), movement(mAccount, 1000));
+
+        Movement edited = mStorage.getMovement(id);
+        edited.setAmount(400);
+        edited.setSing(BalanceRules.POSITIVE_SING);
+        assertTrue(mLedger.edit(edited));
+        assertEquals(INITIAL_BALANCE + 400, mLedger.getBalance(mAccount));
+
+        assertTrue(mLedger.delete(id));
+        assertEquals(INITIAL_BALANCE, mLedger.getBalance(mAccount));
+        assertFalse(mLedger.delete(id));
+    }
+
+    @Test
+    public void balanceMatchesTheMovements() {
+        mLedger.add(new AddPositiveStrategy(), movement(mAccount, 5000));
+        mLedger.add(new AddNegativeStrategy(), movement(mAccount, 1250));
+        mLedger.add(new AddNegativeStrategy(), movement(mAccount, 99));
+
+        assertEquals(BalanceRules.balance(INITIAL_BALANCE, mStorage.getMovements(mAccount)),
+                mLedger.getBalance(mAccount));
+        assertEquals(INITIAL_BALANCE + 5000 - 1250 - 99, mLedger.getBalance(mAccount));
+    }
+
+    @Test
+    public void finalBalanceAddsTheAccountsOfTheActivePeriod() {
+        long savings = mStorage.addAccount(mPeriod, "Savings", 500);
+        // Opening the next period closes the first one.
+        long next = mStorage.addPeriod("Next", true);
+        long other = mStorage.addAccount(next, "Other", 700);
+        mLedger.add(new AddNegativeStrategy(), movement(other, 200));
+
+        assertEquals(500, mLedger.getFinalBalance());
+        assertEquals(INITIAL_BALANCE + 500, mLedger.getBalance(mAccount) +
+                mLedger.getBalance(savings));
+    }
+
+    @Test
+    public void signedAmountAppliesTheSing() {
+        assertEquals(1500, BalanceRules.signedAmount(BalanceRules.POSITIVE_SING, 1500));
+        assertEquals(-1500, BalanceRules.signedAmount(BalanceRules.NEGATIVE_SING, 1500));
+        // The amounts are stored without sing, the sing decides.
+        assertEquals(1500, BalanceRules.signedAmount(BalanceRules.POSITIVE_SING, -1500));
+        assertEquals(-1500, BalanceRules.signedAmount(BalanceRules.NEGATIVE_SING, -1500));
+    }
+
+    @Test
+    public void editDeltaReplacesTheOldAmount() {
+        Movement previous = signed(BalanceRules.NEGATIVE_SING, 1000);
+        Movement current = signed(BalanceRules.POSITIVE_SING, 250);
+
+        assertEquals(1250, BalanceRules.editDelta(previous, current));
+        assertEquals(-1250, BalanceRules.editDelta(current, previous));
+        assertEquals(-750, BalanceRules.balance(0, Arrays.asList(previous, current)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroAmountIsRejected() {
+        mLedger.save(signed(BalanceRules.POSITIVE_SING, 0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownSingIsRejected() {
+        mLedger.save(signed("*", 100));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void movementWithoutDateIsRejected() {
+        Movement movement = signed(BalanceRules.POSITIVE_SING, 100);
+        movement.setDate(null);
+        mLedger.save(movement);
+    }
+
+    @Test
+    public void unknownAccountIsNotStored() {
+        long unknown = mAccount + 100;
+
+        assertEquals(LedgerStorage.NO_ID,
+                mLedger.add(new AddPositiveStrategy(), movement(unknown, 100)));
+        assertTrue(mStorage.getMovements(unknown).isEmpty());
+        assertNull(mStorage.getAccount(unknown));
+        assertEquals(0, mLedger.getBalance(unknown));
+        assertEquals(INITIAL_BALANCE, mLedger.getFinalBalance());
+    }
+
+    @Test
+    public void unknownMovementIsNotEdited() {
+        Movement movement = signed(BalanceRules.POSITIVE_SING, 100);
+        movement.setId(12345);
+
+        assertFalse(mLedger.edit(movement));
+        assertNull(mStorage.getMovement(12345));
+        assertEquals(INITIAL_BALANCE, mLedger.getBalance(mAccount));
+    }
+
+    private Movement signed(String sing, long amount) {
+        Movement movement = movement(mAccount, amount);
+        movement.setSing(sing);
+        return movement;
+    }
+
+    private static Movement movement(long idAccount, long amount) {
+        Movement movement = new Movement();
+        movement.setAmount(amount);
+        movement.setDescription("Test");
+        movement.setDate(new Date(1400000000000L));
+        movement.setIdAccount(idAccount);
+        return movement;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.ledger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+/**
+ * Checks the bits the {@link TagMask} gives to the tags and the filters built with
+ * them.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class TagMaskTest {
+
+    /**
+     * Mask with every tag, the sign bit is not a tag.
+     */
+    private static final long ALL_TAGS = Long.MAX_VALUE;
+
+    @Test
+    public void eachTagHasItsOwnBit() {
+        assertEquals(1L, TagMask.of(0));
+        assertEquals(1L << 5, TagMask.of(5));
+        assertEquals(1L << 62, TagMask.of(TagMask.MAX_TAGS - 1));
+        assertEquals((1L << 1) | (1L << 4), TagMask.of(1, 4));
+        assertEquals(TagMask.NONE, TagMask.of(new int[0]));
+    }
+
+    @Test
+    public void tagsOutOfRangeAreRejected() {
+        int[] invalid = new int[] { -1, TagMask.MAX_TAGS, 64, Integer.MIN_VALUE };
+        for (int tag : invalid) {
+            try {
+                TagMask.of(tag);
+                fail("The tag " + tag + " was accepted.");
+            } catch (IllegalArgumentException expected) {
+                // The tag has no bit.
+            }
+        }
+        try {
+            TagMask.of(1, 63);
+            fail("The tag 63 was accepted.");
+        } catch (IllegalArgumentException expected) {
+            // The sign bit is not a tag.
+        }
+    }
+
+    @Test
+    public void addAndRemoveChangeOnlyTheirTag() {
+        long mask = TagMask.add(TagMask.of(2), 7);
+        assertTrue(TagMask.contains(mask, 2));
+        assertTrue(TagMask.contains(mask, 7));
+        assertFalse(TagMask.contains(mask, 3));
+
+        mask = TagMask.remove(mask, 2);
+        assertFalse(TagMask.contains(mask, 2));
+        assertTrue(TagMask.contains(mask, 7));
+        assertEquals(mask, TagMask.remove(mask, 2));
+        assertEquals(mask, TagMask.add(mask, 7));
+    }
+
+    @Test
+    public void containsAllRequiresEveryTag() {
+        long movement = TagMask.of(1, 3, 62);
+
+        assertTrue(TagMask.containsAll(movement, TagMask.NONE));
+        assertTrue(TagMask.containsAll(movement, TagMask.of(1)));
+        assertTrue(TagMask.containsAll(movement, TagMask.of(1, 62)));
+        assertTrue(TagMask.containsAll(movement, movement));
+        assertFalse(TagMask.containsAll(movement, TagMask.of(1, 2)));
+        assertFalse(TagMask.containsAll(TagMask.NONE, TagMask.of(0)));
+    }
+
+    @Test
+    public void toArrayListsTheTagsInOrder() {
+        assertArrayEquals(new int[0], TagMask.toArray(TagMask.NONE));
+        assertArrayEquals(new int[] { 0, 3, 62 }, TagMask.toArray(TagMask.of(62, 0, 3)));
+        assertEquals(TagMask.MAX_TAGS, TagMask.toArray(ALL_TAGS).length);
+        assertEquals(TagMask.MAX_TAGS - 1, TagMask.toArray(ALL_TAGS)[TagMask.MAX_TAGS - 1]);
+        assertEquals("[0, 3]", TagMask.toString(TagMask.of(0, 3)));
+    }
+
+    @Test
+    public void firstFreeSkipsTheTagsInUse() {
+        assertEquals(0, TagMask.firstFree(TagMask.NONE));
+        assertEquals(2, TagMask.firstFree(TagMask.of(0, 1, 3)));
+        assertEquals(TagMask.MAX_TAGS - 1, TagMask.firstFree(ALL_TAGS & ~TagMask.of(62)));
+    }
+
+    @Test
+    public void fullMaskHasNoFreeTag() {
+        assertEquals(-1, TagMask.firstFree(ALL_TAGS));
+        // The sign bit is ignored.
+        assertEquals(-1, TagMask.firstFree(-1L));
+    }
+}
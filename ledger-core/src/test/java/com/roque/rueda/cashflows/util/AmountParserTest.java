@@ -0,0 +1,114 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import java.util.Locale;
+
+/**
+ * Checks the amounts of the statement files the {@link AmountParser} reads and the
+ * ones it rejects.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class AmountParserTest {
+
+    @Test
+    public void parsesPointAmounts() {
+        AmountParser parser = AmountParser.POINT;
+        assertEquals(1250, parser.parse("12.50"));
+        assertEquals(1250, parser.parse("12.5"));
+        assertEquals(1200, parser.parse("12"));
+        assertEquals(50, parser.parse(".50"));
+        assertEquals(-123456, parser.parse("-1,234.56"));
+        assertEquals(123456789, parser.parse("1,234,567.89"));
+        assertEquals(1250, parser.parse("$ 12.50"));
+        assertEquals(-1250, parser.parse("-$12.50"));
+        assertEquals(1250, parser.parse("+12.50 USD"));
+        assertEquals(-1250, parser.parse("12.50-"));
+        assertEquals(-1250, parser.parse("(12.50)"));
+        assertEquals(-123456, parser.parse(" ($1,234.56) "));
+        assertEquals(1235, parser.parse("12.345"));
+    }
+
+    @Test
+    public void parsesCommaAmounts() {
+        AmountParser parser = AmountParser.COMMA;
+        assertEquals(1250, parser.parse("12,50"));
+        assertEquals(123456, parser.parse("1.234,56"));
+        assertEquals(123456, parser.parse("1 234,56"));
+        assertEquals(-350, parser.parse("-3,5 \u20ac"));
+        assertEquals(-123456, parser.parse("(1.234,56 EUR)"));
+    }
+
+    @Test
+    public void parsesLocaleAmounts() {
+        assertEquals(123456, AmountParser.forLocale(Locale.GERMANY).parse("1.234,56"));
+        assertEquals(123456, AmountParser.forLocale(Locale.FRANCE).parse("1\u00a0234,56"));
+        assertEquals(123456, AmountParser.forLocale(Locale.FRANCE).parse("1\u202f234,56"));
+        assertEquals(123456, AmountParser.forLocale(Locale.US).parse("1,234.56"));
+    }
+
+    @Test
+    public void parsesUngroupedAmounts() {
+        AmountParser parser = new AmountParser(',', AmountParser.NO_GROUPING);
+        assertEquals(-1250, parser.parse("-12,50"));
+        assertInvalid(parser, "1.234,56");
+        assertInvalid(parser, "1 234,56");
+    }
+
+    @Test
+    public void rejectsAmountsWithOtherSeparators() {
+        assertInvalid(AmountParser.POINT, "12,50");
+        assertInvalid(AmountParser.POINT, "1.234,56");
+        assertInvalid(AmountParser.COMMA, "1,234.56");
+        assertInvalid(AmountParser.COMMA, "12.50");
+        assertInvalid(AmountParser.POINT, "1,23,456.00");
+        assertInvalid(AmountParser.POINT, "1234,567.00");
+        assertInvalid(AmountParser.POINT, "12.34.56");
+    }
+
+    @Test
+    public void rejectsMalformedAmounts() {
+        assertInvalid(AmountParser.POINT, "");
+        assertInvalid(AmountParser.POINT, "   ");
+        assertInvalid(AmountParser.POINT, "abc");
+        assertInvalid(AmountParser.POINT, "--12.50");
+        assertInvalid(AmountParser.POINT, "-12.50-");
+        assertInvalid(AmountParser.POINT, "(-12.50)");
+        assertInvalid(AmountParser.POINT, "12a50");
+        assertInvalid(AmountParser.POINT, "#12.50");
+        assertInvalid(AmountParser.POINT, "12..50");
+        assertInvalid(AmountParser.POINT, "1,,234.00");
+        assertInvalid(AmountParser.POINT, "99999999999999999999");
+    }
+
+    private static void assertInvalid(AmountParser parser, String value) {
+        try {
+            long amount = parser.parse(value);
+            fail("\"" + value + "\" was parsed as " + amount);
+        } catch (NumberFormatException e) {
+            // Expected.
+        }
+    }
+}
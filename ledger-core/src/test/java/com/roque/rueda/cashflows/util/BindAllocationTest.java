@@ -0,0 +1,134 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.util;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Counts the bytes the calling thread allocates while the rows of a list are bound
+ * again and again, the way MovementView and AccountView format the amount and the
+ * date into their buffer and copy it into their char array. Once the rows on screen
+ * were formatted, scrolling over them must not allocate.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class BindAllocationTest {
+
+    /**
+     * Rows bound in a cycle, more than a list shows at once.
+     */
+    private static final int ROWS = 48;
+
+    private static final int BINDS = 100000;
+
+    /**
+     * Bytes allowed for each bind on average. The compiler and the counter allocate a
+     * few bytes once, a single boxed key or String per row already takes 16 or more.
+     */
+    private static final double ALLOWED_BYTES_PER_BIND = 1.0;
+
+    private final FormattingService mFormatter = FormattingService.getInstance();
+    private final StringBuffer mBuffer = new StringBuffer();
+    private final long[] mAmounts = new long[ROWS];
+    private final long[] mDates = new long[ROWS];
+    private char[] mAmountText = new char[0];
+    private char[] mDateText = new char[0];
+    private com.sun.management.ThreadMXBean mThreads;
+    private Locale mDefault;
+
+    @Before
+    public void setUp() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        mThreads = (com.sun.management.ThreadMXBean) threads;
+        assumeTrue(mThreads.isThreadAllocatedMemorySupported());
+        mThreads.setThreadAllocatedMemoryEnabled(true);
+
+        mDefault = Locale.getDefault();
+        Locale.setDefault(Locale.US);
+        mFormatter.invalidate();
+
+        Random random = new Random(12);
+        for (int i = 0; i < ROWS; i++) {
+            mAmounts[i] = random.nextInt(2000000) - 1000000;
+            mDates[i] = 1413590400000L + random.nextInt(365) * 86400000L +
+                    random.nextInt(86400) * 1000L;
+        }
+    }
+
+    @After
+    public void tearDown() {
+        if (mDefault != null) {
+            Locale.setDefault(mDefault);
+            mFormatter.invalidate();
+        }
+    }
+
+    @Test
+    public void bindingTheSameRowsAllocatesNothing() {
+        for (int i = 0; i < ROWS; i++) {
+            bind(i);
+        }
+
+        long thread = Thread.currentThread().getId();
+        long before = mThreads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < BINDS; i++) {
+            bind(i % ROWS);
+        }
+        long allocated = mThreads.getThreadAllocatedBytes(thread) - before;
+
+        assertTrue(allocated + " bytes allocated by " + BINDS + " binds",
+                allocated / (double) BINDS < ALLOWED_BYTES_PER_BIND);
+    }
+
+    /**
+     * Formats one row like MovementView.bindModel.
+     */
+    private void bind(int row) {
+        mBuffer.setLength(0);
+        mBuffer.append('-');
+        mFormatter.appendCurrency(mAmounts[row], mBuffer);
+        mAmountText = copy(mBuffer, mAmountText);
+
+        mBuffer.setLength(0);
+        mFormatter.appendDate(mDates[row], mBuffer);
+        mDateText = copy(mBuffer, mDateText);
+    }
+
+    /**
+     * Copies the buffer like MovementView.setText.
+     */
+    private static char[] copy(StringBuffer text, char[] chars) {
+        int length = text.length();
+        if (chars.length < length) {
+            chars = new char[length];
+        }
+        text.getChars(0, length, chars, 0);
+        return chars;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2014 Roque Rueda.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.roque.rueda.cashflows.util;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Checks that the append methods of the {@link FormattingService}, which format
+ * straight into the buffer, write the same text as the cached String methods.
+ *
+ * @author Roque Rueda
+ * @since 18/10/2026
+ * @version 1.0
+ *
+ */
+public class FormattingServiceTest {
+
+    private static final Locale[] LOCALES = { Locale.US, Locale.GERMANY, Locale.FRANCE,
+            Locale.JAPAN, new Locale("es", "MX") };
+    private static final long[] AMOUNTS = { 0, 1, -1, 5, 99, 100, -1250, 123456,
+            -123456789, 99999999999L, 999999999999999L, -999999999999999L,
+            1000000000000000L, Long.MAX_VALUE / 1024, Long.MIN_VALUE / 1024 };
+
+    private Locale mDefault;
+    private final FormattingService mFormatter = FormattingService.getInstance();
+
+    @Before
+    public void setUp() {
+        mDefault = Locale.getDefault();
+    }
+
+    @After
+    public void tearDown() {
+        Locale.setDefault(mDefault);
+        mFormatter.invalidate();
+    }
+
+    @Test
+    public void appendCurrencyMatchesFormatCurrency() {
+        Random random = new Random(13);
+        StringBuffer buffer = new StringBuffer();
+        for (Locale locale : LOCALES) {
+            Locale.setDefault(locale);
+            for (long amount : AMOUNTS) {
+                assertCurrency(amount, buffer);
+            }
+            for (int i = 0; i < 1000; i++) {
+                assertCurrency(random.nextInt() - (long) random.nextInt(), buffer);
+            }
+        }
+    }
+
+    @Test
+    public void appendDateMatchesFormatDate() {
+        Random random = new Random(13);
+        StringBuffer buffer = new StringBuffer();
+        for (Locale locale : LOCALES) {
+            Locale.setDefault(locale);
+            for (int i = 0; i < 1000; i++) {
+                long millis = 1413590400000L + (long) (random.nextDouble() * 1e11);
+                buffer.setLength(0);
+                buffer.append('>');
+                mFormatter.appendDate(millis, buffer);
+                assertEquals(">" + mFormatter.formatDate(millis), buffer.toString());
+            }
+        }
+    }
+
+    private void assertCurrency(long amount, StringBuffer buffer) {
+        buffer.setLength(0);
+        buffer.append('>');
+        mFormatter.appendCurrency(amount, buffer);
+        assertEquals(">" + mFormatter.formatCurrency(amount), buffer.toString());
+    }
+}